@@ -0,0 +1,16 @@
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- 组织机构 子树操作 (移动、修改租户、删除) 基于 parent_ids 前缀匹配
+ALTER TABLE `sys_org` ADD INDEX `idx_parent_ids`(`parent_ids`(191)) USING BTREE;
+ALTER TABLE `sys_org` ADD INDEX `idx_parent_id`(`parent_id`) USING BTREE;
+
+-- 用户登录信息 (合并写入)
+ALTER TABLE `sys_user` ADD COLUMN `login_time` datetime NULL DEFAULT NULL COMMENT '最后登录时间' AFTER `login_ip`;
+ALTER TABLE `sys_user` ADD COLUMN `login_count` int(11) NOT NULL DEFAULT 0 COMMENT '登录次数' AFTER `login_time`;
+
+-- 用户组织 数据权限范围 (b.org_id in (...))
+ALTER TABLE `sys_user_org_ref` ADD INDEX `idx_org_id`(`org_id`) USING BTREE;
+ALTER TABLE `sys_user_org_ref` ADD INDEX `idx_user_id`(`user_id`) USING BTREE;
+
+SET FOREIGN_KEY_CHECKS = 1;
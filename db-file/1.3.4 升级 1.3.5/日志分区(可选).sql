@@ -0,0 +1,23 @@
+-- 日志按月分区存储 (可选)
+-- 开启 opsli.logs.storage: partition 前执行, 需 MySQL 5.7 及以上
+-- 分区键必须包含在主键中, 故主键调整为 (id, create_time)
+-- p_history 存放历史数据, 之后的月分区 (pYYYYMM) 由系统按 pre-create-months 自动创建
+-- 过期分区由系统直接 DROP (可配置先归档为 gzip 文件), 不再执行大范围 DELETE
+
+SET NAMES utf8mb4;
+
+UPDATE `sys_logs` SET `create_time` = NOW() WHERE `create_time` IS NULL;
+ALTER TABLE `sys_logs` MODIFY COLUMN `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `sys_logs` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+ALTER TABLE `sys_logs` ADD INDEX `idx_create_time`(`create_time`) USING BTREE;
+
+-- p_history 的上界 取执行当月的第一天 (分区定义只接受常量, 故拼接后执行)
+SET @p_history_bound = DATE_FORMAT(CURDATE(), '%Y-%m-01');
+SET @partition_sql = CONCAT(
+    'ALTER TABLE `sys_logs` PARTITION BY RANGE COLUMNS(`create_time`) (',
+    'PARTITION p_history VALUES LESS THAN (''', @p_history_bound, '''), ',
+    'PARTITION p_max VALUES LESS THAN (MAXVALUE))'
+);
+PREPARE partition_stmt FROM @partition_sql;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
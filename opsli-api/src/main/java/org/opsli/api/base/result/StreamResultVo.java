@@ -0,0 +1,112 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.api.base.result;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * API 流式返回参数
+ *
+ * 输出格式与 ResultVo 一致 (data 为数组，状态字段在 data 之后输出)，但数据不会预先加载为 List
+ * 输出中途失败时 success 为 false，data 中只有已输出的部分数据
+ * 输出响应时 边读取边序列化至输出流，适用于 不分页的大列表
+ *
+ * 注意：数据源在 Controller 方法返回之后才执行，此时用户信息已清除，
+ * 租户、组织 等条件 必须在 Controller 方法内 提前处理完成
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Getter
+public final class StreamResultVo<T> {
+
+	/** 成功状态 */
+	private final boolean success;
+
+	/** 消息 */
+	private final String msg;
+
+	/** 状态码 */
+	private final Integer code;
+
+	/** 时间戳 */
+	private final Long timestamp;
+
+	/** 数据源 */
+	private final Source<T> source;
+
+	private StreamResultVo(String msg, Source<T> source) {
+		this.success = true;
+		this.msg = msg;
+		this.code = HttpStatus.OK.value();
+		this.timestamp = System.currentTimeMillis();
+		this.source = source;
+	}
+
+	// ================================== 静态方法 ===================================
+
+	/**
+	 * 返回成功状态
+	 * @param source 数据源
+	 * @param <T> 泛型
+	 * @return StreamResultVo<T>
+	 */
+	public static <T> StreamResultVo<T> success(Source<T> source) {
+		return new StreamResultVo<>(ResultVo.DEF_SUCCESS_MSG, source);
+	}
+
+	/**
+	 * 返回成功状态
+	 * @param msg 返回信息
+	 * @param source 数据源
+	 * @param <T> 泛型
+	 * @return StreamResultVo<T>
+	 */
+	public static <T> StreamResultVo<T> success(String msg, Source<T> source) {
+		return new StreamResultVo<>(msg, source);
+	}
+
+	// ===========================================
+
+	/**
+	 * 数据源
+	 * @param <T> 泛型
+	 */
+	@FunctionalInterface
+	public interface Source<T> {
+
+		/**
+		 * 逐条输出数据
+		 * @param consumer 消费者
+		 */
+		void forEach(Consumer<? super T> consumer);
+
+		/**
+		 * 转换数据
+		 * @param mapper 转换器
+		 * @param <R> 泛型
+		 * @return Source<R>
+		 */
+		default <R> Source<R> map(Function<? super T, ? extends R> mapper) {
+			return consumer -> this.forEach(t -> consumer.accept(mapper.apply(t)));
+		}
+	}
+
+}
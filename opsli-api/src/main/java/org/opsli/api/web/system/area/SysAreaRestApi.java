@@ -62,12 +62,14 @@ public interface SysAreaRestApi {
     ResultVo<?> findTree(String parentId);
 
     /**
-     * 组织树
+     * 组织树 (全量快照 支持 ETag / If-None-Match)
      * @param deep 层级
-     * @return ResultVo
+     * @param request request
+     * @param response response
      */
     @GetMapping("/findTreeAll")
-    ResultVo<?> findTreeAll(@RequestParam(name = "deep", defaultValue = "3", required = false) Integer deep);
+    void findTreeAll(@RequestParam(name = "deep", defaultValue = "3", required = false) Integer deep,
+                     HttpServletRequest request, HttpServletResponse response);
 
     /**
     * 组织机构表 新增
@@ -135,4 +135,22 @@ public interface DictDetailApi {
     @GetMapping("/findListByTypeCode")
     ResultVo<List<DictDetailModel>> findListByTypeCode(String typeCode);
 
+    /**
+     * 数据字典 批量修改排序
+     * @param typeCode 字典类型编号
+     * @param models 字典明细 (id、sortNo)
+     * @return ResultVo
+     */
+    @PostMapping("/updateSort")
+    ResultVo<?> updateSort(String typeCode, @RequestBody List<DictDetailModel> models);
+
+    /**
+     * 数据字典 整体保存字典类型下全部明细
+     * @param typeId 字典类型ID
+     * @param models 字典明细
+     * @return ResultVo
+     */
+    @PostMapping("/saveAllByType")
+    ResultVo<?> saveAllByType(String typeId, @RequestBody List<DictDetailModel> models);
+
 }
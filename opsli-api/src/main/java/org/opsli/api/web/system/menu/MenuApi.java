@@ -16,6 +16,7 @@
 package org.opsli.api.web.system.menu;
 
 import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.wrapper.system.menu.MenuFullModel;
 import org.opsli.api.wrapper.system.menu.MenuModel;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,7 +27,6 @@ import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.List;
 
 
 /**
@@ -94,7 +94,7 @@ public interface MenuApi {
      * @return ResultVo
      */
     @GetMapping("/findList")
-    ResultVo<List<MenuModel>> findList();
+    StreamResultVo<MenuModel> findList();
 
 
     /**
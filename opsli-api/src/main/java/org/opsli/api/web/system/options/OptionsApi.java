@@ -18,6 +18,7 @@ package org.opsli.api.web.system.options;
 
 
 import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,7 +30,6 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.opsli.api.wrapper.system.options.OptionsModel;
 
-import java.util.List;
 import java.util.Map;
 
 
@@ -170,7 +170,7 @@ public interface OptionsApi {
      * @return ResultVo
      */
     @GetMapping("/findAll")
-    ResultVo<List<OptionsModel>> findAll();
+    StreamResultVo<OptionsModel> findAll();
 
     /**
      * 系统参数 创建加密公私钥
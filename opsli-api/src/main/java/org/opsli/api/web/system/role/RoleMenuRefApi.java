@@ -63,4 +63,12 @@ public interface RoleMenuRefApi {
     @PostMapping("/setPerms")
     ResultVo<?> setPerms(@RequestBody RoleMenuRefModel model);
 
+    /**
+     * 缓存预热 (异步重建该角色下全部用户的 权限、菜单 缓存)
+     * @param model roleId 角色Id
+     * @return ResultVo
+     */
+    @PostMapping("/warmUpCache")
+    ResultVo<?> warmUpCache(RoleMenuRefModel model);
+
 }
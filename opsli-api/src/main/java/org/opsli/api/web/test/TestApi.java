@@ -1,6 +1,7 @@
 package org.opsli.api.web.test;
 
 import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.wrapper.test.TestModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,7 +10,6 @@ import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.List;
 
 
 /**
@@ -106,7 +106,7 @@ public interface TestApi {
      * @return ResultVo
      */
     @GetMapping("/findList")
-    ResultVo<List<TestModel>> findList(HttpServletRequest request);
+    StreamResultVo<TestModel> findList(HttpServletRequest request);
 
 
     /**
@@ -114,7 +114,7 @@ public interface TestApi {
      * @return ResultVo
      */
     @GetMapping("/findAllList")
-    ResultVo<List<TestModel>> findAllList();
+    StreamResultVo<TestModel> findAllList();
 
 
     /**
@@ -17,6 +17,7 @@ package org.opsli.api.wrapper.system.user;
 
 import com.alibaba.excel.annotation.ExcelIgnore;
 import com.alibaba.excel.annotation.ExcelProperty;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -26,6 +27,9 @@ import org.opsli.common.annotation.validator.ValidatorLenMax;
 import org.opsli.common.annotation.validator.ValidatorLenMin;
 import org.opsli.common.enums.ValidatorType;
 import org.opsli.plugins.excel.annotation.ExcelInfo;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
 
 /**
  * 用户信息表
@@ -116,6 +120,18 @@ public class UserWebModel extends ApiWrapper {
     @Validator(ValidatorType.IS_IPV4)
     private String loginIp;
 
+    /** 最后登录时间 */
+    @ApiModelProperty(value = "最后登录时间")
+    @ExcelIgnore
+    @JsonFormat(timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date loginTime;
+
+    /** 登录次数 */
+    @ApiModelProperty(value = "登录次数")
+    @ExcelIgnore
+    private Integer loginCount;
+
     /** 备注 */
     @ApiModelProperty(value = "备注")
     @ExcelProperty(value = "备注", order = 5)
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 查询构造器 字段白名单
+ *
+ * Entity 中只要有一个字段标注了该注解，则 Web 条件构造器只允许
+ * 使用标注过的字段做 过滤/排序，未标注字段的请求参数会被直接忽略
+ *
+ * 未使用该注解的 Entity 保持原有逻辑，所有字段均可查询
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryField {
+
+    /** 是否允许过滤 (EQ、LIKE、BEGIN、END 等) */
+    boolean filter() default true;
+
+    /** 是否允许排序 */
+    boolean sort() default true;
+
+}
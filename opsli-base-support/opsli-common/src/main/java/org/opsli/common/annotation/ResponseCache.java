@@ -0,0 +1,49 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 接口响应缓存 (仅 GET 请求生效)
+ *
+ * 缓存序列化后的响应体，按 请求地址 + 参数 + 租户 (+ 用户) 区分
+ * 响应携带 ETag，客户端 If-None-Match 未变化时 返回 304
+ * tags 中的实体 发生增删改 并提交事务后 缓存整体失效
+ *
+ * 注意：只用于读多写少、且结果只取决于上述维度的接口
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseCache {
+
+    /** 失效标签 (Entity 类) */
+    Class<?>[] tags() default {};
+
+    /** 过期时间 (秒) */
+    int expire() default 300;
+
+    /** 是否按用户区分 (结果与当前用户权限相关时 必须开启) */
+    boolean perUser() default false;
+
+    /** 是否 GZIP 压缩存储 */
+    boolean gzip() default true;
+
+}
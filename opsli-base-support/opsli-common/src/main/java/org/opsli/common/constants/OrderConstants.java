@@ -32,6 +32,9 @@ public interface OrderConstants {
     /** token */
     int TOKEN_AOP_SORT = 150;
 
+    /** 接口响应缓存 (需在 Token 之后) */
+    int RESPONSE_CACHE_AOP_SORT = 155;
+
     /** 请求加解密 */
     int ENCRYPT_ADN_DECRYPT_AOP_SORT = 160;
 
@@ -44,6 +47,9 @@ public interface OrderConstants {
     /** 搜索历史 */
     int SEARCH_HIS_AOP_SORT = 186;
 
+    /** 读写分离 (需在事务切面之前执行) */
+    int READ_WRITE_AOP_SORT = 188;
+
     /** SQL 切面执行顺序 */
     int SQL_ORDER = 190;
 
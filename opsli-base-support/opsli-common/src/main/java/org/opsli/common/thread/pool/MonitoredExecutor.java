@@ -0,0 +1,262 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.thread.pool;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 可监控线程池
+ *
+ * 记录 队列堆积、活跃线程、拒绝次数、排队耗时、执行耗时
+ * 支持 JDK 21+ 虚拟线程 (通过反射创建，低版本自动回退为普通线程池)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public class MonitoredExecutor implements Executor {
+
+    /** 线程池名称格式 */
+    private static final String THREAD_POOL_NAME = "OpsliPool-%s-%%d";
+
+    /** 配置 */
+    private final ThreadPoolConf conf;
+    /** Executor */
+    private final ExecutorService executor;
+    /** 普通线程池 (虚拟线程模式下为空) */
+    private final ThreadPoolExecutor threadPool;
+    /** 虚拟线程模式下 在途任务许可 */
+    private final Semaphore permits;
+
+    /** 计数 */
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    /** 耗时 (纳秒) */
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    public MonitoredExecutor(ThreadPoolConf conf){
+        this.conf = conf;
+
+        ExecutorService virtualExecutor = null;
+        if(conf.isVirtual()){
+            virtualExecutor = newVirtualExecutor(conf.getName());
+            if(virtualExecutor == null){
+                log.warn("线程池[{}] 当前JDK不支持虚拟线程，回退为普通线程池", conf.getName());
+            }
+        }
+
+        if(virtualExecutor != null){
+            this.executor = virtualExecutor;
+            this.threadPool = null;
+            this.permits = new Semaphore(conf.getMaxSize() + conf.getQueueSize());
+        }else{
+            ThreadFactory factory = new BasicThreadFactory.Builder()
+                    .namingPattern(String.format(THREAD_POOL_NAME, conf.getName()))
+                    .daemon(true).build();
+            this.threadPool = new ThreadPoolExecutor(conf.getCoreSize(), conf.getMaxSize(), conf.getKeepAlive(),
+                    TimeUnit.SECONDS, new ArrayBlockingQueue<>(conf.getQueueSize()), factory);
+            this.executor = this.threadPool;
+            this.permits = null;
+        }
+    }
+
+    /**
+     * 执行任务
+     * @param task 任务
+     * @throws RejectedExecutionException 线程池已满 或 已关闭
+     */
+    @Override
+    public void execute(Runnable task) {
+        if(permits != null && !permits.tryAcquire()){
+            rejectedCount.increment();
+            throw new RejectedExecutionException("线程池[" + conf.getName() + "] 在途任务已满");
+        }
+
+        final Runnable decorated = ThreadPoolRegistry.decorate(conf.getName(), task);
+        final long enqueueTime = System.nanoTime();
+        Runnable wrapper = () -> {
+            long beginTime = System.nanoTime();
+            totalWaitNanos.add(beginTime - enqueueTime);
+            activeCount.incrementAndGet();
+            try {
+                decorated.run();
+            }catch (RuntimeException | Error e){
+                failedCount.increment();
+                throw e;
+            }finally {
+                long runNanos = System.nanoTime() - beginTime;
+                totalRunNanos.add(runNanos);
+                maxRunNanos.accumulateAndGet(runNanos, Math::max);
+                activeCount.decrementAndGet();
+                completedCount.increment();
+                if(permits != null){
+                    permits.release();
+                }
+            }
+        };
+
+        try {
+            executor.execute(wrapper);
+            submittedCount.increment();
+        }catch (RejectedExecutionException e){
+            rejectedCount.increment();
+            if(permits != null){
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 提交任务
+     * @param task 任务
+     * @return Future
+     * @throws RejectedExecutionException 线程池已满 或 已关闭
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        // FutureTask 会捕获任务异常 需在此计入失败次数
+        FutureTask<T> future = new FutureTask<T>(task){
+            @Override
+            protected void setException(Throwable t) {
+                failedCount.increment();
+                super.setException(t);
+            }
+        };
+        this.execute(future);
+        return future;
+    }
+
+    /**
+     * 动态调整线程数 (队列容量 及 虚拟线程模式 不支持动态调整)
+     * 最大线程数小于核心线程数时 以核心线程数为准
+     * @param newConf 新配置
+     */
+    public void reconfigure(ThreadPoolConf newConf){
+        if(threadPool == null || newConf == null){
+            return;
+        }
+        int coreSize = Math.max(0, newConf.getCoreSize());
+        int maxSize = Math.max(Math.max(1, coreSize), newConf.getMaxSize());
+        if(maxSize != newConf.getMaxSize()){
+            log.warn("线程池[{}] 最大线程数[{}] 小于核心线程数[{}]，按 {} 调整",
+                    conf.getName(), newConf.getMaxSize(), coreSize, maxSize);
+        }
+
+        // 扩大时 先调大最大线程数；缩小时 先调小核心线程数 始终保证 max >= core
+        if(coreSize > threadPool.getMaximumPoolSize()){
+            threadPool.setMaximumPoolSize(maxSize);
+            threadPool.setCorePoolSize(coreSize);
+        }else{
+            threadPool.setCorePoolSize(coreSize);
+            threadPool.setMaximumPoolSize(maxSize);
+        }
+        threadPool.setKeepAliveTime(newConf.getKeepAlive(), TimeUnit.SECONDS);
+        conf.setCoreSize(coreSize);
+        conf.setMaxSize(maxSize);
+        conf.setKeepAlive(newConf.getKeepAlive());
+        conf.setAwaitTermination(newConf.getAwaitTermination());
+    }
+
+    /**
+     * 优雅关闭 最长等待 awaitTermination 秒，超时后丢弃未执行任务
+     */
+    public void shutdown(){
+        log.info("线程池[{}] 关闭", conf.getName());
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(conf.getAwaitTermination(), TimeUnit.SECONDS)) {
+                List<Runnable> dropList = executor.shutdownNow();
+                log.error("线程池[{}] 由于等待超时，立即关闭，丢弃任务数：{}", conf.getName(), dropList.size());
+            }
+        } catch (InterruptedException e) {
+            log.error("线程池[{}] 关闭中断", conf.getName());
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("线程池[{}] 关闭完成", conf.getName());
+    }
+
+    /**
+     * 获得运行状态
+     * @return ThreadPoolStats
+     */
+    public ThreadPoolStats getStats(){
+        ThreadPoolStats stats = new ThreadPoolStats();
+        stats.setName(conf.getName());
+        stats.setVirtual(threadPool == null);
+        stats.setActiveCount(activeCount.get());
+        if(threadPool != null){
+            stats.setCoreSize(threadPool.getCorePoolSize());
+            stats.setMaxSize(threadPool.getMaximumPoolSize());
+            stats.setPoolSize(threadPool.getPoolSize());
+            stats.setQueueSize(threadPool.getQueue().size());
+            stats.setQueueCapacity(conf.getQueueSize());
+        }else{
+            stats.setMaxSize(conf.getMaxSize() + conf.getQueueSize());
+            stats.setPoolSize(activeCount.get());
+        }
+
+        long completed = completedCount.sum();
+        long started = completed + activeCount.get();
+        stats.setSubmittedCount(submittedCount.sum());
+        stats.setCompletedCount(completed);
+        stats.setFailedCount(failedCount.sum());
+        stats.setRejectedCount(rejectedCount.sum());
+        stats.setAvgWaitMillis(started == 0 ? 0 : totalWaitNanos.sum() / 1e6 / started);
+        stats.setAvgRunMillis(completed == 0 ? 0 : totalRunNanos.sum() / 1e6 / completed);
+        stats.setMaxRunMillis(maxRunNanos.get() / 1e6);
+        return stats;
+    }
+
+    public String getName(){
+        return conf.getName();
+    }
+
+    // ===================================
+
+    /**
+     * 创建虚拟线程 Executor (JDK 21+)
+     * 项目编译目标为 JDK 8，所以这里只能通过反射创建
+     * @param name 线程池名称
+     * @return ExecutorService 不支持时返回 null
+     */
+    private static ExecutorService newVirtualExecutor(String name){
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClazz = Class.forName("java.lang.Thread$Builder");
+            builder = builderClazz.getMethod("name", String.class, long.class)
+                    .invoke(builder, "OpsliVirtual-" + name + "-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderClazz.getMethod("factory").invoke(builder);
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        }catch (Exception ignored){}
+        return null;
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.thread.pool;
+
+import lombok.Data;
+
+/**
+ * 线程池配置
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+public class ThreadPoolConf {
+
+    /** 默认并发数 */
+    private static final int DEFAULT_CONCURRENT = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** 线程池名称 */
+    private String name;
+
+    /** 核心线程数 */
+    private int coreSize = DEFAULT_CONCURRENT;
+
+    /** 最大线程数 */
+    private int maxSize = DEFAULT_CONCURRENT * 4;
+
+    /** 队列大小 */
+    private int queueSize = 500;
+
+    /** 线程存活时间 (秒) */
+    private long keepAlive = 60L;
+
+    /** 关闭时 最长等待时间 (秒) 超时后未执行的任务直接丢弃 */
+    private long awaitTermination = 10L;
+
+    /**
+     * 使用虚拟线程 (JDK 21+ 生效，低版本自动回退为普通线程池)
+     * 虚拟线程模式下 maxSize + queueSize 为最大在途任务数
+     */
+    private boolean virtual = false;
+
+    /**
+     * 默认配置
+     * @param name 线程池名称
+     * @return ThreadPoolConf
+     */
+    public static ThreadPoolConf defaults(String name){
+        ThreadPoolConf conf = new ThreadPoolConf();
+        conf.setName(name);
+        return conf;
+    }
+
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.thread.pool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * 线程池注册中心
+ *
+ * 按用途划分线程池 (日志、登录、扇出等)，互不抢占
+ * 未配置的线程池 首次使用时按默认配置创建
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public final class ThreadPoolRegistry {
+
+    /** 配置 */
+    private static final Map<String, ThreadPoolConf> CONF_MAP = new ConcurrentHashMap<>();
+    /** 线程池 */
+    private static final Map<String, MonitoredExecutor> EXECUTOR_MAP = new ConcurrentHashMap<>();
+    /** 是否已关闭 */
+    private static final AtomicBoolean SHUTDOWN = new AtomicBoolean(false);
+    /** 线程池创建监听 */
+    private static final List<Consumer<MonitoredExecutor>> CREATE_LISTENERS = new CopyOnWriteArrayList<>();
+    /** 任务装饰器 (线程池名称, 任务) -> 任务 */
+    private static final List<BiFunction<String, Runnable, Runnable>> TASK_DECORATORS = new CopyOnWriteArrayList<>();
+
+    static {
+        // 关闭事件的挂钩 (Spring 容器关闭时会提前调用 shutdownAll)
+        Runtime.getRuntime().addShutdownHook(new Thread(ThreadPoolRegistry::shutdownAll));
+    }
+
+    private ThreadPoolRegistry(){}
+
+    /**
+     * 注册配置 如果线程池已创建 则动态调整线程数
+     * @param conf 配置
+     */
+    public static void register(ThreadPoolConf conf){
+        if(conf == null || conf.getName() == null){
+            return;
+        }
+        CONF_MAP.put(conf.getName(), conf);
+        MonitoredExecutor executor = EXECUTOR_MAP.get(conf.getName());
+        if(executor != null){
+            executor.reconfigure(conf);
+        }
+    }
+
+    /**
+     * 获得线程池
+     * @param name 线程池名称
+     * @return MonitoredExecutor
+     */
+    public static MonitoredExecutor get(String name){
+        MonitoredExecutor executor = EXECUTOR_MAP.get(name);
+        if(executor == null){
+            executor = EXECUTOR_MAP.computeIfAbsent(name, key -> {
+                MonitoredExecutor tmp =
+                        new MonitoredExecutor(copy(CONF_MAP.getOrDefault(key, ThreadPoolConf.defaults(key))));
+                for (Consumer<MonitoredExecutor> listener : CREATE_LISTENERS) {
+                    try {
+                        listener.accept(tmp);
+                    }catch (Exception e){
+                        log.error(e.getMessage(), e);
+                    }
+                }
+                return tmp;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * 添加 线程池创建监听 (已创建的线程池 会立即回调一次)
+     * 用于指标等需要感知按需创建线程池的场景
+     * @param listener 监听
+     */
+    public static void addCreateListener(Consumer<MonitoredExecutor> listener){
+        if(listener == null){
+            return;
+        }
+        CREATE_LISTENERS.add(listener);
+        for (MonitoredExecutor executor : EXECUTOR_MAP.values()) {
+            listener.accept(executor);
+        }
+    }
+
+    /**
+     * 添加 任务装饰器 (对全部线程池生效)
+     * 用于在任务执行前后 建立/清理 线程上下文
+     * @param decorator 装饰器
+     */
+    public static void addTaskDecorator(BiFunction<String, Runnable, Runnable> decorator){
+        if(decorator == null){
+            return;
+        }
+        TASK_DECORATORS.add(decorator);
+    }
+
+    /**
+     * 装饰任务
+     * @param name 线程池名称
+     * @param task 任务
+     * @return Runnable
+     */
+    static Runnable decorate(String name, Runnable task){
+        Runnable decorated = task;
+        for (BiFunction<String, Runnable, Runnable> decorator : TASK_DECORATORS) {
+            decorated = decorator.apply(name, decorated);
+        }
+        return decorated;
+    }
+
+    /**
+     * 获得全部线程池
+     * @return Collection
+     */
+    public static Collection<MonitoredExecutor> getAll(){
+        return EXECUTOR_MAP.values();
+    }
+
+    /**
+     * 获得全部线程池 运行状态
+     * @return List
+     */
+    public static List<ThreadPoolStats> getStats(){
+        List<ThreadPoolStats> statsList = new ArrayList<>(EXECUTOR_MAP.size());
+        for (MonitoredExecutor executor : EXECUTOR_MAP.values()) {
+            statsList.add(executor.getStats());
+        }
+        return statsList;
+    }
+
+    /**
+     * 关闭全部线程池 (只执行一次)
+     */
+    public static void shutdownAll(){
+        if(!SHUTDOWN.compareAndSet(false, true)){
+            return;
+        }
+        for (MonitoredExecutor executor : EXECUTOR_MAP.values()) {
+            try {
+                executor.shutdown();
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 复制配置 防止外部修改
+     * @param conf 配置
+     * @return ThreadPoolConf
+     */
+    private static ThreadPoolConf copy(ThreadPoolConf conf){
+        ThreadPoolConf tmp = new ThreadPoolConf();
+        tmp.setName(conf.getName());
+        tmp.setCoreSize(conf.getCoreSize());
+        tmp.setMaxSize(Math.max(conf.getCoreSize(), conf.getMaxSize()));
+        tmp.setQueueSize(conf.getQueueSize());
+        tmp.setKeepAlive(conf.getKeepAlive());
+        tmp.setAwaitTermination(conf.getAwaitTermination());
+        tmp.setVirtual(conf.isVirtual());
+        return tmp;
+    }
+}
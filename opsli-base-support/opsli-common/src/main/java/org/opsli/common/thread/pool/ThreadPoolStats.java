@@ -0,0 +1,78 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.common.thread.pool;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 线程池 运行状态快照
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+public class ThreadPoolStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 线程池名称 */
+    private String name;
+
+    /** 是否为虚拟线程 */
+    private boolean virtual;
+
+    /** 核心线程数 */
+    private int coreSize;
+
+    /** 最大线程数 */
+    private int maxSize;
+
+    /** 当前线程数 */
+    private int poolSize;
+
+    /** 活跃线程数 */
+    private int activeCount;
+
+    /** 队列堆积数 */
+    private int queueSize;
+
+    /** 队列容量 */
+    private int queueCapacity;
+
+    /** 提交任务数 */
+    private long submittedCount;
+
+    /** 完成任务数 */
+    private long completedCount;
+
+    /** 异常任务数 */
+    private long failedCount;
+
+    /** 拒绝任务数 */
+    private long rejectedCount;
+
+    /** 平均排队耗时 (毫秒) */
+    private double avgWaitMillis;
+
+    /** 平均执行耗时 (毫秒) */
+    private double avgRunMillis;
+
+    /** 最大执行耗时 (毫秒) */
+    private double maxRunMillis;
+
+}
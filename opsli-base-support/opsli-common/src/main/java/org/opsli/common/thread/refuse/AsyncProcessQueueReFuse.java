@@ -51,4 +51,15 @@ public class AsyncProcessQueueReFuse {
     public static boolean execute(final Runnable task) {
         return AsyncProcessorReFuse.executeTask(new TaskWrapper(task));
     }
+
+    /**
+     * 在指定线程池中 执行指定的任务
+     *
+     * @param poolName 线程池名称
+     * @param task 任务
+     * @return boolean
+     */
+    public static boolean execute(final String poolName, final Runnable task) {
+        return AsyncProcessorReFuse.executeTask(poolName, new TaskWrapper(task));
+    }
 }
@@ -19,6 +19,10 @@ import com.baomidou.mybatisplus.extension.plugins.OptimisticLockerInterceptor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.opsli.core.filters.interceptor.MybatisAutoFillInterceptor;
+import org.opsli.core.filters.interceptor.ReadWriteMarkInterceptor;
+import org.opsli.core.filters.interceptor.ResponseCacheEvictInterceptor;
+import org.opsli.core.filters.interceptor.SqlFingerprintInterceptor;
+import org.opsli.core.filters.interceptor.StreamFetchSizeInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -52,6 +56,10 @@ public class MyBatisPlusConfig {
 	@Bean
 	public String myInterceptor(SqlSessionFactory sqlSessionFactory) {
 		sqlSessionFactory.getConfiguration().addInterceptor(new MybatisAutoFillInterceptor());
+		sqlSessionFactory.getConfiguration().addInterceptor(new ReadWriteMarkInterceptor());
+		sqlSessionFactory.getConfiguration().addInterceptor(new SqlFingerprintInterceptor());
+		sqlSessionFactory.getConfiguration().addInterceptor(new ResponseCacheEvictInterceptor());
+		sqlSessionFactory.getConfiguration().addInterceptor(new StreamFetchSizeInterceptor());
 		return "interceptor";
 	}
 
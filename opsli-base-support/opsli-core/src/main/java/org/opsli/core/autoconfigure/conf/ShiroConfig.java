@@ -16,9 +16,9 @@
 package org.opsli.core.autoconfigure.conf;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.util.ClassUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.shiro.authc.pam.AtLeastOneSuccessfulStrategy;
 import org.apache.shiro.authc.pam.ModularRealmAuthenticator;
 import org.apache.shiro.mgt.SecurityManager;
@@ -40,9 +40,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 
 import javax.servlet.Filter;
-import java.lang.reflect.Modifier;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 
 /**
@@ -53,6 +55,7 @@ import java.util.Set;
  * @author Parker
  * @date 2017-04-20 18:33
  */
+@Slf4j
 @Configuration
 public class ShiroConfig {
 
@@ -128,20 +131,20 @@ public class ShiroConfig {
         securityManager.setAuthenticator(modularRealmAuthenticator());
 
         List<Realm> realms = Lists.newArrayList();
-        // 拿到state包下 实现了 FlagRealm 接口的,所有子类
-        Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                FlagRealm.class.getPackage().getName(),
-                FlagRealm.class
-        );
-        for (Class<?> aClass : clazzSet) {
-            // 位运算 去除抽象类
-            if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                continue;
-            }
-
+        // 实现了 FlagRealm 接口的 Realm 由 META-INF/services 注册 无需扫描类路径
+        ServiceLoader<FlagRealm> loader = ServiceLoader.load(
+                FlagRealm.class, FlagRealm.class.getClassLoader());
+        // 逐个加载 单个 Realm 配置错误不影响其他 Realm
+        Iterator<FlagRealm> iterator = loader.iterator();
+        while (true){
             try {
-                realms.add((Realm) aClass.newInstance());
-            } catch (Exception ignored){ }
+                if(!iterator.hasNext()){
+                    break;
+                }
+                realms.add((Realm) iterator.next());
+            } catch (ServiceConfigurationError | ClassCastException e){
+                log.error("加载 Realm 失败", e);
+            }
         }
 
         if(CollUtil.isNotEmpty(realms)){
@@ -15,18 +15,25 @@
  */
 package org.opsli.core.autoconfigure.conf;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.opsli.common.annotation.ApiRestController;
 import org.opsli.core.autoconfigure.properties.ApiPathProperties;
+import org.opsli.core.filters.interceptor.ReadWriteRequestInterceptor;
+import org.opsli.core.filters.interceptor.SqlStatsRequestInterceptor;
+import org.opsli.core.handler.StreamResultVoMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import javax.annotation.Resource;
+import java.util.List;
 
 /**
  * 配置统一的后台接口访问路径的前缀
@@ -41,6 +48,9 @@ public class SpringWebMvcConfig implements WebMvcConfigurer {
 	@Resource
 	private ApiPathProperties apiPathProperties;
 
+	@Resource
+	private ObjectMapper objectMapper;
+
 	/**
 	 * 配置 ApiRestController 生效
 	 * @param configurer 配置
@@ -51,6 +61,28 @@ public class SpringWebMvcConfig implements WebMvcConfigurer {
 				.addPathPrefix(apiPathProperties.getGlobalPrefix(),c -> c.isAnnotationPresent(ApiRestController.class));
 	}
 
+	/**
+	 * 注册拦截器
+	 * @param registry 拦截器
+	 */
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// 读写分离 请求结束后清除写标记
+		registry.addInterceptor(new ReadWriteRequestInterceptor());
+		// SQL 统计范围
+		registry.addInterceptor(new SqlStatsRequestInterceptor());
+	}
+
+	/**
+	 * 注册消息转换器
+	 * 流式返回参数 需排在 Jackson 转换器之前
+	 * @param converters 转换器
+	 */
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(0, new StreamResultVoMessageConverter(objectMapper));
+	}
+
 	/**
 	 * 解决跨域问题
 	 * @return CorsFilter
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.autoconfigure.conf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.opsli.common.thread.pool.ThreadPoolConf;
+import org.opsli.common.thread.pool.ThreadPoolRegistry;
+import org.opsli.core.autoconfigure.properties.ThreadPoolProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+
+/**
+ * 线程池 配置
+ *
+ * 启动时将 opsli.thread-pool.pools 注册至线程池注册中心
+ * 容器关闭时 先于 Bean 销毁 有限时间内关闭全部线程池
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Configuration
+public class ThreadPoolConfig implements ApplicationListener<ContextClosedEvent> {
+
+    @Autowired
+    private ThreadPoolProperties threadPoolProperties;
+
+    @PostConstruct
+    public void init(){
+        Map<String, ThreadPoolConf> pools = threadPoolProperties.getPools();
+        if(pools == null){
+            return;
+        }
+        for (Map.Entry<String, ThreadPoolConf> entry : pools.entrySet()) {
+            ThreadPoolConf conf = entry.getValue();
+            conf.setName(entry.getKey());
+            ThreadPoolRegistry.register(conf);
+            log.info("线程池[{}] 已注册 - core:{} max:{} queue:{} virtual:{}",
+                    conf.getName(), conf.getCoreSize(), conf.getMaxSize(),
+                    conf.getQueueSize(), conf.isVirtual());
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        ThreadPoolRegistry.shutdownAll();
+    }
+
+}
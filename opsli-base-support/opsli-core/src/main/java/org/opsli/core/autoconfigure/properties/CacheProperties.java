@@ -20,6 +20,9 @@ import lombok.EqualsAndHashCode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 接口路径前缀配置
  *
@@ -37,4 +40,52 @@ public class CacheProperties {
     /** 缓存前缀 */
     private String prefix;
 
+    /** 提前刷新 缓存族 (user、org、tenant) -> 配置 */
+    private Map<String, RefreshAhead> refreshAhead = new HashMap<>();
+
+    /** 热点Key 探测 */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 提前刷新
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class RefreshAhead {
+
+        /** 是否开启 */
+        private boolean enable = false;
+
+        /** 软过期时间(秒) 超过后读取 直接返回旧值并在后台刷新 为空则为热点数据缓存时间 */
+        private Integer softTtl;
+
+    }
+
+    /**
+     * 热点Key 探测
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class HotKey {
+
+        /** 是否开启 (与本地 EhCache 是否开启无关) */
+        private boolean enable = false;
+
+        /** 热点阈值 单个统计窗口内 本节点读取 Redis 次数 */
+        private int threshold = 500;
+
+        /** 统计窗口(秒) 每个窗口结束后 计数减半 */
+        private int window = 10;
+
+        /** 最多保留的热点Key 数量 */
+        private int topK = 100;
+
+        /** 本地缓存时间(秒) 跨节点变更最多延迟该时间 */
+        private int ttl = 5;
+
+        /** 计数草图 宽度 (向上取 2 的幂) */
+        private int width = 4096;
+
+    }
+
 }
@@ -3,6 +3,7 @@ package org.opsli.core.autoconfigure.properties;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.opsli.common.enums.LoginLimitRefuse;
+import org.opsli.common.enums.LogsStorageType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -43,6 +44,21 @@ public class GlobalProperties {
     /** 代码生成器 */
     private Generator generator;
 
+    /** 搜索历史 */
+    private SearchHis searchHis = new SearchHis();
+
+    /** 日志 */
+    private Logs logs = new Logs();
+
+    /** 缓存预热 */
+    private WarmUp warmUp = new WarmUp();
+
+    /** 读写分离 */
+    private ReadWrite readWrite = new ReadWrite();
+
+    /** SQL 统计 */
+    private SqlStats sqlStats = new SqlStats();
+
     // ============== 内部类 =============
 
     /**
@@ -120,6 +136,21 @@ public class GlobalProperties {
             /** 失败锁定时间(秒) */
             private Integer slipLockSpeed;
 
+            /** 登录信息 合并写入间隔(秒) */
+            private Integer recordFlushInterval = 5;
+
+            /** 登录信息 每批写入数量 */
+            private Integer recordBatchSize = 500;
+
+            /** Token 本地校验缓存时间(秒) 0为关闭 每次校验均访问 Redis */
+            private Integer ticketCacheTtl = 0;
+
+            /** Token 本地校验缓存 最大数量 */
+            private Integer ticketCacheMaxSize = 100000;
+
+            /** 续命模式 同一用户续命最小间隔(秒) 0为每次请求均续命 */
+            private Integer reviveInterval = 0;
+
         }
 
     }
@@ -134,6 +165,132 @@ public class GlobalProperties {
         /** 最大导出操作数 */
         private Integer exportMaxCount;
 
+        /** 导入 每批解析数量 (每批交给一个工作线程 转换、校验、入库) */
+        private Integer importBatchCount = 2000;
+
+        /** 导入 JDBC Batch 每次提交数量 */
+        private Integer importJdbcBatchSize = 500;
+
+        /** 导入 工作线程数 */
+        private Integer importThreadCount = 4;
+
+        /** 导入 同时运行的任务数 */
+        private Integer importMaxJobs = 2;
+
+        /** 导入 任务结果保留时间 (分钟) */
+        private Integer importJobExpire = 30;
+
+        /** 导入 错误报告最大行数 */
+        private Integer importMaxErrors = 1000;
+
+        /** 导入 停机时等待运行中任务的时间 (秒) */
+        private Integer importShutdownWait = 30;
+
+    }
+
+    /**
+     * 搜索历史
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class SearchHis {
+
+        /** 每个用户 每个搜索Key 最多保留条数 */
+        private Integer maxCount = 50;
+
+        /** 热度半衰期 (小时) 越久之前的搜索 权重越低 */
+        private Integer halfLife = 168;
+
+        /** 闲置过期时间 (天) 用户长期不搜索则清除 -1 为不过期 */
+        private Integer idleExpire = 30;
+
+    }
+
+    /**
+     * 日志
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class Logs {
+
+        /** 存储方式 table 单表 / partition 按月分区 (需先执行分区脚本) */
+        private LogsStorageType storage = LogsStorageType.TABLE;
+
+        /** 保留月数 */
+        private Integer retainMonths = 1;
+
+        /** 分区模式 预先创建未来分区的月数 */
+        private Integer preCreateMonths = 2;
+
+        /** 单表模式 每批删除数量 */
+        private Integer deleteBatchSize = 5000;
+
+        /** 维护间隔 (小时) */
+        private Integer maintainInterval = 24;
+
+        /** 分区模式 删除分区前是否归档 */
+        private Boolean archive = false;
+
+        /** 归档目录 (每个分区一个 gzip 压缩文件) */
+        private String archivePath = "./logs-archive";
+
+    }
+
+    /**
+     * 缓存预热
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class WarmUp {
+
+        /** 启用 */
+        private Boolean enable = true;
+
+        /** 时间预算 (秒) 超时后不再等待 剩余数据按需加载 */
+        private Integer timeBudget = 30;
+
+        /** 后台执行 (不延迟就绪 预热完成前的请求按需加载) */
+        private Boolean async = false;
+
+    }
+
+    /**
+     * 读写分离
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class ReadWrite {
+
+        /** 启用 (未配置从库分组时 自动关闭) */
+        private Boolean enable = true;
+
+        /** 从库分组名称 (数据源名称为 分组_序号 如 slave_1、slave_2) */
+        private String group = "slave";
+
+        /** 从库连接失败后 回退主库时长 (秒) */
+        private Integer fallbackSeconds = 30;
+
+    }
+
+    /**
+     * SQL 统计 (按语句指纹统计 单次请求/异步任务 内的执行次数与耗时)
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class SqlStats {
+
+        /** 启用 */
+        private Boolean enable = true;
+
+        /** N+1 阈值 同一语句指纹 单次请求内执行次数 达到该值时告警 */
+        private Integer threshold = 10;
+
+        /** 响应头输出统计信息 (仅建议开发环境开启) */
+        private Boolean header = false;
+
+        /** 全局统计 最大指纹数 */
+        private Integer maxFingerprints = 2000;
+
     }
 
     /**
@@ -39,7 +39,6 @@ import org.opsli.common.annotation.RequiresPermissionsCus;
 import org.opsli.common.annotation.hotdata.EnableHotData;
 import org.opsli.common.constants.CacheConstants;
 import org.opsli.common.constants.TreeConstants;
-import org.opsli.common.enums.ExcelOperate;
 import org.opsli.common.exception.ServiceException;
 import org.opsli.common.exception.TokenException;
 import org.opsli.common.msg.CommonMsg;
@@ -56,8 +55,10 @@ import org.opsli.core.security.shiro.realm.JwtRealm;
 import org.opsli.core.utils.DistributedLockUtil;
 import org.opsli.core.utils.ExcelUtil;
 import org.opsli.core.utils.UserUtil;
+import org.opsli.core.utils.excel.importer.ExcelImportJob;
+import org.opsli.core.utils.excel.importer.ExcelImportStatus;
+import org.opsli.core.utils.excel.importer.ExcelImportUtil;
 import org.opsli.plugins.excel.exception.ExcelPluginException;
-import org.opsli.plugins.excel.listener.BatchExcelListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -81,6 +82,9 @@ import java.util.function.Function;
 @RestController
 public abstract class BaseRestController <T extends BaseEntity, E extends ApiWrapper, S extends CrudServiceInterface<T,E>>{
 
+    /** Excel 异步导入参数 */
+    protected static final String EXCEL_IMPORT_ASYNC = "async";
+
     /** 开启热点数据状态 */
     protected boolean hotDataFlag = false;
 
@@ -184,6 +188,9 @@ public abstract class BaseRestController <T extends BaseEntity, E extends ApiWra
 
     /**
      * Excel 导入
+     *
+     * 请求参数 async=true 时 异步导入，直接返回导入任务，前端通过任务ID轮询进度及逐行错误报告
+     *
      * @param request request
      * @return ResultVo
      */
@@ -198,47 +205,37 @@ public abstract class BaseRestController <T extends BaseEntity, E extends ApiWra
             return ResultVo.error(CoreMsg.EXCEL_FILE_NULL.getCode(),
                     CoreMsg.EXCEL_FILE_NULL.getMessage());
         }
-        ResultVo<?> resultVo ;
-        String msgInfo;
-        try {
-            UserModel user = UserUtil.getUser();
-            Date currDate = DateUtil.date();
-
-            // 导入优化为 监听器 模式 超过一定阈值直接释放资源 防止导入数据导致系统 OOM
-            ExcelUtil.getInstance().readExcelByListener(files.get(0), modelClazz, new BatchExcelListener<E>() {
-                @Override
-                public void saveData(List<E> dataList) {
-                    // 处理字典数据
-                    List<E> disposeData = ExcelUtil.getInstance().handleDatas(dataList, modelClazz, ExcelOperate.READ);
-                    // 手动赋值 必要数据 防止频繁开启Redis网络IO
-                    for (E model : disposeData) {
-                        model.setIzManual(true);
-                        model.setCreateBy(user.getId());
-                        model.setUpdateBy(user.getId());
-                        model.setCreateTime(currDate);
-                        model.setUpdateTime(currDate);
-                    }
-                    // 数据库插入数据
-                    IService.insertBatch(disposeData);
-                }
-            });
 
-            // 花费毫秒数
-            long timerCount = timer.interval();
-            // 提示信息
-            msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_SUCCESS.getMessage(), DateUtil.formatBetween(timerCount));
-            // 导出成功
-            resultVo = ResultVo.success(msgInfo);
-            resultVo.setCode(CoreMsg.EXCEL_IMPORT_SUCCESS.getCode());
+        UserModel user = UserUtil.getUser();
 
-        } catch (ExcelPluginException e) {
-            // 花费毫秒数
-            long timerCount = timer.interval();
+        // 异步导入
+        if(Convert.toBool(request.getParameter(EXCEL_IMPORT_ASYNC), false)){
+            ExcelImportJob job = ExcelImportUtil.submit(files.get(0), modelClazz, IService, user.getId());
+            return ResultVo.success(CoreMsg.EXCEL_IMPORT_SUBMIT.getMessage(), job);
+        }
+
+        // 同步导入 解析在当前线程，转换/校验/入库 在工作线程池
+        ExcelImportJob job = ExcelImportUtil.execute(files.get(0), modelClazz, IService, user.getId());
+
+        ResultVo<?> resultVo ;
+        String msgInfo;
+        // 花费毫秒数
+        long timerCount = timer.interval();
+        if(ExcelImportStatus.FAILED.getCode().equals(job.getStatus())){
             // 提示信息
             msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_ERROR.getMessage(), DateUtil.formatBetween(timerCount),
-                    e.getMessage());
+                    job.getMessage());
             // 导入失败
-            resultVo = ResultVo.error(CoreMsg.EXCEL_IMPORT_ERROR.getCode(), msgInfo);
+            resultVo = ResultVo.error(CoreMsg.EXCEL_IMPORT_ERROR.getCode(), msgInfo, job);
+        }else{
+            // 提示信息
+            msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_SUCCESS.getMessage(), DateUtil.formatBetween(timerCount));
+            if(job.getErrorCount() > 0){
+                msgInfo = msgInfo + "  -  " + job.getMessage();
+            }
+            // 导入成功
+            resultVo = ResultVo.success(msgInfo, job);
+            resultVo.setCode(CoreMsg.EXCEL_IMPORT_SUCCESS.getCode());
         }
         // 记录导出日志
         log.info(msgInfo);
@@ -22,18 +22,25 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.github.pagehelper.PageInfo;
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.base.warpper.ApiWrapper;
 import org.opsli.common.utils.WrapperUtil;
 import org.opsli.core.base.entity.BaseEntity;
 import org.opsli.core.base.service.base.BaseService;
 import org.opsli.core.base.service.interfaces.CrudServiceInterface;
+import org.opsli.core.filters.interceptor.MybatisAutoFillInterceptor;
+import org.opsli.core.metrics.OpsliMetrics;
 import org.opsli.core.persistence.Page;
 import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
 import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.chain.QueryOrgHandler;
 import org.opsli.core.persistence.querybuilder.chain.QueryTenantHandler;
+import org.opsli.core.utils.DataSourceRouteUtil;
+import org.opsli.core.utils.StreamQueryUtil;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.PostConstruct;
@@ -41,6 +48,8 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * CurdServiceImpl 基类 - 实现类
@@ -69,11 +78,22 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
     protected Class<T> entityClazz;
     /** Model Clazz 类 */
     protected Class<E> modelClazz;
+    /** Mapper Clazz 类 */
+    protected Class<?> mapperClazz;
+
+    /** 查询耗时 - 按ID */
+    private Timer getTimer;
+    /** 查询耗时 - 列表 */
+    private Timer findListTimer;
+    /** 查询耗时 - 全部 */
+    private Timer findAllListTimer;
+    /** 查询耗时 - 分页 */
+    private Timer findPageTimer;
 
     @Override
     public E get(String id) {
         return transformT2M(
-                super.getById(id)
+                getTimer.record(() -> super.getById(id))
         );
     }
 
@@ -83,7 +103,7 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
             return null;
         }
         return transformT2M(
-                super.getById(model.getId())
+                getTimer.record(() -> super.getById(model.getId()))
         );
     }
 
@@ -114,6 +134,12 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
     @Override
     @Transactional(readOnly = false)
     public boolean insertBatch(List<E> models) {
+        return this.insertBatch(models, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    @Transactional(readOnly = false)
+    public boolean insertBatch(List<E> models, int batchSize) {
         if(models == null || models.size() == 0){
             return false;
         }
@@ -130,7 +156,9 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
 
 
         List<T> entitys = transformMs2Ts(models);
-        return super.saveBatch(entitys);
+        // 整批数据一次填充
+        return MybatisAutoFillInterceptor.insertBatch(entitys,
+                () -> super.saveBatch(entitys, batchSize));
     }
 
     @Override
@@ -216,7 +244,8 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
                 new QueryOrgHandler()
         ).handler(entityClazz, queryWrapper);
 
-        return super.list(queryWrapper);
+        QueryWrapper<T> finalQueryWrapper = queryWrapper;
+        return findListTimer.record(() -> super.list(finalQueryWrapper));
     }
 
     @Override
@@ -228,11 +257,55 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
                 new QueryOrgHandler()
         ).handler(entityClazz, queryWrapper);
 
-        return super.list(queryWrapper);
+        QueryWrapper<T> finalQueryWrapper = queryWrapper;
+        return findAllListTimer.record(() -> super.list(finalQueryWrapper));
+    }
+
+    @Override
+    public StreamResultVo.Source<T> findListStream(QueryWrapper<T> queryWrapper) {
+        // 数据处理责任链
+        queryWrapper = new QueryTenantHandler(
+                new QueryOrgHandler()
+        ).handler(entityClazz, queryWrapper);
+
+        QueryWrapper<T> finalQueryWrapper = queryWrapper;
+        return consumer -> this.selectStream(findListTimer, finalQueryWrapper, consumer);
+    }
+
+    @Override
+    public StreamResultVo.Source<T> findAllListStream() {
+        QueryBuilder<T> queryBuilder = new GenQueryBuilder<>();
+        QueryWrapper<T> queryWrapper = queryBuilder.build();
+        // 数据处理责任链
+        queryWrapper = new QueryTenantHandler(
+                new QueryOrgHandler()
+        ).handler(entityClazz, queryWrapper);
+
+        QueryWrapper<T> finalQueryWrapper = queryWrapper;
+        return consumer -> this.selectStream(findAllListTimer, finalQueryWrapper, consumer);
+    }
+
+    /**
+     * 执行流式查询
+     * 执行时 已不在 Service 代理内，需自行切换读库 (失败不回退重试 防止数据重复输出)
+     * @param timer 耗时指标
+     * @param queryWrapper 查询条件构造器
+     * @param consumer 消费者
+     */
+    private void selectStream(Timer timer, QueryWrapper<T> queryWrapper, Consumer<? super T> consumer){
+        boolean isRead = DataSourceRouteUtil.pushRead();
+        try {
+            timer.record(() -> StreamQueryUtil.selectList(mapperClazz, queryWrapper, consumer));
+        }finally {
+            if(isRead){
+                DataSourceRouteUtil.pollRead();
+            }
+        }
     }
 
     @Override
     public Page<T,E> findPage(Page<T,E> page) {
+        long beginTime = System.nanoTime();
         page.pageHelperBegin();
         try{
             List<T> list = this.findList(page.getQueryWrapper());
@@ -241,12 +314,14 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
             page.instance(pageInfo, es);
         } finally {
             page.pageHelperEnd();
+            findPageTimer.record(System.nanoTime() - beginTime, TimeUnit.NANOSECONDS);
         }
         return page;
     }
 
     @Override
     public Page<T,E> findPageNotCount(Page<T,E> page) {
+        long beginTime = System.nanoTime();
         page.pageHelperBegin(false);
         try{
             List<T> list = this.findList(page.getQueryWrapper());
@@ -255,6 +330,7 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
             page.instance(pageInfo, es);
         } finally {
             page.pageHelperEnd();
+            findPageTimer.record(System.nanoTime() - beginTime, TimeUnit.NANOSECONDS);
         }
         return page;
     }
@@ -311,9 +387,18 @@ public abstract class CrudServiceImpl<M extends BaseMapper<T>, T extends BaseEnt
         try {
             this.modelClazz = this.getInnerModelClazz();
             this.entityClazz = this.getInnerEntityClazz();
+            Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), CrudServiceImpl.class);
+            this.mapperClazz = typeArguments != null ? typeArguments[0] : null;
         }catch (Exception e){
             log.error(e.getMessage(),e);
         }
+
+        // 查询耗时指标 (按 Entity 区分)
+        String entityName = entityClazz != null ? entityClazz.getSimpleName() : getClass().getSimpleName();
+        this.getTimer = OpsliMetrics.crudQueryTimer(entityName, "get");
+        this.findListTimer = OpsliMetrics.crudQueryTimer(entityName, "findList");
+        this.findAllListTimer = OpsliMetrics.crudQueryTimer(entityName, "findAllList");
+        this.findPageTimer = OpsliMetrics.crudQueryTimer(entityName, "findPage");
     }
 
     @Override
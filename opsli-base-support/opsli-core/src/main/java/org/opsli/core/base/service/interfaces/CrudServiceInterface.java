@@ -18,6 +18,7 @@ package org.opsli.core.base.service.interfaces;
 
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.base.warpper.ApiWrapper;
 import org.opsli.core.base.entity.BaseEntity;
 import org.opsli.core.persistence.Page;
@@ -87,6 +88,18 @@ public interface CrudServiceInterface<T extends BaseEntity, E extends ApiWrapper
      */
     boolean insertBatch(List<E> models);
 
+    /**
+     * 批量插入数据(批量插入数据 暂不支持更新热数据)
+     *
+     * 按 batchSize 分批提交 JDBC Batch
+     * (MySQL 连接需开启 rewriteBatchedStatements=true 才会合并为多行 INSERT)
+     *
+     * @param models model 数据模型
+     * @param batchSize 每批提交数量
+     * @return boolean
+     */
+    boolean insertBatch(List<E> models, int batchSize);
+
 
     /**
      * 更新数据
@@ -188,6 +201,22 @@ public interface CrudServiceInterface<T extends BaseEntity, E extends ApiWrapper
      */
     List<T> findAllList();
 
+    /**
+     * 流式查询数据列表
+     * 租户、组织 条件在调用时处理，返回的数据源 在输出响应时才执行查询
+     *
+     * @param queryWrapper 查询条件构造器
+     * @return StreamResultVo.Source<T>
+     */
+    StreamResultVo.Source<T> findListStream(QueryWrapper<T> queryWrapper);
+
+    /**
+     * 流式查询全部数据列表
+     *
+     * @return StreamResultVo.Source<T>
+     */
+    StreamResultVo.Source<T> findAllListStream();
+
     /**
      * 查询分页数据
      * @param page 分页
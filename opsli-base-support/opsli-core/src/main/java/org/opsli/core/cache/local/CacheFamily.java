@@ -0,0 +1,47 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.local;
+
+/**
+ * 缓存族 (用于按业务 分别配置 提前刷新)
+ * 字典、系统参数 为永久缓存 变更时主动刷新 不参与提前刷新
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public enum CacheFamily {
+
+    /** 用户 (用户、角色、权限、菜单) */
+    USER("user"),
+    /** 组织 */
+    ORG("org"),
+    /** 租户 */
+    TENANT("tenant"),
+
+    ;
+
+    private final String code;
+
+    public String getCode() {
+        return this.code;
+    }
+
+    // =================
+
+    CacheFamily(final String code) {
+        this.code = code;
+    }
+}
@@ -23,13 +23,19 @@ import com.alibaba.fastjson.JSONObject;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.opsli.common.constants.CacheConstants;
 import org.opsli.common.enums.CacheType;
+import org.opsli.common.thread.refuse.AsyncProcessQueueReFuse;
 import org.opsli.core.autoconfigure.properties.CacheProperties;
+import org.opsli.core.metrics.OpsliMetrics;
 import org.opsli.core.msg.CoreMsg;
+import org.opsli.core.utils.DataSourceRouteUtil;
+import org.opsli.core.utils.DistributedLockUtil;
 import org.opsli.core.utils.ThrowExceptionUtil;
 import org.opsli.plugins.cache.EhCachePlugin;
 import org.opsli.plugins.redis.RedisPlugin;
+import org.opsli.plugins.redis.scripts.enums.RedisScriptsEnum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
@@ -40,8 +46,14 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
@@ -80,6 +92,30 @@ public class CacheUtil {
     /** 热点数据前缀 */
     private static String PREFIX_NAME;
 
+    /** 租户 代数 key 前缀 */
+    private static final String TENANT_GEN_PREFIX = "tenant:gen:";
+    /** Json 租户ID key */
+    public static final String TENANT_ID_KEY = "tenantId";
+    /** Json 租户代数 key */
+    public static final String TENANT_GEN_KEY = "tenantGen";
+    /** 本地租户代数 有效时间 毫秒 (广播丢失时 最多延迟该时间生效) */
+    private static final long TENANT_GEN_LOCAL_TTL = 10000;
+    /** 本地租户代数 */
+    private static final Map<String, TenantGeneration> TENANT_GEN_MAP = new ConcurrentHashMap<>();
+
+    /** Json 加载时间 key */
+    public static final String LOAD_TIME_KEY = "loadTime";
+    /** 提前刷新 线程池名称 */
+    private static final String REFRESH_POOL_NAME = "cache-refresh";
+    /** 提前刷新 锁前缀 */
+    private static final String REFRESH_LOCK_PREFIX = "refresh:";
+    /** 提前刷新 缓存族 -> 软过期时间 毫秒 (未开启的缓存族 不在其中) */
+    private static final Map<CacheFamily, Long> SOFT_TTL_MAP = new EnumMap<>(CacheFamily.class);
+    /** 当前节点 正在刷新的 Key */
+    private static final Set<String> REFRESHING_KEYS = ConcurrentHashMap.newKeySet();
+    /** 当前线程 正在执行的提前刷新 (回写时比较加载时间) */
+    private static final ThreadLocal<RefreshVersion> REFRESH_VERSION = new ThreadLocal<>();
+
     /** 增加初始状态开关 防止异常使用 */
     private static boolean IS_INIT;
 
@@ -165,6 +201,42 @@ public class CacheUtil {
         return CacheUtil.get(vClass, key, false, isSaveLocal);
     }
 
+    /**
+     * 获得 普通 缓存 (提前刷新)
+     * 缓存族开启提前刷新后 超过软过期时间的缓存 直接返回旧值 并在后台执行一次 reloader
+     * @param key 键
+     * @param family 缓存族
+     * @param reloader 重新加载 (查询数据库 并存入缓存)
+     * @return Object
+     */
+    public static Object getTimed(final String key, final CacheFamily family,
+                                  final Runnable reloader){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        return CacheUtil.get(key, false, false, family, reloader);
+    }
+
+    /**
+     * 获得 普通 缓存 (提前刷新)
+     * @param vClass 泛型Class
+     * @param key 键
+     * @param family 缓存族
+     * @param reloader 重新加载 (查询数据库 并存入缓存)
+     * @return <V> 泛型
+     */
+    public static <V> V getTimed(final Class<V> vClass, final String key,
+                                 final CacheFamily family, final Runnable reloader){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        // 转换数据泛型
+        return Convert.convert(vClass,
+                CacheUtil.get(key, false, false, family, reloader));
+    }
+
     /**
      * 获得 普通 缓存
      * @param key 键
@@ -254,6 +326,20 @@ public class CacheUtil {
      * @return Object
      */
     private static Object get(final String key, final boolean isEden, final boolean isSaveLocal){
+        return CacheUtil.get(key, isEden, isSaveLocal, null, null);
+    }
+
+    /**
+     * 获得 普通 缓存
+     * @param key 键
+     * @param isEden 是否永久层数据
+     * @param isSaveLocal 是否保存到本地
+     * @param family 缓存族 为空则不提前刷新
+     * @param reloader 重新加载
+     * @return Object
+     */
+    private static Object get(final String key, final boolean isEden, final boolean isSaveLocal,
+                              final CacheFamily family, final Runnable reloader){
         // 判断 工具类是否初始化完成
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
@@ -265,19 +351,52 @@ public class CacheUtil {
             // 获得缓存Json
             JSONObject cacheJson;
 
+            // 热点Key 本地缓存
+            cacheJson = HotKeyCache.get(cacheKey);
+            if(cacheJson != null){
+                if(CacheUtil.isTenantExpired(cacheJson)){
+                    HotKeyCache.evict(cacheKey);
+                    return null;
+                }
+                OpsliMetrics.cacheHot();
+                // 软过期 后台刷新
+                CacheUtil.refreshAheadIfNeeded(cacheKey, cacheJson, family, reloader);
+                return cacheJson.get(JSON_KEY);
+            }
+
             // 判读是否需要 先从本地缓存获取
             if(isSaveLocal){
                 // 获得缓存Json
                 cacheJson = ehCachePlugin.get(CacheConstants.EHCACHE_SPACE,
                         cacheKey, JSONObject.class);
+                OpsliMetrics.cacheL1(cacheJson != null);
                 if(cacheJson != null){
+                    // 租户已失效 则删除本地缓存
+                    if(CacheUtil.isTenantExpired(cacheJson)){
+                        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+                        return null;
+                    }
+                    // 软过期 后台刷新
+                    CacheUtil.refreshAheadIfNeeded(cacheKey, cacheJson, family, reloader);
                     return cacheJson.get(JSON_KEY);
                 }
             }
 
             // 如果本地缓存找不到该缓存 则去远端缓存拉去缓存
+            long hotGen = HotKeyCache.generation(cacheKey);
             cacheJson = (JSONObject) redisPlugin.get(cacheKey);
+            OpsliMetrics.cacheL2(cacheJson != null);
+            // 租户已失效 视为未命中 (由下次写入覆盖)
+            if(cacheJson != null && CacheUtil.isTenantExpired(cacheJson)){
+                return null;
+            }
             if(cacheJson != null){
+                // 热点Key 探测
+                HotKeyCache.record(cacheKey, cacheJson, hotGen);
+
+                // 软过期 后台刷新
+                CacheUtil.refreshAheadIfNeeded(cacheKey, cacheJson, family, reloader);
+
                 // 判读是否需要 存入本地EhCache
                 if(isSaveLocal){
                     //存入EhCache
@@ -367,19 +486,32 @@ public class CacheUtil {
             // 获得缓存Json
             JSONObject cacheJson;
 
+            // 热点Key 本地缓存
+            cacheJson = HotKeyCache.get(cacheKey +":"+ field);
+            if(cacheJson != null){
+                OpsliMetrics.cacheHot();
+                return cacheJson.get(JSON_KEY);
+            }
+
             // 判读是否需要 先从本地缓存获取
             if(isSaveLocal){
                 // 获得缓存Json
                 cacheJson = ehCachePlugin.get(CacheConstants.EHCACHE_SPACE,
                         cacheKey +":"+ field, JSONObject.class);
+                OpsliMetrics.cacheL1(cacheJson != null);
                 if(cacheJson != null){
                     return cacheJson.get(JSON_KEY);
                 }
             }
 
             // 如果本地缓存找不到该缓存 则去远端缓存拉去缓存
+            long hotGen = HotKeyCache.generation(cacheKey +":"+ field);
             cacheJson = (JSONObject) redisPlugin.hGet(cacheKey, field);
+            OpsliMetrics.cacheL2(cacheJson != null);
             if(cacheJson != null){
+                // 热点Key 探测
+                HotKeyCache.record(cacheKey +":"+ field, cacheJson, hotGen);
+
                 // 判读是否需要 存入本地EhCache
                 if(isSaveLocal){
                     //存入EhCache
@@ -468,6 +600,36 @@ public class CacheUtil {
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
+        return CacheUtil.put(key, value, isEden, null);
+    }
+
+    /**
+     * 存普通缓存 并标记所属租户
+     * 写入时记录租户当前代数，租户被整体失效 (evictTenant) 后代数递增，该缓存读取时视为未命中
+     * 用户、组织等 归属租户的缓存 统一通过此方法存入，无需逐个删除即可随租户一并失效
+     * @param key 键
+     * @param value 值
+     * @param tenantId 租户ID
+     * @return boolean
+     */
+    public static boolean put(final String key, final Object value, final String tenantId) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        return CacheUtil.put(key, value, false, tenantId);
+    }
+
+    /**
+     * 存缓存
+     * @param key 键
+     * @param value 值
+     * @param isEden 是否永久存储
+     * @param tenantId 租户ID 为空则不标记
+     * @return boolean
+     */
+    private static boolean put(final String key, final Object value, final boolean isEden,
+                               final String tenantId) {
         try {
             // 自动处理 key
 
@@ -475,14 +637,26 @@ public class CacheUtil {
             JSONObject cacheJson = new JSONObject();
             cacheJson.put(JSON_KEY, value);
 
+            // 标记租户代数
+            if(StringUtils.isNotEmpty(tenantId)){
+                cacheJson.put(TENANT_ID_KEY, tenantId);
+                cacheJson.put(TENANT_GEN_KEY, CacheUtil.getTenantGeneration(tenantId));
+            }
+
             // 缓存 Key
             String cacheKey  = CacheUtil.handleUsualKey(key, isEden);
 
+            // 本节点 热点Key 本地缓存失效
+            HotKeyCache.evict(cacheKey);
+
             // 判断是否为永久存储
             if(isEden) {
                 // 存入Redis
                 return redisPlugin.put(cacheKey, cacheJson);
             }else{
+                // 标记加载时间 用于提前刷新
+                cacheJson.put(LOAD_TIME_KEY, System.currentTimeMillis());
+
                 // 随机缓存失效时间 防止缓存雪崩
                 // 范围在当前时效的 1.2 - 2倍
 
@@ -492,6 +666,13 @@ public class CacheUtil {
                         Convert.toInt(TTL_HOT_DATA_TIME * 2)
                 );
 
+                // 提前刷新 回写 只有缓存仍为刷新开始时的版本 才覆盖
+                RefreshVersion refreshVersion = REFRESH_VERSION.get();
+                if(refreshVersion != null && refreshVersion.cacheKey.equals(cacheKey)){
+                    return CacheUtil.putIfLoadTime(cacheKey, cacheJson,
+                            refreshVersion.loadTime, timeout);
+                }
+
                 // 存入Redis
                 return redisPlugin.put(cacheKey, cacheJson, timeout);
             }
@@ -523,6 +704,9 @@ public class CacheUtil {
             JSONObject cacheJson = new JSONObject();
             cacheJson.put(JSON_KEY, value);
 
+            // 本节点 热点Key 本地缓存失效
+            HotKeyCache.evict(cacheKey +":"+ field);
+
             // 存入Redis
             return redisPlugin.hPut(cacheKey, field, cacheJson);
         }catch (Exception e){
@@ -532,6 +716,139 @@ public class CacheUtil {
     }
 
 
+    /**
+     * 批量存 普通缓存 (管道 一次网络交互)
+     * 每个 Key 失效时间独立随机 防止缓存雪崩
+     * 与 put 一致 只写入 Redis，本地缓存在读取时加载
+     * @param valueMap 键 -> 值
+     * @return boolean
+     */
+    public static boolean putAll(final Map<String, Object> valueMap) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(valueMap)){
+            return true;
+        }
+
+        try {
+            Map<String, Object> cacheMap = Maps.newHashMapWithExpectedSize(valueMap.size());
+            Map<String, Long> timeoutMap = Maps.newHashMapWithExpectedSize(valueMap.size());
+            for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+                // 缓存 Key
+                String cacheKey  = CacheUtil.handleUsualKey(entry.getKey(), false);
+
+                // 则统一转换为 JSONObject
+                JSONObject cacheJson = new JSONObject();
+                cacheJson.put(JSON_KEY, entry.getValue());
+                cacheJson.put(LOAD_TIME_KEY, System.currentTimeMillis());
+                cacheMap.put(cacheKey, cacheJson);
+                HotKeyCache.evict(cacheKey);
+
+                // 生成随机失效时间
+                timeoutMap.put(cacheKey, (long) RandomUtil.randomInt(
+                        Convert.toInt(TTL_HOT_DATA_TIME * 1.2),
+                        Convert.toInt(TTL_HOT_DATA_TIME * 2)
+                ));
+            }
+
+            // 存入Redis
+            return redisPlugin.putAllPipelined(cacheMap, timeoutMap);
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+    /**
+     * 批量存 多个永久 Hash 缓存 (管道 一次网络交互)
+     * @param hashMap 键 -> (字段名 -> 值)
+     * @param isSaveLocal 是否同时存入本地缓存
+     * @return boolean
+     */
+    public static boolean putHashAll(final Map<String, Map<String, Object>> hashMap,
+                                     final boolean isSaveLocal) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(hashMap)){
+            return true;
+        }
+
+        try {
+            Map<String, Map<String, Object>> cacheHashMap = Maps.newHashMapWithExpectedSize(hashMap.size());
+            for (Map.Entry<String, Map<String, Object>> hashEntry : hashMap.entrySet()) {
+                if(CollUtil.isEmpty(hashEntry.getValue())){
+                    continue;
+                }
+
+                // 处理 key
+                String cacheKey = CacheUtil.handleKey(CacheType.EDEN_HASH, hashEntry.getKey());
+
+                // 则统一转换为 JSONObject
+                Map<String, Object> cacheMap = Maps.newHashMapWithExpectedSize(hashEntry.getValue().size());
+                for (Map.Entry<String, Object> entry : hashEntry.getValue().entrySet()) {
+                    JSONObject cacheJson = new JSONObject();
+                    cacheJson.put(JSON_KEY, entry.getValue());
+                    cacheMap.put(entry.getKey(), cacheJson);
+                    HotKeyCache.evict(cacheKey + ":" + entry.getKey());
+
+                    // 存入EhCache (与 Redis 取回的数据结构保持一致)
+                    if(isSaveLocal){
+                        ehCachePlugin.put(CacheConstants.EHCACHE_SPACE,
+                                cacheKey + ":" + entry.getKey(), JSONObject.parseObject(cacheJson.toJSONString()));
+                    }
+                }
+                cacheHashMap.put(cacheKey, cacheMap);
+            }
+
+            // 存入Redis
+            return redisPlugin.hPutAllPipelined(cacheHashMap);
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+    /**
+     * 批量存 永久 Hash 缓存 (一次网络交互)
+     * @param key 键
+     * @param valueMap 字段名 -> 值
+     * @return boolean
+     */
+    public static boolean putHashAll(final String key, final Map<String, Object> valueMap) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(valueMap)){
+            return true;
+        }
+
+        try {
+            // 处理 key
+            String cacheKey = CacheUtil.handleKey(CacheType.EDEN_HASH, key);
+
+            // 则统一转换为 JSONObject
+            Map<String, Object> cacheMap = Maps.newHashMapWithExpectedSize(valueMap.size());
+            for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+                JSONObject cacheJson = new JSONObject();
+                cacheJson.put(JSON_KEY, entry.getValue());
+                cacheMap.put(entry.getKey(), cacheJson);
+                HotKeyCache.evict(cacheKey +":"+ entry.getKey());
+            }
+
+            // 存入Redis
+            return redisPlugin.hPutAll(cacheKey, cacheMap);
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+
     // ========================= DEL =========================
 
 
@@ -571,6 +888,9 @@ public class CacheUtil {
             // 循环删除缓存数据
             for (String cacheKey : cacheKeys) {
 
+                // 删除 热点Key 本地缓存
+                HotKeyCache.evict(cacheKey);
+
                 // 删除 EhCache
                 boolean ehcacheRet = ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
                 if(ehcacheRet){
@@ -609,6 +929,9 @@ public class CacheUtil {
             // 自动处理 key
             String cacheKey = CacheUtil.handleKey(CacheType.EDEN_HASH, key);
 
+            // 删除 热点Key 本地缓存
+            HotKeyCache.evict(cacheKey +":"+ field);
+
             // 删除 EhCache
             boolean ehcacheRet = ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE,cacheKey +":"+ field);
             if(ehcacheRet){
@@ -628,6 +951,61 @@ public class CacheUtil {
         return false;
     }
 
+    /**
+     * 删 整个 Hash 缓存
+     * 本地缓存按字段逐个清除, Redis 只删除一次整个 Key
+     * @param key 键
+     * @return boolean
+     */
+    public static boolean delHashAll(final String key) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        try {
+            // 自动处理 key
+            String cacheKey = CacheUtil.handleKey(CacheType.EDEN_HASH, key);
+
+            // 删除 EhCache
+            Set<Object> fields = redisPlugin.hKeys(cacheKey);
+            if(CollUtil.isNotEmpty(fields)){
+                for (Object field : fields) {
+                    HotKeyCache.evict(cacheKey +":"+ field);
+                    ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE,cacheKey +":"+ field);
+                }
+            }
+
+            // 删除 Redis
+            redisPlugin.del(cacheKey);
+            return true;
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+    /**
+     * 删 本节点本地缓存 (EhCache 及 热点Key 缓存)
+     * 用于 接收到其他节点的变更消息
+     * @param cacheKey 缓存Key (已处理)
+     */
+    public static void delLocal(final String cacheKey) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        HotKeyCache.evict(cacheKey);
+        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+    }
+
+    /**
+     * 获得 本节点 当前热点Key 列表 (按访问次数倒序)
+     * @return List
+     */
+    public static List<HotKeyStats> getHotKeys() {
+        return HotKeyCache.getHotKeys();
+    }
+
     // ====================================================================
 
     /**
@@ -645,6 +1023,7 @@ public class CacheUtil {
         String cacheKey = CacheUtil.handleKey(NIL_FLAG_PREFIX + ":" + key);
 
         try {
+            OpsliMetrics.nilFlagPut();
             // 存入Redis
             Long increment = redisPlugin.increment(cacheKey);
             // 设置失效时间
@@ -680,6 +1059,38 @@ public class CacheUtil {
     }
 
 
+    /**
+     *  批量删除空属性 (一次网络交互)
+     *  用于 防止穿透判断 弥补布隆过滤器
+     *
+     * @param keys 键集合
+     * @return boolean
+     */
+    public static boolean delNilFlags(Collection<String> keys) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(keys)){
+            return true;
+        }
+
+        // 处理缓存 key
+        List<String> cacheKeys = Lists.newArrayListWithCapacity(keys.size());
+        for (String key : keys) {
+            cacheKeys.add(CacheUtil.handleKey(NIL_FLAG_PREFIX + ":" + key));
+        }
+        try {
+            // 删除Redis
+            redisPlugin.del(cacheKeys);
+            return true;
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+
     /**
      *  获得一个空属性 有效时间为 5分钟
      *  用于 防止穿透判断 弥补布隆过滤器
@@ -701,16 +1112,242 @@ public class CacheUtil {
             }
 
             Long nilNum = Convert.toLong(nilObj, 0L);
-            return NIL_FLAG_THRESHOLD < nilNum;
+            boolean hasNilFlag = NIL_FLAG_THRESHOLD < nilNum;
+            if(hasNilFlag){
+                OpsliMetrics.nilFlagHit();
+            }
+            return hasNilFlag;
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        return false;
+    }
+
+
+    // ============== 租户代数 ==============
+
+    /**
+     * 获得 租户代数
+     * 优先读本地 本地超过有效时间后 重新从 Redis 读取
+     * @param tenantId 租户ID
+     * @return long
+     */
+    public static long getTenantGeneration(String tenantId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        long now = System.currentTimeMillis();
+        TenantGeneration generation = TENANT_GEN_MAP.get(tenantId);
+        if(generation != null && now - generation.loadTime < TENANT_GEN_LOCAL_TTL){
+            return generation.value;
+        }
+
+        try {
+            Object genObj = redisPlugin.get(
+                    CacheUtil.handleKey(CacheType.EDEN, TENANT_GEN_PREFIX + tenantId));
+            generation = new TenantGeneration(Convert.toLong(genObj, 0L), now);
+            TENANT_GEN_MAP.put(tenantId, generation);
+            return generation.value;
+        }catch (Exception e){
+            log.error(e.getMessage(),e);
+        }
+        // Redis 异常时 沿用本地代数
+        return generation != null ? generation.value : 0L;
+    }
+
+    /**
+     * 租户缓存 整体失效 (递增租户代数)
+     * 不逐个删除 key, 标记了该租户的缓存 在读取时视为未命中
+     * @param tenantId 租户ID
+     * @return boolean
+     */
+    public static boolean evictTenant(String tenantId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(StringUtils.isEmpty(tenantId)){
+            return true;
+        }
+
+        try {
+            Long generation = redisPlugin.increment(
+                    CacheUtil.handleKey(CacheType.EDEN, TENANT_GEN_PREFIX + tenantId));
+            if(generation != null){
+                TENANT_GEN_MAP.put(tenantId,
+                        new TenantGeneration(generation, System.currentTimeMillis()));
+                return true;
+            }
         }catch (Exception e){
             log.error(e.getMessage(),e);
         }
         return false;
     }
 
+    /**
+     * 清除 本地租户代数 (用于接收其他服务器的租户失效广播)
+     * @param tenantId 租户ID
+     */
+    public static void clearLocalTenantGeneration(String tenantId){
+        if(StringUtils.isEmpty(tenantId)){
+            return;
+        }
+        TENANT_GEN_MAP.remove(tenantId);
+    }
+
+    /**
+     * 缓存所属租户 是否已失效
+     * @param cacheJson 缓存Json
+     * @return boolean
+     */
+    private static boolean isTenantExpired(JSONObject cacheJson){
+        String tenantId = cacheJson.getString(TENANT_ID_KEY);
+        if(StringUtils.isEmpty(tenantId)){
+            return false;
+        }
+        long generation = Convert.toLong(cacheJson.get(TENANT_GEN_KEY), 0L);
+        return generation != CacheUtil.getTenantGeneration(tenantId);
+    }
 
     // ====================================================================
 
+    /**
+     * 是否超过软过期时间
+     * @param cacheJson 缓存Json
+     * @param family 缓存族
+     * @return boolean 未开启提前刷新 或 无加载时间 返回 false
+     */
+    private static boolean isSoftExpired(JSONObject cacheJson, CacheFamily family){
+        Long softTtl = family != null ? SOFT_TTL_MAP.get(family) : null;
+        if(softTtl == null){
+            return false;
+        }
+        Long loadTime = cacheJson.getLong(LOAD_TIME_KEY);
+        return loadTime != null && System.currentTimeMillis() - loadTime >= softTtl;
+    }
+
+    /**
+     * 提前刷新
+     * 超过软过期时间 则在后台执行一次 reloader (本节点按 Key 去重，集群内由分布式锁去重)
+     * 热点 Key 在硬过期前即被刷新，只有冷 Key 才会真正过期
+     * @param cacheKey 缓存Key
+     * @param cacheJson 缓存Json
+     * @param family 缓存族
+     * @param reloader 重新加载
+     */
+    private static void refreshAheadIfNeeded(final String cacheKey, final JSONObject cacheJson,
+                                             final CacheFamily family, final Runnable reloader){
+        if(reloader == null || !CacheUtil.isSoftExpired(cacheJson, family)){
+            return;
+        }
+
+        // 本节点 已在刷新
+        if(!REFRESHING_KEYS.add(cacheKey)){
+            return;
+        }
+
+        boolean submitted = false;
+        try {
+            submitted = AsyncProcessQueueReFuse.execute(REFRESH_POOL_NAME, () -> {
+                String lockName = REFRESH_LOCK_PREFIX + cacheKey;
+                try {
+                    // 集群内 只刷新一次
+                    if(!DistributedLockUtil.lock(lockName)){
+                        return;
+                    }
+                    try {
+                        long hotGen = HotKeyCache.generation(cacheKey);
+                        // 已被删除 (数据已变更) 删除本节点副本 交由下次读取 重新加载
+                        JSONObject currJson = (JSONObject) redisPlugin.get(cacheKey);
+                        if(currJson == null){
+                            HotKeyCache.evict(cacheKey);
+                            ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+                            return;
+                        }
+                        // 其他节点已刷新 本节点副本仍是旧值 替换热点副本 删除本地副本
+                        // 否则每次读取本节点副本 都会再次提交刷新
+                        if(!CacheUtil.isSoftExpired(currJson, family)){
+                            HotKeyCache.replace(cacheKey, currJson, hotGen);
+                            ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+                            return;
+                        }
+
+                        // 回写时 比较加载时间 刷新期间发生的删除、写入 不会被旧值覆盖
+                        REFRESH_VERSION.set(new RefreshVersion(cacheKey,
+                                currJson.getLongValue(LOAD_TIME_KEY)));
+                        // 读主库 避免从库延迟
+                        DataSourceRouteUtil.markWrite();
+                        try {
+                            reloader.run();
+                        }finally {
+                            REFRESH_VERSION.remove();
+                            DataSourceRouteUtil.clear();
+                        }
+                    }finally {
+                        DistributedLockUtil.unlock(lockName);
+                    }
+                }finally {
+                    REFRESHING_KEYS.remove(cacheKey);
+                }
+            });
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }finally {
+            // 线程池已满 下次读取时再尝试
+            if(!submitted){
+                REFRESHING_KEYS.remove(cacheKey);
+            }
+        }
+    }
+
+    /**
+     * 提前刷新 回写 (比较加载时间)
+     * @param cacheKey 缓存Key
+     * @param cacheJson 新缓存Json
+     * @param loadTime 刷新开始时的加载时间
+     * @param timeout 失效时间(秒)
+     * @return boolean 缓存已被删除 或 已被覆盖 返回 false
+     */
+    private static boolean putIfLoadTime(String cacheKey, JSONObject cacheJson,
+                                         long loadTime, int timeout){
+        Object ret = redisPlugin.callScript(RedisScriptsEnum.CACHE_REFRESH_PUT,
+                Collections.singletonList(cacheKey), loadTime, cacheJson, timeout);
+        boolean written = ret instanceof Long && (Long) ret == 1L;
+        if(!written){
+            log.debug("缓存提前刷新 已被其他写入覆盖 放弃回写 - {}", cacheKey);
+        }
+        return written;
+    }
+
+    /**
+     * 初始化 提前刷新配置
+     * @param cacheProperties 缓存配置
+     */
+    private static void initRefreshAhead(CacheProperties cacheProperties){
+        SOFT_TTL_MAP.clear();
+        Map<String, CacheProperties.RefreshAhead> refreshAheadMap = cacheProperties.getRefreshAhead();
+        if(CollUtil.isEmpty(refreshAheadMap)){
+            return;
+        }
+        // 不支持的缓存族 配置不会生效
+        Set<String> unknownCodes = new HashSet<>(refreshAheadMap.keySet());
+        for (CacheFamily family : CacheFamily.values()) {
+            unknownCodes.remove(family.getCode());
+        }
+        if(!unknownCodes.isEmpty()){
+            log.warn("提前刷新 不支持缓存族{} 配置已忽略 (字典、系统参数 为永久缓存 变更时主动刷新)", unknownCodes);
+        }
+        for (CacheFamily family : CacheFamily.values()) {
+            CacheProperties.RefreshAhead refreshAhead = refreshAheadMap.get(family.getCode());
+            if(refreshAhead == null || !refreshAhead.isEnable()){
+                continue;
+            }
+            int softTtl = Convert.toInt(refreshAhead.getSoftTtl(), TTL_HOT_DATA_TIME);
+            SOFT_TTL_MAP.put(family, softTtl * 1000L);
+        }
+    }
+
     /**
      * 处理 key 默认为临时
      * @param key 缓存Key
@@ -807,7 +1444,47 @@ public class CacheUtil {
         CacheUtil.redisPlugin = redisPlugin;
         CacheUtil.ehCachePlugin = ehCachePlugin;
 
+        // 提前刷新配置
+        CacheUtil.initRefreshAhead(cacheProperties);
+
+        // 热点Key 探测
+        HotKeyCache.init(cacheProperties.getHotKey());
+
         IS_INIT = true;
     }
 
+    // ============
+
+    /**
+     * 本地 租户代数
+     */
+    private static final class TenantGeneration {
+
+        /** 代数 */
+        private final long value;
+        /** 加载时间 */
+        private final long loadTime;
+
+        private TenantGeneration(long value, long loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+    }
+
+    /**
+     * 提前刷新 版本
+     */
+    private static final class RefreshVersion {
+
+        /** 缓存Key */
+        private final String cacheKey;
+        /** 刷新开始时的加载时间 */
+        private final long loadTime;
+
+        private RefreshVersion(String cacheKey, long loadTime) {
+            this.cacheKey = cacheKey;
+            this.loadTime = loadTime;
+        }
+    }
+
 }
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.local;
+
+import com.alibaba.fastjson.JSONObject;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.opsli.core.autoconfigure.properties.CacheProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 热点Key 本地缓存
+ *
+ * 使用 Count-Min Sketch 统计本节点读取 Redis 的频次 (每个窗口计数减半)
+ * 超过阈值的 Top-K Key 存入一个容量很小的短时本地缓存，不依赖 EhCache 是否开启
+ * 用于分担 超管用户、常用字典、租户 等少量热点Key 对单个 Redis 分片的压力
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+final class HotKeyCache {
+
+    /** 草图 行数 */
+    private static final int DEPTH = 4;
+    /** 删除代数 分段掩码 */
+    private static final int GEN_MASK = 63;
+
+    /** 是否开启 */
+    private static volatile boolean ENABLE;
+    /** 热点阈值 */
+    private static int THRESHOLD;
+    /** 统计窗口 毫秒 */
+    private static long WINDOW_MILLIS;
+    /** 最多热点Key 数量 */
+    private static int TOP_K;
+    /** 草图 宽度掩码 */
+    private static int MASK;
+
+    /** 计数草图 DEPTH 行 * 宽度 */
+    private static AtomicIntegerArray SKETCH;
+    /** 当前窗口 开始时间 */
+    private static final AtomicLong WINDOW_START = new AtomicLong();
+    /** 热点Key -> 估算次数 */
+    private static final Map<String, Integer> HOT_KEYS = new ConcurrentHashMap<>();
+    /** 热点Key 本地缓存 */
+    private static Cache<String, JSONObject> PROMOTED;
+    /** 删除代数 (按 Key 分段) 每次删除 +1 */
+    private static final AtomicLongArray EVICT_GEN = new AtomicLongArray(GEN_MASK + 1);
+
+    private HotKeyCache(){}
+
+    /**
+     * 获得 热点Key 本地缓存
+     * @param cacheKey 缓存Key
+     * @return JSONObject 未开启或未命中 返回 null
+     */
+    static JSONObject get(String cacheKey){
+        if(!ENABLE){
+            return null;
+        }
+        return PROMOTED.getIfPresent(cacheKey);
+    }
+
+    /**
+     * 获得 删除代数 (读取 Redis 之前获取)
+     * @param cacheKey 缓存Key
+     * @return long
+     */
+    static long generation(String cacheKey){
+        return EVICT_GEN.get(HotKeyCache.genIndex(cacheKey));
+    }
+
+    /**
+     * 记录 一次 Redis 读取
+     * 超过阈值 且 在 Top-K 内 则存入本地缓存
+     * 读取 Redis 之后 若该 Key 已被删除过 (代数变化) 则不存入 避免旧值覆盖删除
+     * @param cacheKey 缓存Key
+     * @param cacheJson 缓存Json
+     * @param generation 读取 Redis 之前的删除代数
+     */
+    static void record(String cacheKey, JSONObject cacheJson, long generation){
+        if(!ENABLE){
+            return;
+        }
+        HotKeyCache.rollWindowIfNeeded();
+
+        int count = HotKeyCache.increment(cacheKey);
+        if(count < THRESHOLD){
+            return;
+        }
+
+        if(HOT_KEYS.containsKey(cacheKey) || HOT_KEYS.size() < TOP_K
+                || HotKeyCache.replaceColdest(count)){
+            HOT_KEYS.put(cacheKey, count);
+            HotKeyCache.promote(cacheKey, cacheJson, generation, false);
+        }
+    }
+
+    /**
+     * 替换 本地缓存 (仅已存入时替换)
+     * @param cacheKey 缓存Key
+     * @param cacheJson 缓存Json
+     * @param generation 读取 Redis 之前的删除代数
+     */
+    static void replace(String cacheKey, JSONObject cacheJson, long generation){
+        if(!ENABLE){
+            return;
+        }
+        HotKeyCache.promote(cacheKey, cacheJson, generation, true);
+    }
+
+    /**
+     * 删除 本地缓存 (保留热点统计 下次读取 Redis 后重新存入)
+     * @param cacheKey 缓存Key
+     */
+    static void evict(String cacheKey){
+        if(!ENABLE){
+            return;
+        }
+        // 先递增代数 再删除 读取中的旧值 存入后会发现代数变化
+        EVICT_GEN.incrementAndGet(HotKeyCache.genIndex(cacheKey));
+        PROMOTED.invalidate(cacheKey);
+    }
+
+    /**
+     * 获得 当前热点Key 列表 (按访问次数倒序)
+     * @return List
+     */
+    static List<HotKeyStats> getHotKeys(){
+        List<HotKeyStats> statsList = new ArrayList<>(HOT_KEYS.size());
+        if(!ENABLE){
+            return statsList;
+        }
+        for (Map.Entry<String, Integer> entry : HOT_KEYS.entrySet()) {
+            HotKeyStats stats = new HotKeyStats();
+            stats.setKey(entry.getKey());
+            stats.setCount(entry.getValue());
+            stats.setPromoted(PROMOTED.getIfPresent(entry.getKey()) != null);
+            statsList.add(stats);
+        }
+        statsList.sort((o1, o2) -> Integer.compare(o2.getCount(), o1.getCount()));
+        return statsList;
+    }
+
+    // ======================
+
+    /**
+     * 存入 本地缓存
+     * 存入后再次比较代数 与 evict 交错时 由后执行的一方删除
+     * @param cacheKey 缓存Key
+     * @param cacheJson 缓存Json
+     * @param generation 读取 Redis 之前的删除代数
+     * @param onlyIfPresent 是否仅已存入时替换
+     */
+    private static void promote(String cacheKey, JSONObject cacheJson,
+                                long generation, boolean onlyIfPresent){
+        int index = HotKeyCache.genIndex(cacheKey);
+        if(EVICT_GEN.get(index) != generation){
+            return;
+        }
+        if(onlyIfPresent){
+            if(PROMOTED.asMap().replace(cacheKey, cacheJson) == null){
+                return;
+            }
+        }else {
+            PROMOTED.put(cacheKey, cacheJson);
+        }
+        if(EVICT_GEN.get(index) != generation){
+            PROMOTED.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * 删除代数 分段下标
+     * @param cacheKey 缓存Key
+     * @return int
+     */
+    private static int genIndex(String cacheKey){
+        return HotKeyCache.spread(cacheKey.hashCode()) & GEN_MASK;
+    }
+
+    /**
+     * 计数 +1 并返回估算值 (各行最小值)
+     * @param cacheKey 缓存Key
+     * @return int
+     */
+    private static int increment(String cacheKey){
+        int h1 = HotKeyCache.spread(cacheKey.hashCode());
+        int h2 = HotKeyCache.spread(h1) | 1;
+        int width = MASK + 1;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * width + ((h1 + i * h2) & MASK);
+            min = Math.min(min, SKETCH.incrementAndGet(index));
+        }
+        return min;
+    }
+
+    /**
+     * 替换 最冷的热点Key
+     * @param count 新Key 估算次数
+     * @return boolean 是否已腾出位置
+     */
+    private static boolean replaceColdest(int count){
+        String coldestKey = null;
+        int coldest = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> entry : HOT_KEYS.entrySet()) {
+            if(entry.getValue() < coldest){
+                coldest = entry.getValue();
+                coldestKey = entry.getKey();
+            }
+        }
+        if(coldestKey == null || coldest >= count){
+            return false;
+        }
+        HOT_KEYS.remove(coldestKey);
+        PROMOTED.invalidate(coldestKey);
+        return true;
+    }
+
+    /**
+     * 窗口结束 计数减半 (由抢到窗口的线程执行)
+     * 低于阈值的 Key 退出热点，本地缓存随 TTL 自然过期
+     */
+    private static void rollWindowIfNeeded(){
+        long now = System.currentTimeMillis();
+        long start = WINDOW_START.get();
+        if(now - start < WINDOW_MILLIS || !WINDOW_START.compareAndSet(start, now)){
+            return;
+        }
+
+        for (int i = 0; i < SKETCH.length(); i++) {
+            int count = SKETCH.get(i);
+            if(count != 0){
+                SKETCH.set(i, count >>> 1);
+            }
+        }
+        HOT_KEYS.replaceAll((k, v) -> v >>> 1);
+        HOT_KEYS.values().removeIf(v -> v < THRESHOLD);
+    }
+
+    /**
+     * 哈希扰动
+     * @param h hash
+     * @return int
+     */
+    private static int spread(int h){
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * 初始化
+     * @param hotKey 热点Key 配置
+     */
+    static void init(CacheProperties.HotKey hotKey){
+        HOT_KEYS.clear();
+        if(hotKey == null || !hotKey.isEnable()){
+            ENABLE = false;
+            return;
+        }
+
+        int width = Integer.highestOneBit(Math.max(hotKey.getWidth() - 1, 1)) << 1;
+        THRESHOLD = Math.max(hotKey.getThreshold(), 1);
+        WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(Math.max(hotKey.getWindow(), 1));
+        TOP_K = Math.max(hotKey.getTopK(), 1);
+        MASK = width - 1;
+        SKETCH = new AtomicIntegerArray(DEPTH * width);
+        WINDOW_START.set(System.currentTimeMillis());
+        PROMOTED = CacheBuilder.newBuilder()
+                .maximumSize(TOP_K)
+                .expireAfterWrite(Math.max(hotKey.getTtl(), 1), TimeUnit.SECONDS)
+                .build();
+        ENABLE = true;
+    }
+
+}
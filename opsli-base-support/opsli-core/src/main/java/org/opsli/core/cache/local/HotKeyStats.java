@@ -0,0 +1,42 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.local;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 热点Key 快照
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+public class HotKeyStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 缓存Key */
+    private String key;
+
+    /** 估算访问次数 (计数每个窗口减半) */
+    private int count;
+
+    /** 是否已存入本地缓存 */
+    private boolean promoted;
+
+}
@@ -50,12 +50,19 @@ public enum MsgArgsType {
     TENANT_ID,
     /** 租户数据 */
     TENANT_DATA,
+    /** 租户代数 */
+    TENANT_GENERATION,
 
     /** 参数编号 */
     OPTION_CODE,
     /** 参数数据*/
     OPTION_MODEL_DATA,
 
+    /** Token 用户名 */
+    TOKEN_USERNAME,
+    /** Token 凭证 */
+    TOKEN_TICKET,
+
     /** 缓存数据Key */
     CACHE_DATA_KEY,
     /** 缓存数据Value */
@@ -44,6 +44,9 @@ public enum PushSubType {
     /** 热点数据 */
     HOT_DATA,
 
+    /** Token 吊销 */
+    TOKEN,
+
     ;
 
 
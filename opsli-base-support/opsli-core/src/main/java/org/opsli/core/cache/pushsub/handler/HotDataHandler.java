@@ -57,11 +57,13 @@ public class HotDataHandler implements RedisPushSubHandler{
         String cacheName = CacheUtil.handleKey(CacheConstants.HOT_DATA_PREFIX +":"+ key);
 
         if(CacheHandleType.UPDATE == type){
+            // 先清除本节点 热点Key 副本 防止继续读到旧值
+            CacheUtil.delLocal(cacheName);
             ehCachePlugin.put(CacheConstants.EHCACHE_SPACE, cacheName, value);
         }
         // 缓存删除
         else if(CacheHandleType.DELETE == type){
-            ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheName);
+            CacheUtil.delLocal(cacheName);
         }
     }
 
@@ -18,13 +18,10 @@ package org.opsli.core.cache.pushsub.handler;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.opsli.common.constants.CacheConstants;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.cache.pushsub.enums.MsgArgsType;
 import org.opsli.core.cache.pushsub.enums.PushSubType;
 import org.opsli.core.utils.OptionsUtil;
-import org.opsli.plugins.cache.EhCachePlugin;
-import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * 系统参数消息处理
@@ -35,9 +32,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 @Slf4j
 public class OptionHandler implements RedisPushSubHandler{
 
-    @Autowired
-    private EhCachePlugin ehCachePlugin;
-
     @Override
     public PushSubType getType() {
         return PushSubType.OPTION;
@@ -69,7 +63,7 @@ public class OptionHandler implements RedisPushSubHandler{
         String cacheKey = CacheUtil.handleKey(OptionsUtil.PREFIX_CODE + optionCode);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+        CacheUtil.delLocal(cacheKey);
     }
 
 
@@ -18,13 +18,10 @@ package org.opsli.core.cache.pushsub.handler;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.opsli.common.constants.CacheConstants;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.cache.pushsub.enums.MsgArgsType;
 import org.opsli.core.cache.pushsub.enums.PushSubType;
 import org.opsli.core.utils.TenantUtil;
-import org.opsli.plugins.cache.EhCachePlugin;
-import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * 租户消息处理
@@ -35,9 +32,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 @Slf4j
 public class TenantHandler implements RedisPushSubHandler{
 
-    @Autowired
-    private EhCachePlugin ehCachePlugin;
-
     @Override
     public PushSubType getType() {
         return PushSubType.TENANT;
@@ -54,22 +48,27 @@ public class TenantHandler implements RedisPushSubHandler{
      * @param msgJson 信息Json
      */
     private void orgHandler(JSONObject msgJson){
-        JSONObject data = msgJson.getJSONObject(MsgArgsType.TENANT_DATA.toString());
-        // 数据为空则不执行
-        if(data == null){
-            return;
-        }
-
         // 获得租户ID
         String tenantId = (String) msgJson.get(MsgArgsType.TENANT_ID.toString());
         if(StringUtils.isEmpty(tenantId)){
             return;
         }
 
+        // 租户缓存整体失效 清除本地租户代数 下次读取时从 Redis 获取最新代数
+        if(msgJson.getBooleanValue(MsgArgsType.TENANT_GENERATION.toString())){
+            CacheUtil.clearLocalTenantGeneration(tenantId);
+        }else{
+            JSONObject data = msgJson.getJSONObject(MsgArgsType.TENANT_DATA.toString());
+            // 数据为空则不执行
+            if(data == null){
+                return;
+            }
+        }
+
         String cacheKey = CacheUtil.handleKey(TenantUtil.PREFIX_CODE + tenantId);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+        CacheUtil.delLocal(cacheKey);
     }
 
 
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.pushsub.handler;
+
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opsli.core.cache.pushsub.enums.MsgArgsType;
+import org.opsli.core.cache.pushsub.enums.PushSubType;
+import org.opsli.core.utils.UserTokenUtil;
+
+/**
+ * Token 吊销消息处理
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public class TokenHandler implements RedisPushSubHandler{
+
+    @Override
+    public PushSubType getType() {
+        return PushSubType.TOKEN;
+    }
+
+    @Override
+    public void handler(JSONObject msgJson) {
+        // 获得用户名 和 Token
+        String username = (String) msgJson.get(MsgArgsType.TOKEN_USERNAME.toString());
+        String token = (String) msgJson.get(MsgArgsType.TOKEN_TICKET.toString());
+        if(StringUtils.isEmpty(username)){
+            return;
+        }
+
+        // 清除本地 Token 校验缓存
+        UserTokenUtil.evictLocalTicket(username, token);
+    }
+
+}
@@ -19,14 +19,11 @@ import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.opsli.common.constants.CacheConstants;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.cache.pushsub.enums.MsgArgsType;
 import org.opsli.core.cache.pushsub.enums.PushSubType;
 import org.opsli.core.cache.pushsub.enums.UserModelType;
 import org.opsli.core.utils.UserUtil;
-import org.opsli.plugins.cache.EhCachePlugin;
-import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * 用户消息处理
@@ -37,9 +34,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 @Slf4j
 public class UserHandler implements RedisPushSubHandler{
 
-    @Autowired
-    private EhCachePlugin ehCachePlugin;
-
     @Override
     public PushSubType getType() {
         return PushSubType.USER;
@@ -91,8 +85,8 @@ public class UserHandler implements RedisPushSubHandler{
         String cacheKeyByName = CacheUtil.handleKey(UserUtil.PREFIX_USERNAME + username);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKeyById);
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKeyByName);
+        CacheUtil.delLocal(cacheKeyById);
+        CacheUtil.delLocal(cacheKeyByName);
     }
 
     /**
@@ -115,7 +109,7 @@ public class UserHandler implements RedisPushSubHandler{
         String cacheKey = CacheUtil.handleKey(UserUtil.PREFIX_ID_ROLES + userId);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+        CacheUtil.delLocal(cacheKey);
     }
 
     /**
@@ -138,7 +132,7 @@ public class UserHandler implements RedisPushSubHandler{
         String cacheKey = CacheUtil.handleKey(UserUtil.PREFIX_ID_PERMISSIONS + userId);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+        CacheUtil.delLocal(cacheKey);
     }
 
     /**
@@ -161,7 +155,7 @@ public class UserHandler implements RedisPushSubHandler{
         String cacheKey = CacheUtil.handleKey(UserUtil.PREFIX_ID_MENUS + userId);
 
         // 先删除
-        ehCachePlugin.delete(CacheConstants.EHCACHE_SPACE, cacheKey);
+        CacheUtil.delLocal(cacheKey);
     }
 
 
@@ -56,5 +56,21 @@ public final class TenantMsgFactory extends BaseSubMessage{
         return baseSubMessage;
     }
 
+    /**
+     * 构建消息 - 租户缓存整体失效
+     * @param tenantId 租户ID
+     * @return 消息
+     */
+    public static BaseSubMessage createTenantEvictMsg(String tenantId){
+        BaseSubMessage baseSubMessage = new BaseSubMessage();
+        // 数据
+        JSONObject jsonObj = new JSONObject();
+        jsonObj.put(MsgArgsType.TENANT_ID.toString(), tenantId);
+        jsonObj.put(MsgArgsType.TENANT_GENERATION.toString(), true);
+
+        // 租户
+        baseSubMessage.build(CHANNEL,PushSubType.TENANT.toString(),jsonObj);
+        return baseSubMessage;
+    }
 
 }
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.pushsub.msgs;
+
+import com.alibaba.fastjson.JSONObject;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.opsli.core.cache.pushsub.enums.MsgArgsType;
+import org.opsli.core.cache.pushsub.enums.PushSubType;
+import org.opsli.core.cache.pushsub.receiver.RedisPushSubReceiver;
+import org.opsli.plugins.redis.pushsub.entity.BaseSubMessage;
+
+/**
+ * Token 吊销消息
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+@Accessors(chain = true)
+public final class TokenMsgFactory extends BaseSubMessage{
+
+    /** 通道 */
+    private static final String CHANNEL = RedisPushSubReceiver.BASE_CHANNEL+RedisPushSubReceiver.CHANNEL;
+
+    private TokenMsgFactory(){}
+
+    /**
+     * 构建消息 - Token 吊销
+     * @param username 用户名
+     * @param token Token 为空时 吊销该用户全部 Token
+     * @return 消息
+     */
+    public static BaseSubMessage createRevokeMsg(String username, String token){
+        BaseSubMessage baseSubMessage = new BaseSubMessage();
+        // 数据
+        JSONObject jsonObj = new JSONObject();
+        jsonObj.put(MsgArgsType.TOKEN_USERNAME.toString(), username);
+        jsonObj.put(MsgArgsType.TOKEN_TICKET.toString(), token);
+
+        // Token
+        baseSubMessage.build(CHANNEL,PushSubType.TOKEN.toString(),jsonObj);
+        return baseSubMessage;
+    }
+
+}
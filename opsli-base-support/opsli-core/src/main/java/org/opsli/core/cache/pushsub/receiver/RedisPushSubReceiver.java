@@ -15,7 +15,6 @@
  */
 package org.opsli.core.cache.pushsub.receiver;
 
-import cn.hutool.core.util.ClassUtil;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -31,8 +30,8 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.lang.reflect.Modifier;
-import java.util.Set;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -70,35 +69,28 @@ public class RedisPushSubReceiver extends BaseReceiver {
     @Bean
     public void initRedisPushSubHandler(){
 
-        // 拿到state包下 实现了 SystemEventState 接口的,所有子类
-        Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                RedisPushSubHandler.class.getPackage().getName(),
-                RedisPushSubHandler.class
-        );
-
-        for (Class<?> aClass : clazzSet) {
-            // 位运算 去除抽象类
-            if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                continue;
-            }
-
-            try {
-                Object obj = aClass.newInstance();
-
-                RedisPushSubHandler handler = (RedisPushSubHandler) obj;
-
-                // 加入集合
-                HANDLER_MAP.put(handler.getType(),handler);
-
-                //将new出的对象放入Spring容器中
-                defaultListableBeanFactory.registerSingleton(SPRING_PREFIX+aClass.getSimpleName(), obj);
-
-                //自动注入依赖
-                beanFactory.autowireBean(obj);
-
-            } catch (Exception e){
-                log.error(CoreMsg.REDIS_EXCEPTION_PUSH_SUB.getMessage());
+        // 实现类由 META-INF/services 注册 无需扫描类路径
+        ServiceLoader<RedisPushSubHandler> loader = ServiceLoader.load(
+                RedisPushSubHandler.class, RedisPushSubHandler.class.getClassLoader());
+        try {
+            for (RedisPushSubHandler handler : loader) {
+                try {
+                    // 加入集合
+                    HANDLER_MAP.put(handler.getType(),handler);
+
+                    //将new出的对象放入Spring容器中
+                    defaultListableBeanFactory.registerSingleton(
+                            SPRING_PREFIX+handler.getClass().getSimpleName(), handler);
+
+                    //自动注入依赖
+                    beanFactory.autowireBean(handler);
+
+                } catch (Exception e){
+                    log.error(CoreMsg.REDIS_EXCEPTION_PUSH_SUB.getMessage());
+                }
             }
+        } catch (ServiceConfigurationError e){
+            log.error(CoreMsg.REDIS_EXCEPTION_PUSH_SUB.getMessage(), e);
         }
     }
 
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.cache.warmup;
+
+/**
+ * 缓存预热处理器
+ *
+ * 系统启动完成、对外提供服务之前 由 ApplicationReadyEventListener 统一并行调用
+ * 实现类应使用 一次查询 + 管道批量写入，而不是逐条走按需加载
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public interface CacheWarmUpHandler {
+
+    /**
+     * 预热名称 (用于日志)
+     * @return String
+     */
+    String getName();
+
+    /**
+     * 执行预热
+     * @return int 预热数量
+     */
+    int warmUp();
+
+}
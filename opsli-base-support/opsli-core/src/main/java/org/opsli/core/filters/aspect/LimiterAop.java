@@ -27,6 +27,7 @@ import org.opsli.common.enums.AlertType;
 import org.opsli.common.exception.ServiceException;
 import org.opsli.common.utils.OutputStreamUtil;
 import org.opsli.common.utils.RateLimiterUtil;
+import org.opsli.core.metrics.OpsliMetrics;
 import org.opsli.core.msg.CoreMsg;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -79,6 +80,8 @@ public class LimiterAop {
                     // 限流
                     boolean enterFlag = RateLimiterUtil.enter(request, qps);
                     if(!enterFlag){
+                        OpsliMetrics.limiterRejected(
+                                method.getDeclaringClass().getSimpleName() + "." + method.getName());
                         // alert 弹出
                         if(AlertType.ALERT == alertType){
                             OutputStreamUtil.exceptionResponse(
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.filters.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.opsli.core.utils.DataSourceRouteUtil;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static org.opsli.common.constants.OrderConstants.READ_WRITE_AOP_SORT;
+
+/**
+ * 读写分离 拦截处理
+ *
+ * CrudServiceImpl 默认开启只读事务，必须在事务切面之前切换数据源，否则连接已绑定主库
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(READ_WRITE_AOP_SORT)
+@Aspect
+@Component
+public class ReadWriteRouteAop {
+
+    @Pointcut("execution(public * org.opsli.core.base.service.impl.CrudServiceImpl.get(..))")
+    public void get() {
+    }
+
+    @Pointcut("execution(public * org.opsli.core.base.service.impl.CrudServiceImpl.find*(..))")
+    public void find() {
+    }
+
+    /**
+     * 读操作 路由至从库
+     * @param point point
+     */
+    @Around("get() || find()")
+    public Object readHandler(ProceedingJoinPoint point) throws Throwable {
+        if(!DataSourceRouteUtil.pushRead()){
+            return point.proceed();
+        }
+        try {
+            return point.proceed();
+        }catch (Throwable e){
+            if(!DataSourceRouteUtil.isFallback(e)){
+                throw e;
+            }
+        }finally {
+            DataSourceRouteUtil.pollRead();
+        }
+        // 从库不可用 回退主库
+        return point.proceed();
+    }
+
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.filters.aspect;
+
+import cn.hutool.core.util.ZipUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shiro.authz.annotation.RequiresPermissions;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.apache.shiro.authz.aop.PermissionAnnotationHandler;
+import org.apache.shiro.authz.aop.RoleAnnotationHandler;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.opsli.api.base.result.ResultVo;
+import org.opsli.common.annotation.ResponseCache;
+import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.utils.ResponseCacheUtil;
+import org.opsli.core.utils.UserTokenUtil;
+import org.opsli.core.utils.UserUtil;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.opsli.common.constants.OrderConstants.RESPONSE_CACHE_AOP_SORT;
+
+/**
+ * 接口响应缓存 拦截处理
+ *
+ * 只处理 当前请求直接映射到的 Controller 方法 (内部 Api 调用不走缓存)
+ * 命中缓存时 直接输出序列化好的响应体，不再经过 Service 与 序列化
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(RESPONSE_CACHE_AOP_SORT)
+@Aspect
+@Component
+public class ResponseCacheAop {
+
+    private static final String GZIP = "gzip";
+
+    /** 权限校验 (命中缓存时 Shiro 注解切面不会执行 需手动校验) */
+    private static final PermissionAnnotationHandler PERMISSION_HANDLER = new PermissionAnnotationHandler();
+    private static final RoleAnnotationHandler ROLE_HANDLER = new RoleAnnotationHandler();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Pointcut("@annotation(org.opsli.common.annotation.ResponseCache)")
+    public void responseCache() {
+    }
+
+    /**
+     * 切入 响应缓存
+     * @param point point
+     * @return Object
+     * @throws Throwable 异常
+     */
+    @Around("responseCache()")
+    public Object responseCacheHandler(ProceedingJoinPoint point) throws Throwable {
+        ServletRequestAttributes sra = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if(sra == null || sra.getResponse() == null){
+            return point.proceed();
+        }
+        HttpServletRequest request = sra.getRequest();
+        HttpServletResponse response = sra.getResponse();
+
+        Method method = AopUtils.getMostSpecificMethod(
+                ((MethodSignature) point.getSignature()).getMethod(), point.getTarget().getClass());
+        if(!HttpMethod.GET.matches(request.getMethod()) || !this.isHandlerMethod(request, method)){
+            return point.proceed();
+        }
+
+        ResponseCache responseCache = method.getAnnotation(ResponseCache.class);
+        if(responseCache == null){
+            return point.proceed();
+        }
+
+        // 权限校验
+        this.assertAuthorized(method);
+
+        String key;
+        try {
+            key = ResponseCacheUtil.getKey(this.getBaseKey(request, responseCache), this.getTags(responseCache));
+        }catch (Exception e){
+            // 缓存不可用时 直接执行
+            log.error(e.getMessage(), e);
+            return point.proceed();
+        }
+
+        ResponseCacheUtil.CacheEntry entry = ResponseCacheUtil.get(key);
+        if(entry == null){
+            Object returnValue = point.proceed();
+            // 只缓存成功结果
+            if(!(returnValue instanceof ResultVo) || !((ResultVo<?>) returnValue).isSuccess()){
+                return returnValue;
+            }
+            entry = ResponseCacheUtil.put(key,
+                    objectMapper.writeValueAsBytes(returnValue),
+                    responseCache.gzip(), responseCache.expire());
+        }
+
+        this.write(entry, request, response);
+        return null;
+    }
+
+    /**
+     * 输出响应
+     * @param entry 缓存内容
+     * @param request request
+     * @param response response
+     */
+    private void write(ResponseCacheUtil.CacheEntry entry, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, entry.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // 未发生变化
+        if(entry.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))){
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = entry.getBody();
+        if(entry.isGzip()){
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if(StringUtils.containsIgnoreCase(acceptEncoding, GZIP)){
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }else{
+                body = ZipUtil.unGzip(body);
+            }
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * 是否为 当前请求映射的 Controller 方法
+     * @param request request
+     * @param method 方法
+     * @return boolean
+     */
+    private boolean isHandlerMethod(HttpServletRequest request, Method method){
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod &&
+                ((HandlerMethod) handler).getMethod().equals(method);
+    }
+
+    /**
+     * 权限校验
+     * @param method 方法
+     */
+    private void assertAuthorized(Method method){
+        RequiresPermissions requiresPermissions = method.getAnnotation(RequiresPermissions.class);
+        if(requiresPermissions != null){
+            PERMISSION_HANDLER.assertAuthorized(requiresPermissions);
+        }
+        RequiresRoles requiresRoles = method.getAnnotation(RequiresRoles.class);
+        if(requiresRoles != null){
+            ROLE_HANDLER.assertAuthorized(requiresRoles);
+        }
+    }
+
+    /**
+     * 获得 基础Key 请求地址 + 参数 + 租户 (+ 用户)
+     * @param request request
+     * @param responseCache 注解
+     * @return String
+     */
+    private String getBaseKey(HttpServletRequest request, ResponseCache responseCache){
+        StringBuilder sb = new StringBuilder(request.getRequestURI());
+
+        // 参数排序
+        Map<String, String[]> paramMap = new TreeMap<>(request.getParameterMap());
+        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+            sb.append('&').append(entry.getKey()).append('=')
+                    .append(StringUtils.join(entry.getValue(), ','));
+        }
+
+        // 租户 (包含租户代数 租户整体失效时 一并失效)
+        String userId = UserTokenUtil.getUserIdByToken();
+        if(StringUtils.isNotEmpty(userId)){
+            String tenantId = UserUtil.getTenantId();
+            if(StringUtils.isNotEmpty(tenantId)){
+                sb.append("|tenant=").append(tenantId)
+                        .append(':').append(CacheUtil.getTenantGeneration(tenantId));
+            }
+            if(responseCache.perUser()){
+                sb.append("|user=").append(userId);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 获得 标签
+     * @param responseCache 注解
+     * @return List
+     */
+    private List<String> getTags(ResponseCache responseCache){
+        List<String> tags = new ArrayList<>(responseCache.tags().length);
+        for (Class<?> clazz : responseCache.tags()) {
+            tags.add(clazz.getSimpleName());
+        }
+        return tags;
+    }
+
+}
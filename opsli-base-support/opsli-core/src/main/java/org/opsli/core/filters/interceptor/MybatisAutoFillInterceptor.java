@@ -15,26 +15,20 @@
  */
 package org.opsli.core.filters.interceptor;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.convert.Convert;
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.util.ReflectUtil;
-import com.baomidou.mybatisplus.annotation.TableField;
-import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.plugin.*;
-import org.opsli.common.constants.MyBatisConstants;
-import org.opsli.core.utils.UserTokenUtil;
+import org.opsli.core.persistence.autofill.AutoFillContext;
+import org.opsli.core.persistence.autofill.AutoFillPlan;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.util.*;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.function.Supplier;
 
 /**
  * MyBatis 拦截器 注入属性用
@@ -59,8 +53,8 @@ public class MybatisAutoFillInterceptor implements Interceptor {
 
     private static final String ET = "et";
 
-    /** 实体类字段 */
-    static private final Map<Class<?>, Field[]> ENTITY_FIELD_MAP = new HashMap<>();
+    /** 当前线程 批量新增数据 已预先填充 */
+    private static final ThreadLocal<Boolean> PRE_FILLED = new ThreadLocal<>();
 
     @Override
     public Object intercept(Invocation invocation) throws IllegalAccessException, InvocationTargetException {
@@ -68,35 +62,45 @@ public class MybatisAutoFillInterceptor implements Interceptor {
         return invocation.proceed();
     }
 
+    /**
+     * 批量新增 整批数据一次填充 (共用 当前用户、租户、时间)
+     * 执行期间 拦截器不再逐条填充
+     * @param entities 实体集合
+     * @param action 批量新增
+     * @return R
+     */
+    public static <R> R insertBatch(Collection<?> entities, Supplier<R> action) {
+        AutoFillPlan.insertFill(entities, new AutoFillContext());
+
+        Boolean preFilled = PRE_FILLED.get();
+        PRE_FILLED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        }finally {
+            if(preFilled == null){
+                PRE_FILLED.remove();
+            }
+        }
+    }
+
     /**
      * 注入字段
      * @param invocation 源
      */
     private void fillField(Invocation invocation) {
         Object[] args = invocation.getArgs();
-        SqlCommandType sqlCommandType = null;
-        for (Object arg : args) {
-            //第一个参数处理。根据它判断是否给“操作属性”赋值。
-            //如果是第一个参数 MappedStatement
-            if (arg instanceof MappedStatement) {
-                MappedStatement ms = (MappedStatement) arg;
-                sqlCommandType = ms.getSqlCommandType();
-                //如果是“增加”或“更新”操作，则继续进行默认操作信息赋值。否则，则退出
-                if (sqlCommandType == SqlCommandType.INSERT || sqlCommandType == SqlCommandType.UPDATE) {
-                    continue;
-                } else {
-                    break;
-                }
-            }
-
-            if (sqlCommandType == SqlCommandType.INSERT) {
-                // 新增
-                this.insertFill(arg);
-
-            } else if (sqlCommandType == SqlCommandType.UPDATE) {
-                // 修改
-                this.updateFill(arg);
+        MappedStatement ms = (MappedStatement) args[0];
+        SqlCommandType sqlCommandType = ms.getSqlCommandType();
+
+        //如果是“增加”或“更新”操作，则继续进行默认操作信息赋值。否则，则退出
+        if (sqlCommandType == SqlCommandType.INSERT) {
+            // 新增 (批量新增已预先填充)
+            if(!Boolean.TRUE.equals(PRE_FILLED.get())){
+                this.insertFill(args[1]);
             }
+        } else if (sqlCommandType == SqlCommandType.UPDATE) {
+            // 修改
+            this.updateFill(args[1]);
         }
     }
 
@@ -109,81 +113,8 @@ public class MybatisAutoFillInterceptor implements Interceptor {
             return;
         }
 
-        // 排除字段
-        List<String> existField = Lists.newArrayList();
-
-        // 当前时间
-        Date currDate = DateUtil.date();
-
-        // 字段缓存 减少每次更新 反射
-        Field[] fields = ENTITY_FIELD_MAP.get(arg.getClass());
-        if(fields == null){
-            fields = ReflectUtil.getFields(arg.getClass());
-            ENTITY_FIELD_MAP.put(arg.getClass(), fields);
-        }
-
-        for (Field f : fields) {
-            // 判断是否是排除字段
-            if(existField.contains(f.getName())){
-                continue;
-            }
-
-            // 如果设置为忽略字段 则直接跳过不处理
-            TableField tableField = f.getAnnotation(TableField.class);
-            if(tableField != null){
-                boolean exist = tableField.exist();
-                if(!exist){
-                    existField.add(f.getName());
-                    continue;
-                }
-            }
-
-            switch (f.getName()) {
-                // 创建人
-                case MyBatisConstants.FIELD_CREATE_BY:
-                    // 如果创建人 为空则进行默认赋值
-                    Object createValue = ReflectUtil.getFieldValue(arg, f.getName());
-                    if(StringUtils.isBlank(Convert.toStr(createValue))){
-                        BeanUtil.setProperty(arg, MyBatisConstants.FIELD_CREATE_BY, UserTokenUtil.getUserIdByToken());
-                    }
-                    break;
-                // 更新人
-                case MyBatisConstants.FIELD_UPDATE_BY:
-                    // 如果更新人 为空则进行默认赋值
-                    Object updateValue = ReflectUtil.getFieldValue(arg, f.getName());
-                    if(StringUtils.isBlank(Convert.toStr(updateValue))){
-                        BeanUtil.setProperty(arg, MyBatisConstants.FIELD_UPDATE_BY, UserTokenUtil.getUserIdByToken());
-                    }
-                    break;
-                // 创建日期
-                case MyBatisConstants.FIELD_CREATE_TIME:
-                    BeanUtil.setProperty(arg, MyBatisConstants.FIELD_CREATE_TIME, currDate);
-                    break;
-                // 更新日期
-                case MyBatisConstants.FIELD_UPDATE_TIME:
-                    BeanUtil.setProperty(arg, MyBatisConstants.FIELD_UPDATE_TIME, currDate);
-                    break;
-                // 乐观锁
-                case MyBatisConstants.FIELD_OPTIMISTIC_LOCK:
-                    BeanUtil.setProperty(arg, MyBatisConstants.FIELD_OPTIMISTIC_LOCK, 0);
-                    break;
-                // 逻辑删除
-                case MyBatisConstants.FIELD_DELETE_LOGIC:
-                    BeanUtil.setProperty(arg, MyBatisConstants.FIELD_DELETE_LOGIC,  MyBatisConstants.LOGIC_NOT_DELETE_VALUE);
-                    break;
-                // 多租户设置
-                case MyBatisConstants.FIELD_TENANT:
-                    // 2020-12-05 修复当前租户可能为空字符串报错问题
-                    // 如果租户ID 为空则进行默认赋值
-                    Object tenantValue = ReflectUtil.getFieldValue(arg, f.getName());
-                    if(StringUtils.isBlank(Convert.toStr(tenantValue))){
-                        BeanUtil.setProperty(arg, MyBatisConstants.FIELD_TENANT,  UserTokenUtil.getTenantIdByToken());
-                    }
-                    break;
-                default:
-                    break;
-            }
-        }
+        AutoFillPlan.of(arg.getClass())
+                .insertFill(arg, new AutoFillContext());
     }
 
     /**
@@ -195,9 +126,6 @@ public class MybatisAutoFillInterceptor implements Interceptor {
             return;
         }
 
-        // 排除字段
-        List<String> existField = Lists.newArrayList();
-
         // 2020-09-19
         // 修改这儿 有可能会拿到一个 MapperMethod，需要特殊处理
         if (arg instanceof MapperMethod.ParamMap) {
@@ -212,46 +140,8 @@ public class MybatisAutoFillInterceptor implements Interceptor {
             }
         }
 
-        // 字段缓存 减少每次更新 反射
-        Field[] fields = ENTITY_FIELD_MAP.get(arg.getClass());
-        if(fields == null){
-            fields = ReflectUtil.getFields(arg.getClass());
-            ENTITY_FIELD_MAP.put(arg.getClass(), fields);
-        }
-
-        for (Field f : fields) {
-            // 判断是否是排除字段
-            if(existField.contains(f.getName())){
-                continue;
-            }
-
-            // 如果设置为忽略字段 则直接跳过不处理
-            TableField tableField = f.getAnnotation(TableField.class);
-            if(tableField != null){
-                boolean exist = tableField.exist();
-                if(!exist){
-                    existField.add(f.getName());
-                    continue;
-                }
-            }
-
-            switch (f.getName()) {
-                // 更新人
-                case MyBatisConstants.FIELD_UPDATE_BY:
-                    // 如果更新人 为空则进行默认赋值
-                    Object updateValue = ReflectUtil.getFieldValue(arg, f.getName());
-                    if(StringUtils.isBlank(Convert.toStr(updateValue))){
-                        BeanUtil.setProperty(arg, MyBatisConstants.FIELD_UPDATE_BY, UserTokenUtil.getUserIdByToken());
-                    }
-                    break;
-                // 更新日期
-                case MyBatisConstants.FIELD_UPDATE_TIME:
-                    BeanUtil.setProperty(arg, MyBatisConstants.FIELD_UPDATE_TIME, DateUtil.date());
-                    break;
-                default:
-                    break;
-            }
-        }
+        AutoFillPlan.of(arg.getClass())
+                .updateFill(arg, new AutoFillContext());
     }
 
     // =======================================
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.filters.interceptor;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.opsli.core.utils.ResponseCacheUtil;
+import org.springframework.core.GenericTypeResolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MyBatis 拦截器 接口响应缓存 标签失效
+ *
+ * 任意 Mapper 写操作 (包括自定义SQL) 都会使对应 Entity 标签的接口响应缓存失效
+ * 标签 = Mapper 泛型 Entity 类名，与 @ResponseCache(tags) 一致
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class ResponseCacheEvictInterceptor implements Interceptor {
+
+    /** Mapper 命名空间 -> 标签 (无法解析时为空字符串) */
+    private static final Map<String, String> TAG_MAP = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        String id = ms.getId();
+        String namespace = StringUtils.substringBeforeLast(id, ".");
+        String tag = TAG_MAP.computeIfAbsent(namespace, ResponseCacheEvictInterceptor::resolveTag);
+        if(StringUtils.isNotEmpty(tag)){
+            ResponseCacheUtil.evictTag(tag);
+        }
+        return result;
+    }
+
+    /**
+     * 解析 Mapper 对应的 Entity 标签
+     * @param namespace Mapper 命名空间
+     * @return String
+     */
+    private static String resolveTag(String namespace){
+        try {
+            Class<?> mapperClazz = Resources.classForName(namespace);
+            Class<?> entityClazz = GenericTypeResolver.resolveTypeArgument(mapperClazz, BaseMapper.class);
+            return entityClazz != null ? entityClazz.getSimpleName() : "";
+        }catch (ClassNotFoundException ignored){}
+        return "";
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.filters.interceptor;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.opsli.core.utils.SqlStatsUtil;
+
+import java.sql.Statement;
+
+/**
+ * MyBatis 拦截器 SQL 指纹统计
+ *
+ * 拦截 StatementHandler，只统计真正发送至数据库的语句 (不含 一级缓存命中、批量写入)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlFingerprintInterceptor implements Interceptor {
+
+    private static final String MAPPED_STATEMENT = "delegate.mappedStatement";
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if(!SqlStatsUtil.isActive()){
+            return invocation.proceed();
+        }
+
+        long beginTime = System.nanoTime();
+        try {
+            return invocation.proceed();
+        }finally {
+            long nanos = System.nanoTime() - beginTime;
+            StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+            MetaObject metaObject = SystemMetaObject.forObject(handler);
+            String statementId = null;
+            if(metaObject.hasGetter(MAPPED_STATEMENT)){
+                MappedStatement ms = (MappedStatement) metaObject.getValue(MAPPED_STATEMENT);
+                statementId = ms.getId();
+            }
+            SqlStatsUtil.record(statementId, handler.getBoundSql().getSql(), nanos);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.filters.interceptor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.opsli.core.utils.StreamQueryUtil;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * MyBatis 拦截器 流式查询 FetchSize
+ *
+ * 只对 StreamQueryUtil 发起的查询生效
+ * MySQL 需要 FetchSize = Integer.MIN_VALUE 才会逐行读取，其他数据库使用正数 FetchSize 分批读取
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class StreamFetchSizeInterceptor implements Interceptor {
+
+    private static final String MYSQL = "MySQL";
+
+    /** 非 MySQL 分批读取条数 */
+    private static final int FETCH_SIZE = 500;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if(StreamQueryUtil.isStreaming() && result instanceof Statement){
+            Connection connection = (Connection) invocation.getArgs()[0];
+            String productName = connection.getMetaData().getDatabaseProductName();
+            ((Statement) result).setFetchSize(
+                    StringUtils.containsIgnoreCase(productName, MYSQL) ? Integer.MIN_VALUE : FETCH_SIZE);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.handler;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
+import org.opsli.common.exception.ServiceException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * 流式返回参数 转换器
+ *
+ * 先输出 ResultVo 外层结构，再逐条序列化数据至输出流，内存占用只与单条数据有关
+ * 输出流写满时 写入阻塞，数据库读取随之暂停 (背压)
+ *
+ * 外层结构在读到第一条数据 (或读取结束) 时才输出，查询异常仍可由全局异常处理返回
+ * 状态字段 (success、msg、code、timestamp) 在数据之后输出，已输出部分数据后发生异常时
+ * 结束数组并输出失败状态 (success 为 false)，响应仍为完整 JSON，客户端不会把截断的数据当作成功
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public class StreamResultVoMessageConverter extends AbstractHttpMessageConverter<StreamResultVo<?>> {
+
+    /** 每输出 N 条数据 刷新一次输出流 */
+    private static final int FLUSH_ROWS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public StreamResultVoMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        // 逐条写入时 不逐条刷新
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamResultVo.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamResultVo<?> readInternal(Class<? extends StreamResultVo<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StreamResultVo is write only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamResultVo<?> resultVo, HttpOutputMessage outputMessage) throws IOException {
+        RowWriter writer = new RowWriter(outputMessage);
+        try {
+            resultVo.getSource().forEach(writer);
+        }catch (UncheckedIOException e){
+            throw e.getCause();
+        }catch (RuntimeException e){
+            // 尚未输出 交由全局异常处理
+            if(!writer.isStarted()){
+                throw e;
+            }
+
+            // 已输出部分数据 响应状态无法修改 输出失败状态
+            log.error("流式输出中断 已输出{}条", writer.count, e);
+            if(e instanceof ServiceException){
+                writer.finish(false, ((ServiceException) e).getCode(), e.getMessage(),
+                        System.currentTimeMillis());
+            }else{
+                writer.finish(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), ResultVo.DEF_ERROR_MSG,
+                        System.currentTimeMillis());
+            }
+            return;
+        }
+        writer.finish(resultVo.isSuccess(), resultVo.getCode(), resultVo.getMsg(), resultVo.getTimestamp());
+    }
+
+    // =====================================
+
+    /**
+     * 逐条输出
+     */
+    private final class RowWriter implements Consumer<Object> {
+
+        private final HttpOutputMessage outputMessage;
+        private JsonGenerator generator;
+        private int count;
+
+        private RowWriter(HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void accept(Object row) {
+            try {
+                if(generator == null){
+                    this.begin();
+                }
+                rowWriter.writeValue(generator, row);
+                if(++count % FLUSH_ROWS == 0){
+                    generator.flush();
+                }
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 是否已开始输出
+         * @return boolean
+         */
+        private boolean isStarted() {
+            return generator != null;
+        }
+
+        /**
+         * 输出 外层结构
+         */
+        private void begin() throws IOException {
+            generator = objectMapper.getFactory()
+                    .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8);
+            generator.writeStartObject();
+            generator.writeFieldName("data");
+            generator.writeStartArray();
+        }
+
+        /**
+         * 输出结束 (状态字段)
+         * @param success 成功状态
+         * @param code 状态码
+         * @param msg 消息
+         * @param timestamp 时间戳
+         */
+        private void finish(boolean success, Integer code, String msg, Long timestamp) throws IOException {
+            if(generator == null){
+                this.begin();
+            }
+            generator.writeEndArray();
+            generator.writeBooleanField("success", success);
+            generator.writeStringField("msg", msg);
+            generator.writeNumberField("code", code);
+            generator.writeNumberField("timestamp", timestamp);
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+}
@@ -1,15 +1,33 @@
 package org.opsli.core.listener;
 
+import cn.hutool.core.collection.CollUtil;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.opsli.common.thread.wait.AsyncProcessorWait;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.cache.warmup.CacheWarmUpHandler;
 import org.opsli.core.general.StartPrint;
-import org.opsli.core.utils.OptionsUtil;
+import org.opsli.core.utils.DataSourceRouteUtil;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * 系统启动成功
  *
+ * 监听器返回后 Spring Boot 才会将应用标记为可接收流量 (ReadinessState.ACCEPTING_TRAFFIC)
+ * 所以缓存预热在此处同步等待 (受时间预算限制)，保证首批请求不会全部穿透到数据库
+ * 开启 opsli.warm-up.async 后 预热在后台执行，不再延迟就绪
+ *
  * @author parker
  * @date 2020-03-31 13:56
  */
@@ -17,11 +35,78 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class ApplicationReadyEventListener implements ApplicationListener<ApplicationReadyEvent> {
 
+    /** 预热线程名称 */
+    private static final String WARM_UP_THREAD_NAME = "cache-warm-up-%d";
+
+    @Autowired(required = false)
+    private List<CacheWarmUpHandler> warmUpHandlers;
+
+    @Autowired
+    private GlobalProperties globalProperties;
+
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
-        event.getApplicationContext();
+        // 缓存预热
+        this.warmUp();
         // 输出启动日志
         StartPrint.getInstance().successPrint();
     }
 
+    /**
+     * 缓存预热 默认同步执行 (延迟就绪)，开启 async 后在后台执行
+     */
+    private void warmUp(){
+        GlobalProperties.WarmUp warmUpProperties = globalProperties.getWarmUp();
+        if(warmUpProperties == null || !Boolean.TRUE.equals(warmUpProperties.getEnable())
+                || CollUtil.isEmpty(warmUpHandlers)){
+            return;
+        }
+
+        if(Boolean.TRUE.equals(warmUpProperties.getAsync())){
+            new BasicThreadFactory.Builder().namingPattern(WARM_UP_THREAD_NAME).daemon(true).build()
+                    .newThread(() -> this.doWarmUp(warmUpProperties))
+                    .start();
+            return;
+        }
+        this.doWarmUp(warmUpProperties);
+    }
+
+    /**
+     * 缓存预热 并行执行 超出时间预算后不再等待
+     * @param warmUpProperties 预热配置
+     */
+    private void doWarmUp(GlobalProperties.WarmUp warmUpProperties){
+
+        long beginTime = System.currentTimeMillis();
+        long deadline = beginTime + TimeUnit.SECONDS.toMillis(warmUpProperties.getTimeBudget());
+
+        Map<String, Future<Integer>> futureMap = Maps.newLinkedHashMap();
+        for (CacheWarmUpHandler handler : warmUpHandlers) {
+            try {
+                futureMap.put(handler.getName(),
+                        AsyncProcessorWait.submitTask(AsyncProcessorWait.POOL_NAME,
+                                () -> DataSourceRouteUtil.primary(handler::warmUp)));
+            }catch (Exception e){
+                log.error("缓存预热[{}] 提交失败", handler.getName(), e);
+            }
+        }
+
+        for (Map.Entry<String, Future<Integer>> entry : futureMap.entrySet()) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                Integer count = entry.getValue().get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+                log.info("缓存预热[{}] 完成 共{}条", entry.getKey(), count);
+            }catch (TimeoutException e){
+                log.warn("缓存预热[{}] 超出时间预算 剩余数据按需加载", entry.getKey());
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                log.warn("缓存预热[{}] 被中断", entry.getKey());
+            }catch (ExecutionException e){
+                log.error("缓存预热[{}] 失败 剩余数据按需加载", entry.getKey(), e.getCause());
+            }
+        }
+
+        log.info("缓存预热 耗时{}ms", System.currentTimeMillis() - beginTime);
+    }
+
 }
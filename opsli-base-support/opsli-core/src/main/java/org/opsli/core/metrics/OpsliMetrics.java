@@ -0,0 +1,196 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行指标
+ *
+ * 指标注册在 Micrometer 全局注册中心 (Spring Boot 默认会将 Actuator 注册中心加入其中)
+ * 静态工具类在 Spring 容器初始化前使用也不会丢失，由 /actuator/metrics 或 /actuator/prometheus 输出
+ *
+ * 热点路径上的 Counter / Timer 均在类加载时创建，调用时不再查找注册中心
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class OpsliMetrics {
+
+    /** 缓存 请求 */
+    public static final String CACHE_REQUESTS = "opsli.cache.requests";
+    /** 缓存 空状态 */
+    public static final String CACHE_NIL_FLAG = "opsli.cache.nil.flag";
+    /** 分布式锁 等待 */
+    public static final String LOCK_WAIT = "opsli.lock.wait";
+    /** 分布式锁 持有 */
+    public static final String LOCK_HOLD = "opsli.lock.hold";
+    /** 认证 */
+    public static final String AUTH = "opsli.auth";
+    /** 限流 拒绝 */
+    public static final String LIMITER_REJECTED = "opsli.limiter.rejected";
+    /** 持久层 查询 */
+    public static final String CRUD_QUERY = "opsli.crud.query";
+    /** 线程池 */
+    public static final String EXECUTOR = "opsli.executor";
+
+    private static final String TAG_LEVEL = "level";
+    private static final String TAG_RESULT = "result";
+
+    private static final Counter CACHE_L1_HIT = cacheCounter("l1", "hit");
+    private static final Counter CACHE_L1_MISS = cacheCounter("l1", "miss");
+    private static final Counter CACHE_L2_HIT = cacheCounter("l2", "hit");
+    private static final Counter CACHE_L2_MISS = cacheCounter("l2", "miss");
+    private static final Counter CACHE_HOT_HIT = cacheCounter("hot", "hit");
+
+    private static final Counter NIL_FLAG_HIT = Counter.builder(CACHE_NIL_FLAG)
+            .description("缓存 空状态拦截 (防穿透)").tag(TAG_RESULT, "hit")
+            .register(Metrics.globalRegistry);
+    private static final Counter NIL_FLAG_PUT = Counter.builder(CACHE_NIL_FLAG)
+            .description("缓存 空状态写入").tag(TAG_RESULT, "put")
+            .register(Metrics.globalRegistry);
+
+    private static final Timer LOCK_WAIT_ACQUIRED = Timer.builder(LOCK_WAIT)
+            .description("分布式锁 等待时间").tag(TAG_RESULT, "acquired")
+            .register(Metrics.globalRegistry);
+    private static final Timer LOCK_WAIT_FAILED = Timer.builder(LOCK_WAIT)
+            .description("分布式锁 等待时间").tag(TAG_RESULT, "failed")
+            .register(Metrics.globalRegistry);
+    private static final Timer LOCK_HOLD_TIMER = Timer.builder(LOCK_HOLD)
+            .description("分布式锁 持有时间")
+            .register(Metrics.globalRegistry);
+
+    private OpsliMetrics(){}
+
+    // ============== 缓存 ==============
+
+    /**
+     * 本地缓存 (EhCache)
+     * @param hit 是否命中
+     */
+    public static void cacheL1(boolean hit){
+        (hit ? CACHE_L1_HIT : CACHE_L1_MISS).increment();
+    }
+
+    /**
+     * 远端缓存 (Redis)
+     * @param hit 是否命中
+     */
+    public static void cacheL2(boolean hit){
+        (hit ? CACHE_L2_HIT : CACHE_L2_MISS).increment();
+    }
+
+    /**
+     * 热点Key 本地缓存 (只记录命中 未命中会继续走 L1/L2)
+     */
+    public static void cacheHot(){
+        CACHE_HOT_HIT.increment();
+    }
+
+    /**
+     * 空状态拦截
+     */
+    public static void nilFlagHit(){
+        NIL_FLAG_HIT.increment();
+    }
+
+    /**
+     * 空状态写入
+     */
+    public static void nilFlagPut(){
+        NIL_FLAG_PUT.increment();
+    }
+
+    // ============== 分布式锁 ==============
+
+    /**
+     * 分布式锁 等待时间
+     * @param nanos 纳秒
+     * @param acquired 是否获得锁
+     */
+    public static void lockWait(long nanos, boolean acquired){
+        (acquired ? LOCK_WAIT_ACQUIRED : LOCK_WAIT_FAILED).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 分布式锁 持有时间
+     * @param nanos 纳秒
+     */
+    public static void lockHold(long nanos){
+        LOCK_HOLD_TIMER.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ============== 认证 ==============
+
+    /**
+     * 创建 认证耗时
+     * @param realm Realm 名称
+     * @param success 是否成功
+     * @return Timer
+     */
+    public static Timer authTimer(String realm, boolean success){
+        return Timer.builder(AUTH)
+                .description("认证耗时")
+                .tag("realm", realm)
+                .tag(TAG_RESULT, success ? "success" : "failure")
+                .register(Metrics.globalRegistry);
+    }
+
+    // ============== 限流 ==============
+
+    /**
+     * 限流拒绝 (按被限流的方法区分 数量有限)
+     * @param method 方法
+     */
+    public static void limiterRejected(String method){
+        Counter.builder(LIMITER_REJECTED)
+                .description("限流拒绝次数")
+                .tag("method", method)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    // ============== 持久层 ==============
+
+    /**
+     * 创建 查询耗时
+     * @param entity 实体名称
+     * @param method 查询方法
+     * @return Timer
+     */
+    public static Timer crudQueryTimer(String entity, String method){
+        return Timer.builder(CRUD_QUERY)
+                .description("持久层 查询耗时")
+                .tag("entity", entity)
+                .tag("method", method)
+                .register(Metrics.globalRegistry);
+    }
+
+    // ==============
+
+    private static Counter cacheCounter(String level, String result){
+        return Counter.builder(CACHE_REQUESTS)
+                .description("缓存 请求次数")
+                .tag(TAG_LEVEL, level)
+                .tag(TAG_RESULT, result)
+                .register(Metrics.globalRegistry);
+    }
+
+}
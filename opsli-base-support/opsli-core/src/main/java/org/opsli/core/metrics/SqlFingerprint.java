@@ -0,0 +1,131 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 指纹
+ *
+ * 将语句归一化为 "形状"：统一小写、合并空白、字面量替换为 ?、IN 列表合并为 (?+)
+ * 同一形状的语句 视为同一指纹
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class SqlFingerprint {
+
+    /** 指纹缓存上限 (MyBatis 语句基本固定 超出后直接清空) */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    /** 指纹缓存 原始SQL -> 指纹 */
+    private static final Map<String, String> CACHE_MAP = new ConcurrentHashMap<>();
+
+    /** 参数列表 (?, ?, ?) */
+    private static final Pattern PARAM_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    /** 多行参数列表 (?+), (?+) */
+    private static final Pattern MULTI_PARAM_LIST = Pattern.compile("\\(\\?\\+\\)(?:\\s*,\\s*\\(\\?\\+\\))+");
+
+    private SqlFingerprint(){}
+
+    /**
+     * 获得 SQL 指纹
+     * @param sql SQL
+     * @return String
+     */
+    public static String of(String sql){
+        if(sql == null){
+            return "";
+        }
+        String fingerprint = CACHE_MAP.get(sql);
+        if(fingerprint == null){
+            fingerprint = normalize(sql);
+            if(CACHE_MAP.size() >= MAX_CACHE_SIZE){
+                CACHE_MAP.clear();
+            }
+            CACHE_MAP.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 归一化
+     * @param sql SQL
+     * @return String
+     */
+    private static String normalize(String sql){
+        StringBuilder sb = new StringBuilder(sql.length());
+        boolean space = false;
+        int len = sql.length();
+        for (int i = 0; i < len; i++) {
+            char c = sql.charAt(i);
+            if(Character.isWhitespace(c)){
+                space = true;
+                continue;
+            }
+
+            if(space && sb.length() > 0){
+                sb.append(' ');
+            }
+            space = false;
+
+            if(c == '\''){
+                // 字符串字面量 ('' 为转义)
+                i++;
+                while (i < len){
+                    if(sql.charAt(i) == '\''){
+                        if(i + 1 < len && sql.charAt(i + 1) == '\''){
+                            i++;
+                        }else{
+                            break;
+                        }
+                    }
+                    i++;
+                }
+                sb.append('?');
+            }else if(Character.isDigit(c) && !isIdentifierPart(sb)){
+                // 数字字面量
+                while (i + 1 < len &&
+                        (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')){
+                    i++;
+                }
+                sb.append('?');
+            }else{
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+
+        String fingerprint = PARAM_LIST.matcher(sb).replaceAll("(?+)");
+        return MULTI_PARAM_LIST.matcher(fingerprint).replaceAll("(?+)+");
+    }
+
+    /**
+     * 前一个字符 是否为标识符的一部分 (如 t1、col_2 中的数字不是字面量)
+     * @param sb 已处理内容
+     * @return boolean
+     */
+    private static boolean isIdentifierPart(StringBuilder sb){
+        if(sb.length() == 0){
+            return false;
+        }
+        char last = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$' || last == '`';
+    }
+
+}
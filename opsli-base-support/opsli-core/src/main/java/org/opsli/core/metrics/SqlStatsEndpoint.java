@@ -0,0 +1,54 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.metrics;
+
+import org.opsli.core.utils.SqlStatsUtil;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * SQL 统计 端点 (本节点 TopN)
+ *
+ * GET    /actuator/sqlstats?sort=count|time|repeat&limit=20
+ * DELETE /actuator/sqlstats 清空统计
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    /** 默认数量 */
+    private static final int DEFAULT_LIMIT = 20;
+
+    @ReadOperation
+    public List<SqlStatsUtil.SqlStat> topN(@Nullable String sort, @Nullable Integer limit) {
+        return SqlStatsUtil.getTopN(sort,
+                limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        SqlStatsUtil.reset();
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.opsli.common.thread.pool.MonitoredExecutor;
+import org.opsli.common.thread.pool.ThreadPoolRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 线程池 指标
+ *
+ * 线程池为按需创建，通过注册中心的创建监听 保证后创建的线程池同样有指标
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+public class ThreadPoolMetrics implements MeterBinder {
+
+    private static final String TAG_POOL = "pool";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ThreadPoolRegistry.addCreateListener(executor -> this.bind(registry, executor));
+    }
+
+    /**
+     * 绑定 单个线程池
+     * @param registry 注册中心
+     * @param executor 线程池
+     */
+    private void bind(MeterRegistry registry, MonitoredExecutor executor){
+        String pool = executor.getStats().getName();
+
+        Gauge.builder(OpsliMetrics.EXECUTOR + ".queued", executor, e -> e.getStats().getQueueSize())
+                .description("线程池 队列中任务数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+        Gauge.builder(OpsliMetrics.EXECUTOR + ".active", executor, e -> e.getStats().getActiveCount())
+                .description("线程池 执行中任务数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+        Gauge.builder(OpsliMetrics.EXECUTOR + ".pool.size", executor, e -> e.getStats().getPoolSize())
+                .description("线程池 当前线程数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+        FunctionCounter.builder(OpsliMetrics.EXECUTOR + ".completed", executor, e -> e.getStats().getCompletedCount())
+                .description("线程池 已完成任务数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+        FunctionCounter.builder(OpsliMetrics.EXECUTOR + ".rejected", executor, e -> e.getStats().getRejectedCount())
+                .description("线程池 拒绝任务数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+        FunctionCounter.builder(OpsliMetrics.EXECUTOR + ".failed", executor, e -> e.getStats().getFailedCount())
+                .description("线程池 失败任务数")
+                .tag(TAG_POOL, pool)
+                .register(registry);
+    }
+
+}
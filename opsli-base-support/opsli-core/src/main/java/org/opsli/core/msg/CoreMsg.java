@@ -49,6 +49,12 @@ public enum CoreMsg implements BaseMsg {
     EXCEL_IMPORT_NO(10304,"导入对象为空"),
     EXCEL_FILE_NULL(10305,"请选择文件"),
     EXCEL_HANDLE_MAX(10700, "超出最大操作数量, 当前数据[{}]条，允许最大阈值[{}]条"),
+    EXCEL_IMPORT_SUBMIT(200,"Excel 导入任务已提交"),
+    EXCEL_IMPORT_FINISHED(200,"Excel 导入完成！  -  成功：{} 条  -  失败：{} 条"),
+    EXCEL_IMPORT_INSERT_ERROR(10306,"数据入库失败：{}"),
+    EXCEL_IMPORT_JOB_REFUSE(10307,"当前导入任务过多，请稍后再试"),
+    EXCEL_IMPORT_JOB_NULL(10308,"导入任务不存在或已过期"),
+    EXCEL_IMPORT_INTERRUPTED(10309,"服务停止，导入任务中断  -  已入库：{} 条"),
 
 
     /**
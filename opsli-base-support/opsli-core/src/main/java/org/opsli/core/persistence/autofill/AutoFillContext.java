@@ -0,0 +1,79 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.persistence.autofill;
+
+import cn.hutool.core.date.DateUtil;
+import org.opsli.core.utils.UserTokenUtil;
+
+import java.util.Date;
+
+/**
+ * 自动填充 上下文
+ *
+ * 每条语句 (或每批数据) 只解析一次 当前用户、租户、时间
+ * 用户、租户 需要解析 Token，按需获取后缓存
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class AutoFillContext {
+
+    /** 当前时间 */
+    private final Date now = DateUtil.date();
+
+    /** 是否已解析 用户ID */
+    private boolean userResolved;
+    /** 用户ID */
+    private String userId;
+
+    /** 是否已解析 租户ID */
+    private boolean tenantResolved;
+    /** 租户ID */
+    private String tenantId;
+
+    /**
+     * 获得当前时间
+     * @return Date
+     */
+    public Date getNow() {
+        return now;
+    }
+
+    /**
+     * 获得当前用户ID
+     * @return String
+     */
+    public String getUserId() {
+        if(!userResolved){
+            userId = UserTokenUtil.getUserIdByToken();
+            userResolved = true;
+        }
+        return userId;
+    }
+
+    /**
+     * 获得当前租户ID
+     * @return String
+     */
+    public String getTenantId() {
+        if(!tenantResolved){
+            tenantId = UserTokenUtil.getTenantIdByToken();
+            tenantResolved = true;
+        }
+        return tenantId;
+    }
+
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.persistence.autofill;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ReflectUtil;
+import com.baomidou.mybatisplus.annotation.TableField;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opsli.common.constants.MyBatisConstants;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 自动填充 执行计划
+ *
+ * 每个 Entity 只解析一次，预先定位需要填充的字段及其 getter/setter，常量值提前转换为字段类型
+ * 填充时不再遍历全部字段、读取注解、按属性名查找 setter
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public final class AutoFillPlan {
+
+    /** 执行计划缓存 */
+    private static final ConcurrentMap<Class<?>, AutoFillPlan> PLAN_MAP = new ConcurrentHashMap<>();
+
+    /** Entity Clazz */
+    private final Class<?> entityClazz;
+    /** 创建人 */
+    private final Accessor createBy;
+    /** 更新人 */
+    private final Accessor updateBy;
+    /** 创建日期 */
+    private final Accessor createTime;
+    /** 更新日期 */
+    private final Accessor updateTime;
+    /** 乐观锁 */
+    private final Accessor version;
+    /** 逻辑删除 */
+    private final Accessor deleted;
+    /** 多租户 */
+    private final Accessor tenant;
+
+    /**
+     * 获得 Entity 自动填充执行计划
+     * @param entityClazz Entity Clazz
+     * @return AutoFillPlan
+     */
+    public static AutoFillPlan of(Class<?> entityClazz){
+        if(entityClazz == null){
+            return null;
+        }
+        AutoFillPlan plan = PLAN_MAP.get(entityClazz);
+        if(plan == null){
+            plan = PLAN_MAP.computeIfAbsent(entityClazz, AutoFillPlan::new);
+        }
+        return plan;
+    }
+
+    private AutoFillPlan(Class<?> entityClazz){
+        this.entityClazz = entityClazz;
+
+        Map<String, PropertyDescriptor> descriptorMap = new HashMap<>();
+        try {
+            for (PropertyDescriptor pd : Introspector.getBeanInfo(entityClazz).getPropertyDescriptors()) {
+                descriptorMap.put(pd.getName(), pd);
+            }
+        }catch (IntrospectionException e){
+            log.error(e.getMessage(), e);
+        }
+
+        Map<String, Accessor> accessorMap = new HashMap<>();
+        for (Field field : ReflectUtil.getFields(entityClazz)) {
+            if(Modifier.isStatic(field.getModifiers()) || accessorMap.containsKey(field.getName())){
+                continue;
+            }
+            // 如果设置为忽略字段 则直接跳过不处理
+            TableField tableField = field.getAnnotation(TableField.class);
+            if(tableField != null && !tableField.exist()){
+                continue;
+            }
+            accessorMap.put(field.getName(),
+                    new Accessor(field, descriptorMap.get(field.getName())));
+        }
+
+        this.createBy = accessorMap.get(MyBatisConstants.FIELD_CREATE_BY);
+        this.updateBy = accessorMap.get(MyBatisConstants.FIELD_UPDATE_BY);
+        this.createTime = accessorMap.get(MyBatisConstants.FIELD_CREATE_TIME);
+        this.updateTime = accessorMap.get(MyBatisConstants.FIELD_UPDATE_TIME);
+        this.version = withConstant(accessorMap.get(MyBatisConstants.FIELD_OPTIMISTIC_LOCK), 0);
+        this.deleted = withConstant(accessorMap.get(MyBatisConstants.FIELD_DELETE_LOGIC),
+                MyBatisConstants.LOGIC_NOT_DELETE_VALUE);
+        this.tenant = accessorMap.get(MyBatisConstants.FIELD_TENANT);
+    }
+
+    /**
+     * 新增填充
+     * @param entity 实体
+     * @param context 上下文
+     */
+    public void insertFill(Object entity, AutoFillContext context){
+        // 创建人 为空则进行默认赋值
+        fillIfBlank(createBy, entity, context.getUserId());
+        // 更新人 为空则进行默认赋值
+        fillIfBlank(updateBy, entity, context.getUserId());
+        // 创建日期
+        fill(createTime, entity, context.getNow());
+        // 更新日期
+        fill(updateTime, entity, context.getNow());
+        // 乐观锁
+        fillConstant(version, entity);
+        // 逻辑删除
+        fillConstant(deleted, entity);
+        // 多租户 为空则进行默认赋值
+        // 2020-12-05 修复当前租户可能为空字符串报错问题
+        fillIfBlank(tenant, entity, context.getTenantId());
+    }
+
+    /**
+     * 新增填充 - 批量 (整批共用一个上下文)
+     * @param entities 实体集合
+     * @param context 上下文
+     */
+    public static void insertFill(Collection<?> entities, AutoFillContext context){
+        if(entities == null){
+            return;
+        }
+        AutoFillPlan plan = null;
+        for (Object entity : entities) {
+            if(entity == null){
+                continue;
+            }
+            if(plan == null || entity.getClass() != plan.entityClazz){
+                plan = AutoFillPlan.of(entity.getClass());
+            }
+            plan.insertFill(entity, context);
+        }
+    }
+
+    /**
+     * 修改填充
+     * @param entity 实体
+     * @param context 上下文
+     */
+    public void updateFill(Object entity, AutoFillContext context){
+        // 更新人 为空则进行默认赋值
+        fillIfBlank(updateBy, entity, context.getUserId());
+        // 更新日期
+        fill(updateTime, entity, context.getNow());
+    }
+
+    // ======================
+
+    private static Accessor withConstant(Accessor accessor, Object constant){
+        if(accessor != null){
+            accessor.constant = Convert.convert(accessor.type, constant);
+        }
+        return accessor;
+    }
+
+    private static void fill(Accessor accessor, Object entity, Object value){
+        if(accessor == null || value == null){
+            return;
+        }
+        accessor.set(entity, value);
+    }
+
+    private static void fillConstant(Accessor accessor, Object entity){
+        if(accessor == null){
+            return;
+        }
+        accessor.set(entity, accessor.constant);
+    }
+
+    private static void fillIfBlank(Accessor accessor, Object entity, Object value){
+        if(accessor == null || value == null){
+            return;
+        }
+        if(StringUtils.isBlank(Convert.toStr(accessor.get(entity)))){
+            accessor.set(entity, value);
+        }
+    }
+
+    /**
+     * 字段访问器 优先使用 getter/setter 没有时直接访问字段
+     */
+    private static final class Accessor {
+
+        /** 字段 */
+        private final Field field;
+        /** getter */
+        private final Method getter;
+        /** setter */
+        private final Method setter;
+        /** 字段类型 */
+        private final Class<?> type;
+        /** 常量值 (已转换为字段类型) */
+        private Object constant;
+
+        private Accessor(Field field, PropertyDescriptor pd) {
+            this.field = field;
+            this.getter = pd != null ? pd.getReadMethod() : null;
+            this.setter = pd != null ? pd.getWriteMethod() : null;
+            this.type = setter != null ? setter.getParameterTypes()[0] : field.getType();
+            if(getter == null || setter == null){
+                field.setAccessible(true);
+            }
+        }
+
+        private Object get(Object entity){
+            try {
+                return getter != null ? getter.invoke(entity) : field.get(entity);
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+                return null;
+            }
+        }
+
+        private void set(Object entity, Object value){
+            try {
+                Object tmp = type.isInstance(value) ? value : Convert.convert(type, value);
+                if(setter != null){
+                    setter.invoke(entity, tmp);
+                }else{
+                    field.set(entity, tmp);
+                }
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+}
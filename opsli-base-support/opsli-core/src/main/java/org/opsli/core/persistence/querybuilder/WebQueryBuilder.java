@@ -15,13 +15,15 @@
  */
 package org.opsli.core.persistence.querybuilder;
 
-import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.utils.FieldUtil;
 import org.opsli.core.base.entity.BaseEntity;
 import org.opsli.core.persistence.querybuilder.conf.WebQueryConf;
+import org.opsli.core.persistence.querybuilder.meta.EntityQueryMeta;
+import org.opsli.core.persistence.querybuilder.meta.EntityQueryMeta.QueryCondition;
+import org.opsli.core.persistence.querybuilder.meta.QueryHandleType;
 
 import java.util.Map;
 
@@ -33,20 +35,7 @@ import java.util.Map;
  */
 public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
 
-    // == 匹配条件 ==
-    /** 全值匹配 */
-    private static final String EQ = "EQ";
-    /** 模糊匹配 */
-    private static final String LIKE = "LIKE";
-    /** 左模糊匹配 */
-    private static final String LIKE_LEFT = "LIKEL";
-    /** 右模糊匹配 */
-    private static final String LIKE_RIGHT = "LIKER";
-    /** 日期匹配 */
-    private static final String BEGIN = "BEGIN";
-    private static final String END = "END";
-    /** 排序方式 */
-    private static final String ORDER = "ORDER";
+    // == 排序方式 ==
     private static final String ORDER_ASC = "ASC";
     private static final String ORDER_DESC = "DESC";
 
@@ -125,6 +114,9 @@ public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
         if(this.parameterMap == null){
             return queryWrapper;
         }
+        // Entity 查询元数据
+        EntityQueryMeta queryMeta = EntityQueryMeta.of(this.entityClazz);
+
         // order 排序次数 如果为0 则默认按照修改时间来排序
         int orderCount = 0;
         for (Map.Entry<String, String[]> stringEntry : this.parameterMap.entrySet()) {
@@ -135,32 +127,21 @@ public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
                 continue;
             }
 
-            // 键 和 操作
-            String[] keyHandle = keys.split("_");
-            if(keyHandle.length < 2){
+            // 先判断 conf 文件中是否包含 该 key
+            QueryCondition condition = this.getConfCondition(keys);
+            if(condition == null && queryMeta != null){
+                // 判断 字段及操作 是否合法 (白名单外字段 直接忽略)
+                condition = queryMeta.getCondition(keys);
+            }
+            if(condition == null){
                 continue;
             }
 
-            // 键
-            String key = keyHandle[0];
-            // 操作
-            String handle = keyHandle[1];
-
-            // 判断 字段是否合法
-            boolean hasField = this.validationField(key);
-            if(hasField){
-                // 验证操作是否合法
-                boolean hasHandle = this.validationHandle(handle);
-                if(hasHandle){
-                    // 处理值
-                    String value = values[0];
-                    // 赋值
-                    this.handlerValue(queryWrapper, handle, key ,value);
-                    // 如果有排序 就+1
-                    if(ORDER.equals(handle)){
-                        orderCount++;
-                    }
-                }
+            // 赋值
+            this.handlerValue(queryWrapper, condition.getHandle(), condition.getColumn(), values[0]);
+            // 如果有排序 就+1
+            if(QueryHandleType.ORDER == condition.getHandle()){
+                orderCount++;
             }
         }
         // 如果没有排序 默认按照 修改时间倒叙排序
@@ -175,6 +156,8 @@ public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
                 // 检测 Conf 配置中是否已经指定该配置
                 if(StringUtils.isNotEmpty(keyStr)){
                     key = keyStr;
+                }else if(queryMeta != null){
+                    key = queryMeta.getColumn(key);
                 }else{
                     // 转换驼峰 为 数据库下划线字段
                     key = FieldUtil.humpToUnderline(key);
@@ -190,27 +173,16 @@ public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
      * 处理值
      * @param queryWrapper 查询构造器
      * @param handle 操作
-     * @param key 键
+     * @param key 数据库字段
      * @param value 值
      */
-    private <T extends BaseEntity> void handlerValue(QueryWrapper<T> queryWrapper, String handle, String key, String value){
-        if(queryWrapper == null || StringUtils.isEmpty(handle)
+    private <T extends BaseEntity> void handlerValue(QueryWrapper<T> queryWrapper, QueryHandleType handle,
+                                                     String key, String value){
+        if(queryWrapper == null || handle == null
                 || StringUtils.isEmpty(key) || StringUtils.isEmpty(value)
         ){
             return;
         }
-        String keyStr = null;
-        if(conf != null){
-            keyStr = conf.get(key);
-        }
-
-        // 检测 Conf 配置中是否已经指定该配置
-        if(StringUtils.isNotEmpty(keyStr)){
-            key = keyStr;
-        }else{
-            // 转换驼峰 为 数据库下划线字段
-            key = FieldUtil.humpToUnderline(key);
-        }
 
         switch (handle) {
             case EQ:
@@ -253,53 +225,38 @@ public class WebQueryBuilder<T extends BaseEntity> implements QueryBuilder<T>{
     }
 
     /**
-     * 检测 字段是否合法
-     * @param key key值
-     * @return boolean
+     * 获得 Conf 配置中指定的查询条件
+     * @param keys 请求参数Key
+     * @return QueryCondition
      */
-    private boolean validationField(String key){
-        if(StringUtils.isEmpty(key)){
-            return false;
+    private QueryCondition getConfCondition(String keys){
+        if(conf == null){
+            return null;
         }
 
-        boolean ret;
-        // 先判断 conf 文件中是否包含 改 key
-        if(conf != null){
-            ret = conf.hashKey(key);
-            if(ret){
-                return true;
-            }
+        // 键 和 操作
+        String[] keyHandle = keys.split(EntityQueryMeta.SPLIT);
+        if(keyHandle.length < 2){
+            return null;
         }
 
-        // entity 对象是否为空
-        if(entityClazz == null){
-            return false;
+        // 键
+        String key = keyHandle[0];
+        if(!conf.hashKey(key)){
+            return null;
         }
 
-        // 判断当前传入参数 是否是Entity的字段
-        return ReflectUtil.hasField(entityClazz, key);
-    }
-
-
-    /**
-     * 检测 操作是否合法
-     * @param handle 操作
-     * @return boolean
-     */
-    private boolean validationHandle(String handle){
-        if(StringUtils.isEmpty(handle)){
-            return false;
+        // 验证操作是否合法
+        QueryHandleType handle = QueryHandleType.getHandle(keyHandle[1]);
+        if(handle == null){
+            return null;
         }
-        switch (handle) {
-            case EQ:
-            case END:
-            case LIKE:
-            case LIKE_LEFT:
-            case LIKE_RIGHT:
-            case BEGIN:
-                return true;
-            default:
-                return ORDER.equals(handle);
+
+        String column = conf.get(key);
+        if(StringUtils.isEmpty(column)){
+            // 转换驼峰 为 数据库下划线字段
+            column = FieldUtil.humpToUnderline(key);
         }
+        return new QueryCondition(column, handle);
     }
 }
\ No newline at end of file
@@ -15,13 +15,12 @@
  */
 package org.opsli.core.persistence.querybuilder.chain;
 
-import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.wrapper.system.user.UserModel;
-import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.utils.FieldUtil;
 import org.opsli.core.base.entity.BaseEntity;
+import org.opsli.core.persistence.querybuilder.meta.EntityQueryMeta;
 import org.opsli.core.utils.UserUtil;
 
 /**
@@ -56,8 +55,8 @@ public class QueryOrgHandler implements QueryBuilderChain{
         }
 
         // 自身责任 -- 判断组织
-        boolean flag = ReflectUtil.hasField(entityClazz, MyBatisConstants.FIELD_ORG_GROUP);
-        if(flag) {
+        EntityQueryMeta queryMeta = EntityQueryMeta.of(entityClazz);
+        if(queryMeta != null && queryMeta.isOrgGroup()) {
             // 1. 获得 用户 数据权限
 
             // 2. 获得 角色 数据权限
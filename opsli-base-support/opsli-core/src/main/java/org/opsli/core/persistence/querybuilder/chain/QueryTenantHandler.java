@@ -15,13 +15,11 @@
  */
 package org.opsli.core.persistence.querybuilder.chain;
 
-import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.wrapper.system.user.UserModel;
-import org.opsli.common.constants.MyBatisConstants;
-import org.opsli.common.utils.FieldUtil;
 import org.opsli.core.base.entity.BaseEntity;
+import org.opsli.core.persistence.querybuilder.meta.EntityQueryMeta;
 import org.opsli.core.utils.UserUtil;
 
 /**
@@ -56,15 +54,15 @@ public class QueryTenantHandler implements QueryBuilderChain{
         }
 
         // 自身责任 -- 判断多租户
-        boolean tenantFlag = ReflectUtil.hasField(entityClazz, MyBatisConstants.FIELD_TENANT);
-        if(tenantFlag) {
+        EntityQueryMeta queryMeta = EntityQueryMeta.of(entityClazz);
+        if(queryMeta != null && queryMeta.isTenant()) {
             String tenantId = UserUtil.getTenantId();
             UserModel user = UserUtil.getUser();
             // 超级管理员可以操作 无租户限制， 其余用户全部有租户限制
             if(!UserUtil.SUPER_ADMIN.equals(user.getUsername()) &&
                     StringUtils.isNotEmpty(tenantId)
                 ){
-                    wrapper.eq(FieldUtil.humpToUnderline(MyBatisConstants.FIELD_TENANT), tenantId);
+                    wrapper.eq(EntityQueryMeta.COLUMN_TENANT, tenantId);
             }
         }
         return wrapper;
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.persistence.querybuilder.meta;
+
+import cn.hutool.core.util.ReflectUtil;
+import com.baomidou.mybatisplus.annotation.TableField;
+import org.opsli.common.annotation.QueryField;
+import org.opsli.common.constants.MyBatisConstants;
+import org.opsli.common.utils.FieldUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Entity 查询元数据
+ *
+ * 每个 Entity 只解析一次，将 请求参数Key (如 username_EQ) 直接映射为 数据库字段 + 匹配条件
+ * 避免每次请求都进行 字符串拆分、反射判断字段、驼峰转下划线
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class EntityQueryMeta {
+
+    /** 参数分隔符 */
+    public static final String SPLIT = "_";
+
+    /** 元数据缓存 */
+    private static final ConcurrentMap<Class<?>, EntityQueryMeta> META_MAP = new ConcurrentHashMap<>();
+
+    /** 多租户 数据库字段 */
+    public static final String COLUMN_TENANT = FieldUtil.humpToUnderline(MyBatisConstants.FIELD_TENANT);
+
+    /** 请求参数Key -> 查询条件 */
+    private final Map<String, QueryCondition> conditionMap;
+    /** 字段 -> 数据库字段 */
+    private final Map<String, String> columnMap;
+    /** 是否为多租户 */
+    private final boolean tenant;
+    /** 是否有组织 */
+    private final boolean orgGroup;
+
+    /**
+     * 获得 Entity 查询元数据
+     * @param entityClazz Entity Clazz
+     * @return EntityQueryMeta
+     */
+    public static EntityQueryMeta of(Class<?> entityClazz){
+        if(entityClazz == null){
+            return null;
+        }
+        EntityQueryMeta meta = META_MAP.get(entityClazz);
+        if(meta == null){
+            meta = META_MAP.computeIfAbsent(entityClazz, EntityQueryMeta::new);
+        }
+        return meta;
+    }
+
+    private EntityQueryMeta(Class<?> entityClazz){
+        Field[] fields = ReflectUtil.getFields(entityClazz);
+
+        // 是否启用白名单模式
+        boolean whitelist = false;
+        for (Field field : fields) {
+            if(field.isAnnotationPresent(QueryField.class)){
+                whitelist = true;
+                break;
+            }
+        }
+
+        Map<String, QueryCondition> tmpConditionMap = new HashMap<>();
+        Map<String, String> tmpColumnMap = new HashMap<>();
+        for (Field field : fields) {
+            if(Modifier.isStatic(field.getModifiers())){
+                continue;
+            }
+            // 非数据库字段 不可查询
+            TableField tableField = field.getAnnotation(TableField.class);
+            if(tableField != null && !tableField.exist()){
+                continue;
+            }
+
+            String fieldName = field.getName();
+            String column = FieldUtil.humpToUnderline(fieldName);
+            tmpColumnMap.put(fieldName, column);
+
+            boolean filter = true;
+            boolean sort = true;
+            QueryField queryField = field.getAnnotation(QueryField.class);
+            if(queryField != null){
+                filter = queryField.filter();
+                sort = queryField.sort();
+            }else if(whitelist){
+                continue;
+            }
+
+            for (QueryHandleType handle : QueryHandleType.values()) {
+                boolean allow = QueryHandleType.ORDER == handle ? sort : filter;
+                if(allow){
+                    tmpConditionMap.put(fieldName + SPLIT + handle.getCode(),
+                            new QueryCondition(column, handle));
+                }
+            }
+        }
+
+        this.conditionMap = Collections.unmodifiableMap(tmpConditionMap);
+        this.columnMap = Collections.unmodifiableMap(tmpColumnMap);
+        this.tenant = tmpColumnMap.containsKey(MyBatisConstants.FIELD_TENANT);
+        this.orgGroup = tmpColumnMap.containsKey(MyBatisConstants.FIELD_ORG_GROUP);
+    }
+
+    /**
+     * 获得 查询条件
+     * @param key 请求参数Key
+     * @return QueryCondition 不合法 或 不在白名单内 返回 null
+     */
+    public QueryCondition getCondition(String key){
+        return conditionMap.get(key);
+    }
+
+    /**
+     * 获得 数据库字段
+     * @param fieldName 字段名
+     * @return String 如果不存在该字段 则直接转换为下划线
+     */
+    public String getColumn(String fieldName){
+        String column = columnMap.get(fieldName);
+        if(column == null){
+            column = FieldUtil.humpToUnderline(fieldName);
+        }
+        return column;
+    }
+
+    /**
+     * 是否包含 字段
+     * @param fieldName 字段名
+     * @return boolean
+     */
+    public boolean hasField(String fieldName){
+        return columnMap.containsKey(fieldName);
+    }
+
+    /**
+     * 是否为多租户
+     * @return boolean
+     */
+    public boolean isTenant() {
+        return tenant;
+    }
+
+    /**
+     * 是否有组织
+     * @return boolean
+     */
+    public boolean isOrgGroup() {
+        return orgGroup;
+    }
+
+    // ======================
+
+    /**
+     * 查询条件
+     */
+    public static final class QueryCondition {
+
+        /** 数据库字段 */
+        private final String column;
+        /** 匹配条件 */
+        private final QueryHandleType handle;
+
+        public QueryCondition(String column, QueryHandleType handle) {
+            this.column = column;
+            this.handle = handle;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public QueryHandleType getHandle() {
+            return handle;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.persistence.querybuilder.meta;
+
+/**
+ * 查询构造器 匹配条件
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public enum QueryHandleType {
+
+    /** 全值匹配 */
+    EQ("EQ"),
+    /** 模糊匹配 */
+    LIKE("LIKE"),
+    /** 左模糊匹配 */
+    LIKE_LEFT("LIKEL"),
+    /** 右模糊匹配 */
+    LIKE_RIGHT("LIKER"),
+    /** 日期匹配 */
+    BEGIN("BEGIN"),
+    END("END"),
+    /** 排序方式 */
+    ORDER("ORDER"),
+
+    ;
+
+    private final String code;
+
+    public static QueryHandleType getHandle(String code) {
+        QueryHandleType[] types = values();
+        for (QueryHandleType type : types) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    // =================
+
+    QueryHandleType(final String code) {
+        this.code = code;
+    }
+}
@@ -1,6 +1,7 @@
 package org.opsli.core.security.shiro.realm;
 
 import cn.hutool.core.collection.CollUtil;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shiro.authc.*;
@@ -13,6 +14,7 @@ import org.opsli.api.wrapper.system.user.UserModel;
 import org.opsli.common.enums.DictType;
 import org.opsli.core.api.TokenThreadLocal;
 import org.opsli.common.exception.TokenException;
+import org.opsli.core.metrics.OpsliMetrics;
 import org.opsli.core.msg.TokenMsg;
 import org.opsli.core.security.shiro.token.JwtToken;
 import org.opsli.core.utils.TenantUtil;
@@ -21,6 +23,7 @@ import org.opsli.core.utils.UserUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 认证
@@ -32,6 +35,10 @@ import java.util.List;
 @Slf4j
 public class JwtRealm extends AuthorizingRealm implements FlagRealm {
 
+    /** 认证耗时 - 成功 */
+    private static final Timer AUTH_SUCCESS = OpsliMetrics.authTimer("jwt", true);
+    /** 认证耗时 - 失败 */
+    private static final Timer AUTH_FAILURE = OpsliMetrics.authTimer("jwt", false);
 
     @Override
     public boolean supports(AuthenticationToken token) {
@@ -69,6 +76,25 @@ public class JwtRealm extends AuthorizingRealm implements FlagRealm {
     @Override
     protected AuthenticationInfo doGetAuthenticationInfo(AuthenticationToken token)
             throws AuthenticationException,TokenException {
+        long beginTime = System.nanoTime();
+        boolean success = false;
+        try {
+            AuthenticationInfo info = this.authentication(token);
+            success = true;
+            return info;
+        } finally {
+            (success ? AUTH_SUCCESS : AUTH_FAILURE)
+                    .record(System.nanoTime() - beginTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 认证
+     * @param token token
+     * @return AuthenticationInfo
+     */
+    private AuthenticationInfo authentication(AuthenticationToken token)
+            throws AuthenticationException,TokenException {
 
         String accessToken = (String) token.getPrincipal();
 
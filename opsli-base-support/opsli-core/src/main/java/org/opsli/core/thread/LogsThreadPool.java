@@ -18,6 +18,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class LogsThreadPool {
 
+    /** 线程池名称 */
+    public static final String POOL_NAME = "logs";
 
     /** 日志API */
     private static LogsApi logsApi;
@@ -31,7 +33,7 @@ public class LogsThreadPool {
             return;
         }
 
-        AsyncProcessQueueReFuse.execute(()->{
+        AsyncProcessQueueReFuse.execute(POOL_NAME, ()->{
             // 存储临时 token
             ResultVo<?> ret = logsApi.insert(logsModel);
             if(!ret.isSuccess()){
@@ -0,0 +1,210 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import cn.hutool.core.exceptions.ExceptionUtil;
+import cn.hutool.core.map.MapUtil;
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.function.Supplier;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * 读写分离 路由工具类
+ *
+ * 读操作 路由至从库分组 (分组内由 dynamic-datasource 负载均衡)，以下情况仍走主库：
+ * 1. 未配置从库分组 或 已关闭读写分离
+ * 2. 当前已在事务中 (连接已绑定)
+ * 3. 已手动指定数据源
+ * 4. 当前请求已发生写操作 (读己之写，请求结束后清除)
+ * 5. 从库连接失败 回退主库 fallbackSeconds 秒
+ *
+ * 缓存加载 使用 primary 读主库：缓存不命中往往紧跟在其他请求的 写入 + 删除缓存 之后，
+ * 此时从库即使只延迟很短时间，读到的旧数据也会被缓存至失效为止 (永久缓存 则一直保留)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(UTIL_ORDER)
+@Component
+@Lazy(false)
+public class DataSourceRouteUtil {
+
+    /** 当前线程 是否已发生写操作 */
+    private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+    /** 从库分组名称 为空时不路由 */
+    private static String SLAVE_GROUP;
+
+    /** 回退主库时长 (毫秒) */
+    private static long FALLBACK_MILLIS;
+
+    /** 回退主库 截止时间 */
+    private static volatile long FALLBACK_UNTIL;
+
+    /**
+     * 执行读操作
+     * @param supplier 读操作
+     * @param <T> 泛型
+     * @return T
+     */
+    public static <T> T read(Supplier<T> supplier){
+        if(!pushRead()){
+            return supplier.get();
+        }
+        try {
+            return supplier.get();
+        }catch (RuntimeException e){
+            if(!isFallback(e)){
+                throw e;
+            }
+        }finally {
+            pollRead();
+        }
+        // 从库不可用 回退主库
+        return supplier.get();
+    }
+
+    /**
+     * 执行读操作 (主库)
+     * 用于缓存加载 执行完成后还原写标记
+     * @param supplier 读操作
+     * @param <T> 泛型
+     * @return T
+     */
+    public static <T> T primary(Supplier<T> supplier){
+        Boolean written = WRITTEN.get();
+        markWrite();
+        try {
+            return supplier.get();
+        }finally {
+            if(written == null){
+                WRITTEN.remove();
+            }else{
+                WRITTEN.set(written);
+            }
+        }
+    }
+
+    /**
+     * 切换至从库
+     * @return boolean 是否已切换 (切换成功后 必须调用 pollRead)
+     */
+    public static boolean pushRead(){
+        if(SLAVE_GROUP == null ||
+                Boolean.TRUE.equals(WRITTEN.get()) ||
+                TransactionSynchronizationManager.isActualTransactionActive() ||
+                StringUtils.isNotEmpty(DynamicDataSourceContextHolder.peek()) ||
+                System.currentTimeMillis() < FALLBACK_UNTIL){
+            return false;
+        }
+        DynamicDataSourceContextHolder.push(SLAVE_GROUP);
+        return true;
+    }
+
+    /**
+     * 还原数据源
+     */
+    public static void pollRead(){
+        DynamicDataSourceContextHolder.poll();
+    }
+
+    /**
+     * 是否需要回退主库 (从库连接失败)
+     * @param e 异常
+     * @return boolean
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean isFallback(Throwable e){
+        boolean isFallback = ExceptionUtil.isCausedBy(e,
+                DataAccessResourceFailureException.class,
+                SQLTransientConnectionException.class,
+                SQLNonTransientConnectionException.class);
+        if(isFallback){
+            FALLBACK_UNTIL = System.currentTimeMillis() + FALLBACK_MILLIS;
+            log.warn("从库 [{}] 连接失败，{} 毫秒内回退主库：{}",
+                    SLAVE_GROUP, FALLBACK_MILLIS, e.getMessage());
+        }
+        return isFallback;
+    }
+
+    /**
+     * 标记当前线程 已发生写操作 (之后的读操作走主库)
+     */
+    public static void markWrite(){
+        if(SLAVE_GROUP != null){
+            WRITTEN.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 清除写标记
+     */
+    public static void clear(){
+        WRITTEN.remove();
+    }
+
+    // =====================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(GlobalProperties globalProperties,
+                     DynamicDataSourceProperties dataSourceProperties){
+        GlobalProperties.ReadWrite readWrite = globalProperties.getReadWrite();
+        if(readWrite == null || !Boolean.TRUE.equals(readWrite.getEnable()) ||
+                StringUtils.isEmpty(readWrite.getGroup())){
+            return;
+        }
+
+        // 判断是否配置了从库
+        String group = readWrite.getGroup();
+        boolean hasSlave = false;
+        if(MapUtil.isNotEmpty(dataSourceProperties.getDatasource())){
+            for (String dsName : dataSourceProperties.getDatasource().keySet()) {
+                if(StringUtils.equals(dsName, group) || StringUtils.startsWith(dsName, group + "_")){
+                    hasSlave = true;
+                    break;
+                }
+            }
+        }
+        if(!hasSlave){
+            log.info("未配置从库分组 [{}]，读写分离未启用", group);
+            return;
+        }
+
+        DataSourceRouteUtil.FALLBACK_MILLIS =
+                Math.max(readWrite.getFallbackSeconds() != null ? readWrite.getFallbackSeconds() : 0, 0) * 1000L;
+        DataSourceRouteUtil.SLAVE_GROUP = group;
+        log.info("读写分离已启用，从库分组 [{}]", group);
+    }
+
+}
@@ -19,6 +19,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.convert.Convert;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.base.result.ResultVo;
@@ -27,6 +28,8 @@ import org.opsli.api.wrapper.system.dict.DictDetailModel;
 import org.opsli.api.wrapper.system.dict.DictWrapper;
 import org.opsli.common.constants.DictConstants;
 import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.cache.pushsub.enums.CacheHandleType;
+import org.opsli.core.cache.pushsub.msgs.DictMsgFactory;
 import org.opsli.core.msg.CoreMsg;
 import org.opsli.plugins.redis.RedisPlugin;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,6 +60,9 @@ public class DictUtil {
     /** 字典Service */
     private static DictDetailApi dictDetailApi;
 
+    /** Redis */
+    private static RedisPlugin redisPlugin;
+
     /**
      * 根据 字典值 取 字典名称
      * @param typeCode 字典类型Code
@@ -109,7 +115,7 @@ public class DictUtil {
             }
 
             // 查询数据库 并保存到缓存内
-            ResultVo<List<DictDetailModel>> resultVo = dictDetailApi.findListByTypeCode(typeCode);
+            ResultVo<List<DictDetailModel>> resultVo = DataSourceRouteUtil.primary(() -> dictDetailApi.findListByTypeCode(typeCode));
             if(resultVo.isSuccess()){
                 List<DictDetailModel> dictDetailModels = resultVo.getData();
                 for (DictDetailModel model : dictDetailModels) {
@@ -192,7 +198,7 @@ public class DictUtil {
             }
 
             // 查询数据库 并保存到缓存内
-            ResultVo<List<DictDetailModel>> resultVo = dictDetailApi.findListByTypeCode(typeCode);
+            ResultVo<List<DictDetailModel>> resultVo = DataSourceRouteUtil.primary(() -> dictDetailApi.findListByTypeCode(typeCode));
             if(resultVo.isSuccess()){
                 List<DictDetailModel> dictDetailModels = resultVo.getData();
                 for (DictDetailModel model : dictDetailModels) {
@@ -268,7 +274,7 @@ public class DictUtil {
 
 
             // 查询数据库 并保存到缓存内
-            ResultVo<List<DictDetailModel>> resultVo = dictDetailApi.findListByTypeCode(typeCode);
+            ResultVo<List<DictDetailModel>> resultVo = DataSourceRouteUtil.primary(() -> dictDetailApi.findListByTypeCode(typeCode));
             if(resultVo.isSuccess()){
                 List<DictDetailModel> dictDetailModels = resultVo.getData();
                 // 处理数据库查询数据
@@ -441,24 +447,125 @@ public class DictUtil {
      * @return boolean
      */
     public static boolean delAll(String typeCode){
+        return DictUtil.refresh(typeCode, null);
+    }
+
+    /**
+     * 按 typeCode 整体刷新字典缓存
+     *
+     * 整个 Hash 一次删除、一次写入, 并只广播一条消息通知其他节点清除本地缓存
+     * 避免逐条 del/put 导致的大量 Redis 交互与消息
+     *
+     * @param typeCode 字典编号
+     * @param models 最新字典明细 为空则只清除缓存
+     * @return boolean
+     */
+    public static boolean refresh(String typeCode, List<DictDetailModel> models){
         // 判断 工具类是否初始化完成
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
-        List<DictWrapper> dictWrapperList = DictUtil.getDictList(typeCode);
-        if(CollUtil.isEmpty(dictWrapperList)){
+        if(StringUtils.isEmpty(typeCode)){
             return true;
         }
 
-        // 计数器
-        int count = dictWrapperList.size();
-        for (DictWrapper dictWrapperModel : dictWrapperList) {
-            boolean tmp = DictUtil.del(dictWrapperModel);
-            if(tmp){
-                count--;
+        String cacheKeyByName = DictConstants.CACHE_PREFIX_NAME + typeCode;
+        String cacheKeyByValue = DictConstants.CACHE_PREFIX_VALUE + typeCode;
+
+        // 需要通知其他节点清除的字典 (旧缓存 + 新数据)
+        List<DictWrapper> notifyList = Lists.newArrayList();
+        // 需要清除的防穿透标示
+        List<String> nilFlagKeys = Lists.newArrayList();
+        nilFlagKeys.add(cacheKeyByName);
+
+        Map<String, Object> oldCache = CacheUtil.getHashAll(cacheKeyByName);
+        if(CollUtil.isNotEmpty(oldCache)){
+            for (Object data : oldCache.values()) {
+                DictDetailModel model = Convert.convert(DictDetailModel.class, data);
+                notifyList.add(DictUtil.createNotifyWrapper(typeCode, model));
             }
         }
-        return count == 0;
+
+        // 清除旧缓存
+        boolean ret = CacheUtil.delHashAll(cacheKeyByName);
+        ret &= CacheUtil.delHashAll(cacheKeyByValue);
+
+        // 写入新缓存
+        if(CollUtil.isNotEmpty(models)){
+            Map<String, Object> nameMap = Maps.newHashMapWithExpectedSize(models.size());
+            Map<String, Object> valueMap = Maps.newHashMapWithExpectedSize(models.size());
+            for (DictDetailModel model : models) {
+                nameMap.put(model.getDictName(), model);
+                valueMap.put(model.getDictValue(), model);
+                nilFlagKeys.add(cacheKeyByName + ":" + model.getDictName());
+                nilFlagKeys.add(cacheKeyByValue + ":" + model.getDictValue());
+                notifyList.add(DictUtil.createNotifyWrapper(typeCode, model));
+            }
+            ret &= CacheUtil.putHashAll(cacheKeyByName, nameMap);
+            ret &= CacheUtil.putHashAll(cacheKeyByValue, valueMap);
+        }
+
+        // 清除防穿透标示
+        ret &= CacheUtil.delNilFlags(nilFlagKeys);
+
+        // 广播 其他节点清除本地缓存
+        if(CollUtil.isNotEmpty(notifyList)){
+            redisPlugin.sendMessage(
+                    DictMsgFactory.createMsg(notifyList, CacheHandleType.DELETE));
+        }
+        return ret;
+    }
+
+    /**
+     * 创建 广播用字典 (只需要 名称与值)
+     * @param typeCode 字典编号
+     * @param model 字典模型
+     * @return DictWrapper
+     */
+    private static DictWrapper createNotifyWrapper(String typeCode, DictDetailModel model){
+        DictWrapper dictWrapperModel = new DictWrapper();
+        dictWrapperModel.setTypeCode(typeCode);
+        dictWrapperModel.setDictName(model.getDictName());
+        dictWrapperModel.setDictValue(model.getDictValue());
+        return dictWrapperModel;
+    }
+
+    /**
+     * 批量预热 字典 (管道一次写入全部类型的 Hash 并存入本地缓存)
+     * @param dictMap 字典类型编号 -> 字典明细
+     * @return int 预热数量
+     */
+    public static int warmUp(Map<String, List<DictDetailModel>> dictMap){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(dictMap)){
+            return 0;
+        }
+
+        int count = 0;
+        Map<String, Map<String, Object>> hashMap = Maps.newHashMapWithExpectedSize(dictMap.size() * 2);
+        List<String> nilFlagKeys = Lists.newArrayList();
+        for (Map.Entry<String, List<DictDetailModel>> entry : dictMap.entrySet()) {
+            String cacheKeyByName = DictConstants.CACHE_PREFIX_NAME + entry.getKey();
+            String cacheKeyByValue = DictConstants.CACHE_PREFIX_VALUE + entry.getKey();
+
+            Map<String, Object> nameMap = Maps.newHashMapWithExpectedSize(entry.getValue().size());
+            Map<String, Object> valueMap = Maps.newHashMapWithExpectedSize(entry.getValue().size());
+            for (DictDetailModel model : entry.getValue()) {
+                nameMap.put(model.getDictName(), model);
+                valueMap.put(model.getDictValue(), model);
+            }
+            hashMap.put(cacheKeyByName, nameMap);
+            hashMap.put(cacheKeyByValue, valueMap);
+            nilFlagKeys.add(cacheKeyByName);
+            count += entry.getValue().size();
+        }
+
+        CacheUtil.putHashAll(hashMap, true);
+        CacheUtil.delNilFlags(nilFlagKeys);
+        return count;
     }
 
     /***
@@ -496,8 +603,9 @@ public class DictUtil {
      * 初始化
      */
     @Autowired
-    public  void init(DictDetailApi dictDetailApi) {
+    public  void init(DictDetailApi dictDetailApi, RedisPlugin redisPlugin) {
         DictUtil.dictDetailApi = dictDetailApi;
+        DictUtil.redisPlugin = redisPlugin;
 
         IS_INIT = true;
     }
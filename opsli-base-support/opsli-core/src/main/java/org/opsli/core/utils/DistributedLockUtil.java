@@ -17,6 +17,7 @@ package org.opsli.core.utils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.metrics.OpsliMetrics;
 import org.opsli.core.msg.CoreMsg;
 import org.opsli.plugins.redisson.RedissonLock;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,9 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
 /**
@@ -44,6 +48,9 @@ public class DistributedLockUtil {
     /** Redisson 分布式锁 */
     private static RedissonLock REDISSON_LOCK;
 
+    /** 当前线程 加锁时间 (用于统计持有时间) */
+    private static final ThreadLocal<Map<String, Long>> LOCK_TIME = ThreadLocal.withInitial(HashMap::new);
+
     /** 增加初始状态开关 防止异常使用 */
     private static boolean IS_INIT;
 
@@ -53,6 +60,16 @@ public class DistributedLockUtil {
      * @return boolean
      */
     public static boolean lock(String lockName){
+        return lock(lockName, LEASE_TIME);
+    }
+
+    /**
+     * 分布式 加锁 (指定锁有效时长 用于长时间运行的任务)
+     * @param lockName 锁名称
+     * @param leaseTime 锁有效时长 (秒)
+     * @return boolean
+     */
+    public static boolean lock(String lockName, long leaseTime){
         // 判断 工具类是否初始化完成
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
@@ -60,7 +77,13 @@ public class DistributedLockUtil {
         boolean isLock = true;
         // 分布式上锁
         if(REDISSON_LOCK != null){
-            isLock = REDISSON_LOCK.tryLock(CacheUtil.getPrefixName() + lockName, LEASE_TIME);
+            long beginTime = System.nanoTime();
+            isLock = REDISSON_LOCK.tryLock(CacheUtil.getPrefixName() + lockName, leaseTime);
+            long lockTime = System.nanoTime();
+            OpsliMetrics.lockWait(lockTime - beginTime, isLock);
+            if(isLock){
+                LOCK_TIME.get().put(lockName, lockTime);
+            }
         }
         return isLock;
     }
@@ -77,6 +100,15 @@ public class DistributedLockUtil {
         // 释放锁
         if(REDISSON_LOCK != null){
             REDISSON_LOCK.unlockByThread(CacheUtil.getPrefixName() + lockName);
+
+            Map<String, Long> lockTimeMap = LOCK_TIME.get();
+            Long lockTime = lockTimeMap.remove(lockName);
+            if(lockTime != null){
+                OpsliMetrics.lockHold(System.nanoTime() - lockTime);
+            }
+            if(lockTimeMap.isEmpty()){
+                LOCK_TIME.remove();
+            }
         }
     }
 
@@ -22,6 +22,7 @@ import cn.hutool.core.date.TimeInterval;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.event.AnalysisEventListener;
 import com.alibaba.excel.support.ExcelTypeEnum;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +39,7 @@ import org.opsli.plugins.excel.listener.BatchExcelListener;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
@@ -55,7 +57,7 @@ public final class ExcelUtil {
     public static final String DICT_NAME_KEY = "dictName";
     public static final String DICT_VALUE_KEY = "dictValue";
     /** 字段字典Map */
-    private static final Map<Class<?>, JSONObject> FIELD_DICT_MAP = Maps.newHashMap();
+    private static final Map<Class<?>, JSONObject> FIELD_DICT_MAP = Maps.newConcurrentMap();
 
     private ExcelUtil(){}
 
@@ -110,6 +112,11 @@ public final class ExcelUtil {
         ExcelUtilSingletonHolder.EXCEL_PLUGIN.readExcelByListener(excel, rowModel, sheetName, headLineNum, batchExcelListener);
     }
 
+    public <T> void readExcelByListener(InputStream inputStream, Class<T> rowModel, String sheetName, int headLineNum,
+                                        AnalysisEventListener<T> listener) throws ExcelPluginException {
+        ExcelUtilSingletonHolder.EXCEL_PLUGIN.readExcelByListener(inputStream, rowModel, sheetName, headLineNum, listener);
+    }
+
     ///////////////////////
 
     public <T> void writeExcel(HttpServletResponse response, List<T> list, String fileName, String sheetName, Class<T> classType, ExcelTypeEnum excelTypeEnum) throws ExcelPluginException {
@@ -15,6 +15,8 @@
  */
 package org.opsli.core.utils;
 
+import cn.hutool.core.collection.CollUtil;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.base.result.ResultVo;
@@ -27,6 +29,9 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
 /**
@@ -91,7 +96,7 @@ public class MenuUtil {
             }
 
             // 查询数据库
-            ResultVo<MenuModel> resultVo = menuApi.getByPermissions(permissions);
+            ResultVo<MenuModel> resultVo = DataSourceRouteUtil.primary(() -> menuApi.getByPermissions(permissions));
             if(resultVo.isSuccess()){
                 menuModel = resultVo.getData();
                 // 存入缓存
@@ -114,6 +119,34 @@ public class MenuUtil {
     }
 
 
+    // ============== 预热缓存 ==============
+
+    /**
+     * 批量预热 菜单 (管道写入)
+     * @param menus 菜单
+     * @return int 预热数量
+     */
+    public static int warmUp(List<MenuModel> menus){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(menus)){
+            return 0;
+        }
+
+        Map<String, Object> valueMap = Maps.newHashMapWithExpectedSize(menus.size());
+        for (MenuModel menu : menus) {
+            if(StringUtils.isEmpty(menu.getPermissions())){
+                continue;
+            }
+            valueMap.put(PREFIX_CODE + menu.getPermissions(), menu);
+        }
+        CacheUtil.putAll(valueMap);
+        CacheUtil.delNilFlags(valueMap.keySet());
+        return valueMap.size();
+    }
+
     // ============== 刷新缓存 ==============
 
     /**
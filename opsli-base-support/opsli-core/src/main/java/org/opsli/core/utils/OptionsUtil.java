@@ -169,7 +169,7 @@ public class OptionsUtil {
             }
 
             // 查询数据库
-            ResultVo<OptionsModel> resultVo = optionsApi.getByCode(optionCode);
+            ResultVo<OptionsModel> resultVo = DataSourceRouteUtil.primary(() -> optionsApi.getByCode(optionCode));
             if(resultVo.isSuccess()){
                 model = resultVo.getData();
                 // 存入缓存
@@ -191,6 +191,35 @@ public class OptionsUtil {
         return model;
     }
 
+    // ============== 预热缓存 ==============
+
+    /**
+     * 批量预热 系统参数 (一次写入整个 Hash 并存入本地缓存)
+     * @param options 系统参数
+     * @return int 预热数量
+     */
+    public static int warmUp(List<OptionsModel> options){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(options)){
+            return 0;
+        }
+
+        Map<String, Object> valueMap = Maps.newHashMapWithExpectedSize(options.size());
+        List<String> nilFlagKeys = Lists.newArrayListWithCapacity(options.size());
+        for (OptionsModel option : options) {
+            valueMap.put(option.getOptionCode(), option);
+            nilFlagKeys.add(PREFIX_CODE + ":" + option.getOptionCode());
+        }
+        Map<String, Map<String, Object>> hashMap = Maps.newHashMapWithExpectedSize(1);
+        hashMap.put(PREFIX_CODE, valueMap);
+        CacheUtil.putHashAll(hashMap, true);
+        CacheUtil.delNilFlags(nilFlagKeys);
+        return valueMap.size();
+    }
+
     // ============== 刷新缓存 ==============
 
     /**
@@ -18,6 +18,8 @@ package org.opsli.core.utils;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
@@ -27,20 +29,26 @@ import org.opsli.api.web.system.user.UserApi;
 import org.opsli.api.web.system.user.UserOrgRefApi;
 import org.opsli.api.wrapper.system.menu.MenuModel;
 import org.opsli.api.wrapper.system.org.SysOrgModel;
-import org.opsli.api.wrapper.system.user.UserModel;
 import org.opsli.api.wrapper.system.user.UserOrgRefModel;
 import org.opsli.api.wrapper.system.user.UserOrgRefWebModel;
 import org.opsli.common.enums.DictType;
 import org.opsli.common.utils.FieldUtil;
-import org.opsli.common.utils.ListDistinctUtil;
+import org.opsli.core.cache.local.CacheFamily;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.msg.CoreMsg;
+import org.opsli.plugins.redis.RedisPlugin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
@@ -58,6 +66,14 @@ public class OrgUtil {
 
     /** 前缀 */
     public static final String PREFIX_CODE = "org:userId:";
+    /** 数据权限范围 前缀 */
+    public static final String PREFIX_SCOPE_CODE = "org:scope:";
+    /** 组织版本号 Key */
+    private static final String ORG_VERSION_KEY = "org:version";
+    /** 分割符 */
+    private static final String DELIMITER = ",";
+    /** 用户组织关联表 组织ID 字段 */
+    private static final String USER_REF_ORG_ID_FIELD = "b.org_id";
 
     /** 用户表 是否分配组织  状态标识 */
     public static final String USER_ORG_FIELD = "iz_exist_org";
@@ -68,6 +84,8 @@ public class OrgUtil {
 
     /** 用户组织 Api */
     private static UserOrgRefApi userOrgRefApi;
+    /** Redis插件 */
+    private static RedisPlugin redisPlugin;
 
     /** 增加初始状态开关 防止异常使用 */
     private static boolean IS_INIT;
@@ -88,7 +106,8 @@ public class OrgUtil {
         List<UserOrgRefModel> orgList;
 
         // 先从缓存里拿
-        Object obj = CacheUtil.getTimed(cacheKey);
+        Object obj = CacheUtil.getTimed(cacheKey,
+                CacheFamily.ORG, () -> OrgUtil.loadOrgList(cacheKey, userId));
         orgList = Convert.toList(UserOrgRefModel.class, obj);
         if(CollUtil.isNotEmpty(orgList)){
             return orgList;
@@ -118,12 +137,7 @@ public class OrgUtil {
             }
 
             // 查询数据库
-            ResultVo<List<UserOrgRefModel>> resultVo = userOrgRefApi.findListByUserId(userId);
-            if(resultVo.isSuccess()){
-                orgList = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, orgList);
-            }
+            orgList = OrgUtil.loadOrgList(cacheKey, userId);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -166,44 +180,109 @@ public class OrgUtil {
         return orgModelList;
     }
 
+    /**
+     * 根据 userId 获得数据权限范围 (自身组织及其全部下级的 组织ID组)
+     *
+     * 范围只解析一次，按 用户组织 + 组织版本号 缓存
+     * 用户组织变化时 摘要变化，组织结构变化时 版本号递增，旧缓存均自然失效
+     *
+     * @param userId 用户ID
+     * @return List
+     */
+    public static List<String> getScopeOrgGroupsByUserId(String userId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        List<UserOrgRefModel> orgRefList = OrgUtil.getOrgListByUserId(userId);
+        if(CollUtil.isEmpty(orgRefList)){
+            return ListUtil.empty();
+        }
+
+        // 缓存Key
+        String cacheKey = PREFIX_SCOPE_CODE + userId + ":" + getScopeStamp(orgRefList);
+
+        List<String> scopeList;
+
+        // 先从缓存里拿
+        Object obj = CacheUtil.getTimed(cacheKey);
+        scopeList = Convert.toList(String.class, obj);
+        if(CollUtil.isNotEmpty(scopeList)){
+            return scopeList;
+        }
+
+        // 拿不到 --------
+        // 防止缓存穿透判断
+        boolean hasNilFlag = CacheUtil.hasNilFlag(cacheKey);
+        if(hasNilFlag){
+            return ListUtil.empty();
+        }
+
+        try {
+            // 分布式加锁
+            if(!DistributedLockUtil.lock(cacheKey)){
+                // 无法申领分布式锁
+                log.error(CoreMsg.REDIS_EXCEPTION_LOCK.getMessage());
+                return ListUtil.empty();
+            }
+
+            // 如果获得锁 则 再次检查缓存里有没有， 如果有则直接退出， 没有的话才发起数据库请求
+            obj = CacheUtil.getTimed(cacheKey);
+            scopeList = Convert.toList(String.class, obj);
+            if(CollUtil.isNotEmpty(scopeList)){
+                return scopeList;
+            }
+
+            // 查询数据库
+            ResultVo<List<String>> resultVo = DataSourceRouteUtil.primary(
+                    () -> userOrgRefApi.findScopeOrgGroupsByUserId(userId));
+            if(resultVo.isSuccess()){
+                scopeList = resultVo.getData();
+                // 存入缓存
+                CacheUtil.put(cacheKey, scopeList, UserUtil.getTenantIdByUserId(userId));
+            }
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }finally {
+            // 释放锁
+            DistributedLockUtil.unlock(cacheKey);
+        }
+
+        if(CollUtil.isEmpty(scopeList)){
+            // 设置空变量 用于防止穿透判断
+            CacheUtil.putNilFlag(cacheKey);
+            return ListUtil.empty();
+        }
+
+        return scopeList;
+    }
+
     /**
      * 处理 组织ID 组条件
-     * @param orgIdGroup 父节点ID
-     * @param queryWrapper 组织集合
+     *
+     * 数据权限范围 预先解析为组织ID集合，使用 b.org_id in (...) 走索引过滤
+     * 不再对 b.org_ids 拼接 右模糊 or 条件
+     *
+     * @param orgIdGroup 组织ID组
+     * @param queryWrapper 条件构造器
      */
     public static void handleOrgIdGroupCondition(String orgIdGroup, QueryWrapper<?> queryWrapper) {
-        String userRefOrgField = "b.org_ids";
+        // 数据权限范围 (需在当前线程中获取 用户信息)
+        final List<String> scopeList = ORG_NULL.equals(orgIdGroup)
+                ? ListUtil.empty()
+                : OrgUtil.getScopeOrgGroupsByUserId(UserUtil.getUser().getId());
 
         queryWrapper.and(wra -> {
 
             if(!ORG_NULL.equals(orgIdGroup)){
                 wra.and(wraConfine -> {
                     // 增加自身 组织限制
-                    UserModel currUser = UserUtil.getUser();
-                    List<UserOrgRefModel> orgListByUserId = OrgUtil.getOrgListByUserId(currUser.getId());
-                    if(CollUtil.isEmpty(orgListByUserId)){
+                    Set<String> orgIdSet = getOrgIdSet(scopeList, null);
+                    if(CollUtil.isEmpty(orgIdSet)){
                         // 如果为空 则默认 不查询
                         wraConfine.eq("1", "2");
                     }else {
-                        List<String> parentIdList = Lists.newArrayListWithCapacity(orgListByUserId.size());
-                        // 处理ParentId数据
-                        for (UserOrgRefModel userOrgRefModel : orgListByUserId) {
-                            parentIdList.add(userOrgRefModel.getOrgIds());
-                        }
-                        // 去重
-                        parentIdList = ListDistinctUtil.distinct(parentIdList);
-
-                        // 增加右模糊 查询条件
-                        for (int i = 0; i < parentIdList.size(); i++) {
-                            // 右模糊匹配
-                            wraConfine.likeRight(
-                                    userRefOrgField,
-                                    parentIdList.get(i));
-
-                            if(i < parentIdList.size() - 1){
-                                wraConfine.or();
-                            }
-                        }
+                        wraConfine.in(USER_REF_ORG_ID_FIELD, orgIdSet);
                     }
                 });
             }
@@ -227,9 +306,15 @@ public class OrgUtil {
                     });
                     break;
                 default:
-                    // 右模糊匹配
-                    wra.likeRight(
-                            userRefOrgField, orgIdGroup);
+                    // 选中组织 及其下级 (数据权限范围内)
+                    wra.and(wraGroup -> {
+                        Set<String> orgIdSet = getOrgIdSet(scopeList, orgIdGroup);
+                        if(CollUtil.isEmpty(orgIdSet)){
+                            wraGroup.eq("1", "2");
+                        }else {
+                            wraGroup.in(USER_REF_ORG_ID_FIELD, orgIdSet);
+                        }
+                    });
                     wra.and(wraYes -> {
                         wraYes.eq(FieldUtil.humpToUnderline(USER_ORG_FIELD),
                                 DictType.NO_YES_YES.getValue());
@@ -240,6 +325,115 @@ public class OrgUtil {
         });
     }
 
+    /**
+     * 获得组织ID集合
+     * @param scopeList 数据权限范围 组织ID组
+     * @param orgIdGroup 限定组织ID组 为空则不限定
+     * @return Set
+     */
+    private static Set<String> getOrgIdSet(List<String> scopeList, String orgIdGroup) {
+        Set<String> orgIdSet = new LinkedHashSet<>();
+        for (String orgGroup : scopeList) {
+            if(orgIdGroup != null && !orgGroup.equals(orgIdGroup)
+                    && !orgGroup.startsWith(orgIdGroup + DELIMITER)){
+                continue;
+            }
+            orgIdSet.add(StrUtil.subAfter(orgGroup, DELIMITER, true));
+        }
+        return orgIdSet;
+    }
+
+    /**
+     * 获得数据权限范围 摘要 (用户组织 + 组织版本号)
+     * @param orgRefList 用户组织
+     * @return String
+     */
+    private static String getScopeStamp(List<UserOrgRefModel> orgRefList) {
+        List<String> orgGroupList = Lists.newArrayListWithCapacity(orgRefList.size());
+        for (UserOrgRefModel orgRef : orgRefList) {
+            orgGroupList.add(orgRef.getOrgIds());
+        }
+        Collections.sort(orgGroupList, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        StringBuilder stb = new StringBuilder();
+        stb.append(getOrgVersion()).append(';');
+        for (String orgGroup : orgGroupList) {
+            stb.append(orgGroup).append(';');
+        }
+        return DigestUtil.md5Hex16(stb.toString());
+    }
+
+    /**
+     * 获得组织版本号
+     * @return long
+     */
+    private static long getOrgVersion() {
+        try {
+            return Convert.toLong(redisPlugin.get(getOrgVersionKey()), 0L);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 递增组织版本号 (组织结构 新增、移动、删除 时调用)
+     * 存在事务时 在事务提交后执行，防止其他请求读到未提交的数据并缓存到新版本下
+     */
+    public static void incrOrgVersion(){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            doIncrOrgVersion();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doIncrOrgVersion();
+            }
+        });
+    }
+
+    /**
+     * 递增组织版本号
+     */
+    private static void doIncrOrgVersion() {
+        try {
+            redisPlugin.increment(getOrgVersionKey());
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获得 组织版本号 缓存Key
+     * @return String
+     */
+    private static String getOrgVersionKey(){
+        return CacheUtil.getPrefixName() + ORG_VERSION_KEY;
+    }
+
+    /**
+     * 查询数据库 并存入缓存 (组织)
+     * @param cacheKey 缓存Key
+     * @param userId 用户ID
+     * @return List
+     */
+    private static List<UserOrgRefModel> loadOrgList(String cacheKey, String userId){
+        List<UserOrgRefModel> orgList = null;
+        ResultVo<List<UserOrgRefModel>> resultVo = DataSourceRouteUtil.primary(() -> userOrgRefApi.findListByUserId(userId));
+        if(resultVo.isSuccess()){
+            orgList = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, orgList, UserUtil.getTenantIdByUserId(userId));
+        }
+        return orgList;
+    }
+
     // ============== 刷新缓存 ==============
 
     /**
@@ -290,8 +484,9 @@ public class OrgUtil {
      * 初始化
      */
     @Autowired
-    public void init(UserOrgRefApi userOrgRefApi) {
+    public void init(UserOrgRefApi userOrgRefApi, RedisPlugin redisPlugin) {
         OrgUtil.userOrgRefApi = userOrgRefApi;
+        OrgUtil.redisPlugin = redisPlugin;
 
         IS_INIT = true;
     }
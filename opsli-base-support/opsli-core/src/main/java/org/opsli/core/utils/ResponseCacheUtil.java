@@ -0,0 +1,282 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ZipUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.opsli.common.enums.CacheType;
+import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.msg.CoreMsg;
+import org.opsli.plugins.redis.RedisPlugin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * 接口响应缓存 工具类
+ *
+ * 每个失效标签 (Entity) 对应一个代数，代数参与缓存Key 计算
+ * 标签失效时 只递增代数 不逐个删除缓存，旧缓存等待自然过期
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(UTIL_ORDER)
+@Component
+public class ResponseCacheUtil {
+
+    /** 缓存前缀 */
+    private static final String PREFIX = "resp:";
+    /** 标签代数 前缀 */
+    private static final String TAG_GEN_PREFIX = "resp:gen:";
+    /** 小于该大小 不压缩 */
+    private static final int GZIP_THRESHOLD = 1024;
+
+    private static final String FIELD_ETAG = "etag";
+    private static final String FIELD_GZIP = "gzip";
+    private static final String FIELD_BODY = "body";
+
+    /** 事务内 待失效标签 资源Key */
+    private static final Object TX_TAGS_KEY = new Object();
+
+    /** Redis插件 */
+    private static RedisPlugin redisPlugin;
+
+    /** 增加初始状态开关 防止异常使用 */
+    private static boolean IS_INIT;
+
+    /**
+     * 获得 缓存Key (包含 各标签当前代数)
+     * @param baseKey 基础Key (请求地址 + 参数 + 租户 ...)
+     * @param tags 标签
+     * @return String
+     */
+    public static String getKey(String baseKey, Collection<String> tags){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        StringBuilder sb = new StringBuilder(baseKey);
+        if(CollUtil.isNotEmpty(tags)){
+            List<String> genKeys = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                genKeys.add(CacheUtil.handleKey(CacheType.EDEN, TAG_GEN_PREFIX + tag));
+            }
+            // 一次获取全部标签代数
+            List<Object> genList = redisPlugin.getAll(genKeys);
+            int i = 0;
+            for (String tag : tags) {
+                Object gen = genList != null && i < genList.size() ? genList.get(i) : null;
+                sb.append('|').append(tag).append('=').append(Convert.toLong(gen, 0L));
+                i++;
+            }
+        }
+        return CacheUtil.handleKey(CacheType.TIMED, PREFIX + DigestUtil.md5Hex(sb.toString()));
+    }
+
+    /**
+     * 获得缓存
+     * @param key 缓存Key
+     * @return CacheEntry 不存在时返回 null
+     */
+    public static CacheEntry get(String key){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        try {
+            Object obj = redisPlugin.get(key);
+            if(obj == null){
+                return null;
+            }
+            JSONObject jsonObject = obj instanceof JSONObject
+                    ? (JSONObject) obj : JSONObject.parseObject(obj.toString());
+            return new CacheEntry(
+                    jsonObject.getString(FIELD_ETAG),
+                    Base64.decode(jsonObject.getString(FIELD_BODY)),
+                    Boolean.TRUE.equals(jsonObject.getBoolean(FIELD_GZIP)));
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * 存入缓存
+     * @param key 缓存Key
+     * @param json 响应体
+     * @param gzip 是否压缩
+     * @param expire 过期时间 (秒)
+     * @return CacheEntry
+     */
+    public static CacheEntry put(String key, byte[] json, boolean gzip, int expire){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        boolean isGzip = gzip && json.length >= GZIP_THRESHOLD;
+        CacheEntry entry = new CacheEntry(
+                "\"" + DigestUtil.md5Hex(json) + "\"",
+                isGzip ? ZipUtil.gzip(json) : json,
+                isGzip);
+        try {
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put(FIELD_ETAG, entry.getEtag());
+            jsonObject.put(FIELD_GZIP, entry.isGzip());
+            jsonObject.put(FIELD_BODY, Base64.encode(entry.getBody()));
+            redisPlugin.put(key, jsonObject, expire, TimeUnit.SECONDS);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+        return entry;
+    }
+
+    /**
+     * 标签失效 (在事务中时 提交后失效)
+     * @param tag 标签
+     */
+    @SuppressWarnings("unchecked")
+    public static void evictTag(String tag){
+        if(!IS_INIT || tag == null){
+            return;
+        }
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            evictTags(Collections.singleton(tag));
+            return;
+        }
+
+        // 同一事务内 标签去重 提交后统一失效
+        Set<String> tags = (Set<String>) TransactionSynchronizationManager.getResource(TX_TAGS_KEY);
+        if(tags == null){
+            Set<String> txTags = new HashSet<>();
+            tags = txTags;
+            TransactionSynchronizationManager.bindResource(TX_TAGS_KEY, txTags);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTags(txTags);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_TAGS_KEY);
+                }
+            });
+        }
+        tags.add(tag);
+    }
+
+    /**
+     * 标签失效 (递增代数)
+     * @param tags 标签
+     */
+    private static void evictTags(Collection<String> tags){
+        for (String tag : tags) {
+            try {
+                redisPlugin.increment(CacheUtil.handleKey(CacheType.EDEN, TAG_GEN_PREFIX + tag));
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    // ==================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(RedisPlugin redisPlugin){
+        ResponseCacheUtil.redisPlugin = redisPlugin;
+
+        IS_INIT = true;
+    }
+
+    // ==================================
+
+    /**
+     * 缓存内容
+     */
+    public static final class CacheEntry {
+
+        /** ETag */
+        private final String etag;
+        /** 响应体 */
+        private final byte[] body;
+        /** 响应体 是否为 GZIP */
+        private final boolean gzip;
+
+        public CacheEntry(String etag, byte[] body, boolean gzip) {
+            this.etag = etag;
+            this.body = body;
+            this.gzip = gzip;
+        }
+
+        /**
+         * 是否与 If-None-Match 匹配
+         * @param ifNoneMatch If-None-Match 请求头
+         * @return boolean
+         */
+        public boolean matches(String ifNoneMatch) {
+            if(ifNoneMatch == null){
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String tmp = tag.trim();
+                // 弱校验
+                if(tmp.startsWith("W/")){
+                    tmp = tmp.substring(2);
+                }
+                if("*".equals(tmp) || etag.equals(tmp)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public boolean isGzip() {
+            return gzip;
+        }
+    }
+
+}
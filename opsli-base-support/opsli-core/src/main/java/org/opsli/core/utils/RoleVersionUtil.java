@@ -0,0 +1,162 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.msg.CoreMsg;
+import org.opsli.plugins.redis.RedisPlugin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * 角色版本号工具类
+ *
+ * 角色权限变更时 只递增角色版本号，不再逐个清除用户缓存
+ * 用户 权限、菜单 缓存Key 中带有其全部角色版本号的摘要，版本号变化后 旧缓存自然失效
+ * 用户在下一次请求时 按需重建
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(UTIL_ORDER)
+@Component
+@Lazy(false)
+public class RoleVersionUtil {
+
+    /** 角色版本号 Hash Key */
+    private static final String CACHE_KEY = "role:version";
+    /** 无角色 */
+    private static final String EMPTY_STAMP = "0";
+
+    /** Redis插件 */
+    private static RedisPlugin redisPlugin;
+
+    /** 增加初始状态开关 防止异常使用 */
+    private static boolean IS_INIT;
+
+    /**
+     * 获得角色版本摘要
+     * @param roleCodes 角色编号集合
+     * @return String
+     */
+    public static String getStamp(List<String> roleCodes){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(roleCodes)){
+            return EMPTY_STAMP;
+        }
+
+        List<String> tmpCodes = Lists.newArrayList(roleCodes);
+        Collections.sort(tmpCodes);
+
+        List<Object> versions;
+        try {
+            versions = redisPlugin.hMultiGet(getCacheKey(), Lists.<Object>newArrayList(tmpCodes));
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+            versions = Collections.emptyList();
+        }
+
+        StringBuilder stb = new StringBuilder();
+        for (int i = 0; i < tmpCodes.size(); i++) {
+            Object version = i < versions.size() ? versions.get(i) : null;
+            stb.append(tmpCodes.get(i)).append(':')
+                    .append(Convert.toLong(version, 0L)).append(';');
+        }
+        return DigestUtil.md5Hex16(stb.toString());
+    }
+
+    /**
+     * 递增角色版本号
+     * 存在事务时 在事务提交后执行，防止其他请求读到未提交的数据并缓存到新版本下
+     * @param roleCodes 角色编号集合
+     */
+    public static void incrVersion(Collection<String> roleCodes){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(roleCodes)){
+            return;
+        }
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            doIncrVersion(roleCodes);
+            return;
+        }
+
+        final List<String> tmpCodes = Lists.newArrayList(roleCodes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doIncrVersion(tmpCodes);
+            }
+        });
+    }
+
+    /**
+     * 递增角色版本号
+     * @param roleCodes 角色编号集合
+     */
+    private static void doIncrVersion(Collection<String> roleCodes){
+        for (String roleCode : roleCodes) {
+            try {
+                redisPlugin.hIncrBy(getCacheKey(), roleCode, 1);
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 获得 缓存Key
+     * @return String
+     */
+    private static String getCacheKey(){
+        return CacheUtil.getPrefixName() + CACHE_KEY;
+    }
+
+    // ===================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(RedisPlugin redisPlugin) {
+        RoleVersionUtil.redisPlugin = redisPlugin;
+
+        IS_INIT = true;
+    }
+
+}
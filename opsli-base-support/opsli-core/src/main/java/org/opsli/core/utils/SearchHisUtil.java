@@ -16,12 +16,15 @@
 package org.opsli.core.utils;
 
 import cn.hutool.core.collection.CollUtil;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.wrapper.system.user.UserModel;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.msg.CoreMsg;
 import org.opsli.plugins.redis.RedisPlugin;
+import org.opsli.plugins.redis.scripts.enums.RedisScriptsEnum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
@@ -31,6 +34,7 @@ import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
@@ -51,6 +55,13 @@ public class SearchHisUtil {
     /** 缓存前缀 */
     private static final String CACHE_PREFIX = "his:username:";
 
+    /** 每个搜索Key 最多保留条数 */
+    private static int MAX_COUNT;
+    /** 热度半衰期 (毫秒) */
+    private static long HALF_LIFE_MILLIS;
+    /** 闲置过期时间 (秒) */
+    private static long IDLE_EXPIRE;
+
     /** Redis插件 */
     private static RedisPlugin redisPlugin;
 
@@ -86,6 +97,10 @@ public class SearchHisUtil {
 
     /**
      * 存放搜索历史记录
+     *
+     * 本次请求的所有搜索Key 通过一次脚本调用写入,
+     * 计分按时间衰减, 写入时同步裁剪条数上限并刷新闲置过期时间
+     *
      * @param request request
      * @param keys 搜索key
      */
@@ -102,19 +117,36 @@ public class SearchHisUtil {
         UserModel user = UserUtil.getUser();
 
         Map<String, String[]> parameterMap = request.getParameterMap();
+        List<String> cacheKeys = Lists.newArrayListWithCapacity(keys.size());
+        List<Object> argv = Lists.newArrayListWithCapacity(keys.size() + 3);
+        argv.add(getNowScore());
+        argv.add(MAX_COUNT);
+        argv.add(IDLE_EXPIRE);
         for (String key : keys) {
             String[] values = parameterMap.get(key);
-            if(values == null || values.length == 0){
+            if(values == null || values.length == 0 || StringUtils.isEmpty(values[0])){
                 continue;
             }
 
+            cacheKeys.add(CacheUtil.getPrefixName() + CACHE_PREFIX + user.getUsername()  + ":" + key);
+            argv.add(values[0]);
+        }
 
-            String cacheKey = CacheUtil.getPrefixName() + CACHE_PREFIX + user.getUsername()  + ":" + key;
-            String val = values[0];
-
-            // 记录
-            redisPlugin.zIncrementScore(cacheKey, val, 1);
+        if(cacheKeys.isEmpty()){
+            return;
         }
+
+        // 记录
+        redisPlugin.callScript(RedisScriptsEnum.SEARCH_HIS_PUT, cacheKeys, argv.toArray());
+    }
+
+    /**
+     * 获得当前时间计分
+     * 以半衰期为单位的对数权重 每经过一个半衰期 新搜索的权重翻倍 即旧搜索权重减半
+     * @return double
+     */
+    private static double getNowScore(){
+        return (double) System.currentTimeMillis() / HALF_LIFE_MILLIS * Math.log(2);
     }
 
 
@@ -124,9 +156,18 @@ public class SearchHisUtil {
      * 初始化
      */
     @Autowired
-    public void init(RedisPlugin redisPlugin) {
+    public void init(RedisPlugin redisPlugin, GlobalProperties globalProperties) {
         SearchHisUtil.redisPlugin = redisPlugin;
 
+        GlobalProperties.SearchHis searchHis = globalProperties.getSearchHis();
+        if(searchHis == null){
+            searchHis = new GlobalProperties.SearchHis();
+        }
+        MAX_COUNT = searchHis.getMaxCount();
+        HALF_LIFE_MILLIS = TimeUnit.HOURS.toMillis(Math.max(1, searchHis.getHalfLife()));
+        IDLE_EXPIRE = searchHis.getIdleExpire() > 0
+                ? TimeUnit.DAYS.toSeconds(searchHis.getIdleExpire()) : -1L;
+
         IS_INIT = true;
     }
 
@@ -0,0 +1,406 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.opsli.common.thread.pool.ThreadPoolRegistry;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.metrics.SqlFingerprint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * SQL 统计 工具类
+ *
+ * 以 请求 / 异步任务 为范围，按 SQL 指纹统计执行次数与耗时
+ * 同一指纹执行次数达到阈值时 视为 N+1 输出告警日志，并汇总至全局统计 (本地 TopN)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(UTIL_ORDER)
+@Component
+@Lazy(false)
+public class SqlStatsUtil {
+
+    /** 排序方式 */
+    public static final String SORT_COUNT = "count";
+    public static final String SORT_TIME = "time";
+    public static final String SORT_REPEAT = "repeat";
+
+    /** 日志中 SQL 最大长度 */
+    private static final int LOG_SQL_MAX_LENGTH = 200;
+
+    /** 当前范围 */
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    /** 全局统计 指纹 -> 统计 */
+    private static final Map<String, GlobalStat> GLOBAL_MAP = new ConcurrentHashMap<>();
+
+    /** 启用 */
+    private static boolean ENABLE;
+
+    /** N+1 阈值 */
+    private static int THRESHOLD = 10;
+
+    /** 响应头输出 */
+    private static boolean HEADER;
+
+    /** 全局统计 最大指纹数 */
+    private static int MAX_FINGERPRINTS = 2000;
+
+    /**
+     * 开始统计范围 (已在范围内时 不重复开始)
+     * @param name 范围名称 (请求地址 / 线程池名称)
+     * @return boolean 是否开始了新范围 (为 true 时 必须调用 end)
+     */
+    public static boolean begin(String name){
+        if(!ENABLE || SCOPE.get() != null){
+            return false;
+        }
+        SCOPE.set(new Scope(name));
+        return true;
+    }
+
+    /**
+     * 结束统计范围 并输出报告
+     */
+    public static void end(){
+        Scope scope = SCOPE.get();
+        if(scope == null){
+            return;
+        }
+        SCOPE.remove();
+        try {
+            report(scope);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 当前是否在统计范围内
+     * @return boolean
+     */
+    public static boolean isActive(){
+        return SCOPE.get() != null;
+    }
+
+    /**
+     * 记录 SQL 执行
+     * @param statementId MyBatis 语句ID
+     * @param sql SQL
+     * @param nanos 耗时 (纳秒)
+     */
+    public static void record(String statementId, String sql, long nanos){
+        Scope scope = SCOPE.get();
+        if(scope == null){
+            return;
+        }
+        scope.record(SqlFingerprint.of(sql), statementId, nanos);
+    }
+
+    /**
+     * 获得 当前范围 响应头内容
+     * @return String 未开启或不在范围内时 返回 null
+     */
+    public static String getHeader(){
+        if(!HEADER){
+            return null;
+        }
+        Scope scope = SCOPE.get();
+        if(scope == null){
+            return null;
+        }
+        return "count=" + scope.total +
+                ";fingerprints=" + scope.statMap.size() +
+                ";maxRepeat=" + scope.getMaxRepeat() +
+                ";sqlMillis=" + scope.totalNanos / 1000000;
+    }
+
+    /**
+     * 是否输出响应头
+     * @return boolean
+     */
+    public static boolean isHeader(){
+        return HEADER;
+    }
+
+    /**
+     * 获得 全局 TopN
+     * @param sort 排序方式 (count 执行次数、time 总耗时、repeat 单次范围内最大重复次数)
+     * @param limit 数量
+     * @return List
+     */
+    public static List<SqlStat> getTopN(String sort, int limit){
+        Comparator<SqlStat> comparator;
+        if(SORT_TIME.equals(sort)){
+            comparator = Comparator.comparingDouble(SqlStat::getTotalMillis);
+        }else if(SORT_REPEAT.equals(sort)){
+            comparator = Comparator.comparingLong(SqlStat::getMaxRepeat);
+        }else{
+            comparator = Comparator.comparingLong(SqlStat::getCount);
+        }
+
+        List<SqlStat> statList = new ArrayList<>(GLOBAL_MAP.size());
+        for (Map.Entry<String, GlobalStat> entry : GLOBAL_MAP.entrySet()) {
+            statList.add(entry.getValue().toStat(entry.getKey()));
+        }
+        statList.sort(comparator.reversed());
+        return statList.size() > limit ? new ArrayList<>(statList.subList(0, limit)) : statList;
+    }
+
+    /**
+     * 清空 全局统计
+     */
+    public static void reset(){
+        GLOBAL_MAP.clear();
+    }
+
+    /**
+     * 输出报告 并汇总至全局统计
+     * @param scope 范围
+     */
+    private static void report(Scope scope){
+        if(scope.total == 0){
+            return;
+        }
+
+        StringBuilder flagged = null;
+        for (Map.Entry<String, ScopeStat> entry : scope.statMap.entrySet()) {
+            String fingerprint = entry.getKey();
+            ScopeStat scopeStat = entry.getValue();
+            boolean isFlagged = scopeStat.count >= THRESHOLD;
+            if(isFlagged){
+                if(flagged == null){
+                    flagged = new StringBuilder();
+                }
+                flagged.append("\n  ").append(scopeStat.count).append("次 ")
+                        .append(scopeStat.nanos / 1000000).append("ms ")
+                        .append(scopeStat.statementId).append(" : ")
+                        .append(StrUtil.maxLength(fingerprint, LOG_SQL_MAX_LENGTH));
+            }
+
+            GlobalStat globalStat = GLOBAL_MAP.get(fingerprint);
+            if(globalStat == null){
+                // 超出上限后 不再记录新指纹
+                if(GLOBAL_MAP.size() >= MAX_FINGERPRINTS){
+                    continue;
+                }
+                globalStat = GLOBAL_MAP.computeIfAbsent(fingerprint,
+                        k -> new GlobalStat(scopeStat.statementId));
+            }
+            globalStat.add(scopeStat, isFlagged);
+        }
+
+        if(flagged != null){
+            log.warn("SQL N+1 告警 [{}] 共执行 {} 条SQL 耗时 {}ms 总耗时 {}ms，重复执行语句：{}",
+                    scope.name, scope.total, scope.totalNanos / 1000000,
+                    (System.nanoTime() - scope.beginNanos) / 1000000, flagged);
+        }else if(log.isDebugEnabled()){
+            log.debug("SQL 统计 [{}] 共执行 {} 条SQL 指纹 {} 个 耗时 {}ms",
+                    scope.name, scope.total, scope.statMap.size(), scope.totalNanos / 1000000);
+        }
+    }
+
+    // ==================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(GlobalProperties globalProperties){
+        GlobalProperties.SqlStats sqlStats = globalProperties.getSqlStats();
+        if(sqlStats == null || !Boolean.TRUE.equals(sqlStats.getEnable())){
+            return;
+        }
+        if(sqlStats.getThreshold() != null && sqlStats.getThreshold() > 1){
+            SqlStatsUtil.THRESHOLD = sqlStats.getThreshold();
+        }
+        if(sqlStats.getMaxFingerprints() != null && sqlStats.getMaxFingerprints() > 0){
+            SqlStatsUtil.MAX_FINGERPRINTS = sqlStats.getMaxFingerprints();
+        }
+        SqlStatsUtil.HEADER = Boolean.TRUE.equals(sqlStats.getHeader());
+        SqlStatsUtil.ENABLE = true;
+
+        // 异步任务 同样作为统计范围
+        ThreadPoolRegistry.addTaskDecorator((poolName, task) -> () -> {
+            boolean isBegin = begin("pool:" + poolName);
+            try {
+                task.run();
+            }finally {
+                if(isBegin){
+                    end();
+                }
+            }
+        });
+    }
+
+    // ==================================
+
+    /**
+     * 统计范围
+     */
+    private static final class Scope {
+
+        /** 范围名称 */
+        private final String name;
+        /** 开始时间 */
+        private final long beginNanos = System.nanoTime();
+        /** 指纹 -> 统计 */
+        private final Map<String, ScopeStat> statMap = new HashMap<>();
+        /** 总次数 */
+        private int total;
+        /** 总耗时 (纳秒) */
+        private long totalNanos;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void record(String fingerprint, String statementId, long nanos){
+            ScopeStat scopeStat = statMap.get(fingerprint);
+            if(scopeStat == null){
+                scopeStat = new ScopeStat(statementId);
+                statMap.put(fingerprint, scopeStat);
+            }
+            scopeStat.count++;
+            scopeStat.nanos += nanos;
+            total++;
+            totalNanos += nanos;
+        }
+
+        private int getMaxRepeat(){
+            int max = 0;
+            for (ScopeStat scopeStat : statMap.values()) {
+                max = Math.max(max, scopeStat.count);
+            }
+            return max;
+        }
+    }
+
+    /**
+     * 范围内 单个指纹统计
+     */
+    private static final class ScopeStat {
+
+        /** 语句ID */
+        private final String statementId;
+        /** 次数 */
+        private int count;
+        /** 耗时 (纳秒) */
+        private long nanos;
+
+        private ScopeStat(String statementId) {
+            this.statementId = statementId;
+        }
+    }
+
+    /**
+     * 全局 单个指纹统计
+     */
+    private static final class GlobalStat {
+
+        /** 语句ID */
+        private final String statementId;
+        /** 次数 */
+        private final LongAdder count = new LongAdder();
+        /** 耗时 (纳秒) */
+        private final LongAdder nanos = new LongAdder();
+        /** 出现的范围数 */
+        private final LongAdder scopeCount = new LongAdder();
+        /** 触发 N+1 告警的范围数 */
+        private final LongAdder flaggedCount = new LongAdder();
+        /** 单次范围内 最大重复次数 */
+        private final AtomicLong maxRepeat = new AtomicLong();
+
+        private GlobalStat(String statementId) {
+            this.statementId = statementId;
+        }
+
+        private void add(ScopeStat scopeStat, boolean isFlagged){
+            count.add(scopeStat.count);
+            nanos.add(scopeStat.nanos);
+            scopeCount.increment();
+            if(isFlagged){
+                flaggedCount.increment();
+            }
+            maxRepeat.accumulateAndGet(scopeStat.count, Math::max);
+        }
+
+        private SqlStat toStat(String fingerprint){
+            SqlStat stat = new SqlStat();
+            stat.setFingerprint(fingerprint);
+            stat.setStatementId(statementId);
+            stat.setCount(count.sum());
+            stat.setTotalMillis(nanos.sum() / 1e6);
+            stat.setAvgMillis(stat.getCount() == 0 ? 0 : stat.getTotalMillis() / stat.getCount());
+            stat.setScopeCount(scopeCount.sum());
+            stat.setFlaggedCount(flaggedCount.sum());
+            stat.setMaxRepeat(maxRepeat.get());
+            return stat;
+        }
+    }
+
+    /**
+     * SQL 统计结果
+     */
+    @Data
+    public static class SqlStat {
+
+        /** 指纹 */
+        private String fingerprint;
+
+        /** 语句ID (首次出现时的 MyBatis 语句ID) */
+        private String statementId;
+
+        /** 执行次数 */
+        private long count;
+
+        /** 总耗时 (毫秒) */
+        private double totalMillis;
+
+        /** 平均耗时 (毫秒) */
+        private double avgMillis;
+
+        /** 出现的范围数 (请求 / 异步任务) */
+        private long scopeCount;
+
+        /** 触发 N+1 告警的范围数 */
+        private long flaggedCount;
+
+        /** 单次范围内 最大重复次数 */
+        private long maxRepeat;
+
+    }
+
+}
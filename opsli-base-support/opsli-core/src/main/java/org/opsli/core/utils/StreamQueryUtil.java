@@ -0,0 +1,108 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.binding.MapperMethod;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.opsli.core.msg.CoreMsg;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * 流式查询 工具类
+ *
+ * 使用 ResultHandler 逐行处理查询结果，不在内存中组装 List
+ * 查询期间 StreamFetchSizeInterceptor 会为语句设置流式 FetchSize (MySQL 逐行读取)
+ *
+ * 注意：流式读取期间 连接被占用，消费者内 不可再执行数据库操作
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Order(UTIL_ORDER)
+@Component
+public class StreamQueryUtil {
+
+    /** MyBatis-Plus 内置 selectList 语句 */
+    private static final String SELECT_LIST = ".selectList";
+
+    /** MyBatis 默认参数名 */
+    private static final String FIRST_PARAM = "param1";
+
+    /** 当前线程 是否为流式查询 */
+    private static final ThreadLocal<Boolean> STREAMING = new ThreadLocal<>();
+
+    /** SqlSessionTemplate */
+    private static SqlSessionTemplate sqlSessionTemplate;
+
+    /** 增加初始状态开关 防止异常使用 */
+    private static boolean IS_INIT;
+
+    /**
+     * 流式查询 (使用 Mapper 内置 selectList)
+     * @param mapperClazz Mapper Clazz
+     * @param wrapper 查询条件构造器
+     * @param consumer 消费者
+     * @param <T> 泛型
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void selectList(Class<?> mapperClazz, Wrapper<T> wrapper, Consumer<? super T> consumer){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        Map<String, Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.WRAPPER, wrapper);
+        param.put(FIRST_PARAM, wrapper);
+
+        STREAMING.set(true);
+        try {
+            sqlSessionTemplate.select(mapperClazz.getName() + SELECT_LIST, param,
+                    context -> consumer.accept((T) context.getResultObject()));
+        }finally {
+            STREAMING.remove();
+        }
+    }
+
+    /**
+     * 当前线程 是否为流式查询
+     * @return boolean
+     */
+    public static boolean isStreaming(){
+        return Boolean.TRUE.equals(STREAMING.get());
+    }
+
+    // =====================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(SqlSessionTemplate sqlSessionTemplate){
+        StreamQueryUtil.sqlSessionTemplate = sqlSessionTemplate;
+
+        IS_INIT = true;
+    }
+
+}
@@ -15,18 +15,26 @@
  */
 package org.opsli.core.utils;
 
+import cn.hutool.core.collection.CollUtil;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.base.result.ResultVo;
 import org.opsli.api.web.system.tenant.TenantApi;
 import org.opsli.api.wrapper.system.tenant.TenantModel;
+import org.opsli.core.cache.local.CacheFamily;
 import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.cache.pushsub.msgs.TenantMsgFactory;
 import org.opsli.core.msg.CoreMsg;
+import org.opsli.plugins.redis.RedisPlugin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
 
 /**
@@ -47,6 +55,9 @@ public class TenantUtil {
     /** 租户 Api */
     private static TenantApi tenantApi;
 
+    /** Redis插件 */
+    private static RedisPlugin redisPlugin;
+
     /** 增加初始状态开关 防止异常使用 */
     private static boolean IS_INIT;
 
@@ -64,7 +75,8 @@ public class TenantUtil {
         String cacheKey = PREFIX_CODE + tenantId;
 
         // 先从缓存里拿
-        TenantModel tenantModel = CacheUtil.getTimed(TenantModel.class, cacheKey);
+        TenantModel tenantModel = CacheUtil.getTimed(TenantModel.class, cacheKey,
+                CacheFamily.TENANT, () -> TenantUtil.loadTenant(cacheKey, tenantId));
         if (tenantModel != null){
             return tenantModel;
         }
@@ -91,12 +103,7 @@ public class TenantUtil {
             }
 
             // 查询数据库
-            ResultVo<TenantModel> resultVo = tenantApi.getTenantByUsable(tenantId);
-            if(resultVo.isSuccess()){
-                tenantModel = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, tenantModel);
-            }
+            tenantModel = TenantUtil.loadTenant(cacheKey, tenantId);
         }catch (Exception e){
             log.error(e.getMessage(),e);
         }finally {
@@ -114,6 +121,48 @@ public class TenantUtil {
     }
 
 
+    /**
+     * 查询数据库 并存入缓存
+     * @param cacheKey 缓存Key
+     * @param tenantId 租户ID
+     * @return model
+     */
+    private static TenantModel loadTenant(String cacheKey, String tenantId){
+        TenantModel tenantModel = null;
+        ResultVo<TenantModel> resultVo = DataSourceRouteUtil.primary(() -> tenantApi.getTenantByUsable(tenantId));
+        if(resultVo.isSuccess()){
+            tenantModel = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, tenantModel);
+        }
+        return tenantModel;
+    }
+
+    // ============== 预热缓存 ==============
+
+    /**
+     * 批量预热 已启用租户 (管道写入)
+     * @param tenants 已启用租户
+     * @return int 预热数量
+     */
+    public static int warmUp(List<TenantModel> tenants){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(CollUtil.isEmpty(tenants)){
+            return 0;
+        }
+
+        Map<String, Object> valueMap = Maps.newHashMapWithExpectedSize(tenants.size());
+        for (TenantModel tenant : tenants) {
+            valueMap.put(PREFIX_CODE + tenant.getId(), tenant);
+        }
+        CacheUtil.putAll(valueMap);
+        CacheUtil.delNilFlags(valueMap.keySet());
+        return valueMap.size();
+    }
+
     // ============== 刷新缓存 ==============
 
     /**
@@ -158,6 +207,31 @@ public class TenantUtil {
         return count == 0;
     }
 
+    /**
+     * 租户缓存 整体失效
+     * 递增租户代数 并广播其他服务器 该租户下标记过的缓存 (用户、组织等) 均视为未命中
+     * @param tenantId 租户ID
+     * @return boolean
+     */
+    public static boolean evictTenant(String tenantId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(StringUtils.isEmpty(tenantId)){
+            return true;
+        }
+
+        boolean ret = CacheUtil.evictTenant(tenantId);
+        if(ret){
+            // 广播缓存数据 - 通知其他服务器同步数据
+            redisPlugin.sendMessage(
+                    TenantMsgFactory.createTenantEvictMsg(tenantId)
+            );
+        }
+        return ret;
+    }
+
 
     // =====================================
 
@@ -165,8 +239,9 @@ public class TenantUtil {
      * 初始化
      */
     @Autowired
-    public void init(TenantApi tenantApi) {
+    public void init(TenantApi tenantApi, RedisPlugin redisPlugin) {
         TenantUtil.tenantApi = tenantApi;
+        TenantUtil.redisPlugin = redisPlugin;
 
         IS_INIT = true;
     }
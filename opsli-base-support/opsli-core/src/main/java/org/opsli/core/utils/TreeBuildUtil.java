@@ -18,18 +18,24 @@ package org.opsli.core.utils;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ListUtil;
-import cn.hutool.core.convert.Convert;
 import cn.hutool.core.lang.tree.Tree;
 import cn.hutool.core.lang.tree.TreeNodeConfig;
-import cn.hutool.core.lang.tree.TreeUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 树状结构工具类
  *
+ * 按 ID 建立索引后 一次遍历挂载子节点，再一次深度遍历完成 排序、层级截断、子孙统计
+ * Bean 通过 TreeNodeProjection 直接读取字段，不再逐个节点 BeanToMap
+ *
  * 注：排序只支持 int 类型
  *
  * @author Parker
@@ -43,13 +49,20 @@ public enum TreeBuildUtil {
     /** 默认父节点ID */
     public static final String DEF_PARENT_ID = "0";
 
-    /** 默认排除字段 */
-    private static final List<String> DEF_EXCLUDE_FIELDS;
-    static {
-        DEF_EXCLUDE_FIELDS = ListUtil.list(false);
-        DEF_EXCLUDE_FIELDS.add("izApi");
-        DEF_EXCLUDE_FIELDS.add("izManual");
-    }
+    /** Bean 默认投影 */
+    private static final ConcurrentMap<Class<?>, TreeNodeProjection<?>> DEF_PROJECTION_MAP =
+            new ConcurrentHashMap<>();
+
+    /** 权重排序 (空值排最后) */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Tree<Object>> WEIGHT_COMPARATOR = (o1, o2) -> {
+        Comparable w1 = o1.getWeight();
+        Comparable w2 = o2.getWeight();
+        if(w1 == null || w2 == null){
+            return w1 == null ? (w2 == null ? 0 : 1) : -1;
+        }
+        return w1.compareTo(w2);
+    };
 
     public List<Tree<Object>> build(List<?> dataList){
         return this.build(dataList, DEF_PARENT_ID, null);
@@ -63,83 +76,115 @@ public enum TreeBuildUtil {
         return this.build(dataList, DEF_PARENT_ID, config);
     }
 
+    @SuppressWarnings("unchecked")
     public List<Tree<Object>> build(List<?> dataList, String parentId, TreeNodeConfig config){
         if(CollUtil.isEmpty(dataList)){
             return ListUtil.empty();
         }
 
-        boolean isMap = false;
-
         // 处理Map集合
         Object obj = dataList.get(0);
         if(obj instanceof Map){
-            isMap = true;
+            return this.build((List<Map<?, ?>>) dataList, parentId, config, TreeNodeProjection.ofMap());
         }
 
-        if(!isMap){
-            // 处理Bean 验证
-            boolean isBean = BeanUtil.isBean(obj.getClass());
-            if(!isBean){
-                return ListUtil.empty();
-            }
+        // 处理Bean 验证
+        if(obj == null || !BeanUtil.isBean(obj.getClass())){
+            return ListUtil.empty();
+        }
+
+        TreeNodeProjection<Object> projection = (TreeNodeProjection<Object>) DEF_PROJECTION_MAP.computeIfAbsent(
+                obj.getClass(), clazz -> TreeNodeProjection.of(clazz));
+        return this.build((List<Object>) dataList, parentId, config, projection);
+    }
+
+    public <T> List<Tree<Object>> build(List<T> dataList, TreeNodeConfig config,
+                                        TreeNodeProjection<? super T> projection){
+        return this.build(dataList, DEF_PARENT_ID, config, projection);
+    }
+
+    public <T> List<Tree<Object>> build(List<T> dataList, String parentId, TreeNodeConfig config,
+                                        TreeNodeProjection<? super T> projection){
+        if(CollUtil.isEmpty(dataList) || projection == null){
+            return ListUtil.empty();
         }
 
         // 默认值处理
         final String defParentId = ObjectUtil.defaultIfNull(parentId, DEF_PARENT_ID);
         final TreeNodeConfig treeConfig = ObjectUtil.defaultIfNull(config, TreeNodeConfig.DEFAULT_CONFIG);
+        final Integer deep = treeConfig.getDeep();
+        if(deep != null && deep == 0){
+            return ListUtil.empty();
+        }
 
-        List<String> excludeFields = ListUtil.list(false);
-        excludeFields.addAll(DEF_EXCLUDE_FIELDS);
-        excludeFields.add(config.getIdKey());
-        excludeFields.add(config.getParentIdKey());
-        excludeFields.add(config.getWeightKey());
-
-        //转换器
-        final boolean finalIsMap = isMap;
-        return TreeUtil.build(dataList, defParentId, treeConfig,
-                (treeNode, tree) -> {
-                    // 非空校验
-                    if(ObjectUtil.isEmpty(treeNode)){
-                        return;
-                    }
-
-                    // Bean 对象转 Map
-                    Map<String, Object> beanMap;
-                    if(finalIsMap){
-                        beanMap = Convert.toMap(String.class, Object.class, treeNode);
-                    }else{
-                        beanMap = BeanUtil.beanToMap(treeNode);
-                    }
-
-                    // 主要属性
-                    tree.setId(beanMap.get(config.getIdKey()));
-                    tree.setParentId(beanMap.get(config.getParentIdKey()));
-                    tree.setWeight(
-                            cast(
-                                    beanMap.get(config.getWeightKey())));
-
-                    // 扩展属性 ...
-                    for (Map.Entry<String, Object> entry : beanMap.entrySet()) {
-                        String key = entry.getKey();
-                        Object value = entry.getValue();
-                        // 排除字段
-                        if(excludeFields.contains(key)){
-                            continue;
-                        }
-                        tree.putExtra(key, value);
-                    }
-                });
-    }
+        @SuppressWarnings("unchecked")
+        TreeNodeProjection<T> finalProjection = (TreeNodeProjection<T>) projection;
+        TreeNodeProjection.Binding binding = finalProjection.bind(treeConfig);
+
+        // 建立索引 (ID 重复时 以后者为准)
+        Map<Object, Tree<Object>> index = Maps.newLinkedHashMapWithExpectedSize(dataList.size());
+        for (T data : dataList) {
+            // 非空校验
+            if(ObjectUtil.isEmpty(data)){
+                continue;
+            }
+            Tree<Object> tree = new Tree<>(treeConfig);
+            finalProjection.project(data, tree, binding);
+            index.put(tree.getId(), tree);
+        }
+
+        // 挂载子节点
+        List<Tree<Object>> rootList = Lists.newArrayList();
+        for (Tree<Object> tree : index.values()) {
+            Object treeParentId = tree.getParentId();
+            if(ObjectUtil.equals(defParentId, treeParentId)){
+                rootList.add(tree);
+                continue;
+            }
+            Tree<Object> parent = index.get(treeParentId);
+            if(parent != null && parent != tree){
+                List<Tree<Object>> children = parent.getChildren();
+                if(children == null){
+                    children = Lists.newArrayList();
+                    parent.setChildren(children);
+                }
+                tree.setParent(parent);
+                children.add(tree);
+            }
+        }
 
+        // 排序、截断、统计
+        this.walk(rootList, 1, deep, finalProjection);
+        return rootList;
+    }
 
     /**
-     * 欺骗编译器 强制转换
-     * @param obj 对象
-     * @param <T> 泛型
-     * @return T
+     * 深度遍历 排序、截断、统计
+     * @param treeList 同级节点
+     * @param depth 当前层级
+     * @param deep 最大层级
+     * @param projection 投影
+     * @return int 同级节点的子孙节点总数
      */
-    private <T> Comparable<T> cast(T obj){
-        return (Comparable<T>) Convert.toInt(obj);
+    private int walk(List<Tree<Object>> treeList, int depth, Integer deep, TreeNodeProjection<?> projection){
+        treeList.sort(WEIGHT_COMPARATOR);
+
+        int total = 0;
+        for (Tree<Object> tree : treeList) {
+            int subtreeSize = 0;
+            List<Tree<Object>> children = tree.getChildren();
+            if(children != null){
+                subtreeSize = children.size() + this.walk(children, depth + 1, deep, projection);
+            }
+            projection.finish(tree, depth, subtreeSize);
+
+            // 超出最大层级 截断
+            if(deep != null && depth == deep){
+                tree.setChildren(null);
+            }
+            total += subtreeSize;
+        }
+        return total;
     }
 
 }
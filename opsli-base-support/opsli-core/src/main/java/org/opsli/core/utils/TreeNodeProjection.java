@@ -0,0 +1,308 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.exceptions.UtilException;
+import cn.hutool.core.lang.tree.Tree;
+import cn.hutool.core.lang.tree.TreeNodeConfig;
+import cn.hutool.core.util.ReflectUtil;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.opsli.common.constants.TreeConstants;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 树节点 字段投影
+ *
+ * 每个类只解析一次 Getter，构建树时直接读取字段写入节点，不再逐个节点 BeanToMap
+ * 建议声明为常量，同一类型的不同投影 (如排除字段不同) 分别声明
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class TreeNodeProjection<T> {
+
+    /** 默认排除字段 */
+    static final Set<String> DEF_EXCLUDE_FIELDS = Collections.unmodifiableSet(
+            Sets.newHashSet("izApi", "izManual"));
+
+    /** Map 投影 */
+    private static final TreeNodeProjection<Map<?, ?>> MAP_PROJECTION = new TreeNodeProjection<>();
+
+    /** 是否为 Map */
+    private final boolean isMap;
+    /** 字段名 */
+    private final String[] names;
+    /** 字段 Getter */
+    private final Method[] getters;
+
+    /** 自定义处理 (计算字段、权重 等) */
+    private BiConsumer<? super T, Tree<Object>> customizer;
+    /** 层级 Key */
+    private String depthKey;
+    /** 子孙节点数量 Key */
+    private String subtreeSizeKey;
+    /** 是否输出 是否有子节点 */
+    private boolean hasChildren;
+
+    /**
+     * 获得 Bean 投影
+     * @param clazz 类型
+     * @param excludeFields 排除字段
+     * @param <T> 泛型
+     * @return TreeNodeProjection
+     */
+    public static <T> TreeNodeProjection<T> of(Class<T> clazz, String... excludeFields){
+        Set<String> excludeSet = Sets.newHashSet(DEF_EXCLUDE_FIELDS);
+        Collections.addAll(excludeSet, excludeFields);
+        return new TreeNodeProjection<>(clazz, excludeSet);
+    }
+
+    /**
+     * 获得 Map 投影
+     * @return TreeNodeProjection
+     */
+    static TreeNodeProjection<Map<?, ?>> ofMap(){
+        return MAP_PROJECTION;
+    }
+
+    private TreeNodeProjection(){
+        this.isMap = true;
+        this.names = new String[0];
+        this.getters = new Method[0];
+    }
+
+    private TreeNodeProjection(Class<T> clazz, Set<String> excludeSet){
+        // 属性名 -> Getter
+        Map<String, Method> getterMap = Maps.newHashMap();
+        try {
+            for (PropertyDescriptor pd : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                if(pd.getReadMethod() != null){
+                    getterMap.put(pd.getName(), pd.getReadMethod());
+                }
+            }
+        }catch (IntrospectionException e){
+            throw new UtilException(e);
+        }
+
+        // 按字段声明顺序 (与 BeanToMap 一致)
+        List<String> nameList = Lists.newArrayList();
+        List<Method> getterList = Lists.newArrayList();
+        for (Field field : ReflectUtil.getFields(clazz)) {
+            int modifiers = field.getModifiers();
+            String name = field.getName();
+            Method getter = getterMap.get(name);
+            if(getter == null || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) ||
+                    excludeSet.contains(name) || nameList.contains(name)){
+                continue;
+            }
+            getter.setAccessible(true);
+            nameList.add(name);
+            getterList.add(getter);
+        }
+        this.isMap = false;
+        this.names = nameList.toArray(new String[0]);
+        this.getters = getterList.toArray(new Method[0]);
+    }
+
+    /**
+     * 自定义处理 在字段写入后执行
+     * @param customizer 自定义处理
+     * @return TreeNodeProjection
+     */
+    public TreeNodeProjection<T> customize(BiConsumer<? super T, Tree<Object>> customizer){
+        this.customizer = customizer;
+        return this;
+    }
+
+    /**
+     * 输出层级 (顶级节点为 1)
+     * @param key Key
+     * @return TreeNodeProjection
+     */
+    public TreeNodeProjection<T> depth(String key){
+        this.depthKey = key;
+        return this;
+    }
+
+    /**
+     * 输出子孙节点数量 (按全部数据计算 不受最大层级截断影响)
+     * @param key Key
+     * @return TreeNodeProjection
+     */
+    public TreeNodeProjection<T> subtreeSize(String key){
+        this.subtreeSizeKey = key;
+        return this;
+    }
+
+    /**
+     * 输出 是否有子节点 (按全部数据计算 不受最大层级截断影响)
+     * @return TreeNodeProjection
+     */
+    public TreeNodeProjection<T> hasChildren(){
+        this.hasChildren = true;
+        return this;
+    }
+
+    // =====================================
+
+    /**
+     * 绑定树配置 每次构建只执行一次
+     * @param config 树配置
+     * @return Binding
+     */
+    Binding bind(TreeNodeConfig config){
+        boolean[] skip = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            skip[i] = name.equals(config.getIdKey()) || name.equals(config.getParentIdKey()) ||
+                    name.equals(config.getWeightKey());
+        }
+        return new Binding(config, skip,
+                indexOf(config.getIdKey()), indexOf(config.getParentIdKey()), indexOf(config.getWeightKey()));
+    }
+
+    /**
+     * 写入节点
+     * @param data 数据
+     * @param tree 节点
+     * @param binding 绑定
+     */
+    void project(T data, Tree<Object> tree, Binding binding){
+        if(isMap){
+            this.projectMap((Map<?, ?>) data, tree, binding.config);
+        }else{
+            tree.setId(this.getValue(data, binding.idIndex));
+            tree.setParentId(this.getValue(data, binding.parentIdIndex));
+            tree.setWeight(Convert.toInt(this.getValue(data, binding.weightIndex)));
+            for (int i = 0; i < names.length; i++) {
+                if(!binding.skip[i]){
+                    tree.putExtra(names[i], this.getValue(data, i));
+                }
+            }
+        }
+
+        if(customizer != null){
+            customizer.accept(data, tree);
+        }
+    }
+
+    /**
+     * 写入 子孙统计
+     * @param tree 节点
+     * @param depth 层级
+     * @param subtreeSize 子孙节点数量
+     */
+    void finish(Tree<Object> tree, int depth, int subtreeSize){
+        if(depthKey != null){
+            tree.putExtra(depthKey, depth);
+        }
+        if(subtreeSizeKey != null){
+            tree.putExtra(subtreeSizeKey, subtreeSize);
+        }
+        if(hasChildren){
+            tree.putExtra(TreeConstants.IS_LEAF, subtreeSize == 0);
+            tree.putExtra(TreeConstants.HAS_CHILDREN, subtreeSize > 0);
+        }
+    }
+
+    /**
+     * 写入节点 Map
+     * @param data 数据
+     * @param tree 节点
+     * @param config 树配置
+     */
+    private void projectMap(Map<?, ?> data, Tree<Object> tree, TreeNodeConfig config){
+        tree.setId(data.get(config.getIdKey()));
+        tree.setParentId(data.get(config.getParentIdKey()));
+        tree.setWeight(Convert.toInt(data.get(config.getWeightKey())));
+        for (Map.Entry<?, ?> entry : data.entrySet()) {
+            String key = Convert.toStr(entry.getKey());
+            if(key == null || DEF_EXCLUDE_FIELDS.contains(key) || key.equals(config.getIdKey()) ||
+                    key.equals(config.getParentIdKey()) || key.equals(config.getWeightKey())){
+                continue;
+            }
+            tree.putExtra(key, entry.getValue());
+        }
+    }
+
+    /**
+     * 获得字段下标
+     * @param name 字段名
+     * @return int 不存在返回 -1
+     */
+    private int indexOf(String name){
+        for (int i = 0; i < names.length; i++) {
+            if(names[i].equals(name)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获得字段值
+     * @param data 数据
+     * @param index 下标
+     * @return Object
+     */
+    private Object getValue(T data, int index){
+        if(index < 0){
+            return null;
+        }
+        try {
+            return getters[index].invoke(data);
+        }catch (ReflectiveOperationException e){
+            throw new UtilException(e);
+        }
+    }
+
+    // =====================================
+
+    /**
+     * 树配置 绑定结果
+     */
+    static final class Binding {
+
+        private final TreeNodeConfig config;
+        private final boolean[] skip;
+        private final int idIndex;
+        private final int parentIdIndex;
+        private final int weightIndex;
+
+        private Binding(TreeNodeConfig config, boolean[] skip, int idIndex, int parentIdIndex, int weightIndex) {
+            this.config = config;
+            this.skip = skip;
+            this.idIndex = idIndex;
+            this.parentIdIndex = parentIdIndex;
+            this.weightIndex = weightIndex;
+        }
+    }
+
+}
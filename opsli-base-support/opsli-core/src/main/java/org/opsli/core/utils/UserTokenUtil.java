@@ -21,6 +21,8 @@ import cn.hutool.core.date.DateUnit;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.BooleanUtil;
 import cn.hutool.core.util.StrUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -36,6 +38,7 @@ import org.opsli.common.exception.TokenException;
 import org.opsli.core.api.TokenThreadLocal;
 import org.opsli.core.autoconfigure.properties.GlobalProperties;
 import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.cache.pushsub.msgs.TokenMsgFactory;
 import org.opsli.core.msg.CoreMsg;
 import org.opsli.core.msg.TokenMsg;
 import org.opsli.plugins.redis.RedisPlugin;
@@ -43,6 +46,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Date;
@@ -76,6 +81,10 @@ public class UserTokenUtil {
     public static GlobalProperties.Auth.Login LOGIN_PROPERTIES;
     /** Redis插件 */
     private static RedisPlugin redisPlugin;
+    /** Token 本地校验缓存 Token -> 用户名 (未开启时为空) */
+    private static Cache<String, String> TICKET_CACHE;
+    /** 续命记录 用户名 (未开启时为空) */
+    private static Cache<String, Boolean> REVIVE_CACHE;
     /** 增加初始状态开关 防止异常使用 */
     private static boolean IS_INIT;
 
@@ -110,7 +119,12 @@ public class UserTokenUtil {
                     }
                     // 如果是拒绝前者 则弹出前者
                     else {
-                        redisPlugin.sPop(CacheUtil.getPrefixName() + TICKET_PREFIX + user.getUsername());
+                        Object popToken = redisPlugin.sPop(
+                                CacheUtil.getPrefixName() + TICKET_PREFIX + user.getUsername());
+                        if(popToken != null){
+                            // 吊销 被弹出的Token
+                            revokeTicket(user.getUsername(), popToken.toString());
+                        }
                     }
                 }
             }
@@ -250,6 +264,8 @@ public class UserTokenUtil {
                 // 删除Token信息
                 redisPlugin.sRemove(
                         CacheUtil.getPrefixName() + TICKET_PREFIX + user.getUsername(), token);
+                // 吊销 本地缓存
+                revokeTicket(user.getUsername(), token);
 
                 // 如果缓存中 无该用户任何Token信息 则删除用户缓存
                 Long size = redisPlugin.sSize(
@@ -266,6 +282,48 @@ public class UserTokenUtil {
         }catch (Exception ignored){}
     }
 
+    /**
+     * 吊销用户全部 Token (修改密码、重置密码 后 需重新登录)
+     * 存在事务时 于事务提交后执行 避免事务回滚后 用户已被强制下线
+     * @param username 用户名
+     */
+    public static void revokeAll(String username) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(StringUtils.isEmpty(username)){
+            return;
+        }
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            doRevokeAll(username);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doRevokeAll(username);
+            }
+        });
+    }
+
+    /**
+     * 吊销用户全部 Token
+     * @param username 用户名
+     */
+    private static void doRevokeAll(String username) {
+        try {
+            // 删除Token信息
+            redisPlugin.del(CacheUtil.getPrefixName() + TICKET_PREFIX + username);
+            // 吊销 本地缓存
+            revokeTicket(username, null);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
     /**
      * 验证 token
      * @param token token
@@ -292,14 +350,23 @@ public class UserTokenUtil {
             // 删除相关信息
             String username = getUserNameByToken(token);
 
-            boolean hashKey = redisPlugin.sHashKey(
-                    CacheUtil.getPrefixName() + TICKET_PREFIX + username, token);
-            if(!hashKey){
-                return false;
+            // 本地缓存有效期内 不再访问 Redis
+            if(TICKET_CACHE == null || TICKET_CACHE.getIfPresent(token) == null){
+                boolean hashKey = redisPlugin.sHashKey(
+                        CacheUtil.getPrefixName() + TICKET_PREFIX + username, token);
+                if(!hashKey){
+                    return false;
+                }
+
+                if(TICKET_CACHE != null){
+                    TICKET_CACHE.put(token, username);
+                }
             }
 
-            // 3. 校验通过后 如果开启续命模式 则整体延长登录时效
-            if(BooleanUtil.isTrue(LOGIN_PROPERTIES.getReviveMode())){
+            // 3. 校验通过后 如果开启续命模式 则整体延长登录时效 (同一用户 间隔内只续命一次)
+            if(BooleanUtil.isTrue(LOGIN_PROPERTIES.getReviveMode())
+                    && (REVIVE_CACHE == null
+                        || REVIVE_CACHE.asMap().putIfAbsent(username, Boolean.TRUE) == null)){
                 // 设置该用户全部token失效时间， 如果这时又有新设备登录 则续命
                 redisPlugin.expire(
                         CacheUtil.getPrefixName() + TICKET_PREFIX + username,
@@ -312,6 +379,44 @@ public class UserTokenUtil {
         return true;
     }
 
+    /**
+     * 清除本地 Token 校验缓存
+     * @param username 用户名
+     * @param token Token 为空时 清除该用户全部 Token
+     */
+    public static void evictLocalTicket(String username, String token) {
+        if(TICKET_CACHE == null || StringUtils.isEmpty(username)){
+            return;
+        }
+
+        if(StringUtils.isNotEmpty(token)){
+            TICKET_CACHE.invalidate(token);
+        }else{
+            TICKET_CACHE.asMap().values().removeIf(username::equals);
+        }
+    }
+
+    /**
+     * 吊销 Token 清除本地缓存 并广播至其他节点
+     * @param username 用户名
+     * @param token Token 为空时 吊销该用户全部 Token
+     */
+    private static void revokeTicket(String username, String token) {
+        evictLocalTicket(username, token);
+
+        if(TICKET_CACHE == null){
+            return;
+        }
+
+        try {
+            // 广播 - 通知其他服务器清除本地缓存
+            redisPlugin.sendMessage(
+                    TokenMsgFactory.createRevokeMsg(username, token));
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
     // ============================ 锁账号 操作
 
     /**
@@ -454,6 +559,23 @@ public class UserTokenUtil {
             ){
             // 登录配置信息
             UserTokenUtil.LOGIN_PROPERTIES = globalProperties.getAuth().getLogin();
+
+            // Token 本地校验缓存
+            Integer ticketCacheTtl = LOGIN_PROPERTIES.getTicketCacheTtl();
+            if(ticketCacheTtl != null && ticketCacheTtl > 0){
+                UserTokenUtil.TICKET_CACHE = CacheBuilder.newBuilder()
+                        .maximumSize(Convert.toInt(LOGIN_PROPERTIES.getTicketCacheMaxSize(), 100000))
+                        .expireAfterWrite(ticketCacheTtl, TimeUnit.SECONDS)
+                        .build();
+            }
+
+            // 续命间隔
+            Integer reviveInterval = LOGIN_PROPERTIES.getReviveInterval();
+            if(reviveInterval != null && reviveInterval > 0){
+                UserTokenUtil.REVIVE_CACHE = CacheBuilder.newBuilder()
+                        .expireAfterWrite(reviveInterval, TimeUnit.SECONDS)
+                        .build();
+            }
         }
 
         // Redis 插件
@@ -29,6 +29,7 @@ import org.opsli.common.exception.ServiceException;
 import org.opsli.core.api.TokenThreadLocal;
 import org.opsli.common.exception.TokenException;
 import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.cache.local.CacheFamily;
 import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.msg.CoreMsg;
 import org.opsli.core.msg.TokenMsg;
@@ -111,7 +112,8 @@ public class UserUtil {
         String cacheKey = PREFIX_ID + userId;
 
         // 先从缓存里拿
-        UserModel userModel = CacheUtil.getTimed(UserModel.class, cacheKey);
+        UserModel userModel = CacheUtil.getTimed(UserModel.class, cacheKey,
+                CacheFamily.USER, () -> UserUtil.loadUser(cacheKey, userId));
         if (userModel != null){
             return userModel;
         }
@@ -138,17 +140,7 @@ public class UserUtil {
             }
 
             // 查询数据库
-            UserModel userModelTemp = new UserModel();
-            userModelTemp.setId(userId);
-            // 设置为系统内部调用 否则 会拿到 空值
-            userModelTemp.setIzApi(true);
-            ResultVo<UserModel> resultVo = userApi.get(userModelTemp);
-            if(resultVo.isSuccess()){
-                userModel = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, userModel);
-            }
-
+            userModel = UserUtil.loadUser(cacheKey, userId);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -180,7 +172,8 @@ public class UserUtil {
         String cacheKey = PREFIX_USERNAME + userName;
 
         // 先从缓存里拿
-        UserModel userModel = CacheUtil.getTimed(UserModel.class, cacheKey);
+        UserModel userModel = CacheUtil.getTimed(UserModel.class, cacheKey,
+                CacheFamily.USER, () -> UserUtil.loadUserByUserName(cacheKey, userName));
         if (userModel != null){
             return userModel;
         }
@@ -207,12 +200,7 @@ public class UserUtil {
             }
 
             // 查询数据库
-            ResultVo<UserModel> resultVo = userApi.getUserByUsername(userName);
-            if (resultVo.isSuccess()) {
-                userModel = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, userModel);
-            }
+            userModel = UserUtil.loadUserByUserName(cacheKey, userName);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -245,7 +233,8 @@ public class UserUtil {
         List<String> roles;
 
         // 先从缓存里拿
-        Object obj = CacheUtil.getTimed(cacheKey);
+        Object obj = CacheUtil.getTimed(cacheKey,
+                CacheFamily.USER, () -> UserUtil.loadUserRoles(cacheKey, userId));
         roles = Convert.toList(String.class, obj);
         if(CollUtil.isNotEmpty(roles)){
             return roles;
@@ -274,12 +263,7 @@ public class UserUtil {
             }
 
             // 查询数据库
-            ResultVo<List<String>> resultVo = userApi.getRolesByUserId(userId);
-            if(resultVo.isSuccess()){
-                roles = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, roles);
-            }
+            roles = UserUtil.loadUserRoles(cacheKey, userId);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -307,13 +291,14 @@ public class UserUtil {
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
-        // 缓存Key
-        String cacheKey = PREFIX_ID_PERMISSIONS + userId;
+        // 缓存Key (角色版本变化后 自动失效)
+        String cacheKey = getRoleVersionKey(PREFIX_ID_PERMISSIONS, userId);
 
         List<String> permissions;
 
         // 先从缓存里拿
-        Object obj = CacheUtil.getTimed(cacheKey);
+        Object obj = CacheUtil.getTimed(cacheKey,
+                CacheFamily.USER, () -> UserUtil.loadUserAllPerms(cacheKey, userId));
         permissions = Convert.toList(String.class, obj);
         if(CollUtil.isNotEmpty(permissions)){
             return permissions;
@@ -342,12 +327,7 @@ public class UserUtil {
             }
 
             // 查询数据库
-            ResultVo<List<String>> resultVo = userApi.getAllPerms(userId);
-            if(resultVo.isSuccess()){
-                permissions = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, permissions);
-            }
+            permissions = UserUtil.loadUserAllPerms(cacheKey, userId);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -374,13 +354,14 @@ public class UserUtil {
         ThrowExceptionUtil.isThrowException(!IS_INIT,
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
-        // 缓存Key
-        String cacheKey = PREFIX_ID_MENUS + userId;
+        // 缓存Key (角色版本变化后 自动失效)
+        String cacheKey = getRoleVersionKey(PREFIX_ID_MENUS, userId);
 
         List<MenuModel> menus;
 
         // 先从缓存里拿
-        Object obj = CacheUtil.getTimed(cacheKey);
+        Object obj = CacheUtil.getTimed(cacheKey,
+                CacheFamily.USER, () -> UserUtil.loadUserMenus(cacheKey, userId));
         menus = Convert.toList(MenuModel.class, obj);
         if(CollUtil.isNotEmpty(menus)){
             return menus;
@@ -410,12 +391,7 @@ public class UserUtil {
             }
 
             // 查询数据库
-            ResultVo<List<MenuModel>> resultVo = userApi.getMenuListByUserId(userId);
-            if(resultVo.isSuccess()){
-                menus = resultVo.getData();
-                // 存入缓存
-                CacheUtil.put(cacheKey, menus);
-            }
+            menus = UserUtil.loadUserMenus(cacheKey, userId);
         }catch (Exception e){
             log.error(e.getMessage(), e);
         }finally {
@@ -547,8 +523,9 @@ public class UserUtil {
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
 
-        Object obj = CacheUtil.getTimed(PREFIX_ID_PERMISSIONS + userId);
-        boolean hasNilFlag = CacheUtil.hasNilFlag(PREFIX_ID_PERMISSIONS + userId);
+        String cacheKey = getRoleVersionKey(PREFIX_ID_PERMISSIONS, userId);
+        Object obj = CacheUtil.getTimed(cacheKey);
+        boolean hasNilFlag = CacheUtil.hasNilFlag(cacheKey);
 
         // 计数器
         int count = 0;
@@ -557,7 +534,7 @@ public class UserUtil {
         if (hasNilFlag){
             count++;
             // 清除空拦截
-            boolean tmp = CacheUtil.delNilFlag(PREFIX_ID_PERMISSIONS + userId);
+            boolean tmp = CacheUtil.delNilFlag(cacheKey);
             if(tmp){
                 count--;
             }
@@ -566,7 +543,7 @@ public class UserUtil {
         if(obj != null){
             count++;
             // 先删除
-            boolean tmp = CacheUtil.del(PREFIX_ID_PERMISSIONS + userId);
+            boolean tmp = CacheUtil.del(cacheKey);
             if(tmp){
                 count--;
             }
@@ -587,8 +564,9 @@ public class UserUtil {
                 CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
 
 
-        Object obj = CacheUtil.getTimed(PREFIX_ID_MENUS + userId);
-        boolean hasNilFlag = CacheUtil.hasNilFlag(PREFIX_ID_MENUS + userId);
+        String cacheKey = getRoleVersionKey(PREFIX_ID_MENUS, userId);
+        Object obj = CacheUtil.getTimed(cacheKey);
+        boolean hasNilFlag = CacheUtil.hasNilFlag(cacheKey);
 
         // 计数器
         int count = 0;
@@ -597,7 +575,7 @@ public class UserUtil {
         if (hasNilFlag){
             count++;
             // 清除空拦截
-            boolean tmp = CacheUtil.delNilFlag(PREFIX_ID_MENUS + userId);
+            boolean tmp = CacheUtil.delNilFlag(cacheKey);
             if(tmp){
                 count--;
             }
@@ -606,7 +584,7 @@ public class UserUtil {
         if(obj != null){
             count++;
             // 先删除
-            boolean tmp = CacheUtil.del(PREFIX_ID_MENUS + userId);
+            boolean tmp = CacheUtil.del(cacheKey);
             if(tmp){
                 count--;
             }
@@ -649,6 +627,20 @@ public class UserUtil {
         return user.getTenantId();
     }
 
+    /**
+     * 根据用户ID 获得租户ID (不区分超级管理员)
+     * @param userId 用户ID
+     * @return String
+     */
+    public static String getTenantIdByUserId(String userId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        UserModel user = UserUtil.getUser(userId);
+        return user != null ? user.getTenantId() : null;
+    }
+
     /**
      * 是否有修改租户的权限
      * @param currUser model
@@ -686,6 +678,108 @@ public class UserUtil {
         return new Md5Hash(password, secretKey).toHex();
     }
 
+    /**
+     * 查询数据库 并存入缓存 (用户)
+     * @param cacheKey 缓存Key
+     * @param userId 用户ID
+     * @return UserModel
+     */
+    private static UserModel loadUser(String cacheKey, String userId){
+        UserModel userModel = null;
+        UserModel userModelTemp = new UserModel();
+        userModelTemp.setId(userId);
+        // 设置为系统内部调用 否则 会拿到 空值
+        userModelTemp.setIzApi(true);
+        ResultVo<UserModel> resultVo = DataSourceRouteUtil.primary(() -> userApi.get(userModelTemp));
+        if(resultVo.isSuccess()){
+            userModel = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, userModel,
+                    userModel != null ? userModel.getTenantId() : null);
+        }
+        return userModel;
+    }
+
+    /**
+     * 查询数据库 并存入缓存 (用户名)
+     * @param cacheKey 缓存Key
+     * @param userName 用户名
+     * @return UserModel
+     */
+    private static UserModel loadUserByUserName(String cacheKey, String userName){
+        UserModel userModel = null;
+        ResultVo<UserModel> resultVo = DataSourceRouteUtil.primary(() -> userApi.getUserByUsername(userName));
+        if (resultVo.isSuccess()) {
+            userModel = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, userModel,
+                    userModel != null ? userModel.getTenantId() : null);
+        }
+        return userModel;
+    }
+
+    /**
+     * 查询数据库 并存入缓存 (角色)
+     * @param cacheKey 缓存Key
+     * @param userId 用户ID
+     * @return List
+     */
+    private static List<String> loadUserRoles(String cacheKey, String userId){
+        List<String> roles = null;
+        ResultVo<List<String>> resultVo = DataSourceRouteUtil.primary(() -> userApi.getRolesByUserId(userId));
+        if(resultVo.isSuccess()){
+            roles = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, roles, UserUtil.getTenantIdByUserId(userId));
+        }
+        return roles;
+    }
+
+    /**
+     * 查询数据库 并存入缓存 (权限)
+     * @param cacheKey 缓存Key
+     * @param userId 用户ID
+     * @return List
+     */
+    private static List<String> loadUserAllPerms(String cacheKey, String userId){
+        List<String> permissions = null;
+        ResultVo<List<String>> resultVo = DataSourceRouteUtil.primary(() -> userApi.getAllPerms(userId));
+        if(resultVo.isSuccess()){
+            permissions = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, permissions, UserUtil.getTenantIdByUserId(userId));
+        }
+        return permissions;
+    }
+
+    /**
+     * 查询数据库 并存入缓存 (菜单)
+     * @param cacheKey 缓存Key
+     * @param userId 用户ID
+     * @return List
+     */
+    private static List<MenuModel> loadUserMenus(String cacheKey, String userId){
+        List<MenuModel> menus = null;
+        ResultVo<List<MenuModel>> resultVo = DataSourceRouteUtil.primary(() -> userApi.getMenuListByUserId(userId));
+        if(resultVo.isSuccess()){
+            menus = resultVo.getData();
+            // 存入缓存
+            CacheUtil.put(cacheKey, menus, UserUtil.getTenantIdByUserId(userId));
+        }
+        return menus;
+    }
+
+    /**
+     * 获得 带角色版本摘要的缓存Key
+     * @param prefix 前缀
+     * @param userId 用户ID
+     * @return String
+     */
+    private static String getRoleVersionKey(String prefix, String userId){
+        return prefix + userId + ":" +
+                RoleVersionUtil.getStamp(getUserRolesByUserId(userId));
+    }
+
     // =====================================
 
     /**
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils.excel.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Excel 导入 行错误
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+@AllArgsConstructor
+public class ExcelImportError implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Excel 行号 */
+    private Integer rowIndex;
+
+    /** 错误信息 */
+    private String message;
+
+}
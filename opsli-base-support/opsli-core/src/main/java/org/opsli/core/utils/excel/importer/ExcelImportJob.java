@@ -0,0 +1,273 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils.excel.importer;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Excel 导入任务
+ *
+ * 解析线程、工作线程 会同时更新进度，计数全部使用原子类
+ * 异步任务 以 JSON 形式存入 Redis 供各节点查询进度
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public class ExcelImportJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String FIELD_JOB_ID = "jobId";
+    private static final String FIELD_FILE_NAME = "fileName";
+    private static final String FIELD_CREATE_BY = "createBy";
+    private static final String FIELD_BEGIN_TIME = "beginTime";
+    private static final String FIELD_END_TIME = "endTime";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_READ_COUNT = "readCount";
+    private static final String FIELD_SUCCESS_COUNT = "successCount";
+    private static final String FIELD_ERROR_COUNT = "errorCount";
+    private static final String FIELD_ERRORS = "errors";
+    private static final String FIELD_ROW_INDEX = "rowIndex";
+
+    /** 任务ID */
+    private final String jobId;
+
+    /** 文件名称 */
+    private final String fileName;
+
+    /** 创建人 */
+    private final String createBy;
+
+    /** 开始时间 */
+    @JsonFormat(timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private final Date beginTime;
+
+    /** 结束时间 */
+    @JsonFormat(timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private volatile Date endTime;
+
+    /** 状态 */
+    private volatile ExcelImportStatus status;
+
+    /** 提示信息 */
+    private volatile String message;
+
+    /** 已解析行数 */
+    private final AtomicInteger readCount = new AtomicInteger();
+
+    /** 成功行数 */
+    private final AtomicInteger successCount = new AtomicInteger();
+
+    /** 失败行数 */
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    /** 错误报告最大行数 */
+    @JsonIgnore
+    private final int maxErrors;
+
+    /** 错误报告 */
+    private final List<ExcelImportError> errors;
+
+    public ExcelImportJob(String jobId, String fileName, String createBy, int maxErrors){
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.createBy = createBy;
+        this.maxErrors = maxErrors;
+        this.beginTime = new Date();
+        this.status = ExcelImportStatus.RUNNING;
+        this.errors = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    private ExcelImportJob(JSONObject jsonObject){
+        this.jobId = jsonObject.getString(FIELD_JOB_ID);
+        this.fileName = jsonObject.getString(FIELD_FILE_NAME);
+        this.createBy = jsonObject.getString(FIELD_CREATE_BY);
+        this.maxErrors = 0;
+        this.beginTime = toDate(jsonObject.getLong(FIELD_BEGIN_TIME));
+        this.endTime = toDate(jsonObject.getLong(FIELD_END_TIME));
+        ExcelImportStatus currStatus = ExcelImportStatus.getStatus(jsonObject.getString(FIELD_STATUS));
+        this.status = currStatus != null ? currStatus : ExcelImportStatus.FAILED;
+        this.message = jsonObject.getString(FIELD_MESSAGE);
+        this.readCount.set(jsonObject.getIntValue(FIELD_READ_COUNT));
+        this.successCount.set(jsonObject.getIntValue(FIELD_SUCCESS_COUNT));
+        this.errorCount.set(jsonObject.getIntValue(FIELD_ERROR_COUNT));
+
+        List<ExcelImportError> errorList = new ArrayList<>();
+        JSONArray errorArray = jsonObject.getJSONArray(FIELD_ERRORS);
+        if(errorArray != null){
+            for (int i = 0; i < errorArray.size(); i++) {
+                JSONObject errorJson = errorArray.getJSONObject(i);
+                errorList.add(new ExcelImportError(
+                        errorJson.getInteger(FIELD_ROW_INDEX), errorJson.getString(FIELD_MESSAGE)));
+            }
+        }
+        this.errors = Collections.synchronizedList(errorList);
+    }
+
+    /**
+     * 由 JSON 还原任务 (只读快照)
+     * @param jsonObject JSON
+     * @return ExcelImportJob
+     */
+    public static ExcelImportJob fromJson(JSONObject jsonObject){
+        if(jsonObject == null){
+            return null;
+        }
+        return new ExcelImportJob(jsonObject);
+    }
+
+    /**
+     * 转为 JSON
+     * @return JSONObject
+     */
+    public JSONObject toJson(){
+        JSONArray errorArray = new JSONArray();
+        for (ExcelImportError error : getErrors()) {
+            JSONObject errorJson = new JSONObject();
+            errorJson.put(FIELD_ROW_INDEX, error.getRowIndex());
+            errorJson.put(FIELD_MESSAGE, error.getMessage());
+            errorArray.add(errorJson);
+        }
+
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put(FIELD_JOB_ID, jobId);
+        jsonObject.put(FIELD_FILE_NAME, fileName);
+        jsonObject.put(FIELD_CREATE_BY, createBy);
+        jsonObject.put(FIELD_BEGIN_TIME, beginTime != null ? beginTime.getTime() : null);
+        jsonObject.put(FIELD_END_TIME, endTime != null ? endTime.getTime() : null);
+        jsonObject.put(FIELD_STATUS, status.getCode());
+        jsonObject.put(FIELD_MESSAGE, message);
+        jsonObject.put(FIELD_READ_COUNT, readCount.get());
+        jsonObject.put(FIELD_SUCCESS_COUNT, successCount.get());
+        jsonObject.put(FIELD_ERROR_COUNT, errorCount.get());
+        jsonObject.put(FIELD_ERRORS, errorArray);
+        return jsonObject;
+    }
+
+    private static Date toDate(Long time){
+        return time != null ? new Date(time) : null;
+    }
+
+    /**
+     * 增加已解析行数
+     * @param count 数量
+     */
+    public void addReadCount(int count){
+        readCount.addAndGet(count);
+    }
+
+    /**
+     * 增加成功行数
+     * @param count 数量
+     */
+    public void addSuccessCount(int count){
+        successCount.addAndGet(count);
+    }
+
+    /**
+     * 增加行错误 (超出最大行数后 只计数不记录)
+     * @param rowIndex 行号
+     * @param message 错误信息
+     */
+    public void addError(Integer rowIndex, String message){
+        int count = errorCount.incrementAndGet();
+        if(count <= maxErrors){
+            errors.add(new ExcelImportError(rowIndex, message));
+        }
+    }
+
+    /**
+     * 结束任务 (只有首次结束生效 停机中断后 导入线程不会再覆盖状态)
+     * @param status 状态
+     * @param message 提示信息
+     */
+    public synchronized void finish(ExcelImportStatus status, String message){
+        if(isDone()){
+            return;
+        }
+        this.message = message;
+        this.endTime = new Date();
+        this.status = status;
+    }
+
+    /**
+     * 是否已结束
+     * @return boolean
+     */
+    @JsonIgnore
+    public boolean isDone(){
+        return ExcelImportStatus.RUNNING != status;
+    }
+
+    // ======================
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getCreateBy() {
+        return createBy;
+    }
+
+    public Date getBeginTime() {
+        return beginTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public String getStatus() {
+        return status.getCode();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getReadCount() {
+        return readCount.get();
+    }
+
+    public int getSuccessCount() {
+        return successCount.get();
+    }
+
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    public List<ExcelImportError> getErrors() {
+        synchronized (errors){
+            return new ArrayList<>(errors);
+        }
+    }
+}
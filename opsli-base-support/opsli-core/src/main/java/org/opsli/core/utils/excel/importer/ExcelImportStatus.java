@@ -0,0 +1,60 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils.excel.importer;
+
+/**
+ * Excel 导入任务状态
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public enum ExcelImportStatus {
+
+    /** 状态 */
+    RUNNING("running", "导入中"),
+    FINISHED("finished", "导入完成"),
+    FAILED("failed", "导入失败"),
+
+    ;
+
+    private final String code;
+    private final String desc;
+
+    public static ExcelImportStatus getStatus(String code) {
+        ExcelImportStatus[] statuses = values();
+        for (ExcelImportStatus status : statuses) {
+            if (status.code.equalsIgnoreCase(code)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public String getDesc() {
+        return this.desc;
+    }
+
+    // =================
+
+    ExcelImportStatus(final String code, final String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+}
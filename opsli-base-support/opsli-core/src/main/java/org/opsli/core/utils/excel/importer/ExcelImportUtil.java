@@ -0,0 +1,439 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.core.utils.excel.importer;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.opsli.api.base.warpper.ApiWrapper;
+import org.opsli.common.enums.ExcelOperate;
+import org.opsli.common.exception.ServiceException;
+import org.opsli.core.api.TokenThreadLocal;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.base.service.interfaces.CrudServiceInterface;
+import org.opsli.core.cache.local.CacheUtil;
+import org.opsli.core.msg.CoreMsg;
+import org.opsli.core.utils.ExcelUtil;
+import org.opsli.core.utils.ThrowExceptionUtil;
+import org.opsli.core.utils.ValidatorUtil;
+import org.opsli.plugins.excel.listener.RowBatchExcelListener;
+import org.opsli.plugins.redis.RedisPlugin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.opsli.common.constants.OrderConstants.UTIL_ORDER;
+
+/**
+ * Excel 导入引擎
+ *
+ * 解析线程 只负责读取 Excel 并按批次切分，每批交给工作线程池 进行字典转换、校验、JDBC Batch 入库
+ * 工作线程池满时 由解析线程自己执行 (CallerRunsPolicy) 形成背压，防止解析过快堆积导致 OOM
+ *
+ * 异步模式下 请求线程只负责把上传文件落地为临时文件，然后立即返回任务ID，通过任务ID轮询进度及逐行错误报告
+ * 任务状态 按任务ID存入 Redis (带过期时间)，轮询请求落到任意节点 均可查询
+ *
+ * 停机时 不再接收新任务，在限定时间内等待运行中的任务跑完，仍未结束的任务 记为失败
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Order(UTIL_ORDER)
+@Component
+@Lazy(false)
+public class ExcelImportUtil {
+
+    /** 解析线程名称格式 */
+    private static final String JOB_THREAD_NAME = "ExcelImport-Job-%d";
+    /** 工作线程名称格式 */
+    private static final String WORKER_THREAD_NAME = "ExcelImport-Worker-%d";
+    /** 临时文件前缀 */
+    private static final String TEMP_FILE_PREFIX = "opsli-excel-";
+
+    /** 任务缓存前缀 */
+    private static final String JOB_PREFIX = "excel:import:job:";
+
+    /** 本节点 运行中的异步任务 (仅用于停机时标记失败) */
+    private static final Map<String, ExcelImportJob> RUNNING_JOBS = new ConcurrentHashMap<>();
+
+    /** Redis 插件 */
+    private static RedisPlugin redisPlugin;
+    /** Excel 配置 */
+    private static GlobalProperties.Excel excelProperties;
+    /** 解析线程池 */
+    private static ThreadPoolExecutor JOB_EXECUTOR;
+    /** 工作线程池 */
+    private static ThreadPoolExecutor WORKER_EXECUTOR;
+
+    /** 增加初始状态开关 防止异常使用 */
+    private static boolean IS_INIT;
+
+    /**
+     * 同步导入 (解析在当前线程，转换/校验/入库 在工作线程池)
+     * @param file 文件
+     * @param modelClazz Model Clazz
+     * @param service Service
+     * @param userId 当前用户ID
+     * @return ExcelImportJob
+     */
+    public static <E extends ApiWrapper> ExcelImportJob execute(MultipartFile file, Class<E> modelClazz,
+                                                                 CrudServiceInterface<?, E> service, String userId) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        ExcelImportJob job = createJob(file, userId);
+        String token = TokenThreadLocal.get();
+        try (InputStream inputStream = file.getInputStream()){
+            doImport(job, inputStream, modelClazz, service, userId, token);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+            job.finish(ExcelImportStatus.FAILED, e.getMessage());
+        }
+        return job;
+    }
+
+    /**
+     * 异步导入
+     * @param file 文件
+     * @param modelClazz Model Clazz
+     * @param service Service
+     * @param userId 当前用户ID
+     * @return ExcelImportJob
+     */
+    public static <E extends ApiWrapper> ExcelImportJob submit(MultipartFile file, Class<E> modelClazz,
+                                                                CrudServiceInterface<?, E> service, String userId) {
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        // 上传文件在请求结束后会被清理 这里需要先落地为临时文件
+        File tempFile;
+        try {
+            tempFile = File.createTempFile(TEMP_FILE_PREFIX, "." + FileUtil.extName(file.getOriginalFilename()));
+            file.transferTo(tempFile);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+            throw new ServiceException(CoreMsg.EXCEL_FILE_NULL);
+        }
+
+        ExcelImportJob job = createJob(file, userId);
+        // 异步任务 登记后可查询进度
+        RUNNING_JOBS.put(job.getJobId(), job);
+        saveJob(job);
+        String token = TokenThreadLocal.get();
+        try {
+            JOB_EXECUTOR.execute(()->{
+                try (InputStream inputStream = FileUtil.getInputStream(tempFile)){
+                    doImport(job, inputStream, modelClazz, service, userId, token);
+                }catch (Exception e){
+                    log.error(e.getMessage(), e);
+                    job.finish(ExcelImportStatus.FAILED, e.getMessage());
+                }finally {
+                    FileUtil.del(tempFile);
+                    RUNNING_JOBS.remove(job.getJobId());
+                    saveJob(job);
+                }
+            });
+        }catch (RejectedExecutionException e){
+            FileUtil.del(tempFile);
+            RUNNING_JOBS.remove(job.getJobId());
+            redisPlugin.del(getJobKey(job.getJobId()));
+            throw new ServiceException(CoreMsg.EXCEL_IMPORT_JOB_REFUSE);
+        }
+        return job;
+    }
+
+    /**
+     * 获得导入任务
+     * @param jobId 任务ID
+     * @return ExcelImportJob
+     */
+    public static ExcelImportJob getJob(String jobId){
+        // 判断 工具类是否初始化完成
+        ThrowExceptionUtil.isThrowException(!IS_INIT,
+                CoreMsg.OTHER_EXCEPTION_UTILS_INIT);
+
+        if(StringUtils.isEmpty(jobId)){
+            return null;
+        }
+        try {
+            Object obj = redisPlugin.get(getJobKey(jobId));
+            if(obj == null){
+                return null;
+            }
+            JSONObject jsonObject = obj instanceof JSONObject
+                    ? (JSONObject) obj : JSONObject.parseObject(obj.toString());
+            return ExcelImportJob.fromJson(jsonObject);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    // ===================================
+
+    /**
+     * 创建任务 (同步任务 直接返回结果 不登记)
+     * @param file 文件
+     * @param userId 当前用户ID
+     * @return ExcelImportJob
+     */
+    private static ExcelImportJob createJob(MultipartFile file, String userId){
+        return new ExcelImportJob(IdUtil.simpleUUID(), file.getOriginalFilename(),
+                userId, excelProperties.getImportMaxErrors());
+    }
+
+    /**
+     * 执行导入
+     * @param job 任务
+     * @param inputStream 输入流
+     * @param modelClazz Model Clazz
+     * @param service Service
+     * @param userId 当前用户ID
+     * @param token 当前Token (工作线程中 自动注入拦截器需要用到)
+     */
+    private static <E extends ApiWrapper> void doImport(ExcelImportJob job, InputStream inputStream,
+                                                        Class<E> modelClazz, CrudServiceInterface<?, E> service,
+                                                        String userId, String token) throws Exception {
+        Date currDate = new Date();
+        List<Future<?>> futures = new ArrayList<>();
+        boolean bind = bindToken(token);
+        try {
+            ExcelUtil.getInstance().readExcelByListener(inputStream, modelClazz, null, 1,
+                    new RowBatchExcelListener<E>(excelProperties.getImportBatchCount()) {
+                @Override
+                public void saveData(List<E> dataList, List<Integer> rowIndexList) {
+                    job.addReadCount(dataList.size());
+                    futures.add(WORKER_EXECUTOR.submit(()->{
+                        handleBatch(job, dataList, rowIndexList, modelClazz, service, userId, token, currDate);
+                        // 同步进度
+                        if(RUNNING_JOBS.containsKey(job.getJobId())){
+                            saveJob(job);
+                        }
+                    }));
+                }
+            });
+
+            // 等待全部批次处理完成
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }finally {
+            if(bind){
+                TokenThreadLocal.remove();
+            }
+        }
+
+        String msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_FINISHED.getMessage(),
+                job.getSuccessCount(), job.getErrorCount());
+        job.finish(ExcelImportStatus.FINISHED, msgInfo);
+    }
+
+    /**
+     * 处理批次 字典转换、校验、入库
+     * @param job 任务
+     * @param dataList 数据
+     * @param rowIndexList 行号
+     */
+    private static <E extends ApiWrapper> void handleBatch(ExcelImportJob job, List<E> dataList,
+                                                           List<Integer> rowIndexList, Class<E> modelClazz,
+                                                           CrudServiceInterface<?, E> service, String userId,
+                                                           String token, Date currDate){
+        boolean bind = bindToken(token);
+        try {
+            // 处理字典数据
+            List<E> disposeData = ExcelUtil.getInstance().handleDatas(dataList, modelClazz, ExcelOperate.READ);
+
+            List<E> validList = new ArrayList<>(disposeData.size());
+            List<Integer> validRowIndexList = new ArrayList<>(disposeData.size());
+            for (int i = 0; i < disposeData.size(); i++) {
+                E model = disposeData.get(i);
+                try {
+                    ValidatorUtil.verify(model);
+                }catch (ServiceException e){
+                    job.addError(rowIndexList.get(i), e.getMessage());
+                    continue;
+                }
+
+                // 手动赋值 必要数据 防止频繁开启Redis网络IO
+                model.setIzManual(true);
+                model.setCreateBy(userId);
+                model.setUpdateBy(userId);
+                model.setCreateTime(currDate);
+                model.setUpdateTime(currDate);
+                validList.add(model);
+                validRowIndexList.add(rowIndexList.get(i));
+            }
+
+            if(validList.isEmpty()){
+                return;
+            }
+
+            // 数据库插入数据 JDBC Batch
+            try {
+                service.insertBatch(validList, excelProperties.getImportJdbcBatchSize());
+                job.addSuccessCount(validList.size());
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+                // 整批事务回滚 当前批次全部记为失败
+                String msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_INSERT_ERROR.getMessage(), e.getMessage());
+                for (Integer rowIndex : validRowIndexList) {
+                    job.addError(rowIndex, msgInfo);
+                }
+            }
+        }finally {
+            if(bind){
+                TokenThreadLocal.remove();
+            }
+        }
+    }
+
+    /**
+     * 绑定 Token 到当前线程
+     * 如果当前线程已经能拿到 Token (请求线程 或 CallerRunsPolicy 回退到解析线程) 则不做处理
+     * @param token token
+     * @return boolean 是否由本次绑定 (需要自行解绑)
+     */
+    private static boolean bindToken(String token){
+        if(StringUtils.isEmpty(token) || StringUtils.equals(token, TokenThreadLocal.get())){
+            return false;
+        }
+        TokenThreadLocal.put(token);
+        return true;
+    }
+
+    /**
+     * 保存任务到 Redis (每次保存 刷新过期时间)
+     * @param job 任务
+     */
+    private static void saveJob(ExcelImportJob job){
+        try {
+            JSONObject jsonObject;
+            // 多个工作线程 同时保存时 保证写入的快照完整
+            synchronized (job){
+                jsonObject = job.toJson();
+            }
+            redisPlugin.put(getJobKey(job.getJobId()), jsonObject,
+                    excelProperties.getImportJobExpire(), TimeUnit.MINUTES);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获得任务缓存Key
+     * @param jobId 任务ID
+     * @return String
+     */
+    private static String getJobKey(String jobId){
+        return CacheUtil.getPrefixName() + JOB_PREFIX + jobId;
+    }
+
+    // ===================================
+
+    /**
+     * 初始化
+     */
+    @Autowired
+    public void init(GlobalProperties globalProperties, RedisPlugin redisPlugin) {
+        ExcelImportUtil.redisPlugin = redisPlugin;
+        ExcelImportUtil.excelProperties = globalProperties.getExcel() != null
+                ? globalProperties.getExcel() : new GlobalProperties.Excel();
+
+        int maxJobs = excelProperties.getImportMaxJobs();
+        JOB_EXECUTOR = new ThreadPoolExecutor(maxJobs, maxJobs, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern(JOB_THREAD_NAME).daemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        int threadCount = excelProperties.getImportThreadCount();
+        WORKER_EXECUTOR = new ThreadPoolExecutor(threadCount, threadCount, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threadCount),
+                new BasicThreadFactory.Builder().namingPattern(WORKER_THREAD_NAME).daemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        IS_INIT = true;
+    }
+
+    /**
+     * 销毁
+     * 解析线程 会向工作线程池提交批次，需先等解析线程池结束 再关闭工作线程池
+     * 否则 关闭后提交的批次会被 CallerRunsPolicy 直接丢弃
+     */
+    @PreDestroy
+    public void destroy(){
+        if(JOB_EXECUTOR == null || WORKER_EXECUTOR == null){
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(excelProperties.getImportShutdownWait());
+        JOB_EXECUTOR.shutdown();
+        boolean terminated = awaitTermination(JOB_EXECUTOR, deadline);
+        WORKER_EXECUTOR.shutdown();
+        terminated = awaitTermination(WORKER_EXECUTOR, deadline) && terminated;
+        if(!terminated){
+            JOB_EXECUTOR.shutdownNow();
+            WORKER_EXECUTOR.shutdownNow();
+        }
+
+        // 未完成的任务 记为失败
+        for (ExcelImportJob job : RUNNING_JOBS.values()) {
+            if(job.isDone()){
+                continue;
+            }
+            String msgInfo = StrUtil.format(CoreMsg.EXCEL_IMPORT_INTERRUPTED.getMessage(),
+                    job.getSuccessCount());
+            job.finish(ExcelImportStatus.FAILED, msgInfo);
+            saveJob(job);
+            log.warn("Excel 导入任务中断 - jobId: {}, fileName: {}", job.getJobId(), job.getFileName());
+        }
+        RUNNING_JOBS.clear();
+    }
+
+    /**
+     * 在截止时间前 等待线程池结束
+     * @param executor 线程池
+     * @param deadline 截止时间 (System.nanoTime)
+     * @return boolean 是否已结束
+     */
+    private static boolean awaitTermination(ExecutorService executor, long deadline){
+        try {
+            return executor.awaitTermination(
+                    Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -15,7 +15,6 @@
  */
 package org.opsli.plugins.oss;
 
-import cn.hutool.core.util.ClassUtil;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.opsli.api.wrapper.system.options.OptionsModel;
@@ -24,9 +23,9 @@ import org.opsli.core.utils.OptionsUtil;
 import org.opsli.plugins.oss.enums.OssStorageType;
 import org.opsli.plugins.oss.service.OssStorageService;
 
-import java.lang.reflect.Modifier;
 import java.util.Map;
-import java.util.Set;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 /**
  * OSS服务 工厂
@@ -81,37 +80,26 @@ public enum OssStorageFactory {
         // 初始化容器
         ossStorageServiceMap = Maps.newHashMap();
 
-        // 拿到实现了 OssStorageService 接口的,所有子类
-        Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                OssStorageService.class.getPackage().getName(),
-                OssStorageService.class
-        );
-
+        // 实现了 OssStorageService 接口的子类 由 META-INF/services 注册 无需扫描类路径
+        ServiceLoader<OssStorageService> loader = ServiceLoader.load(
+                OssStorageService.class, OssStorageService.class.getClassLoader());
 
         // 入参处理类
-        this.handleInit(clazzSet);
+        this.handleInit(loader);
     }
 
     /**
      * 处理类
-     * @param clazzSet 扫描处理类
+     * @param loader 注册的处理类
      */
-    private void handleInit(Set<Class<?>> clazzSet){
-        for (Class<?> aClass : clazzSet) {
-            // 位运算 去除抽象类
-            if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                continue;
-            }
-
-            try {
-                Object obj = aClass.newInstance();
-                OssStorageService handler = (OssStorageService) obj;
-
+    private void handleInit(ServiceLoader<OssStorageService> loader){
+        try {
+            for (OssStorageService handler : loader) {
                 // 加入集合
                 ossStorageServiceMap.put(handler.getType(), handler);
-            } catch (Exception e){
-                log.error("Oss 服务注入失败");
             }
+        } catch (ServiceConfigurationError e){
+            log.error("Oss 服务注入失败", e);
         }
     }
 
@@ -30,7 +30,11 @@ public enum OssMsg implements BaseMsg {
      * OSS
      */
     EXCEPTION_UPLOAD_ERROR(90500, "上传文件失败，请检查配置信息"),
-    EXCEPTION_UPLOAD_AUTH_ERROR(90501, "权限认证异常")
+    EXCEPTION_UPLOAD_AUTH_ERROR(90501, "权限认证异常"),
+    EXCEPTION_CHUNK_UNSUPPORTED(90502, "当前存储服务不支持分片上传"),
+    EXCEPTION_CHUNK_ILLEGAL(90503, "分片参数不合法"),
+    EXCEPTION_CHUNK_MISSING(90504, "分片不完整，请补传缺失分片"),
+    EXCEPTION_CHUNK_MERGING(90505, "分片正在合并中，请勿重复提交"),
 
     ;
 
@@ -16,14 +16,32 @@
 package org.opsli.plugins.oss.service;
 
 import cn.hutool.core.convert.Convert;
+import cn.hutool.core.io.FileTypeUtil;
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.RandomUtil;
 import cn.hutool.core.util.StrUtil;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
+import org.opsli.plugins.oss.exception.StoragePluginException;
+import org.opsli.plugins.oss.msg.OssMsg;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 /**
  * 云存储 (支持本地、又拍云...持续更新中)
@@ -37,6 +55,13 @@ public abstract class BaseOssStorageService implements OssStorageService {
     public static final String FOLDER_PREFIX = "/";
     private static final String FOLDER_WINDOWS_PREFIX = "\\";
 
+    /** 文件头 嗅探长度 (与 FileTypeUtil 文件头长度一致) */
+    private static final int HEAD_SIZE = 28;
+    /** 单次传输 最大字节数 */
+    private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+    /** 临时文件 后缀 */
+    private static final String TMP_SUFFIX = ".uploading";
+
     /**
      * 获得文件信息
      * @param file 文件
@@ -75,6 +100,16 @@ public abstract class BaseOssStorageService implements OssStorageService {
      * @return FileAttr
      */
     protected FileAttr getFileAttr(InputStream inputStream, String suffix){
+        return this.getFileAttr(inputStream.hashCode(), suffix);
+    }
+
+    /**
+     * 获得文件信息
+     * @param fileNameHashCode 文件名 hash
+     * @param suffix 后缀
+     * @return FileAttr
+     */
+    protected FileAttr getFileAttr(int fileNameHashCode, String suffix){
         FileAttr fileAttr = new FileAttr();
         fileAttr.setSuffix(suffix);
 
@@ -83,8 +118,6 @@ public abstract class BaseOssStorageService implements OssStorageService {
 
         // 当前时间戳
         long currentTimeMillis = System.currentTimeMillis();
-        // 文件名 HashCode
-        int fileNameHashCode = inputStream.hashCode();
         // 随机字符串
         String randomString = RandomUtil.randomStringUpper(5);
         // 随机数
@@ -98,6 +131,118 @@ public abstract class BaseOssStorageService implements OssStorageService {
         return fileAttr;
     }
 
+    /**
+     * 流式写入文件
+     *
+     * 只读一遍输入流 同时完成 写盘、计算大小、MD5 摘要 与 文件头嗅探
+     * 先写入同目录下临时文件 完成后原子替换 避免读到写了一半的文件
+     *
+     * @param inputStream 输入流
+     * @param target 目标文件
+     * @param fileAttr 文件信息
+     */
+    protected void transfer(InputStream inputStream, File target, FileAttr fileAttr){
+        Path targetPath = target.toPath();
+        Path tmpPath = targetPath.resolveSibling(target.getName() + TMP_SUFFIX);
+        try {
+            PushbackInputStream pushbackIn = new PushbackInputStream(inputStream, HEAD_SIZE);
+            // 嗅探文件头
+            byte[] head = readHead(pushbackIn);
+            pushbackIn.unread(head);
+
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            long size = 0;
+            try (ReadableByteChannel src = Channels.newChannel(new DigestInputStream(pushbackIn, digest));
+                 FileChannel out = FileChannel.open(tmpPath,
+                         StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                         StandardOpenOption.WRITE)){
+                long count;
+                while ((count = out.transferFrom(src, size, TRANSFER_SIZE)) > 0){
+                    size += count;
+                }
+            }
+            Files.move(tmpPath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+
+            fileAttr.setSize(size);
+            fileAttr.setMd5(HexUtil.encodeHexStr(digest.digest()));
+            fileAttr.setFileType(FileTypeUtil.getType(HexUtil.encodeHexStr(head)));
+        }catch (IOException | NoSuchAlgorithmException e){
+            FileUtil.del(tmpPath);
+            throw new StoragePluginException(OssMsg.EXCEPTION_UPLOAD_ERROR, e);
+        }
+    }
+
+    /**
+     * 零拷贝写入文件 (FileChannel.transferTo)
+     *
+     * 数据不经过用户态缓冲区 不计算 MD5 摘要
+     *
+     * @param sources 源文件 (多个时按顺序拼接 用于分片合并)
+     * @param target 目标文件
+     * @param fileAttr 文件信息
+     */
+    protected void transfer(List<File> sources, File target, FileAttr fileAttr){
+        Path targetPath = target.toPath();
+        Path tmpPath = targetPath.resolveSibling(target.getName() + TMP_SUFFIX);
+        try {
+            long size = 0;
+            try (FileChannel out = FileChannel.open(tmpPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)){
+                for (File source : sources) {
+                    try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ)){
+                        long position = 0;
+                        long total = in.size();
+                        while (position < total){
+                            position += in.transferTo(position,
+                                    Math.min(TRANSFER_SIZE, total - position), out);
+                        }
+                        size += total;
+                    }
+                }
+            }
+
+            // 嗅探文件头
+            byte[] head;
+            try (FileChannel in = FileChannel.open(tmpPath, StandardOpenOption.READ)){
+                ByteBuffer buffer = ByteBuffer.allocate(HEAD_SIZE);
+                while (buffer.hasRemaining() && in.read(buffer) > 0){
+                    // 读满文件头
+                }
+                head = new byte[buffer.position()];
+                buffer.flip();
+                buffer.get(head);
+            }
+            Files.move(tmpPath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+
+            fileAttr.setSize(size);
+            fileAttr.setFileType(FileTypeUtil.getType(HexUtil.encodeHexStr(head)));
+        }catch (IOException e){
+            FileUtil.del(tmpPath);
+            throw new StoragePluginException(OssMsg.EXCEPTION_UPLOAD_ERROR, e);
+        }
+    }
+
+    /**
+     * 读取文件头
+     * @param inputStream 输入流
+     * @return byte[] 不足 HEAD_SIZE 时 返回实际长度
+     */
+    private byte[] readHead(InputStream inputStream) throws IOException {
+        byte[] head = new byte[HEAD_SIZE];
+        int len = 0;
+        int count;
+        while (len < HEAD_SIZE && (count = inputStream.read(head, len, HEAD_SIZE - len)) > 0){
+            len += count;
+        }
+        if(len == HEAD_SIZE){
+            return head;
+        }
+        byte[] tmp = new byte[len];
+        System.arraycopy(head, 0, tmp, 0, len);
+        return tmp;
+    }
+
     /**
      * 处理 Path 路径
      * @param path 路径
@@ -163,6 +308,12 @@ public abstract class BaseOssStorageService implements OssStorageService {
         /** 文件存储 */
         private String fileStoragePath;
 
+        /** 真实文件类型 (根据文件头识别 无法识别时为空) */
+        private String fileType;
+
+        /** MD5 摘要 (仅流式上传时计算) */
+        private String md5;
+
     }
 
 }
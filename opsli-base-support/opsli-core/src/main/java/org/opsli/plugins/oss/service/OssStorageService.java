@@ -17,9 +17,12 @@ package org.opsli.plugins.oss.service;
 
 
 import org.opsli.plugins.oss.enums.OssStorageType;
+import org.opsli.plugins.oss.exception.StoragePluginException;
+import org.opsli.plugins.oss.msg.OssMsg;
 
 import java.io.File;
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * 云存储 (支持本地、七牛、阿里云、腾讯云、又拍云)
@@ -56,4 +59,37 @@ public interface OssStorageService {
      */
     BaseOssStorageService.FileAttr upload(InputStream inputStream, String suffix);
 
+    // ================== 分片上传 (断点续传) ==================
+
+    /**
+     * 获得已上传的分片序号 (用于断点续传)
+     * @param uploadId 上传ID (由客户端生成 同一文件保持一致)
+     * @return List 已上传分片序号
+     */
+    default List<Integer> getUploadedChunks(String uploadId){
+        throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_UNSUPPORTED);
+    }
+
+    /**
+     * 上传分片 (各分片之间互不依赖 可并行上传)
+     * @param uploadId 上传ID
+     * @param index 分片序号 从 0 开始
+     * @param inputStream 输入流
+     * @return long 分片大小
+     */
+    default long uploadChunk(String uploadId, int index, InputStream inputStream){
+        throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_UNSUPPORTED);
+    }
+
+    /**
+     * 合并分片
+     * @param uploadId 上传ID
+     * @param chunkCount 分片总数
+     * @param suffix 后缀
+     * @return 返回文件信息
+     */
+    default BaseOssStorageService.FileAttr mergeChunks(String uploadId, int chunkCount, String suffix){
+        throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_UNSUPPORTED);
+    }
+
 }
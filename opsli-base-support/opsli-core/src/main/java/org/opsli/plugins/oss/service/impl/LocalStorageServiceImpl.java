@@ -15,26 +15,38 @@
  */
 package org.opsli.plugins.oss.service.impl;
 
-import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.util.StrUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.opsli.core.autoconfigure.properties.GlobalProperties;
 import org.opsli.core.utils.GlobalPropertiesUtil;
 import org.opsli.core.utils.ValidatorUtil;
-import org.opsli.plugins.oss.enums.OssStorageType;
 import org.opsli.plugins.oss.conf.LocalConfigFactory;
+import org.opsli.plugins.oss.enums.OssStorageType;
+import org.opsli.plugins.oss.exception.StoragePluginException;
+import org.opsli.plugins.oss.msg.OssMsg;
 import org.opsli.plugins.oss.service.BaseOssStorageService;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * 本地文件上传
  *
+ * 上传流只读一遍直接落盘 (同时计算大小、MD5、文件类型)，File 上传与分片合并使用零拷贝
+ *
  * @author Parker
  * @date 2021年4月30日14:09:08
  */
@@ -44,6 +56,30 @@ public class LocalStorageServiceImpl extends BaseOssStorageService {
     /** 固定路径 */
     private static final String FIXED_PATH = "/static/files";
 
+    /** 分片临时目录 (不可放在静态资源目录下 避免被直接访问) */
+    private static final String CHUNK_PATH = "opsli-oss-chunks";
+    /** 分片文件后缀 */
+    private static final String CHUNK_SUFFIX = ".part";
+    /** 最大分片数 */
+    private static final int MAX_CHUNK_COUNT = 10000;
+    /** 上传ID 格式 */
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("^[A-Za-z0-9_-]{8,64}$");
+    /** 文件后缀 格式 */
+    private static final Pattern SUFFIX_PATTERN = Pattern.compile("^[A-Za-z0-9]{1,16}$");
+    /** 未合并分片 过期时间 (最后一次上传分片后 24 小时) */
+    private static final long CHUNK_EXPIRE_MILLIS = TimeUnit.HOURS.toMillis(24);
+    /** 过期分片 清理间隔 */
+    private static final long CHUNK_CLEAN_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /** 上次清理过期分片时间 */
+    private static final AtomicLong LAST_CLEAN_TIME = new AtomicLong();
+
+    /** 正在合并的上传ID */
+    private static final Set<String> MERGING_SET = ConcurrentHashMap.newKeySet();
+
+    /** 当前存储目录 (配置与日期不变时复用 避免每次上传重复验证配置、拼接路径、创建文件夹) */
+    private volatile StorageDir storageDir;
+
     @Override
     public OssStorageType getType() {
         return OssStorageType.LOCAL;
@@ -63,78 +99,204 @@ public class LocalStorageServiceImpl extends BaseOssStorageService {
             return new FileAttr();
         }
 
-        // 获得系统配置信息
-        GlobalProperties globalProperties = GlobalPropertiesUtil.getGlobalProperties();
-
-        // 获得配置信息
-        LocalConfigFactory.LocalConfig config = LocalConfigFactory.INSTANCE.getConfig();
+        // 获得存储目录
+        StorageDir dir = this.getStorageDir();
 
-        // 验证对象
-        ValidatorUtil.verify(config);
-
-        // 当前时间戳
-        long currentTimeMillis = System.currentTimeMillis();
+        // 文件属性
+        FileAttr fileAttr = super.getFileAttr(file);
 
-        // 当前时间
-        Date currDate = DateUtil.date(currentTimeMillis);
+        // 零拷贝写入
+        super.transfer(Collections.singletonList(file),
+                new File(dir.getPackageName() + super.handlePath(fileAttr.getRandomFileNameAndSuffix())),
+                fileAttr);
 
-        // 静态路径
-        String genPath = globalProperties != null && globalProperties.getWeb() != null &&
-                StrUtil.isNotEmpty(globalProperties.getWeb().getUploadPath())
-                ? globalProperties.getWeb().getUploadPath()
-                : FileUtil.getUserHomePath();
+        // 设置文件路径
+        fileAttr.setFileStoragePath(
+                dir.getDomain() + dir.getPackageNameByHalf()
+                        + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
+        return fileAttr;
+    }
 
-        // 静态路径前缀 默认为空
-        String pathPrefix = StrUtil.isNotEmpty(config.getPathPrefix())?config.getPathPrefix():"";
+    @Override
+    public FileAttr upload(InputStream inputStream, String suffix) {
+        // 获得存储目录
+        StorageDir dir = this.getStorageDir();
 
-        // 文件夹名称
-        String folderName = DateUtil.format(currDate, "yyyyMMdd");
+        // 文件属性
+        FileAttr fileAttr = super.getFileAttr(inputStream, suffix);
 
-        // 包 全名称
-        String packageName = super.handlePath(genPath, false)
-                + super.handlePath(FIXED_PATH) + super.handlePath(pathPrefix)
-                + super.handlePath(folderName);
-        // 包 半名称
-        String packageNameByHalf = super.handlePath(FIXED_PATH) + super.handlePath(pathPrefix)
-                + super.handlePath(folderName);
+        // 流式写入
+        super.transfer(inputStream,
+                new File(dir.getPackageName() + super.handlePath(fileAttr.getRandomFileNameAndSuffix())),
+                fileAttr);
 
-        // 文件属性
-        FileAttr fileAttr = super.getFileAttr(file);
         // 设置文件路径
         fileAttr.setFileStoragePath(
-                config.getDomain() + packageNameByHalf + fileAttr.getName() + fileAttr.getSuffix());
+                dir.getDomain() + dir.getPackageNameByHalf()
+                        + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
+        return fileAttr;
+    }
 
-        // 创建文件夹
-        FileUtil.mkdir(packageName);
+    // ================== 分片上传 (断点续传) ==================
 
-        // 创建文件
-        File tmpFile = new File(
-                packageName + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
-        try {
-            FileUtils.copyFile(file, tmpFile);
-        }catch (IOException e){
-            log.error(e.getMessage(), e);
+    @Override
+    public List<Integer> getUploadedChunks(String uploadId) {
+        File chunkDir = this.getChunkDir(uploadId);
+        File[] chunks = chunkDir.listFiles((d, name) -> name.endsWith(CHUNK_SUFFIX));
+        if(chunks == null){
+            return Collections.emptyList();
         }
-        FileUtil.touch(tmpFile);
 
-        return fileAttr;
+        List<Integer> indexList = new ArrayList<>(chunks.length);
+        for (File chunk : chunks) {
+            Integer index = Convert.toInt(
+                    StrUtil.removeSuffix(chunk.getName(), CHUNK_SUFFIX), null);
+            if(index != null){
+                indexList.add(index);
+            }
+        }
+        Collections.sort(indexList);
+        return indexList;
     }
 
     @Override
-    public FileAttr upload(InputStream inputStream, String suffix) {
-        // 获得系统配置信息
-        GlobalProperties globalProperties = GlobalPropertiesUtil.getGlobalProperties();
+    public long uploadChunk(String uploadId, int index, InputStream inputStream) {
+        if(index < 0 || index >= MAX_CHUNK_COUNT){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+
+        // 清理 过期未合并的分片
+        this.cleanExpiredChunks();
+
+        File chunkDir = this.getChunkDir(uploadId);
+        FileUtil.mkdir(chunkDir);
 
+        // 分片先写临时文件再原子替换 中断后不会留下残缺分片 可直接续传
+        FileAttr chunkAttr = new FileAttr();
+        super.transfer(inputStream, new File(chunkDir, index + CHUNK_SUFFIX), chunkAttr);
+        return chunkAttr.getSize();
+    }
+
+    @Override
+    public FileAttr mergeChunks(String uploadId, int chunkCount, String suffix) {
+        if(chunkCount <= 0 || chunkCount > MAX_CHUNK_COUNT){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+        // 后缀 会拼接为文件名 必须严格校验
+        if(StrUtil.isEmpty(suffix) || !SUFFIX_PATTERN.matcher(suffix).matches()){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+
+        File chunkDir = this.getChunkDir(uploadId);
+        if(!MERGING_SET.add(uploadId)){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_MERGING);
+        }
+        try {
+            // 校验分片是否完整
+            List<File> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                File chunk = new File(chunkDir, i + CHUNK_SUFFIX);
+                if(!chunk.isFile()){
+                    throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_MISSING);
+                }
+                chunks.add(chunk);
+            }
+
+            // 获得存储目录
+            StorageDir dir = this.getStorageDir();
+
+            // 文件属性
+            FileAttr fileAttr = super.getFileAttr(uploadId.hashCode(), suffix);
+
+            // 零拷贝合并
+            super.transfer(chunks,
+                    new File(dir.getPackageName() + super.handlePath(fileAttr.getRandomFileNameAndSuffix())),
+                    fileAttr);
+
+            // 设置文件路径
+            fileAttr.setFileStoragePath(
+                    dir.getDomain() + dir.getPackageNameByHalf()
+                            + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
+
+            // 清除分片
+            FileUtil.del(chunkDir);
+            return fileAttr;
+        }finally {
+            MERGING_SET.remove(uploadId);
+        }
+    }
+
+    /**
+     * 清理 过期未合并的分片目录 (每个间隔内 只有一个线程执行)
+     * 目录的修改时间 即为最后一次上传分片的时间
+     */
+    private void cleanExpiredChunks(){
+        long now = System.currentTimeMillis();
+        long lastCleanTime = LAST_CLEAN_TIME.get();
+        if(now - lastCleanTime < CHUNK_CLEAN_INTERVAL_MILLIS ||
+                !LAST_CLEAN_TIME.compareAndSet(lastCleanTime, now)){
+            return;
+        }
+
+        File[] chunkDirs = this.getChunkRoot().listFiles(File::isDirectory);
+        if(chunkDirs == null){
+            return;
+        }
+        for (File chunkDir : chunkDirs) {
+            if(MERGING_SET.contains(chunkDir.getName()) ||
+                    now - chunkDir.lastModified() < CHUNK_EXPIRE_MILLIS){
+                continue;
+            }
+            try {
+                FileUtil.del(chunkDir);
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 获得分片根目录
+     * @return File
+     */
+    private File getChunkRoot(){
+        return new File(FileUtil.getTmpDirPath() + File.separator + CHUNK_PATH);
+    }
+
+    /**
+     * 获得分片目录
+     * @param uploadId 上传ID
+     * @return File
+     */
+    private File getChunkDir(String uploadId){
+        // 上传ID 会拼接为路径 必须严格校验
+        if(StrUtil.isEmpty(uploadId) || !UPLOAD_ID_PATTERN.matcher(uploadId).matches()){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+        return new File(this.getChunkRoot(), uploadId);
+    }
+
+    /**
+     * 获得当前存储目录
+     * @return StorageDir
+     */
+    private StorageDir getStorageDir(){
         // 获得配置信息
         LocalConfigFactory.LocalConfig config = LocalConfigFactory.INSTANCE.getConfig();
+
+        // 文件夹名称
+        String folderName = DatePattern.PURE_DATE_FORMAT.format(new Date());
+
+        StorageDir dir = storageDir;
+        if(dir != null && dir.isMatch(config, folderName)){
+            return dir;
+        }
+
         // 验证对象
         ValidatorUtil.verify(config);
 
-        // 当前时间戳
-        long currentTimeMillis = System.currentTimeMillis();
-
-        // 当前时间
-        Date currDate = DateUtil.date(currentTimeMillis);
+        // 获得系统配置信息
+        GlobalProperties globalProperties = GlobalPropertiesUtil.getGlobalProperties();
 
         // 静态路径
         String genPath = globalProperties != null && globalProperties.getWeb() != null &&
@@ -145,39 +307,59 @@ public class LocalStorageServiceImpl extends BaseOssStorageService {
         // 静态路径前缀 默认为空
         String pathPrefix = StrUtil.isNotEmpty(config.getPathPrefix())?config.getPathPrefix():"";
 
-        // 文件夹名称
-        String folderName = DateUtil.format(currDate, "yyyyMMdd");
-
-        // 包 全名称
-        String packageName = super.handlePath(genPath, false)
-                + super.handlePath(FIXED_PATH) + super.handlePath(pathPrefix)
-                + super.handlePath(folderName);
         // 包 半名称
         String packageNameByHalf = super.handlePath(FIXED_PATH) + super.handlePath(pathPrefix)
                 + super.handlePath(folderName);
-
-        // 文件属性
-        FileAttr fileAttr = super.getFileAttr(inputStream, suffix);
-
-        // 设置文件路径
-        fileAttr.setFileStoragePath(
-                config.getDomain() + packageNameByHalf
-                        + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
+        // 包 全名称
+        String packageName = super.handlePath(genPath, false) + packageNameByHalf;
 
         // 创建文件夹
         FileUtil.mkdir(packageName);
 
-        // 创建文件
-        File tmpFile = new File(
-                packageName + super.handlePath(fileAttr.getRandomFileNameAndSuffix()));
-        try {
-            FileUtils.copyInputStreamToFile(inputStream, tmpFile);
-        }catch (IOException e){
-            log.error(e.getMessage(), e);
+        dir = new StorageDir(config, folderName, packageName, packageNameByHalf);
+        storageDir = dir;
+        return dir;
+    }
+
+    // =============================
+
+    /**
+     * 存储目录
+     */
+    private static final class StorageDir {
+
+        /** 配置信息 */
+        private final LocalConfigFactory.LocalConfig config;
+        /** 文件夹名称 */
+        private final String folderName;
+        /** 包 全名称 */
+        private final String packageName;
+        /** 包 半名称 */
+        private final String packageNameByHalf;
+
+        private StorageDir(LocalConfigFactory.LocalConfig config, String folderName,
+                           String packageName, String packageNameByHalf) {
+            this.config = config;
+            this.folderName = folderName;
+            this.packageName = packageName;
+            this.packageNameByHalf = packageNameByHalf;
         }
-        FileUtil.touch(tmpFile);
 
-        return fileAttr;
+        private boolean isMatch(LocalConfigFactory.LocalConfig currConfig, String currFolderName){
+            return Objects.equals(config, currConfig) && Objects.equals(folderName, currFolderName);
+        }
+
+        private String getDomain() {
+            return config.getDomain();
+        }
+
+        private String getPackageName() {
+            return packageName;
+        }
+
+        private String getPackageNameByHalf() {
+            return packageNameByHalf;
+        }
     }
 
 }
@@ -17,7 +17,6 @@ package org.opsli.modulars.generator.importable;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ListUtil;
-import cn.hutool.core.util.ClassUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
@@ -25,18 +24,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.opsli.core.autoconfigure.properties.DbSourceProperties;
 import org.opsli.plugins.generator.database.mysql.MySqlSyncColumnType;
 import org.opsli.plugins.generator.enums.DataBaseType;
-import org.opsli.core.utils.SpringContextHolder;
 import org.opsli.modulars.generator.importable.entity.DatabaseColumn;
 import org.opsli.modulars.generator.importable.entity.DatabaseTable;
 import org.opsli.modulars.generator.importable.service.DatabaseTableService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -238,22 +233,13 @@ public class ImportTableUtil{
     // ====================================
 
 
-    @Bean
-    public void initImportTable(){
-
-        // 拿到state包下 实现了 SystemEventState 接口的,所有子类
-        Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                DatabaseTableService.class.getPackage().getName(),
-                DatabaseTableService.class
-        );
-
-        for (Class<?> aClass : clazzSet) {
-            // 位运算 去除抽象类
-            if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                continue;
-            }
-
-            DatabaseTableService handler = (DatabaseTableService) SpringContextHolder.getBean(aClass);
+    /**
+     * 初始化 数据库表处理 (由 Spring 注入所有实现 无需扫描类路径)
+     * @param handlers 数据库表处理
+     */
+    @Autowired(required = false)
+    public void initImportTable(List<DatabaseTableService> handlers){
+        for (DatabaseTableService handler : handlers) {
             // 加入集合
             HANDLER_MAP.put(handler.getType(),handler);
         }
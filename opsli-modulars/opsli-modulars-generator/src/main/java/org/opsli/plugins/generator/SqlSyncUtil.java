@@ -15,17 +15,14 @@
  */
 package org.opsli.plugins.generator;
 
-import cn.hutool.core.util.ClassUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.opsli.plugins.generator.enums.DataBaseType;
 import org.opsli.plugins.generator.SyncStrategy;
-import org.opsli.core.utils.SpringContextHolder;
 import org.opsli.modulars.generator.table.wrapper.GenTableAndColumnModel;
-import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
-import java.lang.reflect.Modifier;
-import java.util.Set;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -44,22 +41,13 @@ public class SqlSyncUtil {
     private static final ConcurrentMap<DataBaseType, SyncStrategy> HANDLER_MAP = new ConcurrentHashMap<>();
 
 
-    @Bean
-    public void initSyncStrategy(){
-
-        // 拿到state包下 实现了 SystemEventState 接口的,所有子类
-        Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                SyncStrategy.class.getPackage().getName(),
-                SyncStrategy.class
-        );
-
-        for (Class<?> aClass : clazzSet) {
-            // 位运算 去除抽象类
-            if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                continue;
-            }
-
-            SyncStrategy handler = (SyncStrategy) SpringContextHolder.getBean(aClass);
+    /**
+     * 初始化 同步策略 (由 Spring 注入所有实现 无需扫描类路径)
+     * @param strategies 同步策略
+     */
+    @Autowired(required = false)
+    public void initSyncStrategy(List<SyncStrategy> strategies){
+        for (SyncStrategy handler : strategies) {
             // 加入集合
             HANDLER_MAP.put(handler.getType(),handler);
         }
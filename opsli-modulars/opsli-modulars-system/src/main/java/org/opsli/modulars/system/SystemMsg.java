@@ -42,6 +42,7 @@ public enum SystemMsg implements BaseMsg {
      */
     EXCEPTION_DICT_UNIQUE(20100,"字典编号重复，该字典已存在"),
     EXCEPTION_DICT_DETAIL_UNIQUE(20101,"字典名称或值重复，该字典已存在"),
+    EXCEPTION_DICT_NOT_EXIST(20102,"该字典不存在"),
 
     /**
      * 角色
@@ -86,12 +87,14 @@ public enum SystemMsg implements BaseMsg {
     EXCEPTION_ORG_UNIQUE(20500,"组织机构编号重复，已存在"),
     EXCEPTION_ORG_USE(20501,"组织机构已被引用，不能操作"),
     EXCEPTION_ORG_USE_TENANT(20501,"组织机构已被引用，不能修改租户"),
+    EXCEPTION_ORG_PARENT_ILLEGAL(20502,"上级组织不能为自身或其下级"),
 
 
     /**
      * 地域
      */
     EXCEPTION_AREA_UNIQUE(20600,"地域编号重复，已存在"),
+    EXCEPTION_AREA_TREE_ERROR(20601,"地域树构建失败"),
 
     /**
      * 系统参数
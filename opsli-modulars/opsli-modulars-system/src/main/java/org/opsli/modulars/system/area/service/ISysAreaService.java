@@ -19,6 +19,7 @@ import org.opsli.api.wrapper.system.area.SysAreaModel;
 import org.opsli.core.base.entity.HasChildren;
 import org.opsli.core.base.service.interfaces.CrudServiceInterface;
 import org.opsli.modulars.system.area.entity.SysArea;
+import org.opsli.modulars.system.area.snapshot.SysAreaTreeSnapshot;
 
 import java.util.List;
 import java.util.Set;
@@ -39,4 +40,16 @@ public interface ISysAreaService extends CrudServiceInterface<SysArea, SysAreaMo
      */
     List<HasChildren> hasChildren(Set<String> parentIds);
 
+    /**
+     * 获得地域树快照 (全量)
+     * @param deep 层级
+     * @return SysAreaTreeSnapshot
+     */
+    SysAreaTreeSnapshot getTreeSnapshot(Integer deep);
+
+    /**
+     * 刷新地域树快照 (事务提交后 递增全局版本号)
+     */
+    void refreshTreeSnapshot();
+
 }
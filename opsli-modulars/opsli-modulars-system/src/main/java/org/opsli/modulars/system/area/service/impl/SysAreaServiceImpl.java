@@ -17,8 +17,15 @@ package org.opsli.modulars.system.area.service.impl;
 
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.lang.tree.Tree;
+import cn.hutool.core.lang.tree.TreeNodeConfig;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.opsli.api.base.result.ResultVo;
 import org.opsli.api.wrapper.system.area.SysAreaModel;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.enums.DictType;
@@ -26,18 +33,27 @@ import org.opsli.common.exception.ServiceException;
 import org.opsli.common.utils.FieldUtil;
 import org.opsli.core.base.entity.HasChildren;
 import org.opsli.core.base.service.impl.CrudServiceImpl;
+import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
 import org.opsli.core.persistence.querybuilder.QueryBuilder;
+import org.opsli.core.utils.TreeBuildUtil;
+import org.opsli.core.utils.TreeNodeProjection;
 import org.opsli.modulars.system.SystemMsg;
 import org.opsli.modulars.system.area.entity.SysArea;
 import org.opsli.modulars.system.area.mapper.SysAreaMapper;
 import org.opsli.modulars.system.area.service.ISysAreaService;
+import org.opsli.modulars.system.area.snapshot.SysAreaTreeSnapshot;
+import org.opsli.plugins.redis.RedisPlugin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -54,13 +70,39 @@ import java.util.Set;
  * @author Parker
  * @date 2020-11-28 18:59:59
  */
+@Slf4j
 @Service
 public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea, SysAreaModel>
     implements ISysAreaService {
 
+    /** 地域树 全局版本号 */
+    private static final String TREE_VERSION_KEY = "area:tree:version";
+    /** 排序字段 */
+    private static final String SORT_FIELD = "sortNo";
+    /** 默认层级 */
+    private static final int DEF_DEEP = 3;
+    /** 最大层级 */
+    private static final int MAX_DEEP = 10;
+    /** 地域树 字段投影 */
+    private static final TreeNodeProjection<SysArea> AREA_PROJECTION =
+            TreeNodeProjection.of(SysArea.class)
+                    .customize((sysArea, tree) -> tree.setWeight(getAreaSort(sysArea)))
+                    .hasChildren();
+
+    /** 地域树快照 层级 -> 快照 */
+    private final Map<Integer, SysAreaTreeSnapshot> treeSnapshotMap = new ConcurrentHashMap<>();
+    /** 最近一次读取到的 全局版本号 (Redis 不可用时沿用) */
+    private volatile long treeVersion = 0L;
+
     @Autowired(required = false)
     private SysAreaMapper mapper;
 
+    @Autowired
+    private RedisPlugin redisPlugin;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -81,7 +123,10 @@ public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea,
             model.setParentId("0");
         }
 
-        return super.insert(model);
+        SysAreaModel insertRet = super.insert(model);
+        // 刷新地域树快照
+        this.refreshTreeSnapshot();
+        return insertRet;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -98,7 +143,19 @@ public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea,
             throw new ServiceException(SystemMsg.EXCEPTION_AREA_UNIQUE);
         }
 
-        return super.update(model);
+        SysAreaModel updateRet = super.update(model);
+        // 刷新地域树快照
+        this.refreshTreeSnapshot();
+        return updateRet;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean insertBatch(List<SysAreaModel> models, int batchSize) {
+        boolean ret = super.insertBatch(models, batchSize);
+        // 刷新地域树快照
+        this.refreshTreeSnapshot();
+        return ret;
     }
 
 
@@ -108,6 +165,8 @@ public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea,
         // 先删除子数据
         this.deleteByParentId(id);
 
+        // 刷新地域树快照
+        this.refreshTreeSnapshot();
         return super.delete(id);
     }
 
@@ -119,6 +178,8 @@ public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea,
             this.deleteByParentId(id);
         }
 
+        // 刷新地域树快照
+        this.refreshTreeSnapshot();
         return super.deleteAll(ids);
     }
 
@@ -187,4 +248,121 @@ public class SysAreaServiceImpl extends CrudServiceImpl<SysAreaMapper, SysArea,
 
         return mapper.hasChildren(wrapper);
     }
+
+    /**
+     * 获得地域树快照 (全量)
+     * 只在全局版本号变化时 重建快照
+     * @param deep 层级
+     * @return SysAreaTreeSnapshot
+     */
+    @Override
+    public SysAreaTreeSnapshot getTreeSnapshot(Integer deep) {
+        int tmpDeep = (deep == null || deep < 1) ? DEF_DEEP : Math.min(deep, MAX_DEEP);
+        long version = this.getTreeVersion();
+
+        SysAreaTreeSnapshot snapshot = treeSnapshotMap.get(tmpDeep);
+        if(snapshot != null && snapshot.getVersion() == version){
+            return snapshot;
+        }
+
+        // 同一时间 只允许一个线程重建快照
+        synchronized (treeSnapshotMap){
+            snapshot = treeSnapshotMap.get(tmpDeep);
+            if(snapshot != null && snapshot.getVersion() == version){
+                return snapshot;
+            }
+            snapshot = this.buildTreeSnapshot(version, tmpDeep);
+            treeSnapshotMap.put(tmpDeep, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 刷新地域树快照
+     * 存在事务时 在事务提交后执行，防止其他节点读到未提交的数据
+     */
+    @Override
+    public void refreshTreeSnapshot() {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            this.doRefreshTreeSnapshot();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doRefreshTreeSnapshot();
+            }
+        });
+    }
+
+    /**
+     * 刷新地域树快照 递增全局版本号 并清空本地快照
+     */
+    private void doRefreshTreeSnapshot() {
+        try {
+            redisPlugin.increment(CacheUtil.getPrefixName() + TREE_VERSION_KEY);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+        treeSnapshotMap.clear();
+    }
+
+    /**
+     * 获得 全局版本号
+     * @return long
+     */
+    private long getTreeVersion() {
+        try {
+            Object version = redisPlugin.get(CacheUtil.getPrefixName() + TREE_VERSION_KEY);
+            treeVersion = Convert.toLong(version, 0L);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+        return treeVersion;
+    }
+
+    /**
+     * 构建地域树快照
+     * @param version 版本号
+     * @param deep 层级
+     * @return SysAreaTreeSnapshot
+     */
+    private SysAreaTreeSnapshot buildTreeSnapshot(long version, int deep) {
+        List<SysArea> dataList = super.findList(new QueryWrapper<>());
+
+        //配置
+        TreeNodeConfig treeNodeConfig = new TreeNodeConfig();
+        // 自定义属性名 都要默认值的
+        treeNodeConfig.setWeightKey(SORT_FIELD);
+        // 最大递归深度
+        treeNodeConfig.setDeep(deep);
+
+        //转换器 (是否包含子集 按全部数据计算)
+        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(
+                dataList, treeNodeConfig, AREA_PROJECTION);
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ResultVo.success(treeNodes));
+            return new SysAreaTreeSnapshot(version, deep, json);
+        }catch (JsonProcessingException e){
+            throw new ServiceException(SystemMsg.EXCEPTION_AREA_TREE_ERROR, e);
+        }
+    }
+
+    /**
+     * 获得地域排序 (地域编码)
+     * @param sysArea 地域
+     * @return int
+     */
+    private static int getAreaSort(SysArea sysArea) {
+        String areaCode = sysArea.getAreaCode();
+        int sort = 0;
+        if(StringUtils.isNotEmpty(areaCode)){
+            try {
+                sort = Integer.parseInt(areaCode);
+            }catch (Exception ignored){}
+        }
+        return sort;
+    }
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.area.snapshot;
+
+import cn.hutool.core.util.ZipUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+
+/**
+ * 地域树 快照
+ *
+ * 预先序列化好的 ResultVo JSON (及 GZIP 压缩结果)，只在地域数据变更后重建
+ * ETag 由内容摘要生成，多节点之间保持一致
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public final class SysAreaTreeSnapshot {
+
+    /** GZIP 压缩阈值 (小于该值不压缩) */
+    private static final int GZIP_THRESHOLD = 1024;
+
+    /** 版本号 */
+    private final long version;
+    /** 层级 */
+    private final int deep;
+    /** ETag */
+    private final String etag;
+    /** JSON */
+    private final byte[] json;
+    /** GZIP 压缩后的 JSON (可能为 null) */
+    private final byte[] gzip;
+
+    public SysAreaTreeSnapshot(long version, int deep, byte[] json) {
+        this.version = version;
+        this.deep = deep;
+        this.json = json;
+        this.etag = "\"" + DigestUtil.md5Hex(json) + "\"";
+        this.gzip = json.length >= GZIP_THRESHOLD ? ZipUtil.gzip(json) : null;
+    }
+
+    /**
+     * 是否与 If-None-Match 匹配
+     * @param ifNoneMatch If-None-Match 请求头
+     * @return boolean
+     */
+    public boolean matches(String ifNoneMatch) {
+        if(ifNoneMatch == null){
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String tmp = tag.trim();
+            // 弱校验
+            if(tmp.startsWith("W/")){
+                tmp = tmp.substring(2);
+            }
+            if("*".equals(tmp) || etag.equals(tmp)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getDeep() {
+        return deep;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
@@ -15,8 +15,6 @@
 */
 package org.opsli.modulars.system.area.web;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.lang.Snowflake;
@@ -49,18 +47,23 @@ import org.opsli.core.base.entity.HasChildren;
 import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.WebQueryBuilder;
 import org.opsli.core.utils.TreeBuildUtil;
+import org.opsli.core.utils.TreeNodeProjection;
 import org.opsli.modulars.system.area.entity.SysArea;
 import org.opsli.modulars.system.area.service.ISysAreaService;
+import org.opsli.modulars.system.area.snapshot.SysAreaTreeSnapshot;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -77,6 +80,12 @@ public class SysAreaRestController extends BaseRestController<SysArea, SysAreaMo
 
     /** 排序字段 */
     private static final String SORT_FIELD = "sortNo";
+    /** GZIP */
+    private static final String GZIP = "gzip";
+    /** 地域树 字段投影 */
+    private static final TreeNodeProjection<SysArea> AREA_PROJECTION =
+            TreeNodeProjection.of(SysArea.class)
+                    .customize((sysArea, tree) -> tree.setWeight(getAreaSort(sysArea)));
 
     /**
     * 地域 查一条
@@ -107,9 +116,6 @@ public class SysAreaRestController extends BaseRestController<SysArea, SysAreaMo
         wrapper.eq(FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_ID), parentId);
         List<SysArea> dataList =  IService.findList(wrapper);
 
-        // 获得BeanMapList
-        List<Map<String, Object>> beanMapList = this.getBeanMapList(dataList);
-
         //配置
         TreeNodeConfig treeNodeConfig = new TreeNodeConfig();
         // 自定义属性名 都要默认值的
@@ -118,7 +124,7 @@ public class SysAreaRestController extends BaseRestController<SysArea, SysAreaMo
         treeNodeConfig.setDeep(1);
 
         //转换器
-        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(beanMapList, parentId, treeNodeConfig);
+        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(dataList, parentId, treeNodeConfig, AREA_PROJECTION);
 
         // 处理是否包含子集
         super.handleTreeHasChildren(treeNodes,
@@ -129,37 +135,45 @@ public class SysAreaRestController extends BaseRestController<SysArea, SysAreaMo
 
     /**
      * 获取全量地域列表
+     * 直接输出预先序列化好的快照，客户端携带的 ETag 未变化时 返回 304
      *
      * @param deep 层级
-     *
-     *
-     * @return ResultVo
+     * @param request request
+     * @param response response
      */
     @ApiOperation(value = "获取全量地域列表", notes = "获取全量地域列表")
     @RequiresPermissions("system_area_select")
     @Override
-    public ResultVo<?> findTreeAll(Integer deep) {
-
-        List<SysArea> dataList =  IService.findList(new QueryWrapper<>());
-
-        // 获得BeanMapList
-        List<Map<String, Object>> beanMapList = this.getBeanMapList(dataList);
+    public void findTreeAll(Integer deep, HttpServletRequest request, HttpServletResponse response) {
+        SysAreaTreeSnapshot snapshot = IService.getTreeSnapshot(deep);
 
-        //配置
-        TreeNodeConfig treeNodeConfig = new TreeNodeConfig();
-        // 自定义属性名 都要默认值的
-        treeNodeConfig.setWeightKey(SORT_FIELD);
-        // 最大递归深度 最多支持1层
-        treeNodeConfig.setDeep(deep);
+        response.setHeader(HttpHeaders.ETAG, snapshot.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
 
-        //转换器
-        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(beanMapList, treeNodeConfig);
+        // 未发生变化
+        if(snapshot.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))){
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
 
-        // 处理是否包含子集
-        super.handleTreeHasChildren(treeNodes,
-                (parentIds)-> IService.hasChildren(parentIds));
+        byte[] body = snapshot.getJson();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if(snapshot.hasGzip() && StringUtils.containsIgnoreCase(acceptEncoding, GZIP)){
+            body = snapshot.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
 
-        return ResultVo.success(treeNodes);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        try {
+            ServletOutputStream out = response.getOutputStream();
+            out.write(body);
+            out.flush();
+        }catch (IOException e){
+            log.error(e.getMessage(), e);
+        }
     }
 
     /**
@@ -281,33 +295,19 @@ public class SysAreaRestController extends BaseRestController<SysArea, SysAreaMo
     // ==============================
 
     /**
-     * 获得BeanMap集合
-     * @param dataList 数据集合
-     * @return List
+     * 获得地域排序 (地域编码)
+     * @param sysArea 地域
+     * @return int
      */
-    private List<Map<String, Object>> getBeanMapList(List<SysArea> dataList) {
-        List<Map<String, Object>> beanMapList = Lists.newArrayList();
-        if(CollUtil.isEmpty(dataList)){
-            return beanMapList;
-        }
-
-        // 转化为 BeanMap 处理数据
-        for (SysArea sysArea : dataList) {
-            Map<String, Object> beanToMap = BeanUtil.beanToMap(sysArea);
-
-            // 获得排序
-            String areaCode = sysArea.getAreaCode();
-            int sort = 0;
-            if(StringUtils.isNotEmpty(areaCode)){
-                try {
-                    sort = Integer.parseInt(areaCode);
-                }catch (Exception ignored){}
-            }
-            beanToMap.put(SORT_FIELD, sort);
-
-            beanMapList.add(beanToMap);
+    private static int getAreaSort(SysArea sysArea) {
+        String areaCode = sysArea.getAreaCode();
+        int sort = 0;
+        if(StringUtils.isNotEmpty(areaCode)){
+            try {
+                sort = Integer.parseInt(areaCode);
+            }catch (Exception ignored){}
         }
-        return beanMapList;
+        return sort;
     }
 
 
@@ -17,8 +17,11 @@ package org.opsli.modulars.system.dict.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.opsli.modulars.system.dict.entity.SysDictDetail;
 
+import java.util.List;
+
 /**
  * 数据字典 明细 Mapper
  *
@@ -28,5 +31,12 @@ import org.opsli.modulars.system.dict.entity.SysDictDetail;
 @Mapper
 public interface DictDetailMapper extends BaseMapper<SysDictDetail> {
 
+    /**
+     * 批量修改排序 (单条 SQL)
+     * @param typeCode 字典类型编号
+     * @param list 字典明细 (id、sortNo)
+     * @return Integer
+     */
+    Integer updateSortBatch(@Param("typeCode") String typeCode, @Param("list") List<SysDictDetail> list);
 
 }
@@ -44,4 +44,29 @@ public interface IDictDetailService extends CrudServiceInterface<SysDictDetail,
      */
     List<DictDetailModel> findListByTypeCode(String typeCode);
 
+    /**
+     * 修改字典类型编号 (单条 SQL 联动全部明细)
+     * @param typeId 字典类型ID
+     * @param oldTypeCode 旧字典类型编号
+     * @param newTypeCode 新字典类型编号
+     * @return boolean
+     */
+    boolean updateTypeCode(String typeId, String oldTypeCode, String newTypeCode);
+
+    /**
+     * 批量修改排序 (单条 SQL)
+     * @param typeCode 字典类型编号
+     * @param models 字典明细 (id、sortNo)
+     * @return boolean
+     */
+    boolean updateSort(String typeCode, List<DictDetailModel> models);
+
+    /**
+     * 整体保存 字典类型下全部明细 (先删后批量插入)
+     * @param typeId 字典类型ID
+     * @param models 字典明细
+     * @return boolean
+     */
+    boolean saveAllByType(String typeId, List<DictDetailModel> models);
+
 }
@@ -18,8 +18,12 @@ package org.opsli.modulars.system.dict.service.impl;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.opsli.api.wrapper.system.dict.DictDetailModel;
 import org.opsli.api.wrapper.system.dict.DictModel;
 import org.opsli.common.constants.MyBatisConstants;
@@ -39,8 +43,15 @@ import org.opsli.modulars.system.dict.service.IDictService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PreDestroy;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
@@ -49,9 +60,23 @@ import java.util.*;
  * @author Parker
  * @date 2020-09-16 17:33
  */
+@Slf4j
 @Service
 public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, SysDictDetail, DictDetailModel> implements IDictDetailService {
 
+    /** 缓存刷新重试 线程名称 */
+    private static final String RETRY_THREAD_NAME = "dict-cache-retry-%d";
+    /** 缓存刷新重试 间隔 (秒) */
+    private static final long RETRY_DELAY = 30;
+
+    /** 待重试刷新的类型编号 */
+    private final Set<String> pendingTypeCodes = ConcurrentHashMap.newKeySet();
+    /** 是否已安排重试 */
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+    /** 缓存刷新重试 */
+    private final ScheduledThreadPoolExecutor retryExecutor = new ScheduledThreadPoolExecutor(1,
+            new BasicThreadFactory.Builder().namingPattern(RETRY_THREAD_NAME).daemon(true).build());
+
     @Autowired(required = false)
     private DictDetailMapper mapper;
     @Autowired
@@ -75,13 +100,10 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
 
         DictDetailModel ret = super.insert(model);
         if(ret != null){
-            List<DictDetailModel> listByTypeCode = this.findListByTypeCode(ret.getTypeCode());
-            if(CollUtil.isNotEmpty(listByTypeCode)){
-                // 删除缓存
-                this.clearCache(Collections.singletonList(
-                        ret.getTypeCode()
-                ));
-            }
+            // 刷新缓存
+            this.clearCache(Collections.singletonList(
+                    ret.getTypeCode()
+            ));
         }
 
         return ret;
@@ -108,13 +130,10 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
 
         DictDetailModel ret = super.update(model);
         if(ret != null){
-            List<DictDetailModel> listByTypeCode = this.findListByTypeCode(oldModel.getTypeCode());
-            if(CollUtil.isNotEmpty(listByTypeCode)){
-                // 删除缓存
-                this.clearCache(Collections.singletonList(
-                        oldModel.getTypeCode()
-                ));
-            }
+            // 刷新缓存 (如果修改了类型编号 新旧编号都需要刷新)
+            this.clearCache(Lists.newArrayList(
+                    oldModel.getTypeCode(), model.getTypeCode()
+            ));
         }
 
         return ret;
@@ -182,10 +201,8 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
                     typeCodes.add(sysDictDetail.getTypeCode());
                 }
 
-                List<String> typeCodeList = Lists.newArrayListWithCapacity(typeCodes.size());
-
                 // 删除缓存
-                this.clearCache(typeCodeList);
+                this.clearCache(typeCodes);
             }
 
         }
@@ -222,10 +239,8 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
                     typeCodes.add(sysDictDetail.getTypeCode());
                 }
 
-                List<String> typeCodeList = Lists.newArrayListWithCapacity(typeCodes.size());
-
                 // 删除缓存
-                this.clearCache(typeCodeList);
+                this.clearCache(typeCodes);
             }
         }
 
@@ -287,6 +302,101 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
     }
 
 
+    /**
+     * 修改字典类型编号 (单条 SQL 联动全部明细)
+     * @param typeId 字典类型ID
+     * @param oldTypeCode 旧字典类型编号
+     * @param newTypeCode 新字典类型编号
+     * @return boolean
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean updateTypeCode(String typeId, String oldTypeCode, String newTypeCode) {
+        if(StringUtils.isAnyEmpty(typeId, newTypeCode) ||
+                StringUtils.equals(oldTypeCode, newTypeCode)){
+            return false;
+        }
+
+        SysDictDetail entity = new SysDictDetail();
+        entity.setTypeCode(newTypeCode);
+
+        UpdateWrapper<SysDictDetail> wrapper = new UpdateWrapper<>();
+        wrapper.eq(FieldUtil.humpToUnderline("typeId"), typeId);
+        boolean ret = super.update(entity, wrapper);
+        if(ret){
+            // 旧编号缓存清除 新编号缓存重建
+            this.clearCache(Lists.newArrayList(
+                    oldTypeCode, newTypeCode
+            ));
+        }
+        return ret;
+    }
+
+    /**
+     * 批量修改排序 (单条 SQL)
+     * @param typeCode 字典类型编号
+     * @param models 字典明细 (id、sortNo)
+     * @return boolean
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean updateSort(String typeCode, List<DictDetailModel> models) {
+        if(StringUtils.isEmpty(typeCode) || CollUtil.isEmpty(models)){
+            return false;
+        }
+
+        Integer count = mapper.updateSortBatch(typeCode, super.transformMs2Ts(models));
+        boolean ret = count != null && count > 0;
+        if(ret){
+            // 刷新缓存
+            this.clearCache(Collections.singletonList(typeCode));
+        }
+        return ret;
+    }
+
+    /**
+     * 整体保存 字典类型下全部明细 (先删后批量插入)
+     * @param typeId 字典类型ID
+     * @param models 字典明细
+     * @return boolean
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean saveAllByType(String typeId, List<DictDetailModel> models) {
+        DictModel dictModel = iDictService.get(typeId);
+        if(dictModel == null){
+            throw new ServiceException(SystemMsg.EXCEPTION_DICT_NOT_EXIST);
+        }
+
+        if(CollUtil.isNotEmpty(models)){
+            // 唯一验证 (名称 或者 Val 重复)
+            Set<String> nameSet = Sets.newHashSetWithExpectedSize(models.size());
+            Set<String> valueSet = Sets.newHashSetWithExpectedSize(models.size());
+            for (DictDetailModel model : models) {
+                if(!nameSet.add(model.getDictName()) || !valueSet.add(model.getDictValue())){
+                    throw new ServiceException(SystemMsg.EXCEPTION_DICT_DETAIL_UNIQUE);
+                }
+                model.setId(null);
+                model.setTypeId(dictModel.getId());
+                model.setTypeCode(dictModel.getTypeCode());
+            }
+        }
+
+        // 删除旧明细
+        QueryWrapper<SysDictDetail> queryWrapper = new GenQueryBuilder<SysDictDetail>().build();
+        queryWrapper.eq(FieldUtil.humpToUnderline("typeId"), typeId);
+        super.remove(queryWrapper);
+
+        // 批量插入新明细
+        boolean ret = CollUtil.isEmpty(models) || super.insertBatch(models);
+
+        // 刷新缓存
+        this.clearCache(Collections.singletonList(
+                dictModel.getTypeCode()
+        ));
+        return ret;
+    }
+
     /**
      * 唯一验证 名称
      * @param model model
@@ -319,26 +429,121 @@ public class DictDetailServiceImpl extends CrudServiceImpl<DictDetailMapper, Sys
     // ================
 
     /**
-     * 清除缓存
+     * 刷新缓存
+     * 事务提交后 每个类型编号 只重建一次缓存、只广播一次消息
      * @param typeCodeList 类型编号集合
      */
-    private void clearCache(List<String> typeCodeList) {
-        // 删除缓存
-        if (CollUtil.isNotEmpty(typeCodeList)) {
-            int cacheCount = 0;
-            for (String typeCode : typeCodeList) {
-                cacheCount++;
-                boolean tmp = DictUtil.delAll(typeCode);
-                if(tmp){
-                    cacheCount--;
-                }
+    private void clearCache(Collection<String> typeCodeList) {
+        if (CollUtil.isEmpty(typeCodeList)) {
+            return;
+        }
+
+        // 去重
+        Set<String> typeCodes = new LinkedHashSet<>(typeCodeList);
+        typeCodes.remove(null);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            this.doClearCache(typeCodes);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doClearCache(typeCodes);
             }
-            // 判断删除状态
-            if(cacheCount != 0){
-                // 删除缓存失败
-                throw new ServiceException(CoreMsg.CACHE_DEL_EXCEPTION);
+        });
+    }
+
+    /**
+     * 刷新缓存
+     * 在事务提交后执行 数据已落库 失败时不可抛出异常 (调用方会收到错误 但写入已生效)
+     * 失败的类型编号 立即重试一次 仍失败则记入待重试集合 定时重新刷新直至成功
+     * 字典缓存为永久缓存 没有失效时间 不能依赖过期兜底
+     * @param typeCodes 类型编号集合
+     */
+    private void doClearCache(Set<String> typeCodes) {
+        Set<String> failedTypeCodes = this.refreshCache(typeCodes);
+        if(failedTypeCodes.isEmpty()){
+            return;
+        }
+
+        // 重试
+        failedTypeCodes = this.refreshCache(failedTypeCodes);
+        if(!failedTypeCodes.isEmpty()){
+            log.error("{} 类型编号{} {}秒后重试", CoreMsg.CACHE_DEL_EXCEPTION.getMessage(),
+                    failedTypeCodes, RETRY_DELAY);
+            pendingTypeCodes.addAll(failedTypeCodes);
+            this.scheduleRetry();
+        }
+    }
+
+    /**
+     * 安排重试 (同一时间只有一个重试任务)
+     */
+    private void scheduleRetry() {
+        if(!retryScheduled.compareAndSet(false, true)){
+            return;
+        }
+        try {
+            retryExecutor.schedule(this::retryPending, RETRY_DELAY, TimeUnit.SECONDS);
+        }catch (Exception e){
+            // 停机中
+            retryScheduled.set(false);
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 重新刷新 待重试的类型编号 (刷新时重新查询数据库 以最新数据为准)
+     */
+    private void retryPending() {
+        retryScheduled.set(false);
+        try {
+            Set<String> typeCodes = new LinkedHashSet<>(pendingTypeCodes);
+            Set<String> failedTypeCodes = this.refreshCache(typeCodes);
+            typeCodes.removeAll(failedTypeCodes);
+            pendingTypeCodes.removeAll(typeCodes);
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+
+        if(!pendingTypeCodes.isEmpty()){
+            log.error("{} 类型编号{} {}秒后重试", CoreMsg.CACHE_DEL_EXCEPTION.getMessage(),
+                    pendingTypeCodes, RETRY_DELAY);
+            this.scheduleRetry();
+        }
+    }
+
+    /**
+     * 停机
+     */
+    @PreDestroy
+    public void destroy() {
+        retryExecutor.shutdownNow();
+        if(!pendingTypeCodes.isEmpty()){
+            log.error("{} 停机时仍未刷新的类型编号{}", CoreMsg.CACHE_DEL_EXCEPTION.getMessage(), pendingTypeCodes);
+        }
+    }
+
+    /**
+     * 刷新缓存
+     * @param typeCodes 类型编号集合
+     * @return Set 刷新失败的类型编号
+     */
+    private Set<String> refreshCache(Set<String> typeCodes) {
+        Set<String> failedTypeCodes = new LinkedHashSet<>();
+        for (String typeCode : typeCodes) {
+            try {
+                if(!DictUtil.refresh(typeCode, this.findListByTypeCode(typeCode))){
+                    failedTypeCodes.add(typeCode);
+                }
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+                failedTypeCodes.add(typeCode);
             }
         }
+        return failedTypeCodes;
     }
 }
 
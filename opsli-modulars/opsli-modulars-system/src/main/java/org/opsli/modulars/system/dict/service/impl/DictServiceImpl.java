@@ -17,7 +17,6 @@ package org.opsli.modulars.system.dict.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.apache.commons.lang3.StringUtils;
-import org.opsli.api.wrapper.system.dict.DictDetailModel;
 import org.opsli.api.wrapper.system.dict.DictModel;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.enums.DictType;
@@ -33,7 +32,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
-import java.util.List;
 
 
 /**
@@ -83,17 +81,12 @@ public class DictServiceImpl extends CrudServiceImpl<DictMapper, SysDict, DictMo
         DictModel dictModel = super.get(model.getId());
         DictModel updateRet = super.update(model);
 
-        if(updateRet != null){
-            // 字典主表修改 子表跟着联动 （验证是否改了编号）/ 或者修改不允许改编号
-            List<DictDetailModel> listByTypeCode = null;
-            if(StringUtils.isNotEmpty(model.getTypeCode())){
-                listByTypeCode = iDictDetailService.findListByTypeCode(dictModel.getTypeCode());
-            }
-            if(listByTypeCode != null && listByTypeCode.size() > 0){
-                for (DictDetailModel dictDetailModel : listByTypeCode) {
-                    dictDetailModel.setTypeCode(updateRet.getTypeCode());
-                    iDictDetailService.update(dictDetailModel);
-                }
+        if(updateRet != null && dictModel != null){
+            // 字典主表修改 子表跟着联动 （只有改了编号才联动, 单条 SQL 批量修改）
+            if(StringUtils.isNotEmpty(model.getTypeCode()) &&
+                    !StringUtils.equals(dictModel.getTypeCode(), model.getTypeCode())){
+                iDictDetailService.updateTypeCode(dictModel.getId(),
+                        dictModel.getTypeCode(), model.getTypeCode());
             }
         }
 
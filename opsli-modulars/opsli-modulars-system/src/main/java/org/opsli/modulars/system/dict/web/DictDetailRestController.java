@@ -30,6 +30,7 @@ import org.opsli.api.wrapper.system.user.UserModel;
 import org.opsli.common.annotation.ApiRestController;
 import org.opsli.common.annotation.EnableLog;
 import org.opsli.common.annotation.RequiresPermissionsCus;
+import org.opsli.common.annotation.ResponseCache;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.exception.ServiceException;
 import org.opsli.core.base.controller.BaseRestController;
@@ -39,6 +40,7 @@ import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.WebQueryBuilder;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.SystemMsg;
+import org.opsli.modulars.system.dict.entity.SysDict;
 import org.opsli.modulars.system.dict.entity.SysDictDetail;
 import org.opsli.modulars.system.dict.service.IDictDetailService;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
@@ -251,8 +253,50 @@ public class DictDetailRestController extends BaseRestController<SysDictDetail,
      * @return ResultVo
      */
     @ApiOperation(value = "根据字典类型编号 查询出所有字典", notes = "根据字典类型编号 查询出所有字典")
+    @ResponseCache(tags = {SysDictDetail.class, SysDict.class})
     @Override
     public ResultVo<List<DictDetailModel>> findListByTypeCode(String typeCode) {
         return ResultVo.success(IService.findListByTypeCode(typeCode));
     }
+
+    /**
+     * 数据字典 批量修改排序
+     * @param typeCode 字典类型编号
+     * @param models 字典明细 (id、sortNo)
+     * @return ResultVo
+     */
+    @ApiOperation(value = "批量修改排序", notes = "批量修改排序")
+    @RequiresPermissions("system_dict_update")
+    @EnableLog
+    @Override
+    public ResultVo<?> updateSort(String typeCode, List<DictDetailModel> models) {
+        IService.updateSort(typeCode, models);
+        return ResultVo.success("修改字典明细排序成功");
+    }
+
+    /**
+     * 数据字典 整体保存字典类型下全部明细
+     * @param typeId 字典类型ID
+     * @param models 字典明细
+     * @return ResultVo
+     */
+    @ApiOperation(value = "整体保存字典明细", notes = "整体保存字典明细 - 覆盖该字典类型下全部明细")
+    @RequiresPermissions("system_dict_import")
+    @EnableLog
+    @Override
+    public ResultVo<?> saveAllByType(String typeId, List<DictDetailModel> models) {
+        // 包含内置数据 只有超级管理员可以覆盖
+        QueryWrapper<SysDictDetail> wrapper = new GenQueryBuilder<SysDictDetail>().build();
+        wrapper.eq("type_id", typeId);
+        wrapper.eq("iz_lock", LOCK_DATA);
+        if(IService.count(wrapper) > 0){
+            UserModel user = UserUtil.getUser();
+            if(!StringUtils.equals(UserUtil.SUPER_ADMIN, user.getUsername())){
+                throw new ServiceException(SystemMsg.EXCEPTION_LOCK_DATA);
+            }
+        }
+
+        IService.saveAllByType(typeId, models);
+        return ResultVo.success("保存字典明细成功");
+    }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.login.buffer;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.modulars.system.login.entity.LoginRecord;
+import org.opsli.modulars.system.user.service.IUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录信息 合并写入缓冲
+ *
+ * 登录成功后只写入内存, 同一用户多次登录合并为一条,
+ * 按固定间隔 批量更新 sys_user (IP、最后登录时间、登录次数)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class LoginRecordBuffer {
+
+    /** 线程名称 */
+    private static final String THREAD_NAME = "login-record-flush-%d";
+
+    /** 待写入 登录信息 */
+    private final ConcurrentMap<String, LoginRecord> recordMap = new ConcurrentHashMap<>();
+
+    /** 定时写入 */
+    private ScheduledThreadPoolExecutor executor;
+
+    /** 每批写入数量 */
+    private int batchSize;
+
+    @Autowired
+    private IUserService iUserService;
+
+    @Autowired
+    private GlobalProperties globalProperties;
+
+    /**
+     * 记录登录信息
+     * @param userId 用户ID
+     * @param loginIp 登录IP
+     */
+    public void record(String userId, String loginIp){
+        if(StringUtils.isEmpty(userId)){
+            return;
+        }
+        recordMap.merge(userId,
+                new LoginRecord(userId, loginIp, new Date(), 1), LoginRecord::merge);
+    }
+
+    /**
+     * 写入数据库
+     */
+    public synchronized void flush(){
+        if(recordMap.isEmpty()){
+            return;
+        }
+
+        // 取出当前周期数据 (取出期间新产生的登录 留到下个周期)
+        List<LoginRecord> records = Lists.newArrayListWithCapacity(recordMap.size());
+        for (String userId : recordMap.keySet()) {
+            LoginRecord record = recordMap.remove(userId);
+            if(record != null){
+                records.add(record);
+            }
+        }
+
+        for (List<LoginRecord> partition : Lists.partition(records, batchSize)) {
+            try {
+                iUserService.updateLoginRecordBatch(partition);
+            }catch (Exception e){
+                log.error(e.getMessage(), e);
+                // 写入失败 放回缓冲 下个周期重试
+                for (LoginRecord record : partition) {
+                    recordMap.merge(record.getUserId(), record, LoginRecord::merge);
+                }
+            }
+        }
+    }
+
+    /**
+     * 初始化
+     */
+    @PostConstruct
+    public void init(){
+        GlobalProperties.Auth.Login login = new GlobalProperties.Auth.Login();
+        if(globalProperties.getAuth() != null && globalProperties.getAuth().getLogin() != null){
+            login = globalProperties.getAuth().getLogin();
+        }
+        int interval = Math.max(1, login.getRecordFlushInterval());
+        this.batchSize = Math.max(1, login.getRecordBatchSize());
+
+        executor = new ScheduledThreadPoolExecutor(1,
+                new BasicThreadFactory.Builder().namingPattern(THREAD_NAME).daemon(true).build());
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停机前 写入剩余数据
+     */
+    @PreDestroy
+    public void destroy(){
+        if(executor != null){
+            executor.shutdown();
+        }
+        this.flushQuietly();
+    }
+
+    /**
+     * 写入数据库 (定时任务中异常不可抛出 否则后续任务终止)
+     */
+    private void flushQuietly(){
+        try {
+            this.flush();
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.login.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 登录信息 (合并写入用)
+ *
+ * 同一用户在一个写入周期内多次登录 只保留最后一次的 IP 与时间, 次数累加
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginRecord {
+
+    /** 用户ID */
+    private String userId;
+
+    /** 最后登录IP */
+    private String loginIp;
+
+    /** 最后登录时间 */
+    private Date loginTime;
+
+    /** 本周期内 登录次数 */
+    private Integer loginCount;
+
+    /**
+     * 合并两条登录信息
+     * @param r1 登录信息
+     * @param r2 登录信息
+     * @return LoginRecord
+     */
+    public static LoginRecord merge(LoginRecord r1, LoginRecord r2){
+        LoginRecord last = r1.getLoginTime().after(r2.getLoginTime()) ? r1 : r2;
+        return new LoginRecord(last.getUserId(), last.getLoginIp(), last.getLoginTime(),
+                r1.getLoginCount() + r2.getLoginCount());
+    }
+
+}
@@ -34,12 +34,11 @@ import org.opsli.core.api.TokenThreadLocal;
 import org.opsli.common.enums.AlertType;
 import org.opsli.common.enums.OptionsType;
 import org.opsli.common.exception.TokenException;
-import org.opsli.common.thread.refuse.AsyncProcessQueueReFuse;
 import org.opsli.common.utils.IPUtil;
 import org.opsli.core.msg.TokenMsg;
 import org.opsli.core.utils.*;
+import org.opsli.modulars.system.login.buffer.LoginRecordBuffer;
 import org.opsli.modulars.system.login.entity.LoginForm;
-import org.opsli.modulars.system.user.service.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -66,7 +65,7 @@ import java.util.Map;
 public class LoginRestController {
 
     @Autowired
-    private IUserService iUserService;
+    private LoginRecordBuffer loginRecordBuffer;
 
     /**
      * 登录 登录数据加密
@@ -149,13 +148,9 @@ public class LoginRestController {
         //生成token，并保存到Redis
         ResultVo<UserTokenUtil.TokenRet> resultVo = UserTokenUtil.createToken(user);
         if(resultVo.isSuccess()){
-            // 异步保存IP
-            AsyncProcessQueueReFuse.execute(()->{
-                // 保存用户最后登录IP
-                String clientIpAddress = IPUtil.getClientIdBySingle(request);
-                user.setLoginIp(clientIpAddress);
-                iUserService.updateLoginIp(user);
-            });
+            // 记录登录信息 (IP、时间、次数) 合并后定时批量写入
+            String clientIpAddress = IPUtil.getClientIdBySingle(request);
+            loginRecordBuffer.record(user.getId(), clientIpAddress);
         }
         return resultVo;
     }
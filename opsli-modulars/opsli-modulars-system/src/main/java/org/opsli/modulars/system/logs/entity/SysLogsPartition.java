@@ -0,0 +1,35 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.logs.entity;
+
+import lombok.Data;
+
+/**
+ * 日志表分区
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Data
+public class SysLogsPartition {
+
+    /** 分区名称 */
+    private String name;
+
+    /** 分区上界 (LESS THAN) 最大分区为 MAXVALUE */
+    private String description;
+
+}
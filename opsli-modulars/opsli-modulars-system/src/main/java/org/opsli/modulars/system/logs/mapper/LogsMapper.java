@@ -17,9 +17,12 @@ package org.opsli.modulars.system.logs.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.opsli.modulars.system.logs.entity.SysLogs;
 
 import java.util.Date;
+import java.util.Map;
 
 
 /**
@@ -38,4 +41,47 @@ public interface LogsMapper extends BaseMapper<SysLogs> {
      */
     boolean emptyByOneMonth(Date date);
 
+    /**
+     * 分批删除 指定日期之前的数据
+     * @param date 日期
+     * @param limit 每批数量
+     * @return Integer 删除数量
+     */
+    Integer deleteBeforeLimit(@Param("date") Date date, @Param("limit") Integer limit);
+
+    /**
+     * 查询日志表建表语句
+     * @return Map 第二列为建表语句
+     */
+    Map<String, Object> showCreateTable();
+
+    /**
+     * 拆分最大分区 新增分区
+     * @param name 分区名称
+     * @param lessThan 分区上界
+     * @param maxName 最大分区名称
+     */
+    void reorganizeMaxPartition(@Param("name") String name, @Param("lessThan") String lessThan,
+                                @Param("maxName") String maxName);
+
+    /**
+     * 新增分区 (无最大分区时)
+     * @param name 分区名称
+     * @param lessThan 分区上界
+     */
+    void addPartition(@Param("name") String name, @Param("lessThan") String lessThan);
+
+    /**
+     * 删除分区
+     * @param name 分区名称
+     */
+    void dropPartition(@Param("name") String name);
+
+    /**
+     * 流式读取 分区数据 (归档用)
+     * @param name 分区名称
+     * @param handler 数据处理器
+     */
+    void findByPartition(@Param("name") String name, ResultHandler<SysLogs> handler);
+
 }
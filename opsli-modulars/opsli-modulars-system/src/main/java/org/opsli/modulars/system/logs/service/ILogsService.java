@@ -34,4 +34,11 @@ public interface ILogsService extends CrudServiceInterface<SysLogs, LogsModel> {
      */
     boolean emptyByOneMonth();
 
+    /**
+     * 日志维护
+     * 分区模式 预建未来分区、归档并删除过期分区
+     * 单表模式 分批删除过期日志
+     */
+    void maintain();
+
 }
@@ -15,17 +15,40 @@
  */
 package org.opsli.modulars.system.logs.service.impl;
 
+import cn.hutool.core.date.DateField;
+import cn.hutool.core.date.DateTime;
 import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
 import org.opsli.api.wrapper.system.logs.LogsModel;
+import org.opsli.common.enums.LogsStorageType;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
 import org.opsli.core.base.service.impl.CrudServiceImpl;
 import org.opsli.modulars.system.logs.entity.SysLogs;
+import org.opsli.modulars.system.logs.entity.SysLogsPartition;
 import org.opsli.modulars.system.logs.mapper.LogsMapper;
 import org.opsli.modulars.system.logs.service.ILogsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 
 /**
@@ -34,32 +57,278 @@ import java.util.Date;
  * @author Parker
  * @date 2020-11-28 18:59:59
  */
+@Slf4j
 @Service
 public class LogsServiceImpl extends CrudServiceImpl<LogsMapper, SysLogs, LogsModel> implements ILogsService {
 
-    /** Log 存储量阈值 */
-    private static final int LOG_BIG_COUNT = 10_0000;
+    /** 最大分区名称 */
+    private static final String PARTITION_MAX = "p_max";
+    /** 历史分区名称 */
+    private static final String PARTITION_HISTORY = "p_history";
+    /** 最大分区上界 */
+    private static final String PARTITION_MAX_VALUE = "MAXVALUE";
+    /** 月分区名称前缀 */
+    private static final String PARTITION_PREFIX = "p";
+    /** 月分区名称格式 */
+    private static final String PARTITION_FORMAT = "yyyyMM";
+    /** 月分区名称 校验 (分区名称无法参数化 拼接前必须校验) */
+    private static final Pattern MONTH_PARTITION_PATTERN = Pattern.compile("^p\\d{6}$");
+    /** 分区上界 日期提取 */
+    private static final Pattern PARTITION_DATE_PATTERN = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})");
+    /** 建表语句 分区定义提取 */
+    private static final Pattern PARTITION_DEF_PATTERN = Pattern.compile(
+            "PARTITION\\s+`?(\\w+)`?\\s+VALUES\\s+LESS\\s+THAN\\s+\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    /** 归档文件后缀 */
+    private static final String ARCHIVE_SUFFIX = ".jsonl.gz";
 
     @Autowired(required = false)
     private LogsMapper mapper;
 
+    @Autowired
+    private GlobalProperties globalProperties;
+
     @Transactional(rollbackFor = Exception.class)
     @Override
     public LogsModel insert(LogsModel model) {
-        int count = super.count();
-        // 如果日志存储量为10万 则自动清空上月前数据
-        if(count > LOG_BIG_COUNT){
-            this.emptyByOneMonth();
-        }
+        // 过期日志由定时维护任务清理 不再每次写入前统计全表
         return super.insert(model);
     }
 
-    @Transactional(rollbackFor = Exception.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public boolean emptyByOneMonth() {
         Date newDate = DateUtil.lastMonth();
-        return mapper.emptyByOneMonth(newDate);
+        if(this.isPartitionStorage()){
+            List<SysLogsPartition> partitions = this.findPartitions();
+            if(!partitions.isEmpty()){
+                this.dropExpiredPartitions(partitions, newDate);
+                return true;
+            }
+        }
+        this.deleteBefore(newDate);
+        return true;
     }
-}
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public void maintain() {
+        GlobalProperties.Logs logsProperties = this.getLogsProperties();
+        // 保留月数 以自然月计算
+        Date expireDate = DateUtil.beginOfMonth(
+                DateUtil.offsetMonth(new Date(), -Math.max(1, logsProperties.getRetainMonths())));
+
+        if(this.isPartitionStorage()){
+            List<SysLogsPartition> partitions = this.findPartitions();
+            if(!partitions.isEmpty()){
+                // 预建分区
+                this.createPartitions(partitions, logsProperties.getPreCreateMonths());
+                // 删除过期分区
+                this.dropExpiredPartitions(this.findPartitions(), expireDate);
+                return;
+            }
+            log.warn("sys_logs 尚未分区, 请先执行日志分区脚本, 本次按单表模式清理");
+        }
+
+        this.deleteBefore(expireDate);
+    }
+
+    // ======================
 
+    /**
+     * 单表模式 分批删除 (每批独立提交 避免长事务与长时间锁表)
+     * @param date 日期
+     */
+    private void deleteBefore(Date date){
+        int batchSize = Math.max(1, this.getLogsProperties().getDeleteBatchSize());
+        int total = 0;
+        Integer count;
+        do {
+            count = mapper.deleteBeforeLimit(date, batchSize);
+            if(count != null){
+                total += count;
+            }
+        } while (count != null && count >= batchSize);
+        log.info("sys_logs 清理过期日志 {} 条", total);
+    }
+
+    /**
+     * 预建 当月及未来月份分区
+     * @param partitions 现有分区
+     * @param preCreateMonths 预建月数
+     */
+    private void createPartitions(List<SysLogsPartition> partitions, Integer preCreateMonths){
+        Set<String> names = new HashSet<>();
+        String maxName = null;
+        Date maxBound = null;
+        for (SysLogsPartition partition : partitions) {
+            names.add(partition.getName());
+            if(PARTITION_MAX_VALUE.equalsIgnoreCase(partition.getDescription())){
+                maxName = partition.getName();
+                continue;
+            }
+            Date bound = this.parseBound(partition);
+            if(bound != null && (maxBound == null || bound.after(maxBound))){
+                maxBound = bound;
+            }
+        }
+
+        if(maxName != null && !this.isSafePartitionName(maxName)){
+            log.warn("sys_logs 最大分区名称不合法 {}, 跳过预建分区", maxName);
+            return;
+        }
+
+        DateTime month = DateUtil.beginOfMonth(new Date());
+        for (int i = 0; i <= Math.max(0, preCreateMonths); i++) {
+            DateTime lessThan = DateUtil.offset(month, DateField.MONTH, 1);
+            String name = PARTITION_PREFIX + DateUtil.format(month, PARTITION_FORMAT);
+            // 已存在 或已被其他分区覆盖
+            if(!names.contains(name) && (maxBound == null || lessThan.after(maxBound))){
+                String lessThanStr = DateUtil.formatDate(lessThan);
+                if(!MONTH_PARTITION_PATTERN.matcher(name).matches()){
+                    log.warn("sys_logs 分区名称不合法 {}, 跳过预建分区", name);
+                    return;
+                }
+                if(maxName != null){
+                    mapper.reorganizeMaxPartition(name, lessThanStr, maxName);
+                }else{
+                    mapper.addPartition(name, lessThanStr);
+                }
+                maxBound = lessThan;
+                log.info("sys_logs 新增分区 {} < {}", name, lessThanStr);
+            }
+            month = lessThan;
+        }
+    }
+
+    /**
+     * 删除过期分区 (分区上界 不晚于过期日期 即分区内全部为过期数据)
+     * @param partitions 现有分区
+     * @param expireDate 过期日期
+     */
+    private void dropExpiredPartitions(List<SysLogsPartition> partitions, Date expireDate){
+        GlobalProperties.Logs logsProperties = this.getLogsProperties();
+        for (SysLogsPartition partition : partitions) {
+            Date bound = this.parseBound(partition);
+            if(bound == null || bound.after(expireDate)){
+                continue;
+            }
+            if(!this.isSafePartitionName(partition.getName())){
+                log.warn("sys_logs 分区名称不合法 {}, 跳过删除", partition.getName());
+                continue;
+            }
+
+            // 归档
+            if(Boolean.TRUE.equals(logsProperties.getArchive())){
+                try {
+                    this.archivePartition(partition.getName(), logsProperties.getArchivePath());
+                }catch (Exception e){
+                    // 归档失败 保留分区 下次重试
+                    log.error("sys_logs 分区归档失败 " + partition.getName(), e);
+                    continue;
+                }
+            }
+
+            mapper.dropPartition(partition.getName());
+            log.info("sys_logs 删除过期分区 {}", partition.getName());
+        }
+    }
+
+    /**
+     * 归档分区 流式读取 逐行写入 gzip 压缩的 JSON Lines 文件
+     * @param name 分区名称
+     * @param archivePath 归档目录
+     */
+    private void archivePartition(String name, String archivePath) throws IOException {
+        File target = FileUtil.file(archivePath, "sys_logs_" + name + ARCHIVE_SUFFIX);
+        File tmp = FileUtil.file(archivePath, "sys_logs_" + name + ARCHIVE_SUFFIX + ".tmp");
+        FileUtil.mkParentDirs(tmp);
+
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(FileUtil.getOutputStream(tmp)), StandardCharsets.UTF_8))){
+            mapper.findByPartition(name, context -> {
+                try {
+                    writer.write(JSONObject.toJSONString(context.getResultObject()));
+                    writer.newLine();
+                }catch (IOException e){
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        // 写入完成后再替换 防止残缺文件
+        FileUtil.move(tmp, target, true);
+        log.info("sys_logs 分区 {} 已归档至 {}", name, target.getAbsolutePath());
+    }
+
+    /**
+     * 查询日志表分区 (解析建表语句)
+     * 不查询 information_schema.partitions, Druid wall 默认拒绝访问 information_schema
+     * @return List 未分区 返回空集合
+     */
+    private List<SysLogsPartition> findPartitions(){
+        List<SysLogsPartition> partitions = new ArrayList<>();
+        Map<String, Object> createTable = mapper.showCreateTable();
+        if(createTable == null){
+            return partitions;
+        }
+
+        // 第二列为建表语句 (列名受 Map 包装配置影响 不按列名读取)
+        for (Object value : createTable.values()) {
+            String ddl = StrUtil.toString(value);
+            if(!StrUtil.containsIgnoreCase(ddl, "CREATE TABLE")){
+                continue;
+            }
+            Matcher matcher = PARTITION_DEF_PATTERN.matcher(ddl);
+            while (matcher.find()){
+                SysLogsPartition partition = new SysLogsPartition();
+                partition.setName(matcher.group(1));
+                partition.setDescription(StrUtil.trim(matcher.group(2)));
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 分区名称 是否合法 (月分区、历史分区、最大分区)
+     * @param name 分区名称
+     * @return boolean
+     */
+    private boolean isSafePartitionName(String name){
+        return name != null && (MONTH_PARTITION_PATTERN.matcher(name).matches() ||
+                PARTITION_HISTORY.equals(name) || PARTITION_MAX.equals(name));
+    }
+
+    /**
+     * 解析分区上界
+     * @param partition 分区
+     * @return Date MAXVALUE 或无法解析 返回 null
+     */
+    private Date parseBound(SysLogsPartition partition){
+        if(StrUtil.isEmpty(partition.getDescription())){
+            return null;
+        }
+        Matcher matcher = PARTITION_DATE_PATTERN.matcher(partition.getDescription());
+        if(!matcher.find()){
+            return null;
+        }
+        return DateUtil.parseDate(matcher.group(1));
+    }
+
+    /**
+     * 是否为分区存储
+     * @return boolean
+     */
+    private boolean isPartitionStorage(){
+        return LogsStorageType.PARTITION == this.getLogsProperties().getStorage();
+    }
+
+    /**
+     * 获得日志配置
+     * @return Logs
+     */
+    private GlobalProperties.Logs getLogsProperties(){
+        GlobalProperties.Logs logsProperties = globalProperties.getLogs();
+        return logsProperties != null ? logsProperties : new GlobalProperties.Logs();
+    }
+}
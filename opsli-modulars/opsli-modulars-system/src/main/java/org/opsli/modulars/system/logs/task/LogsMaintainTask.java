@@ -0,0 +1,113 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.logs.task;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.utils.DistributedLockUtil;
+import org.opsli.modulars.system.logs.service.ILogsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志维护 定时任务
+ *
+ * 启动后延迟执行一次, 之后按维护间隔执行 (预建分区、清除过期日志)
+ * 集群内 同一时间只有一个节点执行, 未抢到锁的节点 跳过本次
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class LogsMaintainTask {
+
+    /** 线程名称 */
+    private static final String THREAD_NAME = "logs-maintain-%d";
+
+    /** 启动后首次执行延迟 (分钟) */
+    private static final long INITIAL_DELAY = 1;
+
+    /** 锁名称 */
+    private static final String LOCK_NAME = "logs:maintain";
+
+    /** 定时执行 */
+    private ScheduledThreadPoolExecutor executor;
+
+    /** 锁有效时长 (秒) 取维护间隔 节点宕机未释放时 最晚下个周期可再次执行 */
+    private long lockLeaseTime;
+
+    @Autowired
+    private ILogsService iLogsService;
+
+    @Autowired
+    private GlobalProperties globalProperties;
+
+    /**
+     * 初始化
+     */
+    @PostConstruct
+    public void init(){
+        GlobalProperties.Logs logsProperties = globalProperties.getLogs();
+        if(logsProperties == null){
+            logsProperties = new GlobalProperties.Logs();
+        }
+        long interval = TimeUnit.HOURS.toMinutes(Math.max(1, logsProperties.getMaintainInterval()));
+
+        lockLeaseTime = TimeUnit.MINUTES.toSeconds(interval);
+
+        executor = new ScheduledThreadPoolExecutor(1,
+                new BasicThreadFactory.Builder().namingPattern(THREAD_NAME).daemon(true).build());
+        executor.scheduleWithFixedDelay(this::maintain, INITIAL_DELAY, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 停机
+     */
+    @PreDestroy
+    public void destroy(){
+        if(executor != null){
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 日志维护 (定时任务中异常不可抛出 否则后续任务终止)
+     */
+    private void maintain(){
+        try {
+            // 其他节点 正在维护
+            if(!DistributedLockUtil.lock(LOCK_NAME, lockLeaseTime)){
+                log.info("日志维护 已由其他节点执行, 本节点跳过");
+                return;
+            }
+            try {
+                iLogsService.maintain();
+            }finally {
+                DistributedLockUtil.unlock(LOCK_NAME);
+            }
+        }catch (Exception e){
+            log.error(e.getMessage(), e);
+        }
+    }
+
+}
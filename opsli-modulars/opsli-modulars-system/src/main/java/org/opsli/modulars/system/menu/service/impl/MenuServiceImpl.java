@@ -33,6 +33,7 @@ import org.opsli.core.msg.CoreMsg;
 import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
 import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.utils.MenuUtil;
+import org.opsli.core.utils.RoleVersionUtil;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.SystemMsg;
 import org.opsli.modulars.system.menu.entity.SysMenu;
@@ -40,7 +41,6 @@ import org.opsli.modulars.system.menu.factory.MenuFactory;
 import org.opsli.modulars.system.menu.mapper.MenuMapper;
 import org.opsli.modulars.system.menu.service.IMenuService;
 import org.opsli.modulars.system.role.service.IRoleMenuRefService;
-import org.opsli.modulars.system.user.service.IUserRoleRefService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -64,8 +64,6 @@ public class MenuServiceImpl extends CrudServiceImpl<MenuMapper, SysMenu, MenuMo
     @Autowired(required = false)
     private MenuMapper mapper;
     @Autowired
-    private IUserRoleRefService iUserRoleRefService;
-    @Autowired
     private IRoleMenuRefService iRoleMenuRefService;
 
     @Override
@@ -371,26 +369,9 @@ public class MenuServiceImpl extends CrudServiceImpl<MenuMapper, SysMenu, MenuMo
         if(cacheRet){
             cacheCount--;
         }
-        // 清空该菜单下 用户缓存
-        List<String> userIdList = iUserRoleRefService.getUserIdListByMenuId(menuModel.getId());
-        if(CollUtil.isNotEmpty(userIdList)){
-            for (String userId : userIdList) {
-                cacheCount += 3;
-                // 清空当期用户缓存角色、权限、菜单
-                cacheRet = UserUtil.refreshUserRoles(userId);
-                if(cacheRet){
-                    cacheCount--;
-                }
-                cacheRet = UserUtil.refreshUserAllPerms(userId);
-                if(cacheRet){
-                    cacheCount--;
-                }
-                cacheRet = UserUtil.refreshUserMenus(userId);
-                if(cacheRet){
-                    cacheCount--;
-                }
-            }
-        }
+        // 递增引用该菜单的角色版本号 该角色下用户的 权限、菜单 缓存按需重建
+        List<String> roleCodeList = iRoleMenuRefService.getRoleCodeListByMenuId(menuModel.getId());
+        RoleVersionUtil.incrVersion(roleCodeList);
 
         // 菜单有变动 直接刷新超级管理员 菜单缓存
         UserModel adminUser = UserUtil.getUserByUserName(UserUtil.SUPER_ADMIN);
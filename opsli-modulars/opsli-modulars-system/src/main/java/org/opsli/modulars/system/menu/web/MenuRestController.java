@@ -15,7 +15,6 @@
  */
 package org.opsli.modulars.system.menu.web;
 
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.convert.Convert;
@@ -31,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.web.system.menu.MenuApi;
 import org.opsli.api.wrapper.system.menu.MenuFullModel;
 import org.opsli.api.wrapper.system.menu.MenuModel;
@@ -38,6 +38,7 @@ import org.opsli.api.wrapper.system.user.UserModel;
 import org.opsli.common.annotation.ApiRestController;
 import org.opsli.common.annotation.EnableLog;
 import org.opsli.common.annotation.RequiresPermissionsCus;
+import org.opsli.common.annotation.ResponseCache;
 import org.opsli.common.constants.MenuConstants;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.enums.DictType;
@@ -50,9 +51,13 @@ import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
 import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.WebQueryBuilder;
 import org.opsli.core.utils.TreeBuildUtil;
+import org.opsli.core.utils.TreeNodeProjection;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.menu.entity.SysMenu;
 import org.opsli.modulars.system.menu.service.IMenuService;
+import org.opsli.modulars.system.role.entity.SysRole;
+import org.opsli.modulars.system.role.entity.SysRoleMenuRef;
+import org.opsli.modulars.system.user.entity.SysUserRoleRef;
 import org.opsli.modulars.system.user.service.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
@@ -92,6 +97,16 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
             "hidden", "version", "sortNo", "url", "icon"
     };
 
+    /** 菜单树 字段投影 */
+    private static final TreeNodeProjection<MenuModel> MENU_PROJECTION =
+            TreeNodeProjection.of(MenuModel.class)
+                    .customize(MenuRestController::handleMenuNode);
+
+    /** 菜单树 字段投影 (排除字段) */
+    private static final TreeNodeProjection<MenuModel> MENU_EXCLUSION_PROJECTION =
+            TreeNodeProjection.of(MenuModel.class, EXCLUSION_FIELDS)
+                    .customize(MenuRestController::handleMenuNode);
+
     /**
      * 根据 获得用户 菜单 - 按钮权限 不是高频率
      * 判断是否是超级管理员，如果是 则显示全部菜单 否则显示有权限菜单
@@ -99,6 +114,8 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
      * @return ResultVo
      */
     @ApiOperation(value = "根据 获得用户 菜单 - 权限", notes = "根据 获得用户 菜单 - 权限")
+    @ResponseCache(tags = {SysMenu.class, SysRoleMenuRef.class, SysUserRoleRef.class, SysRole.class},
+            perUser = true)
     @Override
     public ResultVo<?> getMenuAndPermsTree() {
         UserModel user = UserUtil.getUser();
@@ -144,7 +161,7 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
                         ));
 
         // 获得菜单树
-        List<Tree<Object>> treeNodes = getMenuTrees(menuModelList, EXCLUSION_FIELDS);
+        List<Tree<Object>> treeNodes = getMenuTrees(menuModelList, MENU_EXCLUSION_PROJECTION);
 
         return ResultVo.success(treeNodes);
     }
@@ -259,12 +276,13 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
     @ApiOperation(value = "获得菜单List", notes = "获得菜单List")
     @RequiresPermissions("system_menu_select")
     @Override
-    public ResultVo<List<MenuModel>> findList() {
+    public StreamResultVo<MenuModel> findList() {
         QueryBuilder<SysMenu> queryBuilder = new GenQueryBuilder<>();
-        // 菜单集合
-        List<SysMenu> menuList = IService.findList(queryBuilder.build());
-        List<MenuModel> menuModelList = WrapperUtil.transformInstance(menuList, modelClazz);
-        return ResultVo.success(menuModelList);
+        // 菜单集合 (流式输出)
+        return StreamResultVo.success(
+                IService.findListStream(queryBuilder.build())
+                        .map(menu -> WrapperUtil.transformInstance(menu, modelClazz))
+        );
     }
 
     /**
@@ -450,59 +468,33 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
     // ==============================
 
     /**
-     * 获得BeanMap集合
-     * @param dataList 数据集合
-     * @return List
+     * 处理菜单节点 扩展属性
+     * @param model 菜单
+     * @param tree 树节点
      */
-    private List<Map<String, Object>> getBeanMapList(List<MenuModel> dataList, String[] exclusionFields) {
-        List<Map<String, Object>> beanMapList = Lists.newArrayList();
-        if(CollUtil.isEmpty(dataList)){
-            return beanMapList;
+    private static void handleMenuNode(MenuModel model, Tree<Object> tree) {
+        // 扩展属性 ...
+        String path = model.getUrl();
+        // 如果是外链 则判断是否存在 BASE_PATH
+        // 设置BASE_PATH
+        if(MenuConstants.EXTERNAL.equals(model.getType()) && StringUtils.isNotEmpty(path)){
+            path = path.replace("${BASE_PATH}", StartPrint.getInstance().getBasePath());
         }
 
-        // 转化为 BeanMap 处理数据
-        for (MenuModel model : dataList) {
-            Map<String, Object> beanToMap = BeanUtil.beanToMap(model);
-            // 排除字段
-            if(exclusionFields != null && exclusionFields.length > 0){
-                for (String exclusionField : exclusionFields) {
-                    beanToMap.remove(exclusionField);
-                }
-            }
-
-
-            // 扩展属性 ...
-            // 不是外链 则处理组件
-            if(!MenuConstants.EXTERNAL.equals(model.getType())){
-                beanToMap.put("component", model.getComponent());
-            }else{
-                // 如果是外链 则判断是否存在 BASE_PATH
-                // 设置BASE_PATH
-                if(StringUtils.isNotEmpty(model.getUrl())){
-                    model.setUrl(model.getUrl().replace("${BASE_PATH}",
-                            StartPrint.getInstance().getBasePath()
-                    ));
-                }
-            }
-
-            beanToMap.put(SORT_FIELD, model.getSortNo());
-            beanToMap.put("path", model.getUrl());
-            beanToMap.put("name", model.getMenuName());
-
-            // 处理 meta
-            Map<String,String> metaMap = Maps.newHashMapWithExpectedSize(3);
-            metaMap.put("title", model.getMenuName());
-            metaMap.put("icon", model.getIcon());
-            // 外链处理
-            if(MenuConstants.EXTERNAL.equals(model.getType())){
-                metaMap.put("target", "_blank");
-            }
-
-            beanToMap.put("meta", metaMap);
-            beanMapList.add(beanToMap);
+        tree.setWeight(model.getSortNo());
+        tree.putExtra("path", path);
+        tree.putExtra("name", model.getMenuName());
+
+        // 处理 meta
+        Map<String,String> metaMap = Maps.newHashMapWithExpectedSize(3);
+        metaMap.put("title", model.getMenuName());
+        metaMap.put("icon", model.getIcon());
+        // 外链处理
+        if(MenuConstants.EXTERNAL.equals(model.getType())){
+            metaMap.put("target", "_blank");
         }
 
-        return beanMapList;
+        tree.putExtra("meta", metaMap);
     }
 
 
@@ -523,26 +515,26 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
      */
     private List<Tree<Object>> getMenuTrees(List<MenuModel> menuList, String parentId, int deep) {
         //转换器
-        return this.getMenuTrees(menuList, null, parentId, deep);
+        return this.getMenuTrees(menuList, MENU_PROJECTION, parentId, deep);
     }
 
     /**
      * 获得菜单树
      * @param menuList 菜单集合
-     * @param exclusionFields 排除字段
+     * @param projection 字段投影
      * @return List
      */
-    private List<Tree<Object>> getMenuTrees(List<MenuModel> menuList, String[] exclusionFields) {
-        return getMenuTrees(menuList, exclusionFields, null, 4);
+    private List<Tree<Object>> getMenuTrees(List<MenuModel> menuList, TreeNodeProjection<MenuModel> projection) {
+        return getMenuTrees(menuList, projection, null, 4);
     }
 
     /**
      * 获得菜单树
      * @param menuList 菜单集合
-     * @param exclusionFields 排除字段
+     * @param projection 字段投影
      * @return List
      */
-    private List<Tree<Object>> getMenuTrees(List<MenuModel> menuList, String[] exclusionFields,
+    private List<Tree<Object>> getMenuTrees(List<MenuModel> menuList, TreeNodeProjection<MenuModel> projection,
                                             String parentId,  int deep) {
         if(CollUtil.isEmpty(menuList)){
             return ListUtil.empty();
@@ -553,9 +545,6 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
             deep = 4;
         }
 
-        // 获得BeanMapList
-        List<Map<String, Object>> beanMapList = this.getBeanMapList(menuList, exclusionFields);
-
         //配置
         TreeNodeConfig treeNodeConfig = new TreeNodeConfig();
         // 自定义属性名 都要默认值的
@@ -566,10 +555,10 @@ public class MenuRestController extends BaseRestController<SysMenu, MenuModel, I
         // 如果 parentId 不为空
         if(StringUtils.isNotEmpty(parentId)){
             //转换器
-            return TreeBuildUtil.INSTANCE.build(beanMapList, parentId ,treeNodeConfig);
+            return TreeBuildUtil.INSTANCE.build(menuList, parentId, treeNodeConfig, projection);
         }
         //转换器
-        return TreeBuildUtil.INSTANCE.build(beanMapList, treeNodeConfig);
+        return TreeBuildUtil.INSTANCE.build(menuList, treeNodeConfig, projection);
     }
 
     /**
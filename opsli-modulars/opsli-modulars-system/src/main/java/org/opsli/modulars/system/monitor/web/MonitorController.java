@@ -22,6 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.opsli.api.base.result.ResultVo;
 import org.opsli.common.annotation.ApiRestController;
+import org.opsli.common.thread.pool.ThreadPoolRegistry;
+import org.opsli.core.cache.local.CacheUtil;
 import org.opsli.core.utils.SystemInfoUtil;
 import org.springframework.web.bind.annotation.GetMapping;
 
@@ -96,4 +98,28 @@ public class MonitorController {
                 SystemInfoUtil.INSTANCE.getJvmInfo());
     }
 
+    /**
+     * 查询线程池信息
+     * @return ResultVo
+     */
+    @RequiresPermissions("devops_sysmonitor_select")
+    @GetMapping("/getThreadPoolInfo")
+    @ApiOperation(value = "当前线程池信息", notes = "当前线程池信息")
+    public ResultVo<?> getThreadPoolInfo() {
+        return ResultVo.success(
+                ThreadPoolRegistry.getStats());
+    }
+
+    /**
+     * 查询热点Key信息
+     * @return ResultVo
+     */
+    @RequiresPermissions("devops_sysmonitor_select")
+    @GetMapping("/getHotKeyInfo")
+    @ApiOperation(value = "当前节点热点Key信息", notes = "当前节点热点Key信息")
+    public ResultVo<?> getHotKeyInfo() {
+        return ResultVo.success(
+                CacheUtil.getHotKeys());
+    }
+
 }
@@ -29,11 +29,13 @@ import opsli.plugins.crypto.model.CryptoAsymmetric;
 import opsli.plugins.crypto.strategy.CryptoAsymmetricService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.base.result.StreamResultVo;
 import org.opsli.api.web.system.options.OptionsApi;
 import org.opsli.api.wrapper.system.options.OptionsModel;
 import org.opsli.common.annotation.ApiRestController;
 import org.opsli.common.annotation.EnableLog;
 import org.opsli.common.annotation.RequiresPermissionsCus;
+import org.opsli.common.annotation.ResponseCache;
 import org.opsli.common.enums.DictType;
 import org.opsli.common.utils.WrapperUtil;
 import org.opsli.core.base.controller.BaseRestController;
@@ -256,6 +258,7 @@ public class SysOptionsRestController extends BaseRestController<SysOptions, Opt
      * 根据编号 获得参数配置
      * @param optionCode 参数编号
      */
+    @ResponseCache(tags = SysOptions.class)
     @Override
     public ResultVo<OptionsModel> getByCode(String optionCode) {
 
@@ -272,6 +275,7 @@ public class SysOptionsRestController extends BaseRestController<SysOptions, Opt
      * 系统参数 查询全部
      * @return ResultVo
      */
+    @ResponseCache(tags = SysOptions.class)
     @Override
     public ResultVo<Map<String, OptionsModel>> findAllOptions() {
         QueryWrapper<SysOptions> queryWrapper = new QueryWrapper<>();
@@ -290,9 +294,10 @@ public class SysOptionsRestController extends BaseRestController<SysOptions, Opt
      * @return ResultVo
      */
     @Override
-    public ResultVo<List<OptionsModel>> findAll() {
-        return ResultVo.success(
-                WrapperUtil.transformInstance(IService.findAllList(), OptionsModel.class)
+    public StreamResultVo<OptionsModel> findAll() {
+        return StreamResultVo.success(
+                IService.findAllListStream()
+                        .map(option -> WrapperUtil.transformInstance(option, OptionsModel.class))
         );
     }
 
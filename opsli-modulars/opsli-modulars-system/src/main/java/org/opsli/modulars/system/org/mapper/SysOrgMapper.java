@@ -50,4 +50,13 @@ public interface SysOrgMapper extends BaseMapper<SysOrg> {
      */
     Integer hasUse(@Param(Constants.WRAPPER) Wrapper<?> wrapper);
 
+    /**
+     * 批量替换 子树 ParentIds 前缀 (移动子树)
+     * @param oldPrefix 原子树前缀 (原ParentIds,ID)
+     * @param newPrefix 新子树前缀 (新ParentIds,ID)
+     * @return Integer
+     */
+    Integer updateChildrenParentIdsByPrefix(@Param("oldPrefix") String oldPrefix,
+                                            @Param("newPrefix") String newPrefix);
+
 }
@@ -22,6 +22,7 @@ import org.opsli.core.base.service.interfaces.CrudServiceInterface;
 import org.opsli.modulars.system.org.entity.SysOrg;
 import org.opsli.api.wrapper.system.org.SysOrgModel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -40,4 +41,11 @@ public interface ISysOrgService extends CrudServiceInterface<SysOrg, SysOrgModel
      */
     List<HasChildren> hasChildren(Set<String> parentIds);
 
+    /**
+     * 获得子树 组织ID组 (包含根节点自身)
+     * @param orgGroups 根节点 组织ID组 (parentIds,id)
+     * @return List
+     */
+    List<String> findSubtreeOrgGroups(Collection<String> orgGroups);
+
 }
@@ -17,9 +17,13 @@ package org.opsli.modulars.system.org.service.impl;
 
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.wrapper.system.org.SysOrgModel;
@@ -27,11 +31,11 @@ import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.enums.DictType;
 import org.opsli.common.exception.ServiceException;
 import org.opsli.common.utils.FieldUtil;
+import org.opsli.common.utils.ListDistinctUtil;
 import org.opsli.core.base.entity.HasChildren;
 import org.opsli.core.base.service.impl.CrudServiceImpl;
-import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
-import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.chain.QueryTenantHandler;
+import org.opsli.core.utils.OrgUtil;
 import org.opsli.modulars.system.SystemMsg;
 import org.opsli.modulars.system.org.entity.SysOrg;
 import org.opsli.modulars.system.org.mapper.SysOrgMapper;
@@ -40,7 +44,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -82,26 +88,28 @@ public class SysOrgServiceImpl extends CrudServiceImpl<SysOrgMapper, SysOrg, Sys
         // 如果上级ID 为空 则默认为 0
         if(StringUtils.isEmpty(model.getParentId())){
             model.setParentId(TOP_PARENT_ID);
-            model.setParentIds(TOP_PARENT_ID);
         }
 
-        // 如果上级ID不为空 且 不等于顶级ID
-        if(StringUtils.isNotEmpty(model.getParentId()) &&
-                !TOP_PARENT_ID.equals(model.getParentId())
-        ){
+        // 处理上级
+        this.handleParent(model);
 
-            SysOrgModel sysOrgModel = super.get(model.getParentId());
+        SysOrgModel insertRet = super.insert(model);
 
-            // 下级沿用上级租户ID
-            model.setTenantId(sysOrgModel.getTenantId());
-            // 下级沿用上级ParentIds
-            model.setParentIds(
-                    StrUtil.appendIfMissing(
-                            sysOrgModel.getParentIds(), DELIMITER) +
-                            sysOrgModel.getId());
-        }
+        // 组织结构变化 递增组织版本号
+        OrgUtil.incrOrgVersion();
+
+        return insertRet;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean insertBatch(List<SysOrgModel> models, int batchSize) {
+        boolean ret = super.insertBatch(models, batchSize);
+
+        // 组织结构变化 递增组织版本号
+        OrgUtil.incrOrgVersion();
 
-        return super.insert(model);
+        return ret;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -120,43 +128,46 @@ public class SysOrgServiceImpl extends CrudServiceImpl<SysOrgMapper, SysOrg, Sys
             throw new ServiceException(SystemMsg.EXCEPTION_ORG_UNIQUE);
         }
 
-        // 如果上级ID不为空 且 不等于顶级ID
-        if(StringUtils.isNotEmpty(model.getParentId()) &&
-                !TOP_PARENT_ID.equals(model.getParentId())
-        ){
-
-            SysOrgModel sysOrgModel = super.get(model.getParentId());
+        SysOrgModel sysOrgModel = super.get(model);
 
-            // 下级沿用上级租户ID
-            model.setTenantId(sysOrgModel.getTenantId());
-            // 下级沿用上级ParentIds
-            model.setParentIds(
-                    StrUtil.appendIfMissing(
-                            sysOrgModel.getParentIds(), DELIMITER) +
-                            sysOrgModel.getId());
+        // 上级不能为自身或其下级
+        if(sysOrgModel != null && StringUtils.isNotEmpty(model.getParentId())){
+            this.validationParent(sysOrgModel, model.getParentId());
         }
 
-        SysOrgModel sysOrgModel = super.get(model);
-        SysOrgModel updateRet = super.update(model);
+        // 处理上级
+        this.handleParent(model);
 
-        // 如果 TenantId 发生变化 则需要更改 下级数据 租户ID
-        if(sysOrgModel != null && !sysOrgModel.getTenantId().equals(
-                model.getTenantId())){
-            // 如果有组织还在被引用 则不允许操作该组织
-            this.validationUsedByDel(Collections.singletonList(sysOrgModel.getId()));
+        SysOrgModel updateRet = super.update(model);
 
-            // 如果没有被引用 则逐级修改
-            this.updateTenantByParentId(sysOrgModel.getId(), model.getTenantId());
+        if(sysOrgModel == null){
+            return updateRet;
         }
 
-        // 如果 parentId 发生变化 则需要更改 下级数据 租户ID
-        if(sysOrgModel != null && !sysOrgModel.getParentId().equals(
-                model.getParentId())){
+        // 组织结构变化 递增组织版本号
+        OrgUtil.incrOrgVersion();
+
+        boolean tenantChanged = model.getTenantId() != null &&
+                !model.getTenantId().equals(sysOrgModel.getTenantId());
+        boolean parentChanged = StringUtils.isNotEmpty(model.getParentId()) &&
+                !model.getParentId().equals(sysOrgModel.getParentId());
+        if(tenantChanged || parentChanged){
             // 如果有组织还在被引用 则不允许操作该组织
             this.validationUsedByDel(Collections.singletonList(sysOrgModel.getId()));
+        }
 
-            // 如果没有被引用 则逐级修改
-            this.updateChildrenParentIdsByParentId(sysOrgModel.getId());
+        // 子树前缀 (修改前)
+        String oldPrefix = this.getChildrenPrefix(sysOrgModel.getParentIds(), sysOrgModel.getId());
+
+        // 如果 TenantId 发生变化 则需要更改 下级数据 租户ID
+        if(tenantChanged){
+            this.updateTenantByPrefix(oldPrefix, model.getTenantId());
+        }
+
+        // 如果 parentId 发生变化 则需要更改 下级数据 ParentIds
+        if(parentChanged){
+            String newPrefix = this.getChildrenPrefix(model.getParentIds(), sysOrgModel.getId());
+            mapper.updateChildrenParentIdsByPrefix(oldPrefix, newPrefix);
         }
 
         // 修改
@@ -175,7 +186,10 @@ public class SysOrgServiceImpl extends CrudServiceImpl<SysOrgMapper, SysOrg, Sys
         this.validationUsedByDel(Collections.singletonList(id));
 
         // 先删除子数据
-        this.deleteByParentId(id);
+        this.deleteChildren(Collections.singletonList(id));
+
+        // 组织结构变化 递增组织版本号
+        OrgUtil.incrOrgVersion();
 
         return super.delete(id);
     }
@@ -191,76 +205,135 @@ public class SysOrgServiceImpl extends CrudServiceImpl<SysOrgMapper, SysOrg, Sys
         this.validationUsedByDel(Convert.toList(String.class, ids));
 
         // 先删除子数据
-        for (String id : ids) {
-            this.deleteByParentId(id);
-        }
+        this.deleteChildren(Convert.toList(String.class, ids));
+
+        // 组织结构变化 递增组织版本号
+        OrgUtil.incrOrgVersion();
 
         return super.deleteAll(ids);
     }
 
     /**
-     * 逐级修改机构下租户
-     * @param parentId 父级ID
+     * 修改子树租户 (单条语句)
+     * @param prefix 子树前缀
+     * @param tenantId 租户ID
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void updateTenantByParentId(String parentId, String tenantId) {
-        QueryBuilder<SysOrg> queryBuilder = new GenQueryBuilder<>();
-        QueryWrapper<SysOrg> queryWrapper = queryBuilder.build();
-        queryWrapper.eq(
-                FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_ID), parentId);
-        List<SysOrg> entityList = super.findList(queryWrapper);
-        for (SysOrg sysOrg : entityList) {
-            sysOrg.setTenantId(tenantId);
-            super.updateById(sysOrg);
-            // 逐级删除子数据
-            this.updateTenantByParentId(sysOrg.getId(), tenantId);
+    private void updateTenantByPrefix(String prefix, String tenantId) {
+        SysOrg entity = new SysOrg();
+        entity.setTenantId(tenantId);
+
+        UpdateWrapper<SysOrg> updateWrapper = new UpdateWrapper<>();
+        this.handleChildrenCondition(updateWrapper, Collections.singletonList(prefix));
+        super.update(entity, updateWrapper);
+    }
+
+    /**
+     * 删除子树 (单条语句)
+     * @param idList 根节点ID集合
+     */
+    private void deleteChildren(List<String> idList) {
+        List<SysOrg> rootList = super.listByIds(idList);
+        if(CollUtil.isEmpty(rootList)){
+            return;
         }
+
+        List<String> prefixList = Lists.newArrayListWithCapacity(rootList.size());
+        for (SysOrg sysOrg : rootList) {
+            prefixList.add(this.getChildrenPrefix(sysOrg.getParentIds(), sysOrg.getId()));
+        }
+
+        QueryWrapper<SysOrg> queryWrapper = new QueryWrapper<>();
+        this.handleChildrenCondition(queryWrapper, prefixList);
+        super.remove(queryWrapper);
     }
 
     /**
-     * 逐级修改机构下租户
-     * @param parentId 父级ID
+     * 处理上级 (下级沿用上级 租户ID 及 ParentIds)
+     * @param model 模型
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void updateChildrenParentIdsByParentId(String parentId) {
-        QueryBuilder<SysOrg> queryBuilder = new GenQueryBuilder<>();
-        QueryWrapper<SysOrg> queryWrapper = queryBuilder.build();
-        queryWrapper.eq(
-                FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_ID), parentId);
-        List<SysOrg> entityList = super.findList(queryWrapper);
-        for (SysOrg sysOrg : entityList) {
-            SysOrgModel sysOrgModel = super.get(parentId);
-
-            // 下级沿用上级ParentIds
-            sysOrg.setParentIds(
-                    StrUtil.appendIfMissing(
-                            sysOrgModel.getParentIds(), DELIMITER) +
-                            sysOrgModel.getId());
-
-            super.updateById(sysOrg);
-            // 逐级删除子数据
-            this.updateChildrenParentIdsByParentId(sysOrg.getId());
+    private void handleParent(SysOrgModel model) {
+        if(StringUtils.isEmpty(model.getParentId())){
+            return;
+        }
+
+        // 顶级
+        if(TOP_PARENT_ID.equals(model.getParentId())){
+            model.setParentIds(TOP_PARENT_ID);
+            return;
         }
+
+        SysOrgModel parentModel = super.get(model.getParentId());
+        if(parentModel == null){
+            return;
+        }
+
+        // 下级沿用上级租户ID
+        model.setTenantId(parentModel.getTenantId());
+        // 下级沿用上级ParentIds
+        model.setParentIds(
+                this.getChildrenPrefix(parentModel.getParentIds(), parentModel.getId()));
     }
 
     /**
-     * 逐级删除子数据
-     * @param parentId 父级ID
+     * 验证上级 不能为自身或其下级
+     * @param sysOrgModel 当前组织 (修改前)
+     * @param parentId 新上级ID
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void deleteByParentId(String parentId) {
-        QueryBuilder<SysOrg> queryBuilder = new GenQueryBuilder<>();
-        QueryWrapper<SysOrg> queryWrapper = queryBuilder.build();
-        queryWrapper.eq(
-                FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_ID), parentId);
-        List<SysOrg> entityList = super.findList(queryWrapper);
-        for (SysOrg sysOrg : entityList) {
-            super.delete(sysOrg.getId());
-            // 逐级删除子数据
-            this.deleteByParentId(sysOrg.getId());
+    private void validationParent(SysOrgModel sysOrgModel, String parentId) {
+        if(TOP_PARENT_ID.equals(parentId) || parentId.equals(sysOrgModel.getParentId())){
+            return;
+        }
+
+        if(parentId.equals(sysOrgModel.getId())){
+            throw new ServiceException(SystemMsg.EXCEPTION_ORG_PARENT_ILLEGAL);
+        }
+
+        SysOrgModel parentModel = super.get(parentId);
+        if(parentModel == null){
+            return;
+        }
+
+        String prefix = this.getChildrenPrefix(sysOrgModel.getParentIds(), sysOrgModel.getId());
+        String parentIds = StrUtil.nullToEmpty(parentModel.getParentIds());
+        if(parentIds.equals(prefix) || parentIds.startsWith(prefix + DELIMITER)){
+            throw new ServiceException(SystemMsg.EXCEPTION_ORG_PARENT_ILLEGAL);
         }
     }
 
+    /**
+     * 获得子树前缀 (即 直接下级的 ParentIds)
+     * @param parentIds 父级ID集合
+     * @param id 当前ID
+     * @return String
+     */
+    private String getChildrenPrefix(String parentIds, String id) {
+        if(StringUtils.isEmpty(parentIds)){
+            parentIds = TOP_PARENT_ID;
+        }
+        return StrUtil.appendIfMissing(parentIds, DELIMITER) + id;
+    }
+
+    /**
+     * 子树条件 parent_ids = 前缀 or parent_ids like '前缀,%'
+     * @param wrapper 条件构造器
+     * @param prefixList 子树前缀集合
+     */
+    private void handleChildrenCondition(AbstractWrapper<SysOrg, String, ?> wrapper,
+                                         List<String> prefixList) {
+        final String column = FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_IDS);
+        wrapper.and(wra -> {
+            for (int i = 0; i < prefixList.size(); i++) {
+                String prefix = prefixList.get(i);
+                if(i > 0){
+                    wra.or();
+                }
+                wra.eq(column, prefix)
+                        .or()
+                        .likeRight(column, prefix + DELIMITER);
+            }
+        });
+    }
+
     /**
      * 唯一验证
      * @param model 模型
@@ -307,6 +380,35 @@ public class SysOrgServiceImpl extends CrudServiceImpl<SysOrgMapper, SysOrg, Sys
     }
 
 
+    /**
+     * 获得子树 组织ID组 (包含根节点自身)
+     * 只查询 id、parent_ids 两列，结果由调用方缓存
+     * @param orgGroups 根节点 组织ID组 (parentIds,id)
+     * @return List
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findSubtreeOrgGroups(Collection<String> orgGroups){
+        if(CollUtil.isEmpty(orgGroups)){
+            return ListUtil.empty();
+        }
+
+        List<String> prefixList = ListDistinctUtil.distinct(Lists.newArrayList(orgGroups));
+        Set<String> subtreeSet = new LinkedHashSet<>(prefixList);
+
+        QueryWrapper<SysOrg> wrapper = new QueryWrapper<>();
+        wrapper.select(MyBatisConstants.FIELD_ID,
+                FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_IDS))
+                .eq(MyBatisConstants.FIELD_DELETE_LOGIC,  DictType.NO_YES_NO.getValue());
+        this.handleChildrenCondition(wrapper, prefixList);
+
+        List<SysOrg> childrenList = super.list(wrapper);
+        for (SysOrg sysOrg : childrenList) {
+            subtreeSet.add(this.getChildrenPrefix(sysOrg.getParentIds(), sysOrg.getId()));
+        }
+        return Lists.newArrayList(subtreeSet);
+    }
+
     /**
      * 删除验证该组织是否被引用
      * @param orgIdList 组织ID
@@ -37,6 +37,7 @@ import org.opsli.api.wrapper.system.user.UserOrgRefModel;
 import org.opsli.common.annotation.ApiRestController;
 import org.opsli.common.annotation.EnableLog;
 import org.opsli.common.annotation.RequiresPermissionsCus;
+import org.opsli.common.annotation.ResponseCache;
 import org.opsli.common.constants.MyBatisConstants;
 import org.opsli.common.utils.FieldUtil;
 import org.opsli.common.utils.ListDistinctUtil;
@@ -47,9 +48,11 @@ import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.WebQueryBuilder;
 import org.opsli.core.utils.OrgUtil;
 import org.opsli.core.utils.TreeBuildUtil;
+import org.opsli.core.utils.TreeNodeProjection;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.org.entity.SysOrg;
 import org.opsli.modulars.system.org.service.ISysOrgService;
+import org.opsli.modulars.system.user.entity.SysUserOrgRef;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
@@ -76,6 +79,8 @@ public class SysOrgRestController extends BaseRestController<SysOrg, SysOrgModel
     private static final String PARENT_ID = "0";
     /** 排序字段 */
     private static final String SORT_FIELD = "sortNo";
+    /** 组织树 字段投影 */
+    private static final TreeNodeProjection<SysOrgModel> ORG_PROJECTION = TreeNodeProjection.of(SysOrgModel.class);
     /** 分割符 */
     private static final String DELIMITER = ",";
 
@@ -84,6 +89,7 @@ public class SysOrgRestController extends BaseRestController<SysOrg, SysOrgModel
      * @return ResultVo
      */
     @ApiOperation(value = "获得当前用户下 组织", notes = "获得当前用户下 组织")
+    @ResponseCache(tags = {SysOrg.class, SysUserOrgRef.class}, perUser = true)
     @Override
     public ResultVo<?> findTreeByDefWithUserToLike() {
         // 生成 全部/未分组
@@ -151,6 +157,7 @@ public class SysOrgRestController extends BaseRestController<SysOrg, SysOrgModel
      * @return ResultVo
      */
     @ApiOperation(value = "获得组织树 懒加载", notes = "获得组织树 懒加载")
+    @ResponseCache(tags = SysOrg.class)
     @Override
     public ResultVo<?> findTreeLazy(String parentId, String id) {
         List<SysOrgModel> orgModelList;
@@ -187,6 +194,7 @@ public class SysOrgRestController extends BaseRestController<SysOrg, SysOrgModel
      */
     @ApiOperation(value = "获得组织树", notes = "获得组织树")
     @RequiresPermissions("system_org_select")
+    @ResponseCache(tags = SysOrg.class)
     @Override
     public ResultVo<?> findTreeByDef(boolean isGen, String id) {
         List<SysOrgModel> orgModelList = Lists.newArrayList();
@@ -401,7 +409,7 @@ public class SysOrgRestController extends BaseRestController<SysOrg, SysOrgModel
         treeNodeConfig.setDeep(4);
 
         //转换器
-        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(orgModelList, parentId, treeNodeConfig);
+        List<Tree<Object>> treeNodes = TreeBuildUtil.INSTANCE.build(orgModelList, parentId, treeNodeConfig, ORG_PROJECTION);
 
         // 是否懒加载
         if(izLazy){
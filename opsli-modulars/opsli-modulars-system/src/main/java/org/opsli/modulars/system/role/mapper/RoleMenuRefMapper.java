@@ -38,4 +38,18 @@ public interface RoleMenuRefMapper extends BaseMapper<SysRoleMenuRef> {
      */
     List<SysMenu> queryAllPerms(String roleId);
 
+    /**
+     * 根据角色ID 获得角色编号
+     * @param roleId 角色ID
+     * @return String
+     */
+    String getRoleCodeById(String roleId);
+
+    /**
+     * 根据菜单ID 获得引用该菜单的角色编号
+     * @param menuId 菜单ID
+     * @return List
+     */
+    List<String> getRoleCodeListByMenuId(String menuId);
+
 }
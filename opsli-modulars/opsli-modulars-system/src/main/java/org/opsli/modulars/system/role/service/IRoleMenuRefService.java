@@ -56,4 +56,18 @@ public interface IRoleMenuRefService {
      */
     boolean delPermsByMenuIds(List<String> menuIds);
 
+    /**
+     * 根据菜单ID 获得引用该菜单的角色编号
+     * @param menuId 菜单ID
+     * @return List
+     */
+    List<String> getRoleCodeListByMenuId(String menuId);
+
+    /**
+     * 缓存预热 异步重建该角色下 全部用户的 权限、菜单 缓存
+     * @param roleId 角色ID
+     * @return boolean 是否提交成功
+     */
+    boolean warmUpCache(String roleId);
+
 }
@@ -20,9 +20,11 @@ import cn.hutool.core.convert.Convert;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.common.exception.ServiceException;
-import org.opsli.core.msg.CoreMsg;
+import org.opsli.common.thread.refuse.AsyncProcessQueueReFuse;
+import org.opsli.core.utils.RoleVersionUtil;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.SystemMsg;
 import org.opsli.modulars.system.menu.entity.SysMenu;
@@ -34,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 
@@ -43,9 +46,15 @@ import java.util.List;
  * @author Parker
  * @date 2020-09-17 13:07
  */
+@Slf4j
 @Service
 public class RoleMenuRefServiceImpl extends ServiceImpl<RoleMenuRefMapper,SysRoleMenuRef> implements IRoleMenuRefService {
 
+    /** 缓存预热 线程池名称 */
+    private static final String WARM_UP_POOL_NAME = "role-cache";
+    /** 缓存预热 每个任务处理的用户数 */
+    private static final int WARM_UP_BATCH_SIZE = 500;
+
     @Autowired(required = false)
     private RoleMenuRefMapper mapper;
     @Autowired
@@ -101,41 +110,47 @@ public class RoleMenuRefServiceImpl extends ServiceImpl<RoleMenuRefMapper,SysRol
         return this.remove(queryWrapper);
     }
 
+    @Override
+    public List<String> getRoleCodeListByMenuId(String menuId) {
+        return mapper.getRoleCodeListByMenuId(menuId);
+    }
+
+    @Override
+    public boolean warmUpCache(String roleId) {
+        if(StringUtils.isEmpty(roleId)){
+            throw new ServiceException(SystemMsg.EXCEPTION_ROLE_ID_NOT_NULL);
+        }
+
+        List<String> userIdList = iUserRoleRefService.getUserIdListByRoleId(roleId);
+        if(CollUtil.isEmpty(userIdList)){
+            return true;
+        }
+
+        // 分批提交 并行重建
+        boolean ret = true;
+        for (List<String> userIds : Lists.partition(userIdList, WARM_UP_BATCH_SIZE)) {
+            ret &= AsyncProcessQueueReFuse.execute(WARM_UP_POOL_NAME, ()->{
+                for (String userId : userIds) {
+                    UserUtil.getUserAllPermsByUserId(userId);
+                    UserUtil.getMenuListByUserId(userId);
+                }
+            });
+        }
+        return ret;
+    }
+
     // =========================
 
     /**
      * 清除缓存
+     * 只递增角色版本号，该角色下用户的 权限、菜单 缓存在下一次访问时按需重建
      * @param roleId 角色ID
      */
     private void clearCache(String roleId){
-        // 清空该角色下 用户缓存
-        List<String> userIdList = iUserRoleRefService.getUserIdListByRoleId(roleId);
-        if(CollUtil.isNotEmpty(userIdList)){
-            int cacheCount = 0;
-            for (String userId : userIdList) {
-                cacheCount += 3;
-                boolean tmp;
-                // 清空当期用户缓存角色、权限、菜单
-                tmp = UserUtil.refreshUserRoles(userId);
-                if(tmp){
-                    cacheCount--;
-                }
-                tmp = UserUtil.refreshUserAllPerms(userId);
-                if(tmp){
-                    cacheCount--;
-                }
-                tmp = UserUtil.refreshUserMenus(userId);
-                if(tmp){
-                    cacheCount--;
-                }
-            }
-            // 判断删除状态
-            if(cacheCount != 0){
-                // 删除缓存失败
-                throw new ServiceException(CoreMsg.CACHE_DEL_EXCEPTION);
-            }
+        String roleCode = mapper.getRoleCodeById(roleId);
+        if(StringUtils.isEmpty(roleCode)){
+            return;
         }
+        RoleVersionUtil.incrVersion(Collections.singletonList(roleCode));
     }
 }
-
-
@@ -136,6 +136,26 @@ public class RoleMenuRefRestController implements RoleMenuRefApi {
     }
 
 
+    /**
+     * 缓存预热
+     * @param model roleId 角色Id
+     * @return ResultVo
+     */
+    @RequiresPermissions("system_role_setPerms")
+    @Override
+    public ResultVo<?> warmUpCache(RoleMenuRefModel model) {
+        if(model == null){
+            return ResultVo.error(SystemMsg.EXCEPTION_ROLE_ID_NOT_NULL.getCode(),
+                    SystemMsg.EXCEPTION_ROLE_ID_NOT_NULL.getMessage());
+        }
+
+        boolean ret = iRoleMenuRefService.warmUpCache(model.getRoleId());
+        if(ret){
+            return ResultVo.success("缓存预热任务已提交");
+        }
+        return ResultVo.error("缓存预热任务提交失败");
+    }
+
     /**
      * 演示模式
      */
@@ -20,6 +20,7 @@ import cn.hutool.core.convert.Convert;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
 import org.opsli.api.wrapper.system.tenant.TenantModel;
@@ -41,6 +42,8 @@ import org.opsli.modulars.system.user.service.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -52,6 +55,7 @@ import java.util.List;
  * @author Parker
  * @date 2020-09-16 17:33
  */
+@Slf4j
 @Service
 public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant, TenantModel> implements ITenantService {
 
@@ -97,6 +101,8 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         if(this.update(updateWrapper)){
             // 清除缓存
             this.clearCache(Collections.singletonList(tenantId));
+            // 租户缓存 整体失效
+            this.evictCache(Collections.singletonList(tenantId));
             return true;
         }
         return false;
@@ -184,6 +190,8 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         if(ret){
             // 清除缓存
             this.clearCache(Collections.singletonList(tenantModel.getId()));
+            // 租户缓存 整体失效
+            this.evictCache(Collections.singletonList(tenantModel.getId()));
         }
 
         return ret;
@@ -226,6 +234,8 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         if(ret){
             // 清除缓存
             this.clearCache(Collections.singletonList(tenantModel.getId()));
+            // 租户缓存 整体失效
+            this.evictCache(Collections.singletonList(tenantModel.getId()));
         }
 
         return ret;
@@ -267,6 +277,8 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         if(ret){
             // 清除缓存
             this.clearCache(idList);
+            // 租户缓存 整体失效
+            this.evictCache(idList);
         }
         return ret;
     }
@@ -310,6 +322,8 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         if(ret){
             // 清除缓存
             this.clearCache(idList);
+            // 租户缓存 整体失效
+            this.evictCache(idList);
         }
         return ret;
     }
@@ -386,6 +400,40 @@ public class TenantServiceImpl extends CrudServiceImpl<TenantMapper, SysTenant,
         }
     }
 
+    /**
+     * 租户缓存 整体失效 (事务提交后执行 防止提交前被重新加载旧数据)
+     * @param tenantIds 租户ID集合
+     */
+    private void evictCache(List<String> tenantIds){
+        if(CollUtil.isEmpty(tenantIds)){
+            return;
+        }
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            this.doEvictCache(tenantIds);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                doEvictCache(tenantIds);
+            }
+        });
+    }
+
+    /**
+     * 租户缓存 整体失效
+     * @param tenantIds 租户ID集合
+     */
+    private void doEvictCache(List<String> tenantIds){
+        for (String tenantId : tenantIds) {
+            if(!TenantUtil.evictTenant(tenantId)){
+                log.error("租户缓存整体失效失败 租户ID[{}]", tenantId);
+            }
+        }
+    }
+
 }
 
 
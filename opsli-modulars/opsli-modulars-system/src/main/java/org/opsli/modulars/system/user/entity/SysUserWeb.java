@@ -22,6 +22,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.opsli.core.base.entity.BaseEntity;
 
+import java.util.Date;
+
 /**
  * 用户信息 - 组织机构
  *
@@ -68,6 +70,14 @@ public class SysUserWeb extends BaseEntity {
     /** 最后登陆IP */
     private String loginIp;
 
+    /** 最后登录时间 (由登录信息合并写入维护) */
+    @TableField(insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Date loginTime;
+
+    /** 登录次数 (由登录信息合并写入维护) */
+    @TableField(insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Integer loginCount;
+
     /** 备注 */
     @TableField(updateStrategy = FieldStrategy.IGNORED)
     private String remark;
@@ -21,6 +21,7 @@ import com.baomidou.mybatisplus.core.toolkit.Constants;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.opsli.api.wrapper.system.user.UserPassword;
+import org.opsli.modulars.system.login.entity.LoginRecord;
 import org.opsli.modulars.system.menu.entity.SysMenu;
 import org.opsli.modulars.system.user.entity.SysUser;
 import org.opsli.modulars.system.user.entity.SysUserWeb;
@@ -86,6 +87,13 @@ public interface UserMapper extends BaseMapper<SysUser> {
      */
     boolean updateLoginIp(SysUser entity);
 
+    /**
+     * 批量更新用户登录信息 (单条 SQL)
+     * @param list 登录信息
+     * @return Integer
+     */
+    Integer updateLoginRecordBatch(@Param("list") List<LoginRecord> list);
+
     /**
      * 更新用户头像
      * @param entity Entity
@@ -43,4 +43,11 @@ public interface IUserOrgRefService {
      */
     List<UserOrgRefModel> findListByUserId(String userId);
 
+    /**
+     * 根据用户ID 获得数据权限范围内 全部组织ID组 (自身组织及其下级)
+     * @param userId 用户ID
+     * @return List
+     */
+    List<String> findScopeOrgGroupsByUserId(String userId);
+
 }
@@ -21,6 +21,7 @@ import org.opsli.api.wrapper.system.user.UserModel;
 import org.opsli.api.wrapper.system.user.UserPassword;
 import org.opsli.core.base.service.interfaces.CrudServiceInterface;
 import org.opsli.core.persistence.Page;
+import org.opsli.modulars.system.login.entity.LoginRecord;
 import org.opsli.modulars.system.user.entity.SysUser;
 import org.opsli.modulars.system.user.entity.SysUserWeb;
 
@@ -100,6 +101,13 @@ public interface IUserService extends CrudServiceInterface<SysUser, UserModel> {
      */
     boolean updateLoginIp(UserModel model);
 
+    /**
+     * 批量更新用户登录信息 (IP、最后登录时间、登录次数)
+     * @param records 登录信息
+     * @return boolean
+     */
+    boolean updateLoginRecordBatch(List<LoginRecord> records);
+
 
     /**
      * 更新用户头像
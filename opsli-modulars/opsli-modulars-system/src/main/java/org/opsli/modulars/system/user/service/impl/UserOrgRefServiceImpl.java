@@ -105,7 +105,9 @@ public class UserOrgRefServiceImpl extends ServiceImpl<UserOrgRefMapper, SysUser
                 queryWrapper.eq(
                         FieldUtil.humpToUnderline(MyBatisConstants.FIELD_PARENT_ID), PARENT_ID
                 );
-                List<SysOrg> orgList = iSysOrgService.findList(queryWrapper);
+                // 超级管理员 本身无租户限制 这里不走 当前登录用户的租户责任链
+                // 结果只与 userId 有关 可在无 Token 的后台线程中执行 (缓存提前刷新)
+                List<SysOrg> orgList = iSysOrgService.list(queryWrapper);
                 List<SysOrgModel> sysOrgModels = WrapperUtil.transformInstance(orgList, SysOrgModel.class);
                 for (SysOrgModel orgModel : sysOrgModels) {
                     SysUserOrgRef orgRef = this.createOrgRef(userId, orgModel, DictType.NO_YES_NO.getValue());
@@ -119,6 +121,22 @@ public class UserOrgRefServiceImpl extends ServiceImpl<UserOrgRefMapper, SysUser
         );
     }
 
+    @Override
+    public List<String> findScopeOrgGroupsByUserId(String userId) {
+        List<UserOrgRefModel> orgRefList = this.findListByUserId(userId);
+        if(CollUtil.isEmpty(orgRefList)){
+            return ListUtil.empty();
+        }
+
+        List<String> orgGroupList = Lists.newArrayListWithCapacity(orgRefList.size());
+        for (UserOrgRefModel orgRef : orgRefList) {
+            if(StringUtils.isNotEmpty(orgRef.getOrgIds())){
+                orgGroupList.add(orgRef.getOrgIds());
+            }
+        }
+        return iSysOrgService.findSubtreeOrgGroups(orgGroupList);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean setOrg(UserOrgRefWebModel model) {
@@ -45,8 +45,10 @@ import org.opsli.core.persistence.querybuilder.QueryBuilder;
 import org.opsli.core.persistence.querybuilder.chain.QueryOrgHandler;
 import org.opsli.core.persistence.querybuilder.chain.QueryTenantHandler;
 import org.opsli.core.utils.OptionsUtil;
+import org.opsli.core.utils.UserTokenUtil;
 import org.opsli.core.utils.UserUtil;
 import org.opsli.modulars.system.SystemMsg;
+import org.opsli.modulars.system.login.entity.LoginRecord;
 import org.opsli.modulars.system.menu.entity.SysMenu;
 import org.opsli.modulars.system.menu.service.IMenuService;
 import org.opsli.modulars.system.role.entity.SysRole;
@@ -616,6 +618,8 @@ public class UserServiceImpl extends CrudServiceImpl<UserMapper, SysUser, UserMo
         if(ret){
             // 刷新用户缓存
             this.clearCache(Collections.singletonList(userModel));
+            // 吊销用户全部 Token 需重新登录 (事务提交后执行)
+            UserTokenUtil.revokeAll(userModel.getUsername());
         }
 
         return ret;
@@ -651,6 +655,8 @@ public class UserServiceImpl extends CrudServiceImpl<UserMapper, SysUser, UserMo
         if(ret){
             // 刷新用户缓存
             this.clearCache(Collections.singletonList(userModel));
+            // 吊销用户全部 Token 需重新登录 (事务提交后执行)
+            UserTokenUtil.revokeAll(userModel.getUsername());
         }
 
         return ret;
@@ -676,6 +682,21 @@ public class UserServiceImpl extends CrudServiceImpl<UserMapper, SysUser, UserMo
         return mapper.updateLoginIp(sysUser);
     }
 
+    /**
+     * 批量更新用户登录信息 (IP、最后登录时间、登录次数)
+     * @param records 登录信息
+     * @return boolean
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateLoginRecordBatch(List<LoginRecord> records) {
+        if(CollUtil.isEmpty(records)){
+            return false;
+        }
+        Integer count = mapper.updateLoginRecordBatch(records);
+        return count != null && count > 0;
+    }
+
     /**
      * 更新用户头像
      * @param model 模型
@@ -59,6 +59,17 @@ public class UserOrgRefRestController implements UserOrgRefApi {
         return ResultVo.success(listByUserId);
     }
 
+    /**
+     * 根据用户ID 获得数据权限范围内 全部组织ID组
+     * @param userId 用户ID
+     * @return ResultVo
+     */
+    @Override
+    public ResultVo<List<String>> findScopeOrgGroupsByUserId(String userId) {
+        List<String> orgGroupList = iUserOrgRefService.findScopeOrgGroupsByUserId(userId);
+        return ResultVo.success(orgGroupList);
+    }
+
     /**
      * 设置组织
      * @param model 模型
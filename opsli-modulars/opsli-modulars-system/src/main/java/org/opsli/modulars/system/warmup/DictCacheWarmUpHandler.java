@@ -0,0 +1,70 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.warmup;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.google.common.collect.Maps;
+import org.opsli.api.wrapper.system.dict.DictDetailModel;
+import org.opsli.common.utils.WrapperUtil;
+import org.opsli.core.cache.warmup.CacheWarmUpHandler;
+import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
+import org.opsli.core.persistence.querybuilder.QueryBuilder;
+import org.opsli.core.utils.DictUtil;
+import org.opsli.modulars.system.dict.entity.SysDictDetail;
+import org.opsli.modulars.system.dict.service.IDictDetailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典 缓存预热
+ *
+ * 一次查询全部字典明细 按类型分组后 管道写入
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+public class DictCacheWarmUpHandler implements CacheWarmUpHandler {
+
+    @Autowired
+    private IDictDetailService iDictDetailService;
+
+    @Override
+    public String getName() {
+        return "字典";
+    }
+
+    @Override
+    public int warmUp() {
+        QueryBuilder<SysDictDetail> queryBuilder = new GenQueryBuilder<>();
+        QueryWrapper<SysDictDetail> queryWrapper = queryBuilder.build();
+        queryWrapper.orderByAsc("type_code", "sort_no");
+        List<DictDetailModel> list = WrapperUtil.transformInstance(
+                iDictDetailService.findList(queryWrapper), DictDetailModel.class);
+
+        // 按类型分组 (保持排序)
+        Map<String, List<DictDetailModel>> dictMap = Maps.newLinkedHashMap();
+        for (DictDetailModel model : list) {
+            dictMap.computeIfAbsent(model.getTypeCode(), k -> new ArrayList<>()).add(model);
+        }
+        return DictUtil.warmUp(dictMap);
+    }
+
+}
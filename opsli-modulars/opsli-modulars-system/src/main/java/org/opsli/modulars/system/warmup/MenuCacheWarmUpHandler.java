@@ -0,0 +1,52 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.warmup;
+
+import org.opsli.api.wrapper.system.menu.MenuModel;
+import org.opsli.common.utils.WrapperUtil;
+import org.opsli.core.cache.warmup.CacheWarmUpHandler;
+import org.opsli.core.utils.MenuUtil;
+import org.opsli.modulars.system.menu.service.IMenuService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 菜单 缓存预热 (按权限标识)
+ *
+ * 用户菜单树与用户相关 仍按需加载
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+public class MenuCacheWarmUpHandler implements CacheWarmUpHandler {
+
+    @Autowired
+    private IMenuService iMenuService;
+
+    @Override
+    public String getName() {
+        return "菜单";
+    }
+
+    @Override
+    public int warmUp() {
+        return MenuUtil.warmUp(
+                WrapperUtil.transformInstance(iMenuService.findAllList(), MenuModel.class)
+        );
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.warmup;
+
+import org.opsli.api.wrapper.system.options.OptionsModel;
+import org.opsli.common.utils.WrapperUtil;
+import org.opsli.core.cache.warmup.CacheWarmUpHandler;
+import org.opsli.core.utils.OptionsUtil;
+import org.opsli.modulars.system.options.service.ISysOptionsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 系统参数 缓存预热
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+public class OptionsCacheWarmUpHandler implements CacheWarmUpHandler {
+
+    @Autowired
+    private ISysOptionsService iSysOptionsService;
+
+    @Override
+    public String getName() {
+        return "系统参数";
+    }
+
+    @Override
+    public int warmUp() {
+        return OptionsUtil.warmUp(
+                WrapperUtil.transformInstance(iSysOptionsService.findAllList(), OptionsModel.class)
+        );
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.system.warmup;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.opsli.api.wrapper.system.tenant.TenantModel;
+import org.opsli.common.enums.DictType;
+import org.opsli.common.utils.WrapperUtil;
+import org.opsli.core.cache.warmup.CacheWarmUpHandler;
+import org.opsli.core.persistence.querybuilder.GenQueryBuilder;
+import org.opsli.core.persistence.querybuilder.QueryBuilder;
+import org.opsli.core.utils.TenantUtil;
+import org.opsli.modulars.system.tenant.entity.SysTenant;
+import org.opsli.modulars.system.tenant.service.ITenantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 租户 缓存预热 (仅已启用租户)
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Component
+public class TenantCacheWarmUpHandler implements CacheWarmUpHandler {
+
+    @Autowired
+    private ITenantService iTenantService;
+
+    @Override
+    public String getName() {
+        return "租户";
+    }
+
+    @Override
+    public int warmUp() {
+        QueryBuilder<SysTenant> queryBuilder = new GenQueryBuilder<>();
+        QueryWrapper<SysTenant> queryWrapper = queryBuilder.build();
+        queryWrapper.eq("enable", DictType.NO_YES_YES.getValue());
+        return TenantUtil.warmUp(
+                WrapperUtil.transformInstance(iTenantService.findList(queryWrapper), TenantModel.class)
+        );
+    }
+
+}
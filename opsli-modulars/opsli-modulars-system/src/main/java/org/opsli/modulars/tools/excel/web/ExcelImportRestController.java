@@ -0,0 +1,62 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.modulars.tools.excel.web;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opsli.api.base.result.ResultVo;
+import org.opsli.api.wrapper.system.user.UserModel;
+import org.opsli.common.annotation.ApiRestController;
+import org.opsli.common.annotation.Limiter;
+import org.opsli.core.msg.CoreMsg;
+import org.opsli.core.utils.UserUtil;
+import org.opsli.core.utils.excel.importer.ExcelImportJob;
+import org.opsli.core.utils.excel.importer.ExcelImportUtil;
+import org.springframework.web.bind.annotation.GetMapping;
+
+/**
+ * Excel 导入任务
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Api(tags = "Excel导入任务")
+@Slf4j
+@ApiRestController("/tools/excel")
+public class ExcelImportRestController {
+
+    /**
+     * 获得导入任务进度及错误报告
+     */
+    @Limiter
+    @ApiOperation(value = "获得导入任务", notes = "获得导入任务进度及错误报告")
+    @GetMapping("/getImportJob")
+    public ResultVo<?> getImportJob(String jobId){
+        ExcelImportJob job = ExcelImportUtil.getJob(jobId);
+
+        // 只允许查看自己的导入任务
+        UserModel user = UserUtil.getUser();
+        if(job == null || !StringUtils.equals(job.getCreateBy(), user.getId())){
+            return ResultVo.error(CoreMsg.EXCEL_IMPORT_JOB_NULL.getCode(),
+                    CoreMsg.EXCEL_IMPORT_JOB_NULL.getMessage());
+        }
+
+        return ResultVo.success(job);
+    }
+
+}
@@ -1,9 +1,24 @@
 package org.opsli.modulars.tools.oss.web;
 
+import cn.hutool.crypto.digest.DigestUtil;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opsli.api.base.result.ResultVo;
 import org.opsli.common.annotation.ApiRestController;
+import org.opsli.common.annotation.Limiter;
+import org.opsli.core.utils.UserUtil;
+import org.opsli.plugins.oss.OssStorageFactory;
+import org.opsli.plugins.oss.exception.StoragePluginException;
+import org.opsli.plugins.oss.msg.OssMsg;
+import org.opsli.plugins.oss.service.OssStorageService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * 文件管理 Controller
@@ -16,6 +31,78 @@ import org.opsli.common.annotation.ApiRestController;
 @ApiRestController("/tools/oss")
 public class OssRestController {
 
+    /**
+     * 获得已上传的分片序号 (断点续传 客户端只需补传缺失分片)
+     * @param uploadId 上传ID (由客户端生成 同一文件保持一致)
+     * @return ResultVo
+     */
+    @Limiter
+    @ApiOperation(value = "获得已上传分片", notes = "获得已上传的分片序号")
+    @GetMapping("/chunk/getUploaded")
+    public ResultVo<?> getUploadedChunks(String uploadId){
+        OssStorageService ossStorageService = OssStorageFactory.INSTANCE.getHandle();
+        return ResultVo.success(
+                ossStorageService.getUploadedChunks(getUserUploadId(uploadId)));
+    }
 
+    /**
+     * 上传分片 (各分片之间互不依赖 可并行上传)
+     * @param uploadId 上传ID
+     * @param index 分片序号 从 0 开始
+     * @param file 分片文件
+     * @return ResultVo 分片大小
+     */
+    @Limiter
+    @ApiOperation(value = "上传分片", notes = "上传分片")
+    @PostMapping("/chunk/upload")
+    public ResultVo<?> uploadChunk(String uploadId, Integer index, MultipartFile file){
+        if(index == null || file == null || file.isEmpty()){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+
+        OssStorageService ossStorageService = OssStorageFactory.INSTANCE.getHandle();
+        try (InputStream inputStream = file.getInputStream()){
+            return ResultVo.success(
+                    ossStorageService.uploadChunk(getUserUploadId(uploadId), index, inputStream));
+        }catch (IOException e){
+            log.error(e.getMessage(), e);
+            return ResultVo.error("上传分片失败，请稍后再试");
+        }
+    }
+
+    /**
+     * 合并分片
+     * @param uploadId 上传ID
+     * @param chunkCount 分片总数
+     * @param suffix 文件后缀
+     * @return ResultVo 文件信息
+     */
+    @Limiter
+    @ApiOperation(value = "合并分片", notes = "全部分片上传完成后 合并为文件")
+    @PostMapping("/chunk/merge")
+    public ResultVo<?> mergeChunks(String uploadId, Integer chunkCount, String suffix){
+        if(chunkCount == null){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+
+        OssStorageService ossStorageService = OssStorageFactory.INSTANCE.getHandle();
+        return ResultVo.success(
+                ossStorageService.mergeChunks(getUserUploadId(uploadId), chunkCount, suffix));
+    }
+
+    // ==================================================
+
+    /**
+     * 获得 当前用户的上传ID
+     * 分片目录 按用户隔离 避免猜测他人上传ID 读取或合并他人分片
+     * @param uploadId 客户端上传ID
+     * @return String
+     */
+    private static String getUserUploadId(String uploadId){
+        if(StringUtils.isEmpty(uploadId)){
+            throw new StoragePluginException(OssMsg.EXCEPTION_CHUNK_ILLEGAL);
+        }
+        return DigestUtil.md5Hex(UserUtil.getUser().getId() + ":" + uploadId);
+    }
 
 }
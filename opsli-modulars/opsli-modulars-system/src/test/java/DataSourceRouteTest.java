@@ -0,0 +1,153 @@
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DataSourceProperty;
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.baomidou.dynamic.datasource.strategy.LoadBalanceDynamicDataSourceStrategy;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opsli.core.autoconfigure.properties.GlobalProperties;
+import org.opsli.core.utils.DataSourceRouteUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 读写分离 路由测试
+ *
+ * 主库 master、从库 slave_1 为两个内嵌 H2 数据库，各自存放一条标记数据
+ * 通过查询标记判断 实际命中的数据库
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public class DataSourceRouteTest {
+
+    private static final String MASTER = "master";
+    private static final String SLAVE = "slave_1";
+    private static final String SQL_MARKER = "select name from ds_marker";
+    private static final String SQL_WRITE_COUNT = "select count(*) from ds_write";
+
+    private EmbeddedDatabase masterDb;
+    private EmbeddedDatabase slaveDb;
+
+    /** 经过路由的 JdbcTemplate */
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void init(){
+        masterDb = createDatabase(MASTER);
+        slaveDb = createDatabase(SLAVE);
+
+        DynamicRoutingDataSource routingDataSource = new DynamicRoutingDataSource();
+        routingDataSource.setPrimary(MASTER);
+        routingDataSource.setStrategy(LoadBalanceDynamicDataSourceStrategy.class);
+        routingDataSource.addDataSource(MASTER, masterDb);
+        routingDataSource.addDataSource(SLAVE, slaveDb);
+
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(routingDataSource));
+
+        // 开启读写分离 (默认从库分组 slave)
+        DynamicDataSourceProperties dataSourceProperties = new DynamicDataSourceProperties();
+        dataSourceProperties.getDatasource().put(MASTER, new DataSourceProperty());
+        dataSourceProperties.getDatasource().put(SLAVE, new DataSourceProperty());
+        new DataSourceRouteUtil().init(new GlobalProperties(), dataSourceProperties);
+    }
+
+    @After
+    public void destroy(){
+        DataSourceRouteUtil.clear();
+        DynamicDataSourceContextHolder.clear();
+        masterDb.shutdown();
+        slaveDb.shutdown();
+    }
+
+    /**
+     * 写操作 走主库
+     */
+    @Test
+    public void writeToMaster(){
+        jdbcTemplate.update("insert into ds_write (id) values (1)");
+
+        Assert.assertEquals(Integer.valueOf(1),
+                new JdbcTemplate(masterDb).queryForObject(SQL_WRITE_COUNT, Integer.class));
+        Assert.assertEquals(Integer.valueOf(0),
+                new JdbcTemplate(slaveDb).queryForObject(SQL_WRITE_COUNT, Integer.class));
+    }
+
+    /**
+     * 事务外 读操作 走从库
+     */
+    @Test
+    public void readOutsideTransactionFromSlave(){
+        String name = DataSourceRouteUtil.read(() ->
+                jdbcTemplate.queryForObject(SQL_MARKER, String.class));
+
+        Assert.assertEquals(SLAVE, name);
+        // 读完后 还原数据源
+        Assert.assertNull(DynamicDataSourceContextHolder.peek());
+        Assert.assertEquals(MASTER, jdbcTemplate.queryForObject(SQL_MARKER, String.class));
+    }
+
+    /**
+     * 事务内 读操作 仍走主库
+     */
+    @Test
+    public void readInsideTransactionFromMaster(){
+        String name = transactionTemplate.execute(status -> DataSourceRouteUtil.read(() ->
+                jdbcTemplate.queryForObject(SQL_MARKER, String.class)));
+
+        Assert.assertEquals(MASTER, name);
+    }
+
+    /**
+     * 已发生写操作后 读操作 走主库 (读己之写)
+     */
+    @Test
+    public void readAfterWriteFromMaster(){
+        DataSourceRouteUtil.markWrite();
+
+        String name = DataSourceRouteUtil.read(() ->
+                jdbcTemplate.queryForObject(SQL_MARKER, String.class));
+
+        Assert.assertEquals(MASTER, name);
+    }
+
+    /**
+     * 缓存加载 走主库 结束后 不影响后续读操作
+     */
+    @Test
+    public void primaryReadFromMaster(){
+        String name = DataSourceRouteUtil.primary(() -> DataSourceRouteUtil.read(() ->
+                jdbcTemplate.queryForObject(SQL_MARKER, String.class)));
+
+        Assert.assertEquals(MASTER, name);
+        Assert.assertEquals(SLAVE, DataSourceRouteUtil.read(() ->
+                jdbcTemplate.queryForObject(SQL_MARKER, String.class)));
+    }
+
+    /**
+     * 创建 内嵌数据库
+     * @param name 数据库名称 (同时作为标记)
+     * @return EmbeddedDatabase
+     */
+    private static EmbeddedDatabase createDatabase(String name){
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table ds_marker (name varchar(32))");
+        jdbcTemplate.execute("create table ds_write (id int)");
+        jdbcTemplate.update("insert into ds_marker (name) values (?)", name);
+        return database;
+    }
+
+}
@@ -0,0 +1,187 @@
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.lang.tree.Tree;
+import cn.hutool.core.lang.tree.TreeNodeConfig;
+import cn.hutool.core.lang.tree.TreeUtil;
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opsli.core.utils.TreeBuildUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 树构建 新旧实现对比测试
+ *
+ * 旧实现 (hutool TreeUtil + BeanToMap) 原样保留在本类中作为参照
+ * 对比 字段Key及顺序、同级排序、最大层级截断
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public class TreeBuildTest {
+
+    private static final String DEF_PARENT_ID = "0";
+
+    @Test
+    public void beanTree(){
+        TreeNodeConfig config = newConfig(null);
+        List<SampleNode> dataList = sampleList();
+
+        Assert.assertEquals(
+                describe(legacyBuild(dataList, DEF_PARENT_ID, config)),
+                describe(TreeBuildUtil.INSTANCE.build(dataList, DEF_PARENT_ID, config)));
+    }
+
+    @Test
+    public void beanTreeDepthCut(){
+        TreeNodeConfig config = newConfig(2);
+        List<SampleNode> dataList = sampleList();
+
+        List<Tree<Object>> treeList = TreeBuildUtil.INSTANCE.build(dataList, DEF_PARENT_ID, config);
+        Assert.assertEquals(
+                describe(legacyBuild(dataList, DEF_PARENT_ID, config)),
+                describe(treeList));
+
+        // 第二层 不再有子节点
+        for (Tree<Object> tree : treeList) {
+            if(tree.getChildren() == null){
+                continue;
+            }
+            for (Tree<Object> child : tree.getChildren()) {
+                Assert.assertNull(child.getChildren());
+            }
+        }
+    }
+
+    @Test
+    public void mapTree(){
+        TreeNodeConfig config = newConfig(3);
+        List<Map<String, Object>> dataList = sampleList().stream()
+                .map(BeanUtil::beanToMap)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(
+                describe(legacyBuild(dataList, DEF_PARENT_ID, config)),
+                describe(TreeBuildUtil.INSTANCE.build(dataList, DEF_PARENT_ID, config)));
+    }
+
+    // ======================
+
+    /**
+     * 样例数据 子节点在父节点之前、同级权重相同、父节点不存在
+     * @return List
+     */
+    private static List<SampleNode> sampleList(){
+        return Lists.newArrayList(
+                new SampleNode("1111", "111", "第四层", 1, "1"),
+                new SampleNode("13", "1", "部门C", 2, "0"),
+                new SampleNode("1", DEF_PARENT_ID, "公司A", 2, "0"),
+                new SampleNode("111", "11", "小组A", 1, null),
+                new SampleNode("11", "1", "部门A", 3, "0"),
+                new SampleNode("2", DEF_PARENT_ID, "公司B", 1, "0"),
+                new SampleNode("12", "1", "部门B", 1, "1"),
+                new SampleNode("3", DEF_PARENT_ID, "公司C", 1, "0"),
+                new SampleNode("21", "2", "部门D", 1, "0"),
+                new SampleNode("99", "98", "孤立节点", 1, "0")
+        );
+    }
+
+    private static TreeNodeConfig newConfig(Integer deep){
+        TreeNodeConfig config = new TreeNodeConfig();
+        config.setIdKey("id");
+        config.setParentIdKey("parentId");
+        config.setWeightKey("sortNo");
+        config.setDeep(deep);
+        return config;
+    }
+
+    /**
+     * 输出树 每个节点一行 (层级缩进、Key 顺序、值)
+     * @param treeList 树
+     * @return String
+     */
+    private static String describe(List<Tree<Object>> treeList){
+        StringBuilder sb = new StringBuilder();
+        describe(treeList, 0, sb);
+        return sb.toString();
+    }
+
+    private static void describe(List<Tree<Object>> treeList, int depth, StringBuilder sb){
+        if(treeList == null){
+            return;
+        }
+        for (Tree<Object> tree : treeList) {
+            for (int i = 0; i < depth; i++) {
+                sb.append("  ");
+            }
+            sb.append(tree.keySet());
+            for (Map.Entry<String, Object> entry : tree.entrySet()) {
+                if(!"children".equals(entry.getKey())){
+                    sb.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+                }
+            }
+            sb.append('\n');
+            describe(tree.getChildren(), depth + 1, sb);
+        }
+    }
+
+    /**
+     * 旧实现 (优化前 TreeBuildUtil.build)
+     */
+    private static List<Tree<Object>> legacyBuild(List<?> dataList, String parentId, TreeNodeConfig config){
+        boolean isMap = dataList.get(0) instanceof Map;
+
+        List<String> excludeFields = ListUtil.list(false);
+        excludeFields.add("izApi");
+        excludeFields.add("izManual");
+        excludeFields.add(config.getIdKey());
+        excludeFields.add(config.getParentIdKey());
+        excludeFields.add(config.getWeightKey());
+
+        return TreeUtil.build(dataList, parentId, config,
+                (treeNode, tree) -> {
+                    Map<String, Object> beanMap;
+                    if(isMap){
+                        beanMap = Convert.toMap(String.class, Object.class, treeNode);
+                    }else{
+                        beanMap = BeanUtil.beanToMap(treeNode);
+                    }
+
+                    tree.setId(beanMap.get(config.getIdKey()));
+                    tree.setParentId(beanMap.get(config.getParentIdKey()));
+                    tree.setWeight(Convert.toInt(beanMap.get(config.getWeightKey())));
+
+                    for (Map.Entry<String, Object> entry : beanMap.entrySet()) {
+                        if(excludeFields.contains(entry.getKey())){
+                            continue;
+                        }
+                        tree.putExtra(entry.getKey(), entry.getValue());
+                    }
+                });
+    }
+
+    /**
+     * 样例节点
+     */
+    @Data
+    @AllArgsConstructor
+    public static class SampleNode {
+
+        private String id;
+
+        private String parentId;
+
+        private String name;
+
+        private Integer sortNo;
+
+        private String izApi;
+    }
+
+}
@@ -19,6 +19,7 @@ import cn.hutool.core.date.DateUtil;
 import com.alibaba.excel.EasyExcel;
 import com.alibaba.excel.ExcelReader;
 import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.event.AnalysisEventListener;
 import com.alibaba.excel.read.metadata.ReadSheet;
 import com.alibaba.excel.support.ExcelTypeEnum;
 import com.alibaba.excel.write.metadata.WriteSheet;
@@ -191,6 +192,40 @@ public class ExcelPlugin {
         excelReader.finish();
     }
 
+    /**
+     * 读取某个 sheet 的 Excel (输入流)
+     * 用于异步导入 上传文件在请求结束后会被容器清理，需要先落地为临时文件再读取
+     * @param inputStream 输入流
+     * @param rowModel    实体类映射，继承 BaseRowModel 类
+     * @param sheetName     sheet 的序号 从1开始
+     * @param headLineNum 表头行数，默认为1
+     * @param listener 监听器
+     */
+    public <T> void readExcelByListener(InputStream inputStream, Class<T>  rowModel, String sheetName,
+                                 int headLineNum, AnalysisEventListener<T> listener) throws ExcelPluginException {
+        if(null == listener || null == inputStream){
+            return;
+        }
+
+        ExcelReader excelReader = EasyExcel.read(inputStream, rowModel, listener).build();
+        if (excelReader == null) {
+            return;
+        }
+        ReadSheet readSheet;
+        if(StringUtils.isEmpty(sheetName)){
+            readSheet = EasyExcel.readSheet().build();
+        }else{
+            readSheet = EasyExcel.readSheet(sheetName).build();
+        }
+        readSheet.setHeadRowNumber(headLineNum);
+        try {
+            excelReader.read(readSheet);
+        }finally {
+            // 这里千万别忘记关闭，读的时候会创建临时文件，到时磁盘会崩的
+            excelReader.finish();
+        }
+    }
+
     /**
      * 导出 Excel ：一个 sheet，带表头
      * 自定义WriterHandler 可以定制行列数据进行灵活化操作
@@ -15,13 +15,10 @@
  */
 package org.opsli.plugins.excel.listener;
 
-import com.alibaba.excel.annotation.ExcelProperty;
 import com.alibaba.excel.context.AnalysisContext;
 import com.alibaba.excel.event.AnalysisEventListener;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,8 +31,6 @@ import java.util.List;
 @Slf4j
 public abstract class BatchExcelListener<T> extends AnalysisEventListener<T> {
 
-    private static final String SERIAL_VERSION_UID = "serialVersionUID";
-
     /**
      * 每隔5条存储数据库，实际使用中可以3000条，然后清理list ，方便内存回收
      */
@@ -54,7 +49,7 @@ public abstract class BatchExcelListener<T> extends AnalysisEventListener<T> {
      */
     @Override
     public void invoke(Object object, AnalysisContext context) {
-        if(!checkObjAllFieldsIsNull(object)) {
+        if(!EmptyRowChecker.isEmpty(object)) {
             dataList.add(object);
             // 达到BATCH_COUNT了，需要去存储一次数据库，防止数据几万条数据在内存，容易OOM
             if (dataList.size() >= BATCH_COUNT) {
@@ -71,31 +66,4 @@ public abstract class BatchExcelListener<T> extends AnalysisEventListener<T> {
         saveData((List<T>) dataList);
     }
 
-
-    /**
-     * 判断对象中属性值是否全为空
-     */
-    private static boolean checkObjAllFieldsIsNull(Object object) {
-        if (null == object) {
-            return true;
-        }
-        try {
-            for (Field f : object.getClass().getDeclaredFields()) {
-                f.setAccessible(true);
-                //只校验带ExcelProperty注解的属性
-                ExcelProperty property = f.getAnnotation(ExcelProperty.class);
-                if(property == null || SERIAL_VERSION_UID.equals(f.getName())){
-                    continue;
-                }
-                if (f.get(object) != null && StringUtils.isNotBlank(f.get(object).toString())) {
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
-            //do something
-        }
-        return true;
-    }
-
 }
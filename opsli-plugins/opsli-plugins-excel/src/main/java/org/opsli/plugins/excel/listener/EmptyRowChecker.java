@@ -0,0 +1,86 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.plugins.excel.listener;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Excel 空行检测
+ *
+ * 每个类只反射一次 带 ExcelProperty 注解的字段，避免每一行都 getDeclaredFields + setAccessible
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+@Slf4j
+public final class EmptyRowChecker {
+
+    /** 类 -> ExcelProperty 字段 */
+    private static final ConcurrentMap<Class<?>, Field[]> FIELD_MAP = new ConcurrentHashMap<>();
+
+    private EmptyRowChecker(){}
+
+    /**
+     * 判断对象中属性值是否全为空
+     * @param object 行对象
+     * @return boolean
+     */
+    public static boolean isEmpty(Object object) {
+        if (null == object) {
+            return true;
+        }
+        try {
+            Field[] fields = FIELD_MAP.computeIfAbsent(object.getClass(), EmptyRowChecker::getExcelFields);
+            for (Field f : fields) {
+                Object value = f.get(object);
+                if (value != null && StringUtils.isNotBlank(value.toString())) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+        return true;
+    }
+
+    /**
+     * 获得 带 ExcelProperty 注解的字段
+     * @param clazz 类
+     * @return Field[]
+     */
+    private static Field[] getExcelFields(Class<?> clazz){
+        List<Field> fieldList = new ArrayList<>();
+        for (Field f : clazz.getDeclaredFields()) {
+            //只校验带ExcelProperty注解的属性
+            if(Modifier.isStatic(f.getModifiers()) || f.getAnnotation(ExcelProperty.class) == null){
+                continue;
+            }
+            f.setAccessible(true);
+            fieldList.add(f);
+        }
+        return fieldList.toArray(new Field[0]);
+    }
+
+}
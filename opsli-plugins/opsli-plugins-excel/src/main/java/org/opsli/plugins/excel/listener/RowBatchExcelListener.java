@@ -0,0 +1,90 @@
+/**
+ * Copyright 2020 OPSLI 快速开发平台 https://www.opsli.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.opsli.plugins.excel.listener;
+
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 行号监听
+ *
+ * 与 BatchExcelListener 不同的是，每批数据都会带上对应的 Excel 行号，用于生成逐行错误报告
+ * 且每批数据交出后不会再被复用，可以直接交给其他线程处理
+ *
+ * @author Parker
+ * @date 2026-10-19
+ */
+public abstract class RowBatchExcelListener<T> extends AnalysisEventListener<T> {
+
+    /** 每批数量 */
+    private final int batchCount;
+
+    /** 数据集合 */
+    private List<T> dataList;
+
+    /** 行号集合 */
+    private List<Integer> rowIndexList;
+
+    public RowBatchExcelListener(int batchCount){
+        this.batchCount = batchCount;
+        this.dataList = new ArrayList<>(batchCount);
+        this.rowIndexList = new ArrayList<>(batchCount);
+    }
+
+    /**
+     * 钩子函数 需要调用方重写 保存方法
+     * @param dataList 数据集合
+     * @param rowIndexList 行号集合 (从1开始 与Excel中显示一致)
+     */
+    abstract public void saveData(List<T> dataList, List<Integer> rowIndexList);
+
+    @Override
+    public void invoke(T object, AnalysisContext context) {
+        if(EmptyRowChecker.isEmpty(object)) {
+            return;
+        }
+
+        dataList.add(object);
+        rowIndexList.add(context.readRowHolder().getRowIndex() + 1);
+        // 达到 batchCount 了，交出当前批次，防止数据几万条数据在内存，容易OOM
+        if (dataList.size() >= batchCount) {
+            this.flush();
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        // 这里也要保存数据，确保最后遗留的数据也存储到数据库
+        if(!dataList.isEmpty()){
+            this.flush();
+        }
+    }
+
+    /**
+     * 交出当前批次
+     */
+    private void flush(){
+        List<T> currDataList = this.dataList;
+        List<Integer> currRowIndexList = this.rowIndexList;
+        this.dataList = new ArrayList<>(batchCount);
+        this.rowIndexList = new ArrayList<>(batchCount);
+        saveData(currDataList, currRowIndexList);
+    }
+
+}
@@ -24,7 +24,9 @@ import org.opsli.plugins.redis.scripts.enums.RedisScriptsEnum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
@@ -1509,6 +1511,77 @@ public class RedisPlugin {
 				destKey);
 	}
 
+	// ===================== 管道批量 =====================
+
+	/**
+	 * 管道批量写入 普通对象 (一次网络交互)
+	 *
+	 * @param valueMap 主键 -> 值
+	 * @param timeoutMap 主键 -> 失效时间(秒) 为空或不大于0 则永久有效
+	 * @return boolean
+	 */
+	public boolean putAllPipelined(Map<String, Object> valueMap, Map<String, Long> timeoutMap) {
+		if(valueMap == null || valueMap.isEmpty()){
+			return true;
+		}
+		boolean ret = false;
+		try {
+			redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public <K, V> Object execute(RedisOperations<K, V> operations) {
+					RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+					for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+						Long timeout = timeoutMap != null ? timeoutMap.get(entry.getKey()) : null;
+						if(timeout != null && timeout > 0){
+							ops.opsForValue().set(entry.getKey(), entry.getValue(), timeout, TimeUnit.SECONDS);
+						}else{
+							ops.opsForValue().set(entry.getKey(), entry.getValue());
+						}
+					}
+					return null;
+				}
+			});
+			ret = true;
+		} catch (Exception e) {
+			log.error(e.getMessage(),e);
+		}
+		return ret;
+	}
+
+	/**
+	 * 管道批量写入 Hash (一次网络交互)
+	 *
+	 * @param hashMap 主键 -> Hash 数据
+	 * @return boolean
+	 */
+	public boolean hPutAllPipelined(Map<String, Map<String, Object>> hashMap) {
+		if(hashMap == null || hashMap.isEmpty()){
+			return true;
+		}
+		boolean ret = false;
+		try {
+			redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public <K, V> Object execute(RedisOperations<K, V> operations) {
+					RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+					for (Map.Entry<String, Map<String, Object>> entry : hashMap.entrySet()) {
+						if(entry.getValue() == null || entry.getValue().isEmpty()){
+							continue;
+						}
+						ops.opsForHash().putAll(entry.getKey(), entry.getValue());
+					}
+					return null;
+				}
+			});
+			ret = true;
+		} catch (Exception e) {
+			log.error(e.getMessage(),e);
+		}
+		return ret;
+	}
+
 	// ===================== 消息发布 =====================
 
 	/**
@@ -27,7 +27,11 @@ public enum RedisScriptsEnum {
     /** Redis加锁脚本 */
     REDIS_LOCK("/lua/redis_lock.lua"),
     /** Redis解锁脚本 */
-    REDIS_UN_LOCK("/lua/redis_unlock.lua")
+    REDIS_UN_LOCK("/lua/redis_unlock.lua"),
+    /** 搜索历史写入脚本 */
+    SEARCH_HIS_PUT("/lua/search_his_put.lua"),
+    /** 缓存提前刷新 回写脚本 */
+    CACHE_REFRESH_PUT("/lua/cache_refresh_put.lua")
     ;
 
     /** 脚本路径 */
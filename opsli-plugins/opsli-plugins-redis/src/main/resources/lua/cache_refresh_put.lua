@@ -0,0 +1,14 @@
+-- 缓存提前刷新 回写脚本 (比较加载时间后写入)
+-- KEYS[1]：缓存Key argv1：刷新开始时的加载时间 argv2：新缓存Json argv3：失效时间(秒)
+-- 缓存已被删除 或 已被其他写入覆盖 (加载时间不同) 则放弃本次刷新结果
+local curr = redis.call('get', KEYS[1])
+if not curr then
+   return 0
+end
+local ok, currJson = pcall(cjson.decode, curr)
+if not ok or type(currJson) ~= 'table'
+      or tonumber(currJson['loadTime']) ~= tonumber(ARGV[1]) then
+   return 0
+end
+redis.call('set', KEYS[1], ARGV[2], 'EX', tonumber(ARGV[3]))
+return 1
@@ -0,0 +1,27 @@
+-- 搜索历史写入脚本 (时间衰减计分、条数上限、闲置过期)
+-- KEYS：搜索历史Key集合 argv1:当前时间计分 argv2：每个Key最大条数 argv3：闲置过期时间(秒) <=0 不过期
+-- argv4 之后：与 KEYS 一一对应的搜索值
+local now_score = tonumber(ARGV[1])
+local max_count = tonumber(ARGV[2])
+local expire_time = tonumber(ARGV[3])
+for i, key in ipairs(KEYS) do
+   local member = ARGV[i + 3]
+   local score = now_score
+   local old_score = redis.call('zscore', key, member)
+   if old_score then
+      old_score = tonumber(old_score)
+      -- 对数空间累加 log(e^old + e^now)，分数不会随时间溢出
+      local high = math.max(old_score, now_score)
+      score = high + math.log(1 + math.exp(-math.abs(old_score - now_score)))
+   end
+   redis.call('zadd', key, score, member)
+   -- 只保留分数最高的 max_count 条
+   if max_count > 0 then
+      redis.call('zremrangebyrank', key, 0, -(max_count + 1))
+   end
+   -- 闲置用户 到期自动清除
+   if expire_time > 0 then
+      redis.call('expire', key, expire_time)
+   end
+end
+return #KEYS
@@ -1,6 +1,5 @@
 package org.opsli.plugins.redisson;
 
-import cn.hutool.core.util.ClassUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
@@ -11,9 +10,9 @@ import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 
-import java.lang.reflect.Modifier;
 import java.util.Map;
-import java.util.Set;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 
 /**
@@ -55,24 +54,16 @@ public class RedissonManager {
         private final Map<RedissonType, RedissonConfigService> strategyMap = Maps.newHashMap();
 
         private RedissonConfigFactory() {
-            Set<Class<?>> clazzSet = ClassUtil.scanPackageBySuper(
-                    RedissonConfigService.class.getPackage().getName()+".impl",
-                    RedissonConfigService.class
-            );
-            for (Class<?> aClass : clazzSet) {
-                // 位运算 去除抽象类
-                if((aClass.getModifiers() & Modifier.ABSTRACT) != 0){
-                    continue;
-                }
-
-                try {
-                    Object obj = aClass.newInstance();
-                    RedissonConfigService handler = (RedissonConfigService) obj;
+            // 实现类由 META-INF/services 注册 无需扫描类路径
+            ServiceLoader<RedissonConfigService> loader = ServiceLoader.load(
+                    RedissonConfigService.class, RedissonConfigService.class.getClassLoader());
+            try {
+                for (RedissonConfigService handler : loader) {
                     // 加入集合
                     strategyMap.put(handler.getType(),handler);
-                } catch (Exception e){
-                    log.error(e.getMessage(), e);
                 }
+            } catch (ServiceConfigurationError e){
+                log.error(e.getMessage(), e);
             }
         }
 